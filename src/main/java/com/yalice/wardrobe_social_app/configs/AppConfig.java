@@ -4,12 +4,18 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "app")
 @Data
 public class AppConfig {
     private final Jwt jwt = new Jwt();
     private final Upload upload = new Upload();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Bulkhead bulkhead = new Bulkhead();
+    private final Admin admin = new Admin();
 
     @Data
     public static class Jwt {
@@ -28,4 +34,48 @@ public class AppConfig {
             private String[] allowedTypes;
         }
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private boolean shared;
+        private int maxBuckets = 100_000;
+        private Limit ip = new Limit();
+        private Limit user = new Limit();
+        private List<Route> routes = new ArrayList<>();
+
+        @Data
+        public static class Limit {
+            private int capacity = 100;
+            private double refillPerSecond = 10;
+        }
+
+        @Data
+        public static class Route {
+            private String method;
+            private String pattern;
+            private int cost = 1;
+        }
+    }
+
+    @Data
+    public static class Admin {
+        private List<String> usernames = new ArrayList<>();
+    }
+
+    @Data
+    public static class Bulkhead {
+        private boolean enabled = true;
+        private Limit auth = new Limit();
+        private Limit upload = new Limit();
+        private Limit write = new Limit();
+        private Limit read = new Limit();
+
+        @Data
+        public static class Limit {
+            private int initialLimit = 20;
+            private int minLimit = 1;
+            private int maxLimit = 200;
+        }
+    }
+}
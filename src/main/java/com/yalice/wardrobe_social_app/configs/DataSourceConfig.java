@@ -0,0 +1,74 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas.
+ *
+ * <p>Only active when {@code app.datasource.replica.urls} lists at least one replica;
+ * otherwise Spring Boot's single data source is used unchanged. The primary keeps using
+ * the {@code spring.datasource.*} settings, including its {@code spring.datasource.hikari.*}
+ * pool settings.</p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+    @Value("${app.datasource.replica.urls}")
+    private String replicaUrls;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxLagMillis;
+
+    /**
+     * The primary's pool, bound like the one Spring Boot would have created.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties) {
+        List<DataSource> replicas = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> (DataSource) properties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(url)
+                        .username(replicaUsername)
+                        .password(replicaPassword)
+                        .build())
+                .toList();
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
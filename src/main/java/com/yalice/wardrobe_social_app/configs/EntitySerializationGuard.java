@@ -0,0 +1,55 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.Entity;
+
+/**
+ * Jackson module that refuses to serialize JPA entities.
+ *
+ * <p>Serializing an entity walks its lazy associations, which runs a query per association
+ * while the response is being written and exposes every mapped column. Responses must be
+ * built from DTOs instead; an entity reaching the writer fails with a
+ * {@link JsonMappingException} naming the entity, so the mistake shows up in the first
+ * request that hits it rather than as a slow endpoint.</p>
+ */
+public class EntitySerializationGuard extends SimpleModule {
+
+    public EntitySerializationGuard() {
+        super("EntitySerializationGuard");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                return isEntity(beanDesc.getBeanClass()) ? new RejectingSerializer() : serializer;
+            }
+        });
+    }
+
+    /**
+     * Checks the class and its superclasses, so Hibernate proxies of entities are caught too.
+     */
+    static boolean isEntity(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RejectingSerializer extends JsonSerializer<Object> {
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider)
+                throws JsonMappingException {
+            throw JsonMappingException.from(generator,
+                    "Entity " + value.getClass().getSimpleName() + " must be mapped to a DTO before it is serialized");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Writes {@code ApiResponse<List<JsonFragment>>} bodies gzip-compressed for clients that
+ * accept gzip, splicing in each fragment's precompressed deflate blocks rather than
+ * compressing the whole response. Only the short envelope around the fragments is written
+ * per request, as uncompressed deflate blocks. A response without data has no fragments
+ * and is written whole that way.
+ *
+ * <p>Each fragment was compressed on its own, so repetition between feed items (field
+ * names, image URL prefixes, category strings) is not removed and the response is several
+ * times larger than a page compressed as a whole. In exchange a cached page costs about
+ * as much CPU as an uncompressed one. The converter is only registered when
+ * {@code app.feed.fragment-cache.precompressed} is on; otherwise feed pages are left to the
+ * server's response compression.</p>
+ *
+ * <p>The response carries its own {@code Content-Encoding}, so the server's response
+ * compression leaves it alone. Requests without gzip in {@code Accept-Encoding} fall
+ * through to the regular JSON converter.</p>
+ */
+public class GzipFragmentHttpMessageConverter extends AbstractGenericHttpMessageConverter<ApiResponse<?>> {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] FINAL_EMPTY_BLOCK = {1, 0, 0, (byte) 0xff, (byte) 0xff};
+    private static final byte[] SEPARATOR = {','};
+    private static final int MAX_STORED_BLOCK = 0xffff;
+    private static final String FRAGMENTS_PLACEHOLDER = "\u0000fragments";
+
+    private final ObjectMapper objectMapper;
+
+    public GzipFragmentHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && isFragmentResponse(type) && clientAcceptsGzip();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse<?> response, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        @SuppressWarnings("unchecked")
+        List<JsonFragment> fragments = (List<JsonFragment>) response.getData();
+
+        OutputStream out = outputMessage.getBody();
+        CRC32 crc = new CRC32();
+        long size = 0;
+
+        out.write(GZIP_HEADER);
+        if (fragments == null) {
+            size += writeStored(out, objectMapper.writeValueAsBytes(response), crc);
+        } else {
+            byte[][] envelope = envelopeAroundData(response);
+            size += writeStored(out, envelope[0], crc);
+            for (int i = 0; i < fragments.size(); i++) {
+                if (i > 0) {
+                    size += writeStored(out, SEPARATOR, crc);
+                }
+                JsonFragment fragment = fragments.get(i);
+                fragment.writeDeflatedTo(out);
+                fragment.updateChecksum(crc);
+                size += fragment.byteLength();
+            }
+            size += writeStored(out, envelope[1], crc);
+        }
+        out.write(FINAL_EMPTY_BLOCK);
+        writeIntLittleEndian(out, crc.getValue());
+        writeIntLittleEndian(out, size);
+        out.flush();
+    }
+
+    @Override
+    protected ApiResponse<?> readInternal(Class<? extends ApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Fragment responses are written only", inputMessage);
+    }
+
+    @Override
+    public ApiResponse<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Fragment responses are written only", inputMessage);
+    }
+
+    private boolean isFragmentResponse(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType responseType = ResolvableType.forType(type);
+        ResolvableType dataType = responseType.getGeneric(0);
+        return ApiResponse.class.equals(responseType.resolve())
+                && List.class.equals(dataType.resolve())
+                && JsonFragment.class.equals(dataType.getGeneric(0).resolve());
+    }
+
+    private boolean clientAcceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (values.hasMoreElements()) {
+            for (String coding : values.nextElement().split(",")) {
+                String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+                if (parts[0].trim().equals("gzip") && !isZeroQuality(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Serializes the envelope with the same mapper as the JSON converter, with a
+     * placeholder as the only element of the data array, and splits it around the
+     * placeholder.
+     *
+     * @return the JSON before the first fragment, and the JSON after the last one
+     */
+    private byte[][] envelopeAroundData(ApiResponse<?> response) throws IOException {
+        byte[] envelope = objectMapper.writeValueAsBytes(
+                new ApiResponse<>(response.isSuccess(), response.getMessage(), List.of(FRAGMENTS_PLACEHOLDER)));
+        byte[] data = objectMapper.writeValueAsBytes(List.of(FRAGMENTS_PLACEHOLDER));
+        int at = indexOf(envelope, data);
+        return new byte[][] {
+                Arrays.copyOfRange(envelope, 0, at + 1),
+                Arrays.copyOfRange(envelope, at + data.length - 1, envelope.length)};
+    }
+
+    /**
+     * Finds the data array. A string field holding the same text cannot match, as the
+     * quotes inside it would be escaped.
+     */
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Data array missing from serialized envelope");
+    }
+
+    /**
+     * Writes bytes as non-final stored (uncompressed) deflate blocks. The precompressed
+     * fragments end on a byte boundary, so stored blocks can follow them directly.
+     */
+    private int writeStored(OutputStream out, byte[] bytes, CRC32 crc) throws IOException {
+        for (int offset = 0; offset < bytes.length; offset += MAX_STORED_BLOCK) {
+            int length = Math.min(MAX_STORED_BLOCK, bytes.length - offset);
+            out.write(0);
+            out.write(length & 0xff);
+            out.write(length >>> 8);
+            out.write(~length & 0xff);
+            out.write((~length >>> 8) & 0xff);
+            out.write(bytes, offset, length);
+        }
+        crc.update(bytes);
+        return bytes.length;
+    }
+
+    private void writeIntLittleEndian(OutputStream out, long value) throws IOException {
+        out.write((int) (value & 0xff));
+        out.write((int) ((value >>> 8) & 0xff));
+        out.write((int) ((value >>> 16) & 0xff));
+        out.write((int) ((value >>> 24) & 0xff));
+    }
+}
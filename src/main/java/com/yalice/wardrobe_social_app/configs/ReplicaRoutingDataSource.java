@@ -0,0 +1,179 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Routes read-only transactions to a replica database and everything else to the primary.
+ *
+ * <p>Replicas are picked round-robin among those that are currently healthy. A replica
+ * joins the rotation once a lag check succeeds, is taken out when it cannot be reached, its
+ * WAL receiver is not streaming or has not heard from the primary within the configured
+ * limit, or its replication lag exceeds that limit or is unknown, and is put back once a
+ * later check succeeds. When no replica is healthy, read-only transactions fall back to
+ * the primary.</p>
+ *
+ * <p>The check reads {@code pg_stat_wal_receiver}, whose columns are visible only to
+ * superusers and members of {@code pg_read_all_stats}, so the replica user needs that
+ * role.</p>
+ *
+ * <p>The routing key is read when a connection is first requested, so this data source
+ * must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * for the transaction's read-only flag to be set by then.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY_KEY = "primary";
+
+    /**
+     * Whether the server is a standby; the seconds since its WAL receiver last heard from
+     * the primary, or NULL if it is not streaming; and the seconds since the last replayed
+     * transaction. A standby that has replayed everything it received reports a lag of 0,
+     * so an idle primary does not make its replicas look stale. One that has replayed
+     * nothing reports NULL.
+     */
+    private static final String REPLICATION_STATUS_QUERY =
+            "SELECT pg_is_in_recovery(), "
+                    + "(SELECT CAST(EXTRACT(EPOCH FROM now() - last_msg_receipt_time) AS DOUBLE PRECISION) "
+                    + "FROM pg_stat_wal_receiver WHERE status = 'streaming'), "
+                    + "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS DOUBLE PRECISION) END";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+        this.replicas = IntStream.range(0, replicaDataSources.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicaDataSources.get(i)))
+                .toList();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        replicas.forEach(replica -> targets.put(replica.key, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY_KEY;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY_KEY;
+    }
+
+    /**
+     * Measures the replication lag of every replica and updates which ones may serve reads.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                String problem = findReplicationProblem(replica.dataSource);
+                healthy = problem == null;
+                if (!healthy) {
+                    logger.warn("Replica {} {}; routing reads elsewhere", replica.key, problem);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+                logger.warn("Replica {} is unreachable; routing reads elsewhere: {}", replica.key, e.getMessage());
+            }
+
+            if (healthy && !replica.healthy) {
+                logger.info("Replica {} is in rotation", replica.key);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Checks whether a replica is currently allowed to serve reads.
+     *
+     * @param index the position of the replica in the configured list
+     * @return true if the replica is in rotation
+     */
+    public boolean isReplicaHealthy(int index) {
+        return replicas.get(index).healthy;
+    }
+
+    /**
+     * Closes the connection pools of the primary and the replicas.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * @return why the replica may not serve reads, or null if it may
+     */
+    private String findReplicationProblem(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(REPLICATION_STATUS_QUERY)) {
+            if (!resultSet.next()) {
+                return "reported no replication status";
+            }
+            if (!resultSet.getBoolean(1)) {
+                return null;
+            }
+            Double silenceSeconds = resultSet.getObject(2, Double.class);
+            if (silenceSeconds == null) {
+                return "is not streaming from the primary";
+            }
+            long silenceMillis = Math.round(silenceSeconds * 1000);
+            if (silenceMillis > maxLagMillis) {
+                return "has not heard from the primary for " + silenceMillis + " ms";
+            }
+            Double lagSeconds = resultSet.getObject(3, Double.class);
+            if (lagSeconds == null) {
+                return "has not replayed any transaction yet";
+            }
+            long lagMillis = Math.round(lagSeconds * 1000);
+            return lagMillis > maxLagMillis ? "is " + lagMillis + " ms behind the primary" : null;
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
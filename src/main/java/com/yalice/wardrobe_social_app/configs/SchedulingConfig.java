@@ -0,0 +1,57 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.yalice.wardrobe_social_app.events.OutboxDispatcher;
+import com.yalice.wardrobe_social_app.interfaces.AccountDeletionService;
+import com.yalice.wardrobe_social_app.jobs.ClusterJob;
+import com.yalice.wardrobe_social_app.security.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Enables scheduled background jobs, such as purging deleted accounts.
+ *
+ * <p>Jobs that work on shared data, and would only repeat each other's work if every
+ * node ran them, are declared here as {@link ClusterJob}s. Jobs that keep a node's own
+ * state, such as its caches, stay plain {@code @Scheduled} methods.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public ClusterJob accountDeletionJob(
+            AccountDeletionService accountDeletionService,
+            @Value("${app.account-deletion.poll-interval-ms:10000}") long pollIntervalMs,
+            @Value("${app.account-deletion.partitions:4}") int partitions) {
+        return new ClusterJob("account-deletions", Duration.ofMillis(pollIntervalMs), partitions,
+                accountDeletionService::processPendingDeletions);
+    }
+
+    @Bean
+    public ClusterJob imageCleanupJob(
+            AccountDeletionService accountDeletionService,
+            @Value("${app.account-deletion.poll-interval-ms:10000}") long pollIntervalMs,
+            @Value("${app.account-deletion.partitions:4}") int partitions) {
+        return new ClusterJob("image-cleanup", Duration.ofMillis(pollIntervalMs), partitions,
+                accountDeletionService::processImageCleanup);
+    }
+
+    @Bean
+    public ClusterJob outboxPruneJob(
+            OutboxDispatcher outboxDispatcher,
+            @Value("${app.outbox.prune-interval-ms:60000}") long pruneIntervalMs) {
+        return ClusterJob.single("outbox-prune", Duration.ofMillis(pruneIntervalMs), outboxDispatcher::prune);
+    }
+
+    @Bean
+    public ClusterJob rateLimitBucketsJob(
+            RateLimiter rateLimiter,
+            @Value("${app.rate-limit.eviction-interval-ms:60000}") long evictionIntervalMs) {
+        return ClusterJob.single("rate-limit-buckets", Duration.ofMillis(evictionIntervalMs),
+                rateLimiter::evictIdleSharedBuckets);
+    }
+}
@@ -1,6 +1,10 @@
 package com.yalice.wardrobe_social_app.configs;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.security.BulkheadFilter;
 import com.yalice.wardrobe_social_app.security.JwtAuthenticationFilter;
+import com.yalice.wardrobe_social_app.security.RateLimitFilter;
+import com.yalice.wardrobe_social_app.security.RateLimiter;
 import com.yalice.wardrobe_social_app.services.user.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +32,9 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsServiceImpl userDetailsService;
+    private final RateLimiter rateLimiter;
+    private final AppConfig appConfig;
+    private final ObjectMapper objectMapper;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -44,10 +51,24 @@ public class SecurityConfig {
                                 "/api/auth/login",
                                 "/api/auth/logout")
                         .permitAll()
+                        .requestMatchers("/actuator/metrics/**")
+                        .hasRole(UserDetailsServiceImpl.ADMIN_ROLE)
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
+        AppConfig.RateLimit rateLimit = appConfig.getRateLimit();
+        if (rateLimit.isEnabled()) {
+            http
+                    .addFilterBefore(new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP,
+                            rateLimit.getRoutes(), objectMapper), JwtAuthenticationFilter.class)
+                    .addFilterAfter(new RateLimitFilter(rateLimiter, RateLimiter.Scope.USER,
+                            rateLimit.getRoutes(), objectMapper), JwtAuthenticationFilter.class);
+        }
+        if (appConfig.getBulkhead().isEnabled()) {
+            http.addFilterBefore(new BulkheadFilter(appConfig.getBulkhead(), objectMapper), JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
@@ -1,10 +1,16 @@
 package com.yalice.wardrobe_social_app.configs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -17,11 +23,44 @@ public class WebConfig implements WebMvcConfigurer {
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new EntitySerializationGuard());
         return mapper;
     }
 
+    /**
+     * Serves {@code application/cbor} to clients that ask for it in the Accept header,
+     * with the same modules and settings as the JSON mapper. JSON stays the default.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    /**
+     * Serves {@code application/x-jackson-smile} to clients that ask for it in the Accept
+     * header, with the same modules and settings as the JSON mapper. Short string values
+     * that repeat within a response, such as seasons and usernames, are written once and
+     * referenced afterwards.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(smileFactory));
+    }
+
+    /**
+     * Serves gzip feed responses built from the precompressed entries of the feed cache.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.feed.fragment-cache.precompressed", havingValue = "true")
+    public GzipFragmentHttpMessageConverter gzipFragmentHttpMessageConverter(ObjectMapper objectMapper) {
+        return new GzipFragmentHttpMessageConverter(objectMapper);
+    }
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         argumentResolvers.add(new PageableHandlerMethodArgumentResolver());
     }
-}
\ No newline at end of file
+}
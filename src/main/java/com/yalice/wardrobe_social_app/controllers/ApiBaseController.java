@@ -3,6 +3,7 @@ package com.yalice.wardrobe_social_app.controllers;
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.exceptions.UsernameAlreadyExistsException;
 import org.slf4j.Logger;
@@ -81,6 +82,10 @@ public abstract class ApiBaseController {
             logger.error("Error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(false, entityName + " not found", null));
+        } catch (ForbiddenActionException e) {
+            logger.error("Forbidden while trying to {} {}: {}", actionName, entityName, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (Exception e) {
             logger.error("Error while trying to {} {}: {}", actionName, entityName, e.getMessage());
             logger.error("Error: Failed to {} {}", actionName, entityName);
@@ -110,6 +115,10 @@ public abstract class ApiBaseController {
             logger.error("Error: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ApiResponse<>(false, entityName + " not found", null));
+        } catch (ForbiddenActionException e) {
+            logger.error("Forbidden while trying to {} {}: {}", actionName, entityName, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (Exception e) {
             logger.error("Error while trying to {} {}: {}", actionName, entityName, e.getMessage());
             logger.error("Error: Failed to {} {}", actionName, entityName);
@@ -5,7 +5,7 @@ import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.authentication.AuthenticationRequest;
 import com.yalice.wardrobe_social_app.dtos.authentication.AuthenticationResponse;
 import com.yalice.wardrobe_social_app.security.JwtService;
-import com.yalice.wardrobe_social_app.services.UserDetailsServiceImpl;
+import com.yalice.wardrobe_social_app.services.user.UserDetailsServiceImpl;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
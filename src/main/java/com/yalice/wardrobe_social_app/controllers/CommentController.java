@@ -4,13 +4,12 @@ import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
 import com.yalice.wardrobe_social_app.interfaces.CommentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Controller responsible for handling comment-related operations.
  */
@@ -61,15 +60,32 @@ public class CommentController extends ApiBaseController {
     }
 
     /**
-     * Gets all comments for a specific post.
+     * Gets one page of the top-level comments of a post, newest first. Pass the returned
+     * {@code nextCursor} as {@code cursor} to get the next page.
      */
     @GetMapping("/posts/{postId}/comments")
-    public ResponseEntity<ApiResponse<List<CommentResponseDto>>> getPostComments(@PathVariable Long postId) {
+    public ResponseEntity<ApiResponse<CursorPageResponseDto<CommentResponseDto>>> getPostComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
         return handleEntityRetrieval(
-                () -> commentService.getPostComments(postId),
+                () -> commentService.getPostComments(getLoggedInUser().getId(), postId, cursor, size),
                 "Comments for post");
     }
 
+    /**
+     * Gets one page of the replies to a comment, oldest first.
+     */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<ApiResponse<CursorPageResponseDto<CommentResponseDto>>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> commentService.getReplies(getLoggedInUser().getId(), commentId, cursor, size),
+                "Replies");
+    }
+
     /**
      * Gets a specific comment by ID.
      */
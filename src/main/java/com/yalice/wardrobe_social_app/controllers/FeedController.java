@@ -2,9 +2,10 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
 import com.yalice.wardrobe_social_app.dtos.common.PageResponseDto;
-import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
-import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.dtos.feed.NormalizedFeedResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.interfaces.FeedService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,10 @@ import java.util.List;
 @RequestMapping("/api/feed")
 public class FeedController extends ApiBaseController {
 
+    private static final String NORMALIZED_VIEW = "view=normalized";
+    private static final String RANKED_ORDER = "order=ranked";
+    private static final String UNSEEN_FIRST_ORDER = "order=unseen-first";
+
     private final FeedService feedService;
 
     @Autowired
@@ -40,7 +45,7 @@ public class FeedController extends ApiBaseController {
      * @return ResponseEntity containing the feed items
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<FeedItemResponseDto>>> getFeed(
+    public ResponseEntity<ApiResponse<List<JsonFragment>>> getFeed(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         return handleEntityRetrieval(
@@ -48,6 +53,80 @@ public class FeedController extends ApiBaseController {
                 "Feed");
     }
 
+    /**
+     * Retrieves the user's feed ordered by score instead of by time.
+     *
+     * @param page the page number (zero-based)
+     * @param size the number of items per page
+     * @return ResponseEntity containing the feed items
+     */
+    @GetMapping(params = RANKED_ORDER)
+    public ResponseEntity<ApiResponse<List<JsonFragment>>> getRankedFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> feedService.getRankedFeed(getLoggedInUser().getId(), page, size),
+                "Feed");
+    }
+
+    /**
+     * Retrieves the user's feed with the posts the user has not seen first.
+     *
+     * @param page the page number (zero-based)
+     * @param size the number of items per page
+     * @return ResponseEntity containing the feed items
+     */
+    @GetMapping(params = UNSEEN_FIRST_ORDER)
+    public ResponseEntity<ApiResponse<List<JsonFragment>>> getUnseenFirstFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> feedService.getUnseenFirstFeed(getLoggedInUser().getId(), page, size),
+                "Feed");
+    }
+
+    /**
+     * Records that the user has seen posts of their feed.
+     *
+     * @param postIds the IDs of the posts seen
+     * @return ResponseEntity indicating success or failure
+     */
+    @PostMapping("/seen")
+    public ResponseEntity<ApiResponse<Void>> markSeen(@RequestBody List<Long> postIds) {
+        return handleVoidAction(
+                () -> feedService.markSeen(getLoggedInUser().getId(), postIds),
+                "mark", "Seen posts", "marked");
+    }
+
+    /**
+     * Counts the latest posts of the user's friends that the user has not seen.
+     *
+     * @return ResponseEntity containing the number of unseen posts
+     */
+    @GetMapping("/unseen-count")
+    public ResponseEntity<ApiResponse<Long>> getUnseenCount() {
+        return handleEntityRetrieval(
+                () -> feedService.getUnseenCount(getLoggedInUser().getId()),
+                "Unseen count");
+    }
+
+    /**
+     * Retrieves the user's feed in normalized form: posts refer to their author and outfit
+     * by ID, and each author and outfit of the page is included once.
+     *
+     * @param page the page number (zero-based)
+     * @param size the number of items per page
+     * @return ResponseEntity containing the posts, users and outfits of the page
+     */
+    @GetMapping(params = NORMALIZED_VIEW)
+    public ResponseEntity<ApiResponse<NormalizedFeedResponseDto>> getNormalizedFeed(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> feedService.getNormalizedFeed(getLoggedInUser().getId(), page, size),
+                "Feed");
+    }
+
     /**
      * Retrieves the user's feed filtered by season with pagination.
      *
@@ -57,7 +136,7 @@ public class FeedController extends ApiBaseController {
      * @return ResponseEntity containing the filtered feed items
      */
     @GetMapping("/season/{season}")
-    public ResponseEntity<ApiResponse<List<FeedItemResponseDto>>> getFeedBySeason(
+    public ResponseEntity<ApiResponse<List<JsonFragment>>> getFeedBySeason(
             @PathVariable String season,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -66,6 +145,24 @@ public class FeedController extends ApiBaseController {
                 "Feed By Season");
     }
 
+    /**
+     * Retrieves the user's feed filtered by season, in normalized form.
+     *
+     * @param season the season to filter by
+     * @param page   the page number (zero-based)
+     * @param size   the number of items per page
+     * @return ResponseEntity containing the posts, users and outfits of the page
+     */
+    @GetMapping(value = "/season/{season}", params = NORMALIZED_VIEW)
+    public ResponseEntity<ApiResponse<NormalizedFeedResponseDto>> getNormalizedFeedBySeason(
+            @PathVariable String season,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> feedService.getNormalizedFeedBySeason(getLoggedInUser().getId(), season, page, size),
+                "Feed By Season");
+    }
+
     /**
      * Retrieves the user's feed filtered by category with pagination.
      *
@@ -75,7 +172,7 @@ public class FeedController extends ApiBaseController {
      * @return ResponseEntity containing the filtered feed items
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse<List<FeedItemResponseDto>>> getFeedByCategory(
+    public ResponseEntity<ApiResponse<List<JsonFragment>>> getFeedByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -84,6 +181,24 @@ public class FeedController extends ApiBaseController {
                 "Feed By Category");
     }
 
+    /**
+     * Retrieves the user's feed filtered by category, in normalized form.
+     *
+     * @param category the category to filter by
+     * @param page     the page number (zero-based)
+     * @param size     the number of items per page
+     * @return ResponseEntity containing the posts, users and outfits of the page
+     */
+    @GetMapping(value = "/category/{category}", params = NORMALIZED_VIEW)
+    public ResponseEntity<ApiResponse<NormalizedFeedResponseDto>> getNormalizedFeedByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> feedService.getNormalizedFeedByCategory(getLoggedInUser().getId(), category, page, size),
+                "Feed By Category");
+    }
+
     /**
      * Retrieves the posts of a specific user.
      *
@@ -92,7 +207,7 @@ public class FeedController extends ApiBaseController {
      * @return ResponseEntity containing the posts of the specified user
      */
     @GetMapping("/users/{userId}/posts")
-    public ResponseEntity<ApiResponse<PageResponseDto<Post>>> getUserPosts(@PathVariable Long userId,
+    public ResponseEntity<ApiResponse<PageResponseDto<PostResponseDto>>> getUserPosts(@PathVariable Long userId,
             @PageableDefault(size = 20) Pageable pageable) {
         return handleEntityRetrieval(
                 () -> {
@@ -100,7 +215,7 @@ public class FeedController extends ApiBaseController {
                     if (currentUser == null || currentUser.getProfile() == null) {
                         throw new SecurityException("User not authenticated or profile not found");
                     }
-                    Page<Post> posts = feedService.getUserPosts(userId, currentUser.getId(), pageable);
+                    Page<PostResponseDto> posts = feedService.getUserPosts(userId, currentUser.getId(), pageable);
                     return PageResponseDto.from(posts);
                 }, "User posts");
     }
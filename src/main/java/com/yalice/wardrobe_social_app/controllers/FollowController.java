@@ -0,0 +1,73 @@
+package com.yalice.wardrobe_social_app.controllers;
+
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller responsible for following profiles and listing followers.
+ */
+@RestController
+@RequestMapping("/api/follows")
+public class FollowController extends ApiBaseController {
+
+    private final FollowService followService;
+
+    @Autowired
+    public FollowController(FollowService followService, AuthUtils authUtils) {
+        super(authUtils);
+        this.followService = followService;
+    }
+
+    /**
+     * Follows a profile as the current user.
+     */
+    @PostMapping("/{profileId}")
+    public ResponseEntity<ApiResponse<Boolean>> follow(@PathVariable Long profileId) {
+        return handleEntityAction(
+                () -> followService.follow(getLoggedInUser().getProfile().getId(), profileId),
+                "follow", "Profile", "followed");
+    }
+
+    /**
+     * Stops following a profile as the current user.
+     */
+    @DeleteMapping("/{profileId}")
+    public ResponseEntity<ApiResponse<Boolean>> unfollow(@PathVariable Long profileId) {
+        return handleEntityAction(
+                () -> followService.unfollow(getLoggedInUser().getProfile().getId(), profileId),
+                "unfollow", "Profile", "unfollowed");
+    }
+
+    /**
+     * Gets one page of the followers of a profile, most recent first. Pass the returned
+     * {@code nextCursor} as {@code cursor} to get the next page.
+     */
+    @GetMapping("/{profileId}/followers")
+    public ResponseEntity<ApiResponse<CursorPageResponseDto<FollowResponseDto>>> getFollowers(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> followService.getFollowers(profileId, cursor, size),
+                "Followers");
+    }
+
+    /**
+     * Gets one page of the profiles a profile follows, most recent first.
+     */
+    @GetMapping("/{profileId}/following")
+    public ResponseEntity<ApiResponse<CursorPageResponseDto<FollowResponseDto>>> getFollowing(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(
+                () -> followService.getFollowing(profileId, cursor, size),
+                "Following");
+    }
+}
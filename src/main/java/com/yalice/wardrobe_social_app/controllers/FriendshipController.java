@@ -2,8 +2,10 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.PageResponseDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendSuggestionDto;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -98,4 +100,48 @@ public class FriendshipController extends ApiBaseController {
         return handleEntityAction(() -> friendService.getFriends(getLoggedInUser().getId()),
                 "retrieve", "friends", "retrieved");
     }
+
+    /**
+     * Blocks a user. Any friendship, request or follow between the two users is removed.
+     *
+     * @param userId the ID of the user to block
+     * @return ResponseEntity with a success message
+     */
+    @PostMapping("/blocks/{userId}")
+    public ResponseEntity<ApiResponse<Void>> blockUser(@PathVariable Long userId) {
+        return handleEntityAction(() -> {
+            friendService.blockUser(getLoggedInUser().getId(), userId);
+            return null;
+        }, "block", "User", "blocked");
+    }
+
+    /**
+     * Lifts a block placed by the current user.
+     *
+     * @param userId the ID of the blocked user
+     * @return ResponseEntity with a success message
+     */
+    @DeleteMapping("/blocks/{userId}")
+    public ResponseEntity<ApiResponse<Void>> unblockUser(@PathVariable Long userId) {
+        return handleEntityAction(() -> {
+            friendService.unblockUser(getLoggedInUser().getId(), userId);
+            return null;
+        }, "unblock", "User", "unblocked");
+    }
+
+    /**
+     * Suggests friends of the current user's friends, most mutual friends first.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return ResponseEntity containing a page of suggestions
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<ApiResponse<PageResponseDto<FriendSuggestionDto>>> getFriendSuggestions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityAction(() -> PageResponseDto.from(
+                        friendService.getFriendSuggestions(getLoggedInUser().getId(), page, size)),
+                "retrieve", "friend suggestions", "retrieved");
+    }
 }
@@ -3,7 +3,9 @@ package com.yalice.wardrobe_social_app.controllers;
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.item.ItemDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportResultDto;
 import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
+import com.yalice.wardrobe_social_app.interfaces.ItemImportService;
 import com.yalice.wardrobe_social_app.interfaces.ItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,11 +23,13 @@ import java.util.List;
 public class ItemController extends ApiBaseController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @Autowired
-    public ItemController(ItemService itemService, AuthUtils authUtils) {
+    public ItemController(ItemService itemService, ItemImportService itemImportService, AuthUtils authUtils) {
         super(authUtils);
         this.itemService = itemService;
+        this.itemImportService = itemImportService;
     }
 
     /**
@@ -47,6 +51,19 @@ public class ItemController extends ApiBaseController {
                 "create", "Item", "created");
     }
 
+    /**
+     * Imports many items into the user's wardrobe from a CSV or JSON file and a zip of images.
+     */
+    @PostMapping("/{wardrobeId}/import")
+    public ResponseEntity<ApiResponse<ItemImportResultDto>> importItems(
+            @PathVariable Long wardrobeId,
+            @RequestPart("items") MultipartFile itemsFile,
+            @RequestPart("images") MultipartFile imagesZip) {
+        return handleEntityAction(
+                () -> itemImportService.importItems(getLoggedInUser().getId(), wardrobeId, itemsFile, imagesZip),
+                "import", "Items", "imported");
+    }
+
     /**
      * Updates an existing wardrobe item.
      */
@@ -80,6 +97,16 @@ public class ItemController extends ApiBaseController {
                 "retrieve", "Item", "retrieved");
     }
 
+    /**
+     * Retrieves a batch of items by ID, in request order.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<ItemResponseDto>>> getItems(@RequestParam List<Long> ids) {
+        return handleEntityAction(
+                () -> itemService.getItems(ids),
+                "retrieve", "Items", "retrieved");
+    }
+
     /**
      * Retrieves a specific item by its ID.
      */
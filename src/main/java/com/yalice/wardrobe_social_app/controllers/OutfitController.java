@@ -73,6 +73,15 @@ public class OutfitController extends ApiBaseController {
                 "retrieve", "Outfit", "retrieved");
     }
 
+    /**
+     * Retrieves a batch of outfits by ID, in request order.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<OutfitResponseDto>>> getOutfits(@RequestParam List<Long> ids) {
+        return handleEntityAction(() -> outfitService.getOutfits(ids),
+                "retrieve", "Outfits", "retrieved");
+    }
+
     /**
      * Retrieves a specific outfit by ID.
      */
@@ -2,14 +2,21 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.PageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
 import com.yalice.wardrobe_social_app.interfaces.PostService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * Controller responsible for handling post-related operations.
  */
@@ -18,10 +25,12 @@ import org.springframework.web.multipart.MultipartFile;
 public class PostController {
 
     private final PostService postService;
+    private final LikeService likeService;
     private final AuthUtils authUtils;
 
-    public PostController(PostService postService, AuthUtils authUtils) {
+    public PostController(PostService postService, LikeService likeService, AuthUtils authUtils) {
         this.postService = postService;
+        this.likeService = likeService;
         this.authUtils = authUtils;
     }
 
@@ -40,6 +49,20 @@ public class PostController {
                 .build();
     }
 
+    /**
+     * Retrieves a batch of posts by ID, in request order.
+     * Posts the current user cannot access are left out.
+     */
+    @GetMapping("/batch")
+    public ApiResponse<List<PostResponseDto>> getPosts(@RequestParam List<Long> ids) {
+        User currentUser = authUtils.getCurrentUserOrElseThrow();
+        List<PostResponseDto> posts = postService.getPosts(ids, currentUser.getProfile().getId());
+        return ApiResponse.<List<PostResponseDto>>builder()
+                .success(true)
+                .data(posts)
+                .build();
+    }
+
     /**
      * Retrieves a specific post by ID.
      */
@@ -93,4 +116,35 @@ public class PostController {
                 .data(liked ? "Post liked successfully" : "Post unliked successfully")
                 .build();
     }
+
+    /**
+     * Lists who liked a post, most recent like first.
+     */
+    @GetMapping("/{postId}/likes")
+    public ApiResponse<PageResponseDto<LikeResponseDto>> getPostLikes(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        User currentUser = authUtils.getCurrentUserOrElseThrow();
+        PageResponseDto<LikeResponseDto> likes = PageResponseDto.from(
+                postService.getPostLikes(postId, currentUser.getProfile().getId(), PageRequest.of(page, size)));
+        return ApiResponse.<PageResponseDto<LikeResponseDto>>builder()
+                .success(true)
+                .data(likes)
+                .build();
+    }
+
+    /**
+     * Returns which of the given posts the current user has liked, so a client can mark
+     * a whole feed page with one request. The result keeps the request order.
+     */
+    @GetMapping("/liked")
+    public ApiResponse<List<Long>> getLikedPosts(@RequestParam List<Long> ids) {
+        User currentUser = authUtils.getCurrentUserOrElseThrow();
+        BitSet liked = likeService.likedBy(currentUser.getProfile().getId(), ids);
+        return ApiResponse.<List<Long>>builder()
+                .success(true)
+                .data(liked.stream().mapToObj(ids::get).toList())
+                .build();
+    }
 }
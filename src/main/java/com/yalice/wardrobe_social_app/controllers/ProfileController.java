@@ -4,11 +4,17 @@ import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.profile.ProfileDto;
 import com.yalice.wardrobe_social_app.dtos.profile.ProfileResponseDto;
+import com.yalice.wardrobe_social_app.interfaces.AccountExportService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * Controller responsible for handling profile-related operations.
@@ -18,11 +24,14 @@ import org.springframework.web.multipart.MultipartFile;
 public class ProfileController extends ApiBaseController {
 
     private final ProfileService profileService;
+    private final AccountExportService accountExportService;
 
     @Autowired
-    public ProfileController(ProfileService profileService, AuthUtils authUtils) {
+    public ProfileController(ProfileService profileService, AccountExportService accountExportService,
+                             AuthUtils authUtils) {
         super(authUtils);
         this.profileService = profileService;
+        this.accountExportService = accountExportService;
     }
 
     /**
@@ -34,6 +43,27 @@ public class ProfileController extends ApiBaseController {
                 "Profile");
     }
 
+    /**
+     * Downloads everything the current user has created as a zip archive.
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportAccount() {
+        StreamingResponseBody export = accountExportService.exportAccount(getLoggedInUser().getId());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"wardrobe-export.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(export);
+    }
+
+    /**
+     * Gets the profiles of a batch of users, in request order.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<ProfileResponseDto>>> getProfiles(@RequestParam List<Long> userIds) {
+        return handleEntityRetrieval(() -> profileService.getProfiles(userIds),
+                "Profiles");
+    }
+
     /**
      * Gets a user's profile by ID.
      */
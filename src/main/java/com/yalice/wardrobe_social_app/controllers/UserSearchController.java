@@ -58,7 +58,8 @@ public class UserSearchController extends ApiBaseController {
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<UserResponseDto>>> searchUsersByUsername(
             @RequestParam String partialUsername) {
-        return handleEntityRetrieval(() -> userSearchService.searchUsersByUsername(partialUsername),
+        return handleEntityRetrieval(
+                () -> userSearchService.searchUsersByUsername(getLoggedInUser().getId(), partialUsername),
                 "Users matching partial username: " + partialUsername);
     }
 
@@ -2,6 +2,8 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
 import com.yalice.wardrobe_social_app.interfaces.WardrobeService;
@@ -60,6 +62,21 @@ public class WardrobeController extends ApiBaseController {
         );
     }
 
+    /**
+     * Retrieves one page of the items in a wardrobe, newest first. Pass the returned
+     * {@code nextCursor} as {@code cursor} to get the next page.
+     */
+    @GetMapping("/{wardrobeId}/items")
+    public ResponseEntity<ApiResponse<CursorPageResponseDto<ItemResponseDto>>> getWardrobeItems(
+            @PathVariable Long wardrobeId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return handleEntityRetrieval(() ->
+                        wardrobeService.getWardrobeItems(wardrobeId, cursor, size),
+                "Items"
+        );
+    }
+
     /**
      * Updates the details of a specific wardrobe.
      */
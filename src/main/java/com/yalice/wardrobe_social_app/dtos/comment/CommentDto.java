@@ -9,4 +9,5 @@ import lombok.*;
 @Builder
 public class CommentDto {
     private String content;
+    private Long parentId;
 }
\ No newline at end of file
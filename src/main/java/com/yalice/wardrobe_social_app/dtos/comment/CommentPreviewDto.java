@@ -0,0 +1,20 @@
+package com.yalice.wardrobe_social_app.dtos.comment;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentPreviewDto {
+    private Long id;
+    private String content;
+    private int replyCount;
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+    private LocalDateTime createdAt;
+}
@@ -17,4 +17,6 @@ public class CommentResponseDto {
     private Long userId;
     private String username;
     private Long postId;
+    private Long parentId;
+    private int replyCount;
 }
\ No newline at end of file
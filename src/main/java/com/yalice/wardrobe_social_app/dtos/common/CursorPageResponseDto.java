@@ -0,0 +1,19 @@
+package com.yalice.wardrobe_social_app.dtos.common;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as the cursor
+ * to get the following page; it is null on the last page.
+ */
+@Data
+@Builder
+public class CursorPageResponseDto<T> {
+    private List<T> content;
+    private int pageSize;
+    private Long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,227 @@
+package com.yalice.wardrobe_social_app.dtos.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * A value that has already been serialized to UTF-8 JSON. When it appears in a JSON response,
+ * its bytes are copied into the output as they are, without being parsed or re-encoded.
+ * Binary formats such as CBOR and Smile cannot embed raw JSON, so for those the fragment is
+ * parsed and written token by token. The bytes may live in a direct (off-heap) buffer,
+ * which is never modified.
+ *
+ * <p>A fragment may also carry its JSON already compressed as raw deflate blocks (see
+ * {@link #deflate(byte[])}), which can be spliced into a gzip response as they are.</p>
+ */
+public final class JsonFragment implements SerializableString, JsonSerializable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ByteBuffer json;
+    private final ByteBuffer deflated;
+
+    private JsonFragment(ByteBuffer json, ByteBuffer deflated) {
+        this.json = json.asReadOnlyBuffer();
+        this.deflated = deflated == null ? null : deflated.asReadOnlyBuffer();
+    }
+
+    /**
+     * Wraps serialized JSON held in a buffer. The buffer's content between its position and
+     * limit must be one complete JSON value and must not change afterwards.
+     */
+    public static JsonFragment of(ByteBuffer json) {
+        return new JsonFragment(json, null);
+    }
+
+    public static JsonFragment of(byte[] json) {
+        return new JsonFragment(ByteBuffer.wrap(json), null);
+    }
+
+    /**
+     * Wraps serialized JSON together with the output of {@link #deflate(byte[])} for the
+     * same bytes.
+     */
+    public static JsonFragment of(ByteBuffer json, ByteBuffer deflated) {
+        return new JsonFragment(json, deflated);
+    }
+
+    /**
+     * Compresses JSON into raw deflate blocks that end on a byte boundary and are not
+     * marked final. Blocks produced this way for different values can be concatenated,
+     * with other such blocks in between, into one valid deflate stream, because each
+     * compressor starts with an empty window and only refers back into its own input.
+     *
+     * @param json the serialized JSON
+     * @return the compressed blocks
+     */
+    public static byte[] deflate(byte[] json) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(json);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            byte[] buffer = new byte[Math.max(512, json.length / 2)];
+            int length;
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, length);
+            } while (length == buffer.length);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return the size of the serialized value in bytes
+     */
+    public int byteLength() {
+        return json.remaining();
+    }
+
+    /**
+     * Writes the fragment as raw deflate blocks in the form produced by {@link #deflate(byte[])},
+     * using the compressed bytes it carries or compressing it now if it has none.
+     */
+    public void writeDeflatedTo(OutputStream out) throws IOException {
+        if (deflated != null) {
+            Channels.newChannel(out).write(deflated.duplicate());
+        } else {
+            out.write(deflate(asUnquotedUTF8()));
+        }
+    }
+
+    /**
+     * Adds the uncompressed bytes of the fragment to a checksum.
+     */
+    public void updateChecksum(Checksum checksum) {
+        checksum.update(json.duplicate());
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        if (generator instanceof JsonGeneratorImpl) {
+            generator.writeRawValue(this);
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(asUnquotedUTF8())) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+
+    @Override
+    public String getValue() {
+        return StandardCharsets.UTF_8.decode(json.duplicate()).toString();
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        int length = json.remaining();
+        if (offset + length > buffer.length) {
+            return -1;
+        }
+        json.duplicate().get(buffer, offset, length);
+        return length;
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        String value = getValue();
+        if (offset + value.length() > buffer.length) {
+            return -1;
+        }
+        value.getChars(0, value.length(), buffer, offset);
+        return value.length();
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        return Channels.newChannel(out).write(json.duplicate());
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer out) {
+        int length = json.remaining();
+        if (length > out.remaining()) {
+            return -1;
+        }
+        out.put(json.duplicate());
+        return length;
+    }
+
+    // A fragment is written as raw JSON, never as a quoted string; these only exist to
+    // complete the interface and quote the decoded text.
+
+    @Override
+    public char[] asQuotedChars() {
+        return quoted().asQuotedChars();
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return quoted().asQuotedUTF8();
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return quoted().appendQuotedUTF8(buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return quoted().appendQuoted(buffer, offset);
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        return quoted().writeQuotedUTF8(out);
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer out) {
+        return quoted().putQuotedUTF8(out);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private SerializedString quoted() {
+        return new SerializedString(getValue());
+    }
+}
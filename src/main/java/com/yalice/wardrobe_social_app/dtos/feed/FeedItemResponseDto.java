@@ -1,9 +1,11 @@
 package com.yalice.wardrobe_social_app.dtos.feed;
 
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
 import com.yalice.wardrobe_social_app.dtos.user.UserResponseDto;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 @Getter
@@ -23,6 +25,7 @@ public class FeedItemResponseDto {
     private String outfitImage;
     private Set<String> itemImages;
     private UserResponseDto user;
+    private List<CommentPreviewDto> latestComments;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,66 @@
+package com.yalice.wardrobe_social_app.dtos.feed;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A feed page in normalized form. Posts refer to their author and outfit by ID, and each
+ * author and outfit on the page appears once in {@code users} and {@code outfits}, keyed
+ * by that ID, however many of the page's posts refer to it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NormalizedFeedResponseDto {
+    private List<FeedPost> posts;
+    private Map<Long, FeedAuthor> users;
+    private Map<Long, FeedOutfit> outfits;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FeedPost {
+        private Long id;
+        private String title;
+        private String content;
+        private int likesCount;
+        private int commentsCount;
+        private String featureImage;
+        private Long authorId;
+        private Long outfitId;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FeedAuthor {
+        private Long id;
+        private String username;
+        private String profileImageUrl;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FeedOutfit {
+        private Long id;
+        private String season;
+        private String category;
+        private String imageUrl;
+        private Set<String> itemImages;
+    }
+}
@@ -0,0 +1,14 @@
+package com.yalice.wardrobe_social_app.dtos.friendship;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FriendSuggestionDto {
+    private Long userId;
+    private String username;
+    private int mutualFriends;
+}
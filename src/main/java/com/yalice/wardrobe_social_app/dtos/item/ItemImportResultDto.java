@@ -0,0 +1,31 @@
+package com.yalice.wardrobe_social_app.dtos.item;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a bulk item import: how many rows were imported, how many were
+ * rejected, and why. Only the first rejected rows are reported in detail.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportResultDto {
+    private int importedCount;
+    private int failedCount;
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.yalice.wardrobe_social_app.dtos.item;
+
+import lombok.*;
+
+/**
+ * A single row of a bulk item import. Rows come from either a CSV file (one
+ * column per field, with a header line) or a JSON array of objects.
+ * The image field names a file inside the accompanying images archive.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemImportRowDto {
+    private String name;
+    private String brand;
+    private String category;
+    private String size;
+    private String color;
+    private String description;
+    private String image;
+}
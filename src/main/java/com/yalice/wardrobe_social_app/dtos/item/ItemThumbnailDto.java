@@ -0,0 +1,17 @@
+package com.yalice.wardrobe_social_app.dtos.item;
+
+import lombok.*;
+
+/**
+ * The few item fields needed to show an item inside another resource, such as a post's outfit.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemThumbnailDto {
+    private Long id;
+    private String name;
+    private String imageUrl;
+}
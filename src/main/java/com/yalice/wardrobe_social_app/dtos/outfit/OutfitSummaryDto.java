@@ -0,0 +1,23 @@
+package com.yalice.wardrobe_social_app.dtos.outfit;
+
+import com.yalice.wardrobe_social_app.dtos.item.ItemThumbnailDto;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outfit as embedded in a post: its own fields plus a thumbnail of each item.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutfitSummaryDto {
+    private Long id;
+    private String name;
+    private String season;
+    private String category;
+    private String imageUrl;
+    private List<ItemThumbnailDto> items;
+}
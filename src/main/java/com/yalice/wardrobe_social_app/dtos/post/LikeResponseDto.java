@@ -0,0 +1,18 @@
+package com.yalice.wardrobe_social_app.dtos.post;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LikeResponseDto {
+    private Long profileId;
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+    private LocalDateTime likedAt;
+}
@@ -0,0 +1,15 @@
+package com.yalice.wardrobe_social_app.dtos.post;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostAuthorDto {
+    private Long profileId;
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+}
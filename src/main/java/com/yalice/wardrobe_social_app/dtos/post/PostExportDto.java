@@ -0,0 +1,26 @@
+package com.yalice.wardrobe_social_app.dtos.post;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post as written to an account export. Refers to its outfit by ID so that
+ * exporting a post does not load the outfit.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostExportDto {
+    private Long id;
+    private String title;
+    private String content;
+    private String visibility;
+    private String featureImage;
+    private Long outfitId;
+    private Integer likeCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
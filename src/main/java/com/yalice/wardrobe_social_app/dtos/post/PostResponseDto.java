@@ -1,9 +1,10 @@
 package com.yalice.wardrobe_social_app.dtos.post;
 
-import com.yalice.wardrobe_social_app.entities.Outfit;
-import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitSummaryDto;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,17 +16,10 @@ public class PostResponseDto {
     private String title;
     private String featureImage;
     private String content;
-    private Outfit outfit;
     private String visibility;
-    private String username;
-
-    public PostResponseDto(Post post) {
-        this.id = post.getId();
-        this.title = post.getTitle();
-        this.featureImage = post.getFeatureImage();
-        this.content = post.getContent();
-        this.outfit = post.getOutfit();
-        this.visibility = post.getVisibility().name();
-        this.username = post.getProfile().getUser().getUsername();
-    }
+    private int likeCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PostAuthorDto author;
+    private OutfitSummaryDto outfit;
 }
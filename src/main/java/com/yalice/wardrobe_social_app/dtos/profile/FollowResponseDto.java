@@ -0,0 +1,18 @@
+package com.yalice.wardrobe_social_app.dtos.profile;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowResponseDto {
+    private Long profileId;
+    private Long userId;
+    private String username;
+    private String profileImageUrl;
+    private LocalDateTime followedAt;
+}
@@ -18,4 +18,6 @@ public class ProfileResponseDto {
     private String fashionInspirations;
     private String profileImageUrl;
     private boolean isPublic;
+    private int followerCount;
+    private int followingCount;
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.yalice.wardrobe_social_app.dtos.wardrobe;
 
-import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import lombok.*;
 
-import java.util.Set;
-
+/**
+ * Summary of a wardrobe. Items are not included; they are listed page by page
+ * through {@code GET /api/wardrobes/{wardrobeId}/items}.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,5 +15,6 @@ public class WardrobeResponseDto {
     private Long id;
     private String name;
     private Long profileId;
-    Set<ItemResponseDto> items;
+    private int itemCount;
+    private String coverImageUrl;
 }
@@ -0,0 +1,121 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the purge of a deleted account. The account is disabled as soon as
+ * deletion is requested; its data is then removed stage by stage in small
+ * batches. The current stage is saved with every batch, so an interrupted
+ * purge resumes where it stopped.
+ */
+@Entity
+@Table(name = "account_deletions")
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class AccountDeletion extends BaseEntity {
+
+    /**
+     * The ID of the user being deleted. Not a foreign key, since the user row
+     * is removed by the purge.
+     */
+    @Column(nullable = false, unique = true)
+    private Long userId;
+
+    /**
+     * The ID of the user's profile, if the user has one.
+     */
+    @Column
+    private Long profileId;
+
+    /**
+     * The stage the purge is in.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Stage stage = Stage.LIKES;
+
+    /**
+     * The overall state of the purge.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /**
+     * The number of rows removed so far.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private long deletedRows = 0;
+
+    /**
+     * The number of times the purge has failed.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /**
+     * The error from the most recent failure.
+     */
+    @Column(length = 1000)
+    private String lastError;
+
+    /**
+     * The timestamp when the purge finished.
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * The stages of a purge, in the order they run. Rows are removed before the
+     * rows they reference. Batched stages repeat until a batch comes back short;
+     * the others run once.
+     */
+    public enum Stage {
+        LIKES(true),
+        COMMENTS(true),
+        POSTS(true),
+        OUTFITS(true),
+        ITEMS(true),
+        WARDROBES(true),
+        CONNECTIONS(true),
+        FRIENDSHIPS(true),
+        PROFILE(false),
+        USER(false);
+
+        private final boolean batched;
+
+        Stage(boolean batched) {
+            this.batched = batched;
+        }
+
+        public boolean isBatched() {
+            return batched;
+        }
+
+        public Stage next() {
+            Stage[] stages = values();
+            return ordinal() + 1 < stages.length ? stages[ordinal() + 1] : null;
+        }
+    }
+
+    /**
+     * Enum representing the state of a purge.
+     */
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -28,10 +28,11 @@ public abstract class BaseEntity {
 
     /**
      * The unique identifier of the entity. This is the primary key, and it is automatically
-     * generated using an identity strategy.
+     * generated from a per-table database sequence. Hibernate's pooled optimizer reserves
+     * IDs in blocks, so new entities get their ID on persist and inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     /**
@@ -3,14 +3,20 @@ package com.yalice.wardrobe_social_app.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Represents a comment on a post in the wardrobe social app.
  * The comment is linked to a post and a user profile, with a content field
- * representing the text of the comment.
+ * representing the text of the comment. Comments are threaded one level deep: a
+ * reply points to the top-level comment it answers.
  */
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_parent", columnList = "post_id, parent_id, id"),
+        @Index(name = "idx_comments_parent", columnList = "parent_id, id")
+})
+@DynamicUpdate
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
@@ -46,4 +52,20 @@ public class Comment extends BaseEntity {
      */
     @Column(nullable = false, length = 1000)
     private String content;
+
+    /**
+     * The top-level comment this comment replies to, or null for a top-level comment.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Comment parent;
+
+    /**
+     * The number of replies to this comment, kept in step with the replies themselves.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer replyCount = 0;
 }
@@ -0,0 +1,50 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A copy of a {@link DomainEvent} that an
+ * {@link com.yalice.wardrobe_social_app.events.OutboxConsumer} failed on every time it
+ * was given it alone, and that it was moved past so that its later events are delivered.
+ * Rows are written only by {@link com.yalice.wardrobe_social_app.events.DomainEventOutbox}
+ * and are kept for someone to inspect and replay; the entity defines the table.
+ */
+@Entity
+@Table(name = "outbox_dead_letters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetteredEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "tx_id", nullable = false)
+    private long txId;
+
+    @Column(name = "event_id", nullable = false)
+    private long eventId;
+
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    /**
+     * The message of the consumer's last failure, cut to fit.
+     */
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event recorded in the transaction that caused it, for delivery to
+ * {@link com.yalice.wardrobe_social_app.events.OutboxConsumer}s once that transaction has
+ * committed. Rows are read and written only by
+ * {@link com.yalice.wardrobe_social_app.events.DomainEventOutbox}; the entity defines the
+ * table.
+ */
+@Entity
+@Table(name = "domain_events", indexes = @Index(name = "idx_domain_events_tx_id", columnList = "tx_id, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The ID of the transaction that recorded the event. Events are delivered in order of
+     * this ID, then of {@link #id}.
+     */
+    @Column(name = "tx_id", nullable = false)
+    private long txId;
+
+    /**
+     * The simple name of the event's class, such as {@code CommentAddedEvent}.
+     */
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    /**
+     * The event, as JSON.
+     */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Represents one profile following another. The follower and following counts shown
+ * on a profile are kept in {@code Profile.followerCount} and {@code Profile.followingCount}.
+ */
+@Entity
+@Table(name = "follows", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "follower_id", "followed_id" }) // Prevents duplicate follows
+}, indexes = {
+        @Index(name = "idx_follows_follower", columnList = "follower_id, id"),
+        @Index(name = "idx_follows_followed", columnList = "followed_id, id")
+})
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class Follow extends BaseEntity {
+
+    /**
+     * The profile that follows.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "follower_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Profile follower;
+
+    /**
+     * The profile being followed.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "followed_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Profile followed;
+}
@@ -0,0 +1,43 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * An image file waiting to be removed from storage. Rows are written in the
+ * same transaction that deletes the owning entity, so a file is never
+ * forgotten even if the application stops before removing it.
+ */
+@Entity
+@Table(name = "image_cleanup_tasks", indexes = @Index(name = "idx_image_cleanup_tasks_next_attempt", columnList = "next_attempt_at"))
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class ImageCleanupTask extends BaseEntity {
+
+    /**
+     * The URL of the image to remove.
+     */
+    @Column(nullable = false)
+    private String imageUrl;
+
+    /**
+     * The number of failed attempts to remove the image.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    /**
+     * The earliest time the next attempt may run. Pushed back after each failure.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+}
@@ -13,7 +13,7 @@ import java.util.List;
  * category, size, and other optional attributes.
  */
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = @Index(name = "idx_items_wardrobe_id", columnList = "wardrobe_id, id"))
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
@@ -0,0 +1,30 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * How far an {@link com.yalice.wardrobe_social_app.events.OutboxConsumer} has got through
+ * the {@link DomainEvent}s: the transaction and event ID of the last event it was given.
+ * Rows are read and written only by
+ * {@link com.yalice.wardrobe_social_app.events.DomainEventOutbox}; the entity defines the
+ * table.
+ */
+@Entity
+@Table(name = "outbox_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "tx_id", nullable = false)
+    private long txId;
+
+    @Column(name = "event_id", nullable = false)
+    private long eventId;
+}
@@ -3,18 +3,18 @@ package com.yalice.wardrobe_social_app.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Represents a post created by a user, which may include an outfit and user
  * interactions such as likes and comments.
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_profile_created", columnList = "profile_id, created_at, id"))
+@DynamicUpdate
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
@@ -73,12 +73,11 @@ public class Post extends BaseEntity {
     private Integer likeCount = 0;
 
     /**
-     * The set of users who liked the post.
+     * The number of comments on this post, replies included.
      */
-    @ManyToMany
-    @JoinTable(name = "post_likes", joinColumns = @JoinColumn(name = "post_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
+    @Column(nullable = false)
     @Builder.Default
-    private Set<User> likes = new HashSet<>();
+    private Integer commentCount = 0;
 
     /**
      * The list of comments associated with this post.
@@ -89,31 +88,6 @@ public class Post extends BaseEntity {
     @Builder.Default
     private List<Comment> comments = new ArrayList<>();
 
-    /**
-     * Adds a like from a user to the post.
-     *
-     * @param user the user who liked the post
-     */
-    public void addLike(User user) {
-        likes.add(user);
-    }
-
-    /**
-     * Removes a like from a user from the post.
-     *
-     * @param user the user whose like is being removed
-     */
-    public void removeLike(User user) {
-        likes.remove(user);
-    }
-
-    /**
-     *
-     * @return likes count
-     */
-    public int getLikesCount() {
-        return likes.size();
-    }
     /**
      * Adds a comment to the post.
      *
@@ -132,14 +106,6 @@ public class Post extends BaseEntity {
         comments.remove(comment);
     }
 
-    /**
-     *
-     * @return comment count
-     */
-    public int getCommentsCount() {
-        return comments.size();
-    }
-
     /**
      * Enum representing the visibility of the post.
      */
@@ -3,6 +3,7 @@ package com.yalice.wardrobe_social_app.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -15,6 +16,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "profiles")
+@DynamicUpdate
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
@@ -111,16 +113,19 @@ public class Profile extends BaseEntity {
     @OneToMany(mappedBy = "profile", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Like> likes = new HashSet<>();
 
-    @ManyToMany
-    @JoinTable(name = "profile_followers", joinColumns = @JoinColumn(name = "profile_id"), inverseJoinColumns = @JoinColumn(name = "follower_id"))
-    @ToString.Exclude
-    @EqualsAndHashCode.Exclude
-    private Set<Profile> followers = new HashSet<>();
+    /**
+     * The number of profiles following this profile.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer followerCount = 0;
 
-    @ManyToMany(mappedBy = "followers")
-    @ToString.Exclude
-    @EqualsAndHashCode.Exclude
-    private Set<Profile> following = new HashSet<>();
+    /**
+     * The number of profiles this profile follows.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer followingCount = 0;
 
     /**
      * Enum representing the visibility of the profile.
@@ -0,0 +1,32 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A rate limit bucket shared by all nodes. Rows are read and written only by
+ * {@link com.yalice.wardrobe_social_app.security.SharedRateLimitStore}; the entity
+ * defines the table.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    /**
+     * The scope and the client IP or username, such as {@code USER:alice}.
+     */
+    @Id
+    @Column(name = "bucket_key")
+    private String bucketKey;
+
+    /**
+     * The time, in microseconds since the epoch by the database clock, at which the
+     * bucket will be full again.
+     */
+    @Column(name = "full_at", nullable = false)
+    private long fullAt;
+}
@@ -0,0 +1,29 @@
+package com.yalice.wardrobe_social_app.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The posts a user has seen in their feed. Rows are written only by
+ * {@link com.yalice.wardrobe_social_app.services.helpers.SeenPostTracker}, which keeps
+ * them in memory and saves them periodically.
+ */
+@Entity
+@Table(name = "seen_posts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeenPosts {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * The seen post IDs, as serialized by
+     * {@link com.yalice.wardrobe_social_app.services.helpers.PostIdBitmap#toBytes()}.
+     */
+    @Column(name = "post_ids", nullable = false)
+    private byte[] postIds;
+}
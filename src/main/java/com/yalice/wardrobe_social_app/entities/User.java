@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -49,6 +50,14 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private Provider provider;
 
+    /**
+     * The timestamp when the account was disabled because its deletion was
+     * requested. A disabled user can no longer sign in; the account's data is
+     * removed in the background.
+     */
+    @Column
+    private LocalDateTime disabledAt;
+
     /**
      * The profile associated with the user, which manages the wardrobe, outfits,
      * and items.
@@ -76,6 +85,15 @@ public class User extends BaseEntity {
     @EqualsAndHashCode.Exclude
     private Set<Friendship> receivedFriendRequests = new HashSet<>();
 
+    /**
+     * Checks whether the account has been disabled pending deletion.
+     *
+     * @return true if the account is disabled
+     */
+    public boolean isDisabled() {
+        return disabledAt != null;
+    }
+
     /**
      * Enumeration of supported authentication providers.
      */
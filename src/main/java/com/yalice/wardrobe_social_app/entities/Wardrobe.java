@@ -41,6 +41,20 @@ public class Wardrobe extends BaseEntity {
     @EqualsAndHashCode.Exclude
     private Profile profile;
 
+    /**
+     * The number of items in this wardrobe, kept in step with item inserts and deletes
+     * so listings do not have to count or load the items.
+     */
+    @Column(name = "item_count", nullable = false, updatable = false)
+    @Builder.Default
+    private int itemCount = 0;
+
+    /**
+     * The image of the most recently added item that has one, shown as the wardrobe cover.
+     */
+    @Column(name = "cover_image_url", updatable = false)
+    private String coverImageUrl;
+
     /**
      * The items contained in this wardrobe.
      */
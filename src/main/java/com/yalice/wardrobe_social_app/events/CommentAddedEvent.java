@@ -0,0 +1,11 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Recorded in the {@link DomainEventOutbox} when a comment or reply is added.
+ *
+ * @param commentId the ID of the new comment
+ * @param postId    the ID of the post commented on
+ * @param parentId  the ID of the comment replied to, or null for a top-level comment
+ */
+public record CommentAddedEvent(Long commentId, Long postId, Long parentId) {
+}
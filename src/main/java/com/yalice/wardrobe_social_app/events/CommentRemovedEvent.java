@@ -0,0 +1,13 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Recorded in the {@link DomainEventOutbox} when a comment is deleted, with its replies
+ * if it had any.
+ *
+ * @param commentId the ID of the deleted comment
+ * @param postId    the ID of the post it was on
+ * @param parentId  the ID of the comment it replied to, or null for a top-level comment
+ * @param removed   the number of comments removed: the comment and its replies
+ */
+public record CommentRemovedEvent(Long commentId, Long postId, Long parentId, int removed) {
+}
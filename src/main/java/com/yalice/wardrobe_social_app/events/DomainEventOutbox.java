@@ -0,0 +1,180 @@
+package com.yalice.wardrobe_social_app.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Events kept in the {@code domain_events} table, written in the transaction that caused
+ * them, the {@code outbox_checkpoints} of the consumers reading them, and the
+ * {@code outbox_dead_letters} that consumers were moved past.
+ *
+ * <p>Each event is stamped with the ID of the transaction that wrote it, and consumers
+ * read events in order of that ID. Only events of transactions older than every
+ * transaction still running are read, so an event that commits late can never fall
+ * behind a consumer's checkpoint. Uses PostgreSQL's transaction ID functions.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    private static final String CURRENT_TX_ID = "CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT)";
+    private static final String OLDEST_RUNNING_TX_ID =
+            "CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)";
+
+    private static final String APPEND =
+            "INSERT INTO domain_events (tx_id, type, payload, created_at) "
+                    + "VALUES (" + CURRENT_TX_ID + ", ?, ?, LOCALTIMESTAMP)";
+
+    private static final String READ =
+            "SELECT id, tx_id, type, payload FROM domain_events "
+                    + "WHERE (tx_id, id) > (?, ?) AND tx_id < " + OLDEST_RUNNING_TX_ID + " "
+                    + "ORDER BY tx_id, id LIMIT ?";
+
+    private static final String CREATE_CHECKPOINT =
+            "INSERT INTO outbox_checkpoints (consumer, tx_id, event_id) VALUES (?, 0, 0) "
+                    + "ON CONFLICT (consumer) DO NOTHING";
+
+    private static final String LOCK_CHECKPOINT =
+            "SELECT tx_id, event_id FROM outbox_checkpoints WHERE consumer = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String FIND_CHECKPOINT =
+            "SELECT tx_id, event_id FROM outbox_checkpoints WHERE consumer = ?";
+
+    private static final String SAVE_CHECKPOINT =
+            "UPDATE outbox_checkpoints SET tx_id = ?, event_id = ? WHERE consumer = ?";
+
+    private static final String DEAD_LETTER =
+            "INSERT INTO outbox_dead_letters (consumer, tx_id, event_id, type, payload, error, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String DELETE_UP_TO =
+            "DELETE FROM domain_events WHERE (tx_id, id) <= (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records the event in the caller's transaction. It is delivered only if that
+     * transaction commits.
+     *
+     * @param event the event; its class's simple name is stored as the type
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Object event) {
+        jdbcTemplate.update(APPEND, typeOf(event.getClass()), toJson(event));
+    }
+
+    /**
+     * Locks the consumer's checkpoint until the transaction ends, creating it at the
+     * start of the outbox if it does not exist.
+     *
+     * @return the checkpoint, or empty if another instance holds it
+     */
+    public Optional<Position> lockCheckpoint(String consumer) {
+        List<Position> locked = jdbcTemplate.query(LOCK_CHECKPOINT, Position.ROW_MAPPER, consumer);
+        if (locked.isEmpty() && jdbcTemplate.update(CREATE_CHECKPOINT, consumer) > 0) {
+            locked = jdbcTemplate.query(LOCK_CHECKPOINT, Position.ROW_MAPPER, consumer);
+        }
+        return locked.stream().findFirst();
+    }
+
+    public void saveCheckpoint(String consumer, Position position) {
+        jdbcTemplate.update(SAVE_CHECKPOINT, position.txId(), position.eventId(), consumer);
+    }
+
+    /**
+     * Keeps a copy of an event the consumer cannot take. The caller moves the consumer's
+     * checkpoint past it in the same transaction.
+     */
+    public void deadLetter(String consumer, StoredEvent event, String error) {
+        String message = String.valueOf(error);
+        jdbcTemplate.update(DEAD_LETTER, consumer, event.position().txId(), event.position().eventId(),
+                event.type(), event.payload(),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    /**
+     * @return up to {@code limit} events after the position, in order
+     */
+    public List<StoredEvent> readAfter(Position position, int limit) {
+        return jdbcTemplate.query(READ,
+                (rs, rowNum) -> new StoredEvent(
+                        new Position(rs.getLong("tx_id"), rs.getLong("id")),
+                        rs.getString("type"),
+                        rs.getString("payload")),
+                position.txId(), position.eventId(), limit);
+    }
+
+    /**
+     * Deletes the events every one of the consumers has been given. Nothing is deleted
+     * while one of them has no checkpoint yet.
+     *
+     * @return the number of events deleted
+     */
+    public int deleteConsumed(Collection<String> consumers) {
+        Position oldest = null;
+        for (String consumer : consumers) {
+            List<Position> found = jdbcTemplate.query(FIND_CHECKPOINT, Position.ROW_MAPPER, consumer);
+            if (found.isEmpty()) {
+                return 0;
+            }
+            if (oldest == null || found.get(0).compareTo(oldest) < 0) {
+                oldest = found.get(0);
+            }
+        }
+        return oldest == null ? 0 : jdbcTemplate.update(DELETE_UP_TO, oldest.txId(), oldest.eventId());
+    }
+
+    public <T> T payloadOf(StoredEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.payload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read " + event.type() + " event " + event.position(), e);
+        }
+    }
+
+    static String typeOf(Class<?> eventClass) {
+        return eventClass.getSimpleName();
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize " + typeOf(event.getClass()), e);
+        }
+    }
+
+    /**
+     * A place in the outbox: the transaction ID and event ID of an event.
+     */
+    public record Position(long txId, long eventId) implements Comparable<Position> {
+
+        static final RowMapper<Position> ROW_MAPPER =
+                (rs, rowNum) -> new Position(rs.getLong("tx_id"), rs.getLong("event_id"));
+
+        @Override
+        public int compareTo(Position other) {
+            int byTx = Long.compare(txId, other.txId);
+            return byTx != 0 ? byTx : Long.compare(eventId, other.eventId);
+        }
+    }
+
+    /**
+     * An event as stored, before its payload is read.
+     */
+    public record StoredEvent(Position position, String type, String payload) {
+    }
+}
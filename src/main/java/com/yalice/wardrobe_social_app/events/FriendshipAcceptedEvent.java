@@ -0,0 +1,11 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when a friend request is accepted. Listeners that keep copies of the friend
+ * graph add the new edge.
+ *
+ * @param senderId    the ID of the user who sent the request
+ * @param recipientId the ID of the user who accepted it
+ */
+public record FriendshipAcceptedEvent(Long senderId, Long recipientId) {
+}
@@ -0,0 +1,10 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Recorded in the {@link DomainEventOutbox} when the post or item that owned an image is
+ * deleted, so that the file can be removed from storage.
+ *
+ * @param imageUrl the URL of the image
+ */
+public record ImageOrphanedEvent(String imageUrl) {
+}
@@ -0,0 +1,17 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when a profile interacts with another profile's content.
+ *
+ * @param profileId   the ID of the profile that interacted
+ * @param authorId    the ID of the profile whose content it was
+ * @param interaction what the profile did
+ */
+public record InteractionEvent(Long profileId, Long authorId, Interaction interaction) {
+
+    public enum Interaction {
+        LIKE,
+        COMMENT,
+        VISIT
+    }
+}
@@ -0,0 +1,34 @@
+package com.yalice.wardrobe_social_app.events;
+
+import java.util.List;
+
+/**
+ * Receives events recorded in the {@link DomainEventOutbox}, in the order their
+ * transactions committed. Each consumer bean is given every event of its types by the
+ * {@link OutboxDispatcher} on one instance at a time.
+ *
+ * <p>Delivery is at least once: a batch is given again if the consumer throws, or if the
+ * instance stops before the batch's checkpoint is saved. Database changes made by
+ * {@link #consume} are committed with the checkpoint, so they happen exactly once; any
+ * other effect must tolerate repeats.</p>
+ */
+public interface OutboxConsumer {
+
+    /**
+     * @return the name the consumer's checkpoint is saved under; renaming a consumer
+     *         makes it start over from the oldest retained event
+     */
+    String getName();
+
+    /**
+     * @return the event classes to deliver; events of other classes are skipped
+     */
+    List<Class<?>> getEventTypes();
+
+    /**
+     * Handles a batch of events, inside the transaction that saves the checkpoint.
+     *
+     * @param events the events of the batch, in order
+     */
+    void consume(List<Object> events);
+}
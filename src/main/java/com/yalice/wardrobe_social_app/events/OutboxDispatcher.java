@@ -0,0 +1,197 @@
+package com.yalice.wardrobe_social_app.events;
+
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.Position;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.StoredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers the events in the {@link DomainEventOutbox} to every {@link OutboxConsumer}.
+ *
+ * <p>Every {@code app.outbox.poll-interval-ms}, each consumer is given the events after
+ * its checkpoint in batches of {@code app.outbox.batch-size}, until it has caught up.
+ * A batch is read, consumed and checkpointed in one transaction that holds the
+ * consumer's checkpoint row; instances skip consumers whose row another instance holds,
+ * so consumers run in parallel across instances but each sees its events in order. A
+ * consumer that throws holds back only its own events, and is given the same batch
+ * again after {@code app.outbox.retry-backoff-ms}, doubling with each failure. Once it
+ * has failed {@code app.outbox.max-attempts} times in a row, it is given the events one
+ * at a time; the first it fails on alone is copied to the dead letters and skipped.
+ * Failure counts are kept per instance. Events every consumer has been given are
+ * deleted every {@code app.outbox.prune-interval-ms}, by one node at a time, as the
+ * {@code outbox-prune} job.</p>
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final DomainEventOutbox outbox;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Map<String, Map<String, Class<?>>> typesByConsumer = new HashMap<>();
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+    public OutboxDispatcher(
+            DomainEventOutbox outbox,
+            List<OutboxConsumer> consumers,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${app.outbox.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.outbox = outbox;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        for (OutboxConsumer consumer : consumers) {
+            Map<String, Class<?>> types = new HashMap<>();
+            for (Class<?> type : consumer.getEventTypes()) {
+                types.put(DomainEventOutbox.typeOf(type), type);
+            }
+            if (typesByConsumer.put(consumer.getName(), types) != null) {
+                throw new IllegalStateException("Duplicate outbox consumer name: " + consumer.getName());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        for (OutboxConsumer consumer : consumers) {
+            Failure failure = failures.get(consumer.getName());
+            if (failure != null && System.nanoTime() - failure.nextAttemptAt() < 0) {
+                continue;
+            }
+            try {
+                if (failure != null && failure.attempts() >= maxAttempts) {
+                    deliverOneAtATime(consumer);
+                    failures.remove(consumer.getName());
+                    failure = null;
+                }
+                while (deliverBatch(consumer, batchSize) == batchSize) {
+                    // The consumer is behind; keep going until it has caught up
+                }
+                failures.remove(consumer.getName());
+            } catch (RuntimeException e) {
+                recordFailure(consumer, failure, e);
+            }
+        }
+    }
+
+    public void prune() {
+        List<String> names = consumers.stream().map(OutboxConsumer::getName).toList();
+        Integer deleted = transactionTemplate.execute(status -> outbox.deleteConsumed(names));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} delivered outbox events", deleted);
+        }
+    }
+
+    /**
+     * Gives the consumer up to a batch of events one at a time, to find the event its
+     * failing batch fails on. The first event it fails on alone is dead-lettered.
+     */
+    private void deliverOneAtATime(OutboxConsumer consumer) {
+        for (int delivered = 0; delivered < batchSize; delivered++) {
+            try {
+                if (deliverBatch(consumer, 1) == 0) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                deadLetterNext(consumer, e);
+                return;
+            }
+        }
+    }
+
+    private void deadLetterNext(OutboxConsumer consumer, RuntimeException cause) {
+        Optional<StoredEvent> deadLettered = Optional.ofNullable(transactionTemplate.execute(status -> {
+            Optional<Position> checkpoint = outbox.lockCheckpoint(consumer.getName());
+            if (checkpoint.isEmpty()) {
+                return null;
+            }
+            List<StoredEvent> next = outbox.readAfter(checkpoint.get(), 1);
+            if (next.isEmpty()) {
+                return null;
+            }
+            StoredEvent event = next.get(0);
+            outbox.deadLetter(consumer.getName(), event, cause.toString());
+            outbox.saveCheckpoint(consumer.getName(), event.position());
+            return event;
+        }));
+        deadLettered.ifPresent(event -> logger.error("Outbox consumer {} failed on {} event {} after {} attempts; "
+                + "moved it to the dead letters", consumer.getName(), event.type(), event.position(), maxAttempts, cause));
+    }
+
+    private void recordFailure(OutboxConsumer consumer, Failure previous, RuntimeException e) {
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        failures.put(consumer.getName(), new Failure(attempts, System.nanoTime() + backoff.toNanos()));
+        if (attempts == 1) {
+            logger.error("Outbox consumer {} failed; retrying its batch in {} ms",
+                    consumer.getName(), backoff.toMillis(), e);
+        } else {
+            logger.warn("Outbox consumer {} failed {} times in a row ({}); retrying in {} ms",
+                    consumer.getName(), attempts, e.toString(), backoff.toMillis());
+        }
+    }
+
+    /**
+     * Gives the consumer the next batch of its events and saves its checkpoint after the
+     * batch.
+     *
+     * @return the number of events read, including those of other types; 0 if another
+     *         instance holds the consumer's checkpoint
+     */
+    int deliverBatch(OutboxConsumer consumer, int limit) {
+        Map<String, Class<?>> types = typesByConsumer.get(consumer.getName());
+        Integer read = transactionTemplate.execute(status -> {
+            Optional<Position> checkpoint = outbox.lockCheckpoint(consumer.getName());
+            if (checkpoint.isEmpty()) {
+                return 0;
+            }
+            List<StoredEvent> batch = outbox.readAfter(checkpoint.get(), limit);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<Object> events = new ArrayList<>(batch.size());
+            for (StoredEvent event : batch) {
+                Class<?> type = types.get(event.type());
+                if (type != null) {
+                    events.add(outbox.payloadOf(event, type));
+                }
+            }
+            if (!events.isEmpty()) {
+                consumer.consume(events);
+            }
+            outbox.saveCheckpoint(consumer.getName(), batch.get(batch.size() - 1).position());
+            return batch.size();
+        });
+        return read == null ? 0 : read;
+    }
+
+    /**
+     * The consecutive failures of a consumer on this instance.
+     *
+     * @param nextAttemptAt the {@link System#nanoTime()} before which it is not polled
+     */
+    private record Failure(int attempts, long nextAttemptAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when anything shown in a post's feed entry changes: the post itself, its
+ * likes or its comments. Listeners that keep derived copies of the post drop them.
+ *
+ * @param postId the ID of the changed post
+ */
+public record PostChangedEvent(Long postId) {
+}
@@ -0,0 +1,13 @@
+package com.yalice.wardrobe_social_app.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a post is created.
+ *
+ * @param postId    the ID of the new post
+ * @param profileId the ID of the author's profile
+ * @param createdAt when the post was created
+ */
+public record PostCreatedEvent(Long postId, Long profileId, LocalDateTime createdAt) {
+}
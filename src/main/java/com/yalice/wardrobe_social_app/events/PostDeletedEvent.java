@@ -0,0 +1,10 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when a post is deleted by its author.
+ *
+ * @param postId    the ID of the deleted post
+ * @param profileId the ID of the author's profile
+ */
+public record PostDeletedEvent(Long postId, Long profileId) {
+}
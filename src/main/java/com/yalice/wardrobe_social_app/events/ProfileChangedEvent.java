@@ -0,0 +1,10 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when a profile's own fields change. Listeners that keep derived copies of
+ * the profile drop them.
+ *
+ * @param userId the ID of the user whose profile changed
+ */
+public record ProfileChangedEvent(Long userId) {
+}
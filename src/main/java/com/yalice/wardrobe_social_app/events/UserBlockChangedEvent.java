@@ -0,0 +1,11 @@
+package com.yalice.wardrobe_social_app.events;
+
+/**
+ * Published when a user blocks or unblocks another user. Listeners that cache block
+ * lists or friendships of either user drop them.
+ *
+ * @param userId        the ID of the user who blocked or unblocked
+ * @param blockedUserId the ID of the other user
+ */
+public record UserBlockChangedEvent(Long userId, Long blockedUserId) {
+}
@@ -93,6 +93,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiResponse);
     }
 
+    @ExceptionHandler(ForbiddenActionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleForbiddenAction(ForbiddenActionException ex) {
+        ApiResponse<Void> apiResponse = new ApiResponse<>(false, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(apiResponse);
+    }
+
     @ExceptionHandler(UnauthorizedAccessException.class)
     public ResponseEntity<ApiResponse<Void>> handleUnauthorizedAccess(UnauthorizedAccessException ex) {
         ApiResponse<Void> apiResponse = new ApiResponse<>(false, ex.getMessage(), null);
@@ -0,0 +1,145 @@
+package com.yalice.wardrobe_social_app.graphql;
+
+import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.ProfileResponseDto;
+import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
+import com.yalice.wardrobe_social_app.interfaces.CommentService;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.interfaces.FriendService;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
+import com.yalice.wardrobe_social_app.interfaces.OutfitService;
+import com.yalice.wardrobe_social_app.interfaces.ProfileService;
+import com.yalice.wardrobe_social_app.interfaces.WardrobeService;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import graphql.GraphQLContext;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registers the batch loaders that resolve associations in GraphQL queries.
+ *
+ * <p>A new set of loaders is created for each request. Keys requested while a level
+ * of the query is resolved are collected, de-duplicated and loaded with one service
+ * call per loader, or per page of comments, in chunks of at most
+ * {@link BaseService#MAX_BATCH_SIZE}. A query
+ * therefore runs a bounded number of SQL statements no matter how many posts,
+ * comments or friends it returns.</p>
+ *
+ * <p>Profiles, comments and friends of users the viewer blocked or was blocked by are
+ * dropped against the {@link BlockList}, so the author of a blocked user's comment or
+ * post resolves to null.</p>
+ */
+@Component
+public class GraphQlDataLoaders {
+
+    public static final String PROFILES_BY_USER_ID = "profilesByUserId";
+    public static final String OUTFITS_BY_ID = "outfitsById";
+    public static final String WARDROBES_BY_PROFILE_ID = "wardrobesByProfileId";
+    public static final String OUTFITS_BY_PROFILE_ID = "outfitsByProfileId";
+    public static final String COMMENTS_BY_POST_ID = "commentsByPostId";
+    public static final String FRIENDS_BY_USER_ID = "friendsByUserId";
+    public static final String LIKED_BY_VIEWER = "likedByViewer";
+
+    public GraphQlDataLoaders(BatchLoaderRegistry registry,
+                              ProfileService profileService,
+                              OutfitService outfitService,
+                              WardrobeService wardrobeService,
+                              CommentService commentService,
+                              FriendService friendService,
+                              LikeService likeService,
+                              BlockList blockList) {
+        registry.<Long, ProfileResponseDto>forName(PROFILES_BY_USER_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((userIds, environment) -> Mono.fromCallable(() -> {
+                    User viewer = environment.<GraphQLContext>getContext().get(ViewerInterceptor.VIEWER);
+                    List<ProfileResponseDto> profiles = profileService.getProfiles(new ArrayList<>(userIds));
+                    return indexBy(blockList.visibleTo(viewer.getId(), profiles, ProfileResponseDto::getUserId),
+                            ProfileResponseDto::getUserId);
+                }));
+
+        registry.<Long, OutfitResponseDto>forName(OUTFITS_BY_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((outfitIds, environment) -> Mono.fromCallable(() ->
+                        indexBy(outfitService.getOutfits(new ArrayList<>(outfitIds)), OutfitResponseDto::getId)));
+
+        registry.<Long, List<WardrobeResponseDto>>forName(WARDROBES_BY_PROFILE_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((profileIds, environment) -> Mono.fromCallable(() ->
+                        wardrobeService.getWardrobesByProfileIds(new ArrayList<>(profileIds))));
+
+        registry.<Long, List<OutfitResponseDto>>forName(OUTFITS_BY_PROFILE_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((profileIds, environment) -> Mono.fromCallable(() ->
+                        outfitService.getOutfitsByProfileIds(new ArrayList<>(profileIds))));
+
+        registry.<CommentPageKey, List<CommentResponseDto>>forName(COMMENTS_BY_POST_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromCallable(() -> {
+                    User viewer = environment.<GraphQLContext>getContext().get(ViewerInterceptor.VIEWER);
+                    Map<CommentPageKey, List<CommentResponseDto>> visible = new HashMap<>();
+                    Map<List<Object>, List<CommentPageKey>> byPage = keys.stream()
+                            .collect(Collectors.groupingBy(key -> Arrays.asList(key.first(), key.after())));
+                    byPage.values().forEach(page -> {
+                        CommentPageKey any = page.get(0);
+                        Map<Long, List<CommentResponseDto>> comments = commentService.getCommentsByPostIds(
+                                page.stream().map(CommentPageKey::postId).collect(Collectors.toList()),
+                                any.after(), any.first());
+                        page.forEach(key -> visible.put(key, blockList.visibleTo(viewer.getId(),
+                                comments.get(key.postId()), CommentResponseDto::getUserId)));
+                    });
+                    return visible;
+                }));
+
+        registry.<Long, List<FriendResponseDto>>forName(FRIENDS_BY_USER_ID)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((userIds, environment) -> Mono.fromCallable(() -> {
+                    User viewer = environment.<GraphQLContext>getContext().get(ViewerInterceptor.VIEWER);
+                    Map<Long, List<FriendResponseDto>> visible = new HashMap<>();
+                    friendService.getFriendsByUserIds(new ArrayList<>(userIds)).forEach((userId, friends) ->
+                            visible.put(userId,
+                                    blockList.visibleTo(viewer.getId(), friends, FriendResponseDto::getUserId)));
+                    return visible;
+                }));
+
+        registry.<Long, Boolean>forName(LIKED_BY_VIEWER)
+                .withOptions(options -> options.setMaxBatchSize(BaseService.MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((postIds, environment) -> Mono.fromCallable(() -> {
+                    User viewer = environment.<GraphQLContext>getContext().get(ViewerInterceptor.VIEWER);
+                    List<Long> ids = new ArrayList<>(postIds);
+                    BitSet liked = likeService.likedBy(viewer.getProfile().getId(), ids);
+                    Map<Long, Boolean> likedById = new HashMap<>();
+                    for (int i = 0; i < ids.size(); i++) {
+                        likedById.put(ids.get(i), liked.get(i));
+                    }
+                    return likedById;
+                }));
+    }
+
+    /**
+     * One page of the top-level comments of a post. Posts asked for the same page are
+     * loaded together.
+     *
+     * @param postId the ID of the post
+     * @param first  the number of comments
+     * @param after  the ID of the last comment of the previous page, or null for the first page
+     */
+    public record CommentPageKey(Long postId, int first, Long after) {
+    }
+
+    private static <T> Map<Long, T> indexBy(List<T> values, Function<T, Long> keyExtractor) {
+        return values.stream().collect(Collectors.toMap(keyExtractor, Function.identity(), (first, second) -> first));
+    }
+}
@@ -0,0 +1,55 @@
+package com.yalice.wardrobe_social_app.graphql;
+
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.exceptions.PostAccessException;
+import com.yalice.wardrobe_social_app.exceptions.PostNotFoundException;
+import com.yalice.wardrobe_social_app.exceptions.ProfileNotFoundException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.exceptions.UnauthorizedAccessException;
+import com.yalice.wardrobe_social_app.exceptions.ValidationException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Maps service exceptions to GraphQL error types, following the HTTP statuses used by
+ * {@link com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler}. Other
+ * exceptions are reported as internal errors without their message.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType errorType = resolveErrorType(ex);
+        if (errorType == null) {
+            return null;
+        }
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+
+    private ErrorType resolveErrorType(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException || ex instanceof PostNotFoundException
+                || ex instanceof ProfileNotFoundException || ex instanceof NoSuchElementException) {
+            return ErrorType.NOT_FOUND;
+        }
+        if (ex instanceof IllegalArgumentException || ex instanceof ValidationException) {
+            return ErrorType.BAD_REQUEST;
+        }
+        if (ex instanceof PostAccessException || ex instanceof ForbiddenActionException) {
+            return ErrorType.FORBIDDEN;
+        }
+        if (ex instanceof UnauthorizedAccessException || ex instanceof SecurityException) {
+            return ErrorType.UNAUTHORIZED;
+        }
+        return null;
+    }
+}
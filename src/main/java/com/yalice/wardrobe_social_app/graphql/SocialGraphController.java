@@ -0,0 +1,155 @@
+package com.yalice.wardrobe_social_app.graphql;
+
+import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.ProfileResponseDto;
+import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.interfaces.OutfitService;
+import com.yalice.wardrobe_social_app.interfaces.PostService;
+import com.yalice.wardrobe_social_app.interfaces.ProfileService;
+import com.yalice.wardrobe_social_app.interfaces.WardrobeService;
+import org.dataloader.DataLoader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves the read-only GraphQL schema in {@code graphql/schema.graphqls}.
+ *
+ * <p>Root queries call the services directly. Associations are resolved through the
+ * loaders in {@link GraphQlDataLoaders}, so fetching the author of twenty posts is one
+ * profile lookup rather than twenty.</p>
+ */
+@Controller
+public class SocialGraphController {
+
+    static final int MAX_FEED_PAGE_SIZE = 50;
+    static final int MAX_COMMENT_PAGE_SIZE = 50;
+
+    private final ProfileService profileService;
+    private final PostService postService;
+    private final OutfitService outfitService;
+    private final WardrobeService wardrobeService;
+
+    public SocialGraphController(ProfileService profileService,
+                                 PostService postService,
+                                 OutfitService outfitService,
+                                 WardrobeService wardrobeService) {
+        this.profileService = profileService;
+        this.postService = postService;
+        this.outfitService = outfitService;
+        this.wardrobeService = wardrobeService;
+    }
+
+    @QueryMapping
+    public ProfileResponseDto me(@ContextValue(ViewerInterceptor.VIEWER) User viewer) {
+        return profileService.getProfile(viewer.getId());
+    }
+
+    @QueryMapping
+    public ProfileResponseDto profile(@Argument Long userId) {
+        return profileService.getProfile(userId);
+    }
+
+    @QueryMapping
+    public PostResponseDto post(@Argument Long id, @ContextValue(ViewerInterceptor.VIEWER) User viewer) {
+        return postService.getPost(id, viewer.getProfile().getId());
+    }
+
+    @QueryMapping
+    public List<PostResponseDto> posts(@Argument List<Long> ids, @ContextValue(ViewerInterceptor.VIEWER) User viewer) {
+        return postService.getPosts(ids, viewer.getProfile().getId());
+    }
+
+    @QueryMapping
+    public List<PostResponseDto> feed(@Argument int page, @Argument int size,
+                                      @ContextValue(ViewerInterceptor.VIEWER) User viewer) {
+        if (size < 1 || size > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", MAX_FEED_PAGE_SIZE));
+        }
+        return postService.getFeedPosts(viewer.getProfile().getId(), PageRequest.of(page, size)).getContent();
+    }
+
+    @QueryMapping
+    public OutfitResponseDto outfit(@Argument Long id) {
+        return outfitService.getOutfit(id);
+    }
+
+    @QueryMapping
+    public WardrobeResponseDto wardrobe(@Argument Long id) {
+        return wardrobeService.getWardrobeById(id);
+    }
+
+    @SchemaMapping(typeName = "Profile")
+    public CompletableFuture<List<WardrobeResponseDto>> wardrobes(
+            ProfileResponseDto profile, DataLoader<Long, List<WardrobeResponseDto>> wardrobesByProfileId) {
+        return wardrobesByProfileId.load(profile.getId());
+    }
+
+    @SchemaMapping(typeName = "Profile")
+    public CompletableFuture<List<OutfitResponseDto>> outfits(
+            ProfileResponseDto profile, DataLoader<Long, List<OutfitResponseDto>> outfitsByProfileId) {
+        return outfitsByProfileId.load(profile.getId());
+    }
+
+    @SchemaMapping(typeName = "Profile")
+    public CompletableFuture<List<FriendResponseDto>> friends(
+            ProfileResponseDto profile, DataLoader<Long, List<FriendResponseDto>> friendsByUserId) {
+        return friendsByUserId.load(profile.getUserId());
+    }
+
+    @SchemaMapping(typeName = "Post")
+    public CompletableFuture<ProfileResponseDto> author(
+            PostResponseDto post, DataLoader<Long, ProfileResponseDto> profilesByUserId) {
+        return post.getAuthor() == null
+                ? CompletableFuture.completedFuture(null)
+                : profilesByUserId.load(post.getAuthor().getUserId());
+    }
+
+    @SchemaMapping(typeName = "Post")
+    public CompletableFuture<OutfitResponseDto> outfit(
+            PostResponseDto post, DataLoader<Long, OutfitResponseDto> outfitsById) {
+        return post.getOutfit() == null
+                ? CompletableFuture.completedFuture(null)
+                : outfitsById.load(post.getOutfit().getId());
+    }
+
+    @SchemaMapping(typeName = "Post")
+    public CompletableFuture<List<CommentResponseDto>> comments(
+            PostResponseDto post, @Argument int first, @Argument Long after,
+            DataLoader<GraphQlDataLoaders.CommentPageKey, List<CommentResponseDto>> commentsByPostId) {
+        if (first < 1 || first > MAX_COMMENT_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", MAX_COMMENT_PAGE_SIZE));
+        }
+        return commentsByPostId.load(new GraphQlDataLoaders.CommentPageKey(post.getId(), first, after));
+    }
+
+    @SchemaMapping(typeName = "Post")
+    public CompletableFuture<Boolean> likedByViewer(
+            PostResponseDto post, DataLoader<Long, Boolean> likedByViewer) {
+        return likedByViewer.load(post.getId());
+    }
+
+    @SchemaMapping(typeName = "Comment")
+    public CompletableFuture<ProfileResponseDto> author(
+            CommentResponseDto comment, DataLoader<Long, ProfileResponseDto> profilesByUserId) {
+        return profilesByUserId.load(comment.getUserId());
+    }
+
+    @SchemaMapping(typeName = "Friend")
+    public CompletableFuture<ProfileResponseDto> profile(
+            FriendResponseDto friend, DataLoader<Long, ProfileResponseDto> profilesByUserId) {
+        return profilesByUserId.load(friend.getUserId());
+    }
+}
@@ -0,0 +1,37 @@
+package com.yalice.wardrobe_social_app.graphql;
+
+import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.entities.User;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Resolves the signed-in user once per GraphQL request and stores it in the
+ * GraphQL context, where data fetchers read it with {@code @ContextValue}.
+ * Data fetchers may run on other threads, so they do not read the security
+ * context directly.
+ */
+@Component
+public class ViewerInterceptor implements WebGraphQlInterceptor {
+
+    public static final String VIEWER = "viewer";
+
+    private final AuthUtils authUtils;
+
+    public ViewerInterceptor(AuthUtils authUtils) {
+        this.authUtils = authUtils;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        User viewer = authUtils.getCurrentUserOrElseThrow();
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(VIEWER, viewer)).build());
+        return chain.next(request);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains the GraphQL read API of the Wardrobe Social App.
+ * Queries are resolved through the existing service interfaces, and
+ * associations are loaded through per-request batch loaders.
+ */
+package com.yalice.wardrobe_social_app.graphql;
@@ -0,0 +1,32 @@
+package com.yalice.wardrobe_social_app.interfaces;
+
+import com.yalice.wardrobe_social_app.jobs.JobPartition;
+
+/**
+ * Service interface for deleting user accounts in the background.
+ */
+public interface AccountDeletionService {
+
+    /**
+     * Disables the user's account immediately and schedules its data for removal.
+     * Requesting deletion of an account that is already being deleted has no effect.
+     *
+     * @param userId the ID of the user to delete
+     */
+    void requestDeletion(Long userId);
+
+    /**
+     * Runs every pending or interrupted account purge in the partition until it completes
+     * or fails.
+     *
+     * @param partition the purges to run, by the ID of their {@code AccountDeletion}
+     */
+    void processPendingDeletions(JobPartition partition);
+
+    /**
+     * Removes queued image files left behind by deleted entities.
+     *
+     * @param partition the files to remove, by the ID of their {@code ImageCleanupTask}
+     */
+    void processImageCleanup(JobPartition partition);
+}
@@ -0,0 +1,19 @@
+package com.yalice.wardrobe_social_app.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Service interface for exporting everything a user has created.
+ */
+public interface AccountExportService {
+
+    /**
+     * Prepares a zip export of the user's profile, items, outfits, posts, comments and
+     * images. The user is checked up front; the archive itself is written while the
+     * returned body is streamed to the client.
+     *
+     * @param userId the ID of the user to export
+     * @return a body that streams the zip archive
+     */
+    StreamingResponseBody exportAccount(Long userId);
+}
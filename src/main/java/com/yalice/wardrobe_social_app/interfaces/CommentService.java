@@ -2,7 +2,9 @@ package com.yalice.wardrobe_social_app.interfaces;
 
 import com.yalice.wardrobe_social_app.dtos.comment.CommentDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing comments.
@@ -37,12 +39,40 @@ public interface CommentService {
     void deleteComment(Long userId, Long commentId);
 
     /**
-     * Gets all comments for a specific post.
+     * Gets one page of the top-level comments of a post, newest first. Comments by users
+     * the viewer blocked or was blocked by are left out, so a page may hold fewer than
+     * {@code size} comments while {@code hasMore} is still true.
      *
+     * @param userId the ID of the viewing user
      * @param postId the ID of the post
-     * @return the list of comments
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   the number of comments per page
+     * @return the page of comments
      */
-    List<CommentResponseDto> getPostComments(Long postId);
+    CursorPageResponseDto<CommentResponseDto> getPostComments(Long userId, Long postId, Long cursor, int size);
+
+    /**
+     * Gets one page of the replies to a comment, oldest first. Replies are filtered like
+     * {@link #getPostComments}.
+     *
+     * @param userId    the ID of the viewing user
+     * @param commentId the ID of the top-level comment
+     * @param cursor    the {@code nextCursor} of the previous page, or null for the first page
+     * @param size      the number of replies per page
+     * @return the page of replies
+     */
+    CursorPageResponseDto<CommentResponseDto> getReplies(Long userId, Long commentId, Long cursor, int size);
+
+    /**
+     * Gets one page of the top-level comments of each post in a batch, newest first, with
+     * two queries however many posts there are. Comments are not filtered for a viewer.
+     *
+     * @param postIds the IDs of the posts
+     * @param cursor  the ID of the last comment of the previous page, or null for the first page
+     * @param size    the number of comments per post
+     * @return the comments of each post, keyed by post ID; posts without comments map to an empty list
+     */
+    Map<Long, List<CommentResponseDto>> getCommentsByPostIds(List<Long> postIds, Long cursor, int size);
 
     /**
      * Gets a specific comment by ID.
@@ -1,7 +1,8 @@
 package com.yalice.wardrobe_social_app.interfaces;
 
-import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
-import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.dtos.feed.NormalizedFeedResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -17,9 +18,49 @@ public interface FeedService {
      * @param userId the ID of the user
      * @param page   the page number (zero-based)
      * @param size   the number of items per page
-     * @return the list of feed items
+     * @return the serialized feed items, newest first
      */
-    List<FeedItemResponseDto> getFeed(Long userId, int page, int size);
+    List<JsonFragment> getFeed(Long userId, int page, int size);
+
+    /**
+     * Gets the user's feed ordered by score: the user's affinity with each author, how
+     * fast each post is gathering likes and comments, and how recent it is. Only the
+     * latest posts are ranked.
+     *
+     * @param userId the ID of the user
+     * @param page   the page number (zero-based)
+     * @param size   the number of items per page
+     * @return the serialized feed items, highest score first
+     */
+    List<JsonFragment> getRankedFeed(Long userId, int page, int size);
+
+    /**
+     * Gets the user's feed with the posts the user has not seen first. Only the latest
+     * posts are reordered.
+     *
+     * @param userId the ID of the user
+     * @param page   the page number (zero-based)
+     * @param size   the number of items per page
+     * @return the serialized feed items, unseen ones first, each group newest first
+     */
+    List<JsonFragment> getUnseenFirstFeed(Long userId, int page, int size);
+
+    /**
+     * Records that the user has seen the posts in their feed. Posts that are not among the
+     * latest posts of the feed are ignored.
+     *
+     * @param userId  the ID of the user
+     * @param postIds the IDs of the posts seen
+     */
+    void markSeen(Long userId, List<Long> postIds);
+
+    /**
+     * Counts the latest posts of the user's friends that the user has not seen.
+     *
+     * @param userId the ID of the user
+     * @return the number of unseen posts
+     */
+    long getUnseenCount(Long userId);
 
     /**
      * Gets the user's feed filtered by season.
@@ -28,9 +69,9 @@ public interface FeedService {
      * @param season the season to filter by
      * @param page   the page number (zero-based)
      * @param size   the number of items per page
-     * @return the list of feed items
+     * @return the serialized feed items, newest first
      */
-    List<FeedItemResponseDto> getFeedBySeason(Long userId, String season, int page, int size);
+    List<JsonFragment> getFeedBySeason(Long userId, String season, int page, int size);
 
     /**
      * Gets the user's feed filtered by category.
@@ -39,9 +80,41 @@ public interface FeedService {
      * @param category the category to filter by
      * @param page     the page number (zero-based)
      * @param size     the number of items per page
-     * @return the list of feed items
+     * @return the serialized feed items, newest first
+     */
+    List<JsonFragment> getFeedByCategory(Long userId, String category, int page, int size);
+
+    /**
+     * Gets the user's feed in normalized form, with each author and outfit included once.
+     *
+     * @param userId the ID of the user
+     * @param page   the page number (zero-based)
+     * @param size   the number of items per page
+     * @return the posts of the page and the authors and outfits they refer to
+     */
+    NormalizedFeedResponseDto getNormalizedFeed(Long userId, int page, int size);
+
+    /**
+     * Gets the user's feed filtered by season, in normalized form.
+     *
+     * @param userId the ID of the user
+     * @param season the season to filter by
+     * @param page   the page number (zero-based)
+     * @param size   the number of items per page
+     * @return the posts of the page and the authors and outfits they refer to
+     */
+    NormalizedFeedResponseDto getNormalizedFeedBySeason(Long userId, String season, int page, int size);
+
+    /**
+     * Gets the user's feed filtered by category, in normalized form.
+     *
+     * @param userId   the ID of the user
+     * @param category the category to filter by
+     * @param page     the page number (zero-based)
+     * @param size     the number of items per page
+     * @return the posts of the page and the authors and outfits they refer to
      */
-    List<FeedItemResponseDto> getFeedByCategory(Long userId, String category, int page, int size);
+    NormalizedFeedResponseDto getNormalizedFeedByCategory(Long userId, String category, int page, int size);
 
     /**
      * Gets posts for a specific user.
@@ -49,7 +122,7 @@ public interface FeedService {
      * @param userId   the ID of the user whose posts to retrieve
      * @param viewerId the ID of the user viewing the posts
      * @param pageable the pagination information
-     * @return the page of posts
+     * @return the page of posts visible to the viewer
      */
-    Page<Post> getUserPosts(Long userId, Long viewerId, Pageable pageable);
+    Page<PostResponseDto> getUserPosts(Long userId, Long viewerId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.yalice.wardrobe_social_app.interfaces;
+
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+
+import java.util.List;
+
+/**
+ * Service interface for the follower graph. Follows are addressed by profile ID, so none
+ * of these calls load the followers or followed profiles of a profile.
+ */
+public interface FollowService {
+    /**
+     * Follows a profile. Following a profile that is already followed does nothing.
+     *
+     * @param followerId the ID of the profile that follows
+     * @param profileId  the ID of the profile to follow
+     * @return true if the follow was added
+     */
+    boolean follow(Long followerId, Long profileId);
+
+    /**
+     * Stops following a profile.
+     *
+     * @param followerId the ID of the profile that follows
+     * @param profileId  the ID of the followed profile
+     * @return true if there was a follow to remove
+     */
+    boolean unfollow(Long followerId, Long profileId);
+
+    /**
+     * Gets one page of the followers of a profile, most recent first.
+     *
+     * @param profileId the ID of the profile
+     * @param cursor    the {@code nextCursor} of the previous page, or null for the first page
+     * @param size      the number of followers per page
+     * @return the page of followers
+     */
+    CursorPageResponseDto<FollowResponseDto> getFollowers(Long profileId, Long cursor, int size);
+
+    /**
+     * Gets one page of the profiles a profile follows, most recent first.
+     *
+     * @param profileId the ID of the profile
+     * @param cursor    the {@code nextCursor} of the previous page, or null for the first page
+     * @param size      the number of profiles per page
+     * @return the page of followed profiles
+     */
+    CursorPageResponseDto<FollowResponseDto> getFollowing(Long profileId, Long cursor, int size);
+
+    /**
+     * Gets the IDs of the profiles a profile follows.
+     *
+     * @param profileId the ID of the profile
+     * @return the IDs of the followed profiles
+     */
+    List<Long> getFollowingIds(Long profileId);
+}
@@ -2,8 +2,11 @@ package com.yalice.wardrobe_social_app.interfaces;
 
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendSuggestionDto;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing friendships and friend requests.
@@ -51,6 +54,14 @@ public interface FriendService {
      */
     List<FriendResponseDto> getFriends(Long userId);
 
+    /**
+     * Gets the friends of a batch of users in one query.
+     *
+     * @param userIds the IDs of the users
+     * @return the friends of each user, keyed by user ID; users without friends map to an empty list
+     */
+    Map<Long, List<FriendResponseDto>> getFriendsByUserIds(List<Long> userIds);
+
     /**
      * Checks if two users are friends.
      *
@@ -59,4 +70,32 @@ public interface FriendService {
      * @return true if the users are friends, false otherwise
      */
     boolean areFriends(Long userId1, Long userId2);
+
+    /**
+     * Blocks another user. Any friendship, request or follow between the two users is
+     * removed, and neither can see or interact with the other until the block is lifted.
+     *
+     * @param userId        the ID of the user blocking
+     * @param blockedUserId the ID of the user to block
+     */
+    void blockUser(Long userId, Long blockedUserId);
+
+    /**
+     * Lifts a block. A block the other user placed stays in place.
+     *
+     * @param userId        the ID of the user who placed the block
+     * @param blockedUserId the ID of the blocked user
+     */
+    void unblockUser(Long userId, Long blockedUserId);
+
+    /**
+     * Suggests friends of the user's friends, ranked by the number of mutual friends.
+     * Users with a pending, rejected or blocked request in either direction are left out.
+     *
+     * @param userId the ID of the user
+     * @param page   the zero-based page number
+     * @param size   the page size
+     * @return a page of suggestions; at most {@code MAX_SUGGESTIONS} are ranked in total
+     */
+    Page<FriendSuggestionDto> getFriendSuggestions(Long userId, int page, int size);
 }
@@ -2,6 +2,9 @@ package com.yalice.wardrobe_social_app.interfaces;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
+import java.nio.file.Path;
+
 public interface ImageService {
     /**
      * Uploads an image file and returns the URL where it can be accessed
@@ -13,6 +16,17 @@ public interface ImageService {
      */
     String uploadImage(MultipartFile file, String entityType, Long entityId);
 
+    /**
+     * Stores an image that is already on local disk (for example, extracted from
+     * an import archive) and returns the URL where it can be accessed
+     *
+     * @param source     The image file to store
+     * @param entityType The type of entity (e.g., "item", "outfit", "post")
+     * @param entityId   The ID of the entity the image belongs to
+     * @return The URL where the image can be accessed
+     */
+    String storeImage(Path source, String entityType, Long entityId);
+
     /**
      * Deletes an image by its URL
      *
@@ -20,6 +34,16 @@ public interface ImageService {
      */
     void deleteImage(String imageUrl);
 
+    /**
+     * Copies the bytes of a stored image to the given stream, without loading
+     * the whole image into memory. The stream is not closed.
+     *
+     * @param imageUrl The URL of the image to copy
+     * @param target   The stream to write the image to
+     * @return true if the image was copied, false if no image is stored at that URL
+     */
+    boolean copyImage(String imageUrl, OutputStream target);
+
     /**
      * Validates an image file
      *
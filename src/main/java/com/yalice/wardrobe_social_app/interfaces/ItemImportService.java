@@ -0,0 +1,23 @@
+package com.yalice.wardrobe_social_app.interfaces;
+
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportResultDto;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service interface for importing many wardrobe items at once.
+ */
+public interface ItemImportService {
+
+    /**
+     * Imports items into a wardrobe from a CSV or JSON file plus a zip archive of their images.
+     * Rows are validated one at a time; invalid rows are reported and skipped, valid rows are
+     * inserted in batches.
+     *
+     * @param profileId  the ID of the profile importing the items
+     * @param wardrobeId the ID of the wardrobe to import into
+     * @param itemsFile  the CSV or JSON file describing the items
+     * @param imagesZip  the zip archive holding the image referenced by each row
+     * @return a summary of imported and rejected rows
+     */
+    ItemImportResultDto importItems(Long profileId, Long wardrobeId, MultipartFile itemsFile, MultipartFile imagesZip);
+}
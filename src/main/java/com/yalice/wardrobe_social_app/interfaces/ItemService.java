@@ -58,6 +58,14 @@ public interface ItemService {
      */
     ItemResponseDto getItem(Long id);
 
+    /**
+     * Gets a batch of items by ID in a single lookup.
+     *
+     * @param itemIds the IDs of the items to retrieve
+     * @return the items that exist, in request order
+     */
+    List<ItemResponseDto> getItems(List<Long> itemIds);
+
     /**
      * Gets an item by its name.
      *
@@ -0,0 +1,44 @@
+package com.yalice.wardrobe_social_app.interfaces;
+
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Service interface for likes on posts. Likes are addressed by post and profile ID,
+ * so none of these calls load the post or profile.
+ */
+public interface LikeService {
+    /**
+     * Likes a post, or removes the like if the profile already likes it.
+     *
+     * @param postId    the ID of the post
+     * @param profileId the ID of the profile liking the post
+     * @return true if the post is liked after the call
+     */
+    boolean toggleLike(Long postId, Long profileId);
+
+    /**
+     * Checks which of a page of posts a profile has liked, in one query.
+     *
+     * @param profileId the ID of the viewing profile
+     * @param postIds   the IDs of the posts, at most {@code BaseService.MAX_BATCH_SIZE}
+     * @return a bit set in which bit {@code i} is set if the profile likes {@code postIds.get(i)}
+     */
+    BitSet likedBy(Long profileId, List<Long> postIds);
+
+    /**
+     * Gets the profiles that liked a post, most recent like first. Likes by users the
+     * viewer blocked or was blocked by are left out of the page, so a page may hold fewer
+     * likes than its size.
+     *
+     * @param postId       the ID of the post
+     * @param viewerUserId the ID of the viewing user
+     * @param pageable     the page to return
+     * @return a page of likes
+     */
+    Page<LikeResponseDto> getLikes(Long postId, Long viewerUserId, Pageable pageable);
+}
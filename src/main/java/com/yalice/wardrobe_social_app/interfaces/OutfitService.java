@@ -6,6 +6,7 @@ import com.yalice.wardrobe_social_app.entities.Outfit;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing outfits.
@@ -48,6 +49,14 @@ public interface OutfitService {
      */
     List<OutfitResponseDto> getUserOutfits(Long profileId);
 
+    /**
+     * Gets the outfits of a batch of profiles, fetching their items in the same query.
+     *
+     * @param profileIds the IDs of the profiles
+     * @return the outfits of each profile, keyed by profile ID; profiles without outfits map to an empty list
+     */
+    Map<Long, List<OutfitResponseDto>> getOutfitsByProfileIds(List<Long> profileIds);
+
     /**
      * Gets a specific outfit by ID.
      *
@@ -56,6 +65,14 @@ public interface OutfitService {
      */
     OutfitResponseDto getOutfit(Long outfitId);
 
+    /**
+     * Gets a batch of outfits by ID, fetching their items in the same query.
+     *
+     * @param outfitIds the IDs of the outfits to retrieve
+     * @return the outfits that exist, in request order
+     */
+    List<OutfitResponseDto> getOutfits(List<Long> outfitIds);
+
     /**
      * Gets the Outfit entity by ID.
      *
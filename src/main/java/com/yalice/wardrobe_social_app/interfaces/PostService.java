@@ -1,21 +1,43 @@
 package com.yalice.wardrobe_social_app.interfaces;
 
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface PostService {
     PostResponseDto createPost(Long profileId, PostDto postDto, MultipartFile image);
 
     PostResponseDto getPost(Long postId, Long viewerId);
 
+    /**
+     * Gets a batch of posts by ID. Posts the viewer cannot access are left out.
+     *
+     * @param postIds  the IDs of the posts to retrieve
+     * @param viewerId the ID of the profile viewing the posts
+     * @return the accessible posts, in request order
+     */
+    List<PostResponseDto> getPosts(List<Long> postIds, Long viewerId);
+
     void deletePost(Long postId, Long profileId);
 
     PostResponseDto updatePost(Long postId, Long profileId, PostDto postDto, MultipartFile image);
 
     boolean toggleLikePost(Long postId, Long profileId);
 
+    /**
+     * Gets the profiles that liked a post the viewer can access, most recent like first.
+     *
+     * @param postId   the ID of the post
+     * @param viewerId the ID of the profile viewing the post
+     * @param pageable the page to return
+     * @return a page of likes
+     */
+    Page<LikeResponseDto> getPostLikes(Long postId, Long viewerId, Pageable pageable);
+
     Page<PostResponseDto> getFeedPosts(Long viewerId, Pageable pageable);
 }
@@ -7,6 +7,8 @@ import com.yalice.wardrobe_social_app.entities.Profile.ProfileVisibility;
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 /**
  * Service interface for managing user profiles.
  */
@@ -19,6 +21,14 @@ public interface ProfileService {
      */
     ProfileResponseDto getProfile(Long userId);
 
+    /**
+     * Gets the profiles of a batch of users in a single lookup.
+     *
+     * @param userIds the IDs of the users
+     * @return the profiles that exist, in request order
+     */
+    List<ProfileResponseDto> getProfiles(List<Long> userIds);
+
     /**
      * Updates a user's profile.
      *
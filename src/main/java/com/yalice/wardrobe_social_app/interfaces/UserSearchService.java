@@ -40,12 +40,14 @@ public interface UserSearchService {
     User getUserEntityById(Long userId);
 
     /**
-     * Searches for users whose username contains the given partial string.
+     * Searches for users whose username contains the given partial string. Users the
+     * searching user blocked or was blocked by are left out.
      *
+     * @param userId          The ID of the searching user.
      * @param partialUsername The partial username to search for.
      * @return A list of matching users in response DTO format.
      */
-    List<UserResponseDto> searchUsersByUsername(String partialUsername);
+    List<UserResponseDto> searchUsersByUsername(Long userId, String partialUsername);
 
     /**
      * Retrieves all users with pagination.
@@ -1,16 +1,21 @@
 package com.yalice.wardrobe_social_app.interfaces;
 
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface WardrobeService {
     WardrobeResponseDto createWardrobe(Long profileId, WardrobeDto wardrobeDto);
     List<WardrobeResponseDto> getProfileWardrobes(Long profileId);
+    Map<Long, List<WardrobeResponseDto>> getWardrobesByProfileIds(List<Long> profileIds);
     WardrobeResponseDto getWardrobeById(Long wardrobeId);
+    CursorPageResponseDto<ItemResponseDto> getWardrobeItems(Long wardrobeId, Long cursor, int size);
     WardrobeResponseDto updateWardrobe(Long wardrobeId, WardrobeDto wardrobeDto);
     boolean deleteWardrobe(Long wardrobeId);
 }
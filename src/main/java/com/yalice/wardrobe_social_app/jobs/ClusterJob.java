@@ -0,0 +1,41 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * A periodic job that must run on one node at a time, registered as a bean and run by
+ * the {@link ClusterJobScheduler}.
+ *
+ * <p>Every {@code interval}, each node tries to run each of the job's partitions. A
+ * partition runs on whichever node takes its lock first; the others skip it until the
+ * next interval. A job with several partitions can therefore run on several nodes at
+ * once, each working on its own rows.</p>
+ *
+ * @param name       names the job in locks, logs and metrics
+ * @param interval   the time between the end of one run of a partition on a node and
+ *                   the next attempt
+ * @param partitions the number of partitions the job's work is split into
+ * @param task       does the work of one partition
+ */
+public record ClusterJob(String name, Duration interval, int partitions, Consumer<JobPartition> task) {
+
+    public ClusterJob {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Job name must not be blank");
+        }
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval of job " + name + " must be positive");
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Job " + name + " must have at least one partition");
+        }
+    }
+
+    /**
+     * A job whose work is not split.
+     */
+    public static ClusterJob single(String name, Duration interval, Runnable task) {
+        return new ClusterJob(name, interval, 1, partition -> task.run());
+    }
+}
@@ -0,0 +1,199 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs every {@link ClusterJob} bean, each partition on one node at a time.
+ *
+ * <p>Spring's scheduler starts a round of each job every interval. A round hands the
+ * job's partitions, starting from a random one, to a pool of {@code app.jobs.threads}
+ * threads that has no queue: once every thread is busy, the rest of the round is left
+ * for the next one, and a partition still running here from an earlier round is not
+ * started again. A thread runs a partition only if it gets the partition's lock from
+ * {@link JobLocks}; otherwise another node has it. Jobs therefore never take more than
+ * the pool's threads from request handling, plus a database connection for the lock of
+ * each partition they run.</p>
+ *
+ * <p>Each job's runs are recorded in the {@code cluster.jobs.run} timer, tagged with
+ * the job and whether the run succeeded, and the time and duration of its last run on
+ * this node in the {@code cluster.jobs.last.run} and {@code cluster.jobs.last.duration}
+ * gauges. Partitions left to other nodes or for a later round are counted by
+ * {@code cluster.jobs.skipped}.</p>
+ */
+@Component
+public class ClusterJobScheduler implements SchedulingConfigurer, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterJobScheduler.class);
+
+    private final List<ClusterJob> jobs;
+    private final JobLocks locks;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, JobState> states = new HashMap<>();
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public ClusterJobScheduler(
+            List<ClusterJob> jobs,
+            JobLocks locks,
+            MeterRegistry meterRegistry,
+            @Value("${app.jobs.threads:2}") int threads) {
+        this.jobs = jobs;
+        this.locks = locks;
+        this.meterRegistry = meterRegistry;
+
+        Map<Integer, String> namesByKey = new HashMap<>();
+        for (ClusterJob job : jobs) {
+            String other = namesByKey.put(JobLocks.keyOf(job.name()), job.name());
+            if (other != null) {
+                throw new IllegalStateException("Jobs " + other + " and " + job.name() + " share a lock key");
+            }
+            states.put(job.name(), new JobState(job.name()));
+        }
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("cluster-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        for (ClusterJob job : jobs) {
+            registrar.addFixedDelayTask(() -> startRound(job), job.interval());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Hands the job's partitions that are not already running here to the pool, until
+     * it is full.
+     */
+    void startRound(ClusterJob job) {
+        JobState state = states.get(job.name());
+        int first = ThreadLocalRandom.current().nextInt(job.partitions());
+        for (int i = 0; i < job.partitions(); i++) {
+            JobPartition partition = new JobPartition((first + i) % job.partitions(), job.partitions());
+            String key = job.name() + '/' + partition.index();
+            if (!running.add(key)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(job, partition);
+                    } finally {
+                        running.remove(key);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                running.remove(key);
+                state.busy.increment(job.partitions() - i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the partition if no other node is running it.
+     */
+    void run(ClusterJob job, JobPartition partition) {
+        JobState state = states.get(job.name());
+        Optional<JobLocks.Lock> lock;
+        try {
+            lock = locks.tryLock(JobLocks.keyOf(job.name()), partition.index());
+        } catch (DataAccessException e) {
+            logger.warn("Could not lock partition {} of job {}: {}", partition.index(), job.name(), e.getMessage());
+            return;
+        }
+        if (lock.isEmpty()) {
+            state.locked.increment();
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try (JobLocks.Lock held = lock.get()) {
+            job.task().accept(partition);
+            succeeded = true;
+        } catch (RuntimeException e) {
+            logger.error("Partition {} of job {} failed", partition.index(), job.name(), e);
+        } finally {
+            long duration = System.nanoTime() - start;
+            (succeeded ? state.succeeded : state.failed).record(duration, TimeUnit.NANOSECONDS);
+            state.lastRunMillis.set(System.currentTimeMillis());
+            state.lastDurationNanos.set(duration);
+        }
+    }
+
+    /**
+     * The meters of one job.
+     */
+    private final class JobState {
+        private final Timer succeeded;
+        private final Timer failed;
+        private final Counter locked;
+        private final Counter busy;
+        private final AtomicLong lastRunMillis = new AtomicLong();
+        private final AtomicLong lastDurationNanos = new AtomicLong();
+
+        JobState(String job) {
+            succeeded = timer(job, "success");
+            failed = timer(job, "failure");
+            locked = skipped(job, "locked");
+            busy = skipped(job, "busy");
+            TimeGauge.builder("cluster.jobs.last.run", lastRunMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .description("When the job last finished a run on this node, since the epoch")
+                    .tag("job", job)
+                    .register(meterRegistry);
+            TimeGauge.builder("cluster.jobs.last.duration", lastDurationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                    .description("How long the job's last run on this node took")
+                    .tag("job", job)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String job, String outcome) {
+            return Timer.builder("cluster.jobs.run")
+                    .description("Runs of a job partition on this node")
+                    .tags("job", job, "outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private Counter skipped(String job, String reason) {
+            return Counter.builder("cluster.jobs.skipped")
+                    .description("Partitions not run on this node: held by another node, or no free thread")
+                    .tags("job", job, "reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
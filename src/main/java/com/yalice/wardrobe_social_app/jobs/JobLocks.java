@@ -0,0 +1,136 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Locks job partitions across nodes with PostgreSQL advisory locks.
+ *
+ * <p>A lock belongs to the database session of the connection that took it. That
+ * connection is kept out of the pool for as long as the lock is held and sits idle
+ * outside any transaction, so it holds back neither vacuum nor
+ * {@link com.yalice.wardrobe_social_app.events.DomainEventOutbox} readers. Closing the
+ * lock unlocks it before the connection goes back to the pool; if that fails, the
+ * connection is aborted, which ends the session and its locks. A node that dies loses
+ * its sessions, so it never keeps a partition locked.</p>
+ */
+@Component
+public class JobLocks {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLocks.class);
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?, ?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?, ?)";
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    public JobLocks(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param jobKey    identifies the job; see {@link #keyOf(String)}
+     * @param partition the partition's index
+     * @return the lock, or empty if another node holds it
+     * @throws DataAccessException if the database cannot be reached
+     */
+    public Optional<Lock> tryLock(int jobKey, int partition) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            if (call(connection, TRY_LOCK, jobKey, partition)) {
+                return Optional.of(new Lock(connection, jobKey, partition));
+            }
+            connection.close();
+            return Optional.empty();
+        } catch (SQLException e) {
+            if (connection != null) {
+                // The lock may have been taken before the statement failed
+                abort(connection);
+            }
+            DataAccessException translated = exceptionTranslator.translate("Lock job partition", TRY_LOCK, e);
+            throw translated != null ? translated : new IllegalStateException("Failed to lock job partition", e);
+        }
+    }
+
+    /**
+     * @return the key of the job's locks, derived from its name
+     */
+    public static int keyOf(String jobName) {
+        return jobName.hashCode();
+    }
+
+    private static boolean call(Connection connection, String sql, int jobKey, int partition) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, jobKey);
+            statement.setInt(2, partition);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Closes the connection's session instead of returning it to the pool, which releases
+     * every lock it holds.
+     */
+    private static void abort(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            logger.warn("Failed to abort job lock connection: {}", e.getMessage());
+        }
+        try {
+            // Lets the pool drop the connection
+            connection.close();
+        } catch (SQLException e) {
+            // Already closed by the abort
+        }
+    }
+
+    /**
+     * A held partition lock. Closing it releases the lock.
+     */
+    public static final class Lock implements AutoCloseable {
+        private final Connection connection;
+        private final int jobKey;
+        private final int partition;
+        private boolean closed;
+
+        Lock(Connection connection, int jobKey, int partition) {
+            this.connection = connection;
+            this.jobKey = jobKey;
+            this.partition = partition;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (call(connection, UNLOCK, jobKey, partition)) {
+                    connection.close();
+                    return;
+                }
+                logger.warn("Job lock {}/{} was not held at release", jobKey, partition);
+            } catch (SQLException e) {
+                logger.warn("Failed to release job lock {}/{}: {}", jobKey, partition, e.getMessage());
+            }
+            abort(connection);
+        }
+    }
+}
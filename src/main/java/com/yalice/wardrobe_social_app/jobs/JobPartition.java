@@ -0,0 +1,26 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+/**
+ * One of the {@code count} parts of a job's work. A job gives each row to the partition
+ * its ID falls in, by {@code id % count}.
+ *
+ * @param index the partition, from 0 to {@code count - 1}
+ * @param count the number of partitions
+ */
+public record JobPartition(int index, int count) {
+
+    /**
+     * The whole of a job that is not split.
+     */
+    public static final JobPartition ALL = new JobPartition(0, 1);
+
+    public JobPartition {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid job partition " + index + " of " + count);
+        }
+    }
+
+    public boolean owns(long id) {
+        return Math.floorMod(id, count) == index;
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains the scheduler for background jobs that must run on one node at a time.
+ * Each job is split into partitions, and each partition is guarded by a PostgreSQL
+ * advisory lock, so nodes share the partitions instead of repeating the work.
+ */
+package com.yalice.wardrobe_social_app.jobs;
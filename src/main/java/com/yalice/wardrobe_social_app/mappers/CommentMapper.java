@@ -1,7 +1,9 @@
 package com.yalice.wardrobe_social_app.mappers;
 
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
 import com.yalice.wardrobe_social_app.entities.Comment;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,6 +22,20 @@ public class CommentMapper {
                 .userId(comment.getProfile().getUser().getId())
                 .username(comment.getProfile().getUser().getUsername())
                 .postId(comment.getPost().getId())
+                .parentId(comment.getParent() == null ? null : comment.getParent().getId())
+                .replyCount(comment.getReplyCount() == null ? 0 : comment.getReplyCount())
+                .build();
+    }
+
+    public CommentPreviewDto toPreviewDto(CommentRepository.CommentPreviewRow row) {
+        return CommentPreviewDto.builder()
+                .id(row.getId())
+                .content(row.getContent())
+                .replyCount(row.getReplyCount())
+                .userId(row.getUserId())
+                .username(row.getUsername())
+                .profileImageUrl(row.getProfileImageUrl())
+                .createdAt(row.getCreatedAt())
                 .build();
     }
 }
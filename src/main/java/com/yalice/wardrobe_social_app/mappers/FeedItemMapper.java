@@ -1,10 +1,19 @@
 package com.yalice.wardrobe_social_app.mappers;
 
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
 import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import com.yalice.wardrobe_social_app.dtos.feed.NormalizedFeedResponseDto;
 import com.yalice.wardrobe_social_app.entities.Item;
+import com.yalice.wardrobe_social_app.entities.Outfit;
 import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,24 +26,79 @@ public class FeedItemMapper {
         this.userMapper = userMapper;
     }
 
-    public FeedItemResponseDto toResponseDto(Post post) {
+    /**
+     * Maps a post to its feed entry. The latest comments are passed in so they can be
+     * loaded for the whole page at once.
+     */
+    public FeedItemResponseDto toResponseDto(Post post, List<CommentPreviewDto> latestComments) {
         return FeedItemResponseDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
                 .season(post.getOutfit().getSeason())
                 .category(post.getOutfit().getCategory())
-                .likesCount(post.getLikes().size())
-                .commentsCount(post.getComments().size())
+                .likesCount(post.getLikeCount())
+                .commentsCount(post.getCommentCount())
                 .featureImage(post.getFeatureImage())
                 .outfitImage(post.getOutfit().getImageUrl())
                 .itemImages(getItemImages(post))
                 .user(userMapper.toResponseDto(post.getProfile().getUser()))
+                .latestComments(latestComments)
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .build();
     }
 
+    /**
+     * Maps a page of posts to the normalized feed shape. Each author and outfit is mapped
+     * once however many posts refer to it. Item images are passed in so they can be loaded
+     * for the whole page at once.
+     */
+    public NormalizedFeedResponseDto toNormalizedResponse(List<Post> posts,
+                                                          Map<Long, Set<String>> itemImagesByOutfit) {
+        Map<Long, NormalizedFeedResponseDto.FeedAuthor> users = new LinkedHashMap<>();
+        Map<Long, NormalizedFeedResponseDto.FeedOutfit> outfits = new LinkedHashMap<>();
+        List<NormalizedFeedResponseDto.FeedPost> feedPosts = new ArrayList<>(posts.size());
+
+        for (Post post : posts) {
+            Profile profile = post.getProfile();
+            User author = profile.getUser();
+            Outfit outfit = post.getOutfit();
+
+            users.computeIfAbsent(author.getId(), id -> NormalizedFeedResponseDto.FeedAuthor.builder()
+                    .id(id)
+                    .username(author.getUsername())
+                    .profileImageUrl(profile.getProfileImageUrl())
+                    .build());
+            outfits.computeIfAbsent(outfit.getId(), id -> NormalizedFeedResponseDto.FeedOutfit.builder()
+                    .id(id)
+                    .season(outfit.getSeason())
+                    .category(outfit.getCategory())
+                    .imageUrl(outfit.getImageUrl())
+                    .itemImages(itemImagesByOutfit.getOrDefault(id, Set.of()))
+                    .build());
+
+            feedPosts.add(NormalizedFeedResponseDto.FeedPost.builder()
+                    .id(post.getId())
+                    .title(post.getTitle())
+                    .content(post.getContent())
+                    .likesCount(post.getLikeCount())
+                    .commentsCount(post.getCommentCount())
+                    .featureImage(post.getFeatureImage())
+                    .authorId(author.getId())
+                    .outfitId(outfit.getId())
+                    .createdAt(post.getCreatedAt())
+                    .updatedAt(post.getUpdatedAt())
+                    .build());
+        }
+
+        return NormalizedFeedResponseDto.builder()
+                .posts(feedPosts)
+                .users(users)
+                .outfits(outfits)
+                .build();
+    }
+
     private Set<String> getItemImages(Post post) {
         return post.getOutfit().getItems().stream()
                 .map(Item::getImageUrl)
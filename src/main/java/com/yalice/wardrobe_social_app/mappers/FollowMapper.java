@@ -0,0 +1,30 @@
+package com.yalice.wardrobe_social_app.mappers;
+
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+import com.yalice.wardrobe_social_app.entities.Follow;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FollowMapper {
+
+    /**
+     * Maps a follow to the profile on its other side.
+     *
+     * @param follow  the follow
+     * @param profile the follower or the followed profile of the follow
+     */
+    public FollowResponseDto toResponseDto(Follow follow, Profile profile) {
+        if (follow == null) {
+            return null;
+        }
+
+        return FollowResponseDto.builder()
+                .profileId(profile.getId())
+                .userId(profile.getUser().getId())
+                .username(profile.getUser().getUsername())
+                .profileImageUrl(profile.getProfileImageUrl())
+                .followedAt(follow.getCreatedAt())
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.yalice.wardrobe_social_app.mappers;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
 import com.yalice.wardrobe_social_app.entities.Friendship;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendshipRow;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -25,6 +26,19 @@ public class FriendMapper {
                 .build();
     }
 
+    /**
+     * Maps a friendship row as seen by one of its two users, so the returned user is the other one.
+     */
+    public FriendResponseDto toResponseDto(FriendshipRow friendship, Long userId) {
+        boolean isSender = friendship.getSenderId().equals(userId);
+        return FriendResponseDto.builder()
+                .id(friendship.getId())
+                .userId(isSender ? friendship.getRecipientId() : friendship.getSenderId())
+                .username(isSender ? friendship.getRecipientUsername() : friendship.getSenderUsername())
+                .status(friendship.getStatus().name())
+                .build();
+    }
+
     public FriendRequestDto toRequestDto(Friendship friendship) {
         if (friendship.getSender() == null || friendship.getRecipient() == null) {
             throw new IllegalStateException("Friendship is missing sender or recipient.");
@@ -0,0 +1,25 @@
+package com.yalice.wardrobe_social_app.mappers;
+
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
+import com.yalice.wardrobe_social_app.entities.Like;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LikeMapper {
+
+    public LikeResponseDto toResponseDto(Like like) {
+        if (like == null) {
+            return null;
+        }
+
+        Profile profile = like.getProfile();
+        return LikeResponseDto.builder()
+                .profileId(profile.getId())
+                .userId(profile.getUser().getId())
+                .username(profile.getUser().getUsername())
+                .profileImageUrl(profile.getProfileImageUrl())
+                .likedAt(like.getCreatedAt())
+                .build();
+    }
+}
@@ -1,26 +1,74 @@
 package com.yalice.wardrobe_social_app.mappers;
 
+import com.yalice.wardrobe_social_app.dtos.item.ItemThumbnailDto;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitSummaryDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostAuthorDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostExportDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
+import com.yalice.wardrobe_social_app.entities.Outfit;
 import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.entities.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class PostMapper {
 
-    public PostResponseDto toResponseDto(Post post) {
+    /**
+     * Maps a post whose profile, user and outfit are already loaded. The outfit's items
+     * are passed in rather than read from the outfit, so callers can load them for a whole
+     * page of posts at once.
+     */
+    public PostResponseDto toResponseDto(Post post, List<ItemThumbnailDto> outfitItems) {
         if (post == null) {
             return null;
         }
 
+        Profile profile = post.getProfile();
+        Outfit outfit = post.getOutfit();
+
         return PostResponseDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .featureImage(post.getFeatureImage())
                 .content(post.getContent())
-                .outfit(post.getOutfit())
                 .visibility(post.getVisibility().name())
-                .username(post.getProfile().getUser().getUsername())
+                .likeCount(post.getLikeCount())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .author(PostAuthorDto.builder()
+                        .profileId(profile.getId())
+                        .userId(profile.getUser().getId())
+                        .username(profile.getUser().getUsername())
+                        .profileImageUrl(profile.getProfileImageUrl())
+                        .build())
+                .outfit(OutfitSummaryDto.builder()
+                        .id(outfit.getId())
+                        .name(outfit.getName())
+                        .season(outfit.getSeason())
+                        .category(outfit.getCategory())
+                        .imageUrl(outfit.getImageUrl())
+                        .items(outfitItems)
+                        .build())
                 .build();
     }
 
+    public PostExportDto toExportDto(Post post) {
+        if (post == null) {
+            return null;
+        }
+
+        return PostExportDto.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .visibility(post.getVisibility().name())
+                .featureImage(post.getFeatureImage())
+                .outfitId(post.getOutfit().getId())
+                .likeCount(post.getLikeCount())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
 }
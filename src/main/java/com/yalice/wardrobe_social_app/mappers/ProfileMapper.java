@@ -23,6 +23,8 @@ public class ProfileMapper {
                 .fashionInspirations(profile.getFashionInspirations())
                 .profileImageUrl(profile.getProfileImageUrl())
                 .isPublic(profile.getVisibility() == Profile.ProfileVisibility.PUBLIC)
+                .followerCount(profile.getFollowerCount() == null ? 0 : profile.getFollowerCount())
+                .followingCount(profile.getFollowingCount() == null ? 0 : profile.getFollowingCount())
                 .build();
     }
 
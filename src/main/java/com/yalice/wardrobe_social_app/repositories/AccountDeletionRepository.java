@@ -0,0 +1,22 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.entities.AccountDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDeletionRepository extends JpaRepository<AccountDeletion, Long> {
+    Optional<AccountDeletion> findByUserId(Long userId);
+    @Query("SELECT d FROM AccountDeletion d WHERE d.status IN :statuses AND MOD(d.id, :partitions) = :partition "
+            + "ORDER BY d.id")
+    List<AccountDeletion> findPartitionByStatusIn(
+            @Param("statuses") Collection<AccountDeletion.Status> statuses,
+            @Param("partition") int partition,
+            @Param("partitions") int partitions);
+}
@@ -1,16 +1,127 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Comment;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostIdOrderByCreatedAtAsc(Long postId);
-    Page<Comment> findByPostIdOrderByCreatedAtAsc(Long postId, Pageable pageable);
-    List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = "profile.user")
+    List<Comment> findByPostIdAndParentIsNullOrderByIdDesc(Long postId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile.user")
+    List<Comment> findByPostIdAndParentIsNullAndIdLessThanOrderByIdDesc(Long postId, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile.user")
+    List<Comment> findByParentIdOrderByIdAsc(Long parentId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "profile.user")
+    List<Comment> findByParentIdAndIdGreaterThanOrderByIdAsc(Long parentId, Long id, Pageable pageable);
+
+    /**
+     * The latest two top-level comments of each post, with their authors. The lateral
+     * subquery reads at most two index entries per post however many comments it has.
+     */
+    @Query(value = "SELECT c.id AS \"id\", c.post_id AS \"postId\", c.content AS \"content\", "
+            + "c.reply_count AS \"replyCount\", c.created_at AS \"createdAt\", "
+            + "u.id AS \"userId\", u.username AS \"username\", pr.profile_image_url AS \"profileImageUrl\" "
+            + "FROM posts p CROSS JOIN LATERAL ("
+            + "SELECT * FROM comments WHERE post_id = p.id AND parent_id IS NULL ORDER BY id DESC LIMIT 2) c "
+            + "JOIN profiles pr ON pr.id = c.profile_id "
+            + "JOIN users u ON u.id = pr.user_id "
+            + "WHERE p.id IN (:postIds) "
+            + "ORDER BY c.post_id, c.id DESC", nativeQuery = true)
+    List<CommentPreviewRow> findLatestCommentsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    int adjustReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount - "
+            + "(SELECT COUNT(r) FROM Comment r WHERE r.parent.id = c.id AND r.id IN :commentIds) "
+            + "WHERE c.id IN (SELECT r.parent.id FROM Comment r WHERE r.id IN :commentIds)")
+    int decrementReplyCountsForReplies(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.parent.id = :parentId")
+    int deleteByParentId(@Param("parentId") Long parentId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId AND c.parent IS NOT NULL")
+    int deleteRepliesByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    /**
+     * The IDs of the newest top-level comments of each post with an ID below
+     * {@code beforeId}, at most {@code limit} per post. Like the preview query, the lateral
+     * subquery reads at most {@code limit} index entries per post.
+     */
+    @Query(value = "SELECT c.id FROM posts p CROSS JOIN LATERAL ("
+            + "SELECT id FROM comments WHERE post_id = p.id AND parent_id IS NULL AND id < :beforeId "
+            + "ORDER BY id DESC LIMIT :limit) c "
+            + "WHERE p.id IN (:postIds)", nativeQuery = true)
+    List<Long> findTopLevelIdsByPostIdIn(@Param("postIds") Collection<Long> postIds,
+                                         @Param("beforeId") Long beforeId,
+                                         @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "profile.user")
+    List<Comment> findByIdInOrderByIdDesc(Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c WHERE c.profile.id = :profileId ORDER BY c.id")
+    Stream<Comment> streamByProfileId(@Param("profileId") Long profileId);
+
+    /**
+     * The comments to delete with a profile: its own, those on its posts and the replies to
+     * its comments. Replies come first, so no batch deletes a comment before its replies.
+     */
+    @Query("SELECT c.id FROM Comment c LEFT JOIN c.parent parent "
+            + "WHERE c.profile.id = :profileId OR c.post.profile.id = :profileId OR parent.profile.id = :profileId "
+            + "ORDER BY CASE WHEN c.parent IS NULL THEN 1 ELSE 0 END, c.id")
+    List<Long> findIdsByProfileOrPostOwner(@Param("profileId") Long profileId, Pageable pageable);
+
+    /**
+     * The authors of the posts the profile commented on since the given time, latest
+     * comment first. Comments on the profile's own posts are left out.
+     */
+    @Query("SELECT c.post.profile.id AS authorId, c.createdAt AS createdAt FROM Comment c "
+            + "WHERE c.profile.id = :profileId AND c.post.profile.id <> :profileId AND c.createdAt >= :since "
+            + "ORDER BY c.createdAt DESC")
+    List<LikeRepository.InteractionRow> findCommentedAuthorsSince(@Param("profileId") Long profileId,
+                                                                  @Param("since") LocalDateTime since,
+                                                                  Pageable pageable);
+
+    /**
+     * A comment shown in the preview of a post, with its author.
+     */
+    interface CommentPreviewRow {
+        Long getId();
+        Long getPostId();
+        String getContent();
+        Integer getReplyCount();
+        LocalDateTime getCreatedAt();
+        Long getUserId();
+        String getUsername();
+        String getProfileImageUrl();
+    }
+}
@@ -0,0 +1,49 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.entities.Follow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FollowRepository extends JpaRepository<Follow, Long> {
+    /**
+     * Adds the follow unless it already exists. The ID is drawn from the entity's sequence,
+     * as in {@link LikeRepository#insertIfAbsent}.
+     *
+     * @return 1 if the follow was added, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO follows (id, follower_id, followed_id, created_at, updated_at) "
+            + "VALUES (nextval('follows_seq'), :followerId, :followedId, now(), now()) "
+            + "ON CONFLICT (follower_id, followed_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+
+    @Modifying
+    @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followed.id = :followedId")
+    int deleteByFollowerIdAndFollowedId(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+
+    @EntityGraph(attributePaths = "follower.user")
+    List<Follow> findByFollowedIdOrderByIdDesc(Long followedId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "follower.user")
+    List<Follow> findByFollowedIdAndIdLessThanOrderByIdDesc(Long followedId, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "followed.user")
+    List<Follow> findByFollowerIdOrderByIdDesc(Long followerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "followed.user")
+    List<Follow> findByFollowerIdAndIdLessThanOrderByIdDesc(Long followerId, Long id, Pageable pageable);
+
+    @Query("SELECT f.followed.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Long> findFollowedIds(@Param("followerId") Long followerId);
+
+    @Query("SELECT f.id FROM Follow f WHERE f.follower.id = :profileId OR f.followed.id = :profileId ORDER BY f.id")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId, Pageable pageable);
+}
@@ -1,22 +1,72 @@
 package com.yalice.wardrobe_social_app.repositories;
 
-import com.yalice.wardrobe_social_app.entities.Friendship;
 import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
+import com.yalice.wardrobe_social_app.entities.Friendship;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FriendRepository extends JpaRepository<Friendship, Long> {
     boolean existsBySenderIdAndRecipientId(Long senderId, Long recipientId);
+    boolean existsBySenderIdAndRecipientIdAndStatus(Long senderId, Long recipientId, FriendshipStatus status);
     List<Friendship> findByRecipientIdAndStatus(Long recipientId, FriendshipStatus status);
 
     @Query("SELECT f FROM Friendship f WHERE (f.sender.id = :userId1 AND f.recipient.id = :userId2) OR (f.sender.id = :userId2 AND f.recipient.id = :userId1)")
     Optional<Friendship> findFriendshipBetweenUsers(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
     @Query("SELECT f FROM Friendship f WHERE (f.sender.id = :userId OR f.recipient.id = :userId) AND f.status = :status")
     List<Friendship> findAllByUserIdAndStatus(@Param("userId") Long userId, @Param("status") FriendshipStatus status);
-}
\ No newline at end of file
+
+    @Query("SELECT f.id AS id, s.id AS senderId, s.username AS senderUsername, " +
+            "r.id AS recipientId, r.username AS recipientUsername, f.status AS status " +
+            "FROM Friendship f JOIN f.sender s JOIN f.recipient r " +
+            "WHERE (s.id IN :userIds OR r.id IN :userIds) AND f.status = :status")
+    List<FriendshipRow> findRowsByUserIdInAndStatus(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("status") FriendshipStatus status);
+
+    @Query("SELECT f.sender.id AS senderId, f.recipient.id AS recipientId FROM Friendship f " +
+            "WHERE (f.sender.id IN :userIds OR f.recipient.id IN :userIds) AND f.status IN :statuses")
+    List<FriendPair> findPairsByUserIdInAndStatusIn(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("statuses") Collection<FriendshipStatus> statuses);
+
+    /**
+     * Deletes the friendships and requests between two users in either direction, except
+     * those with the given status.
+     */
+    @Modifying
+    @Query("DELETE FROM Friendship f WHERE ((f.sender.id = :userId1 AND f.recipient.id = :userId2) " +
+            "OR (f.sender.id = :userId2 AND f.recipient.id = :userId1)) AND f.status <> :status")
+    int deleteBetweenUsersExceptStatus(@Param("userId1") Long userId1, @Param("userId2") Long userId2,
+                                       @Param("status") FriendshipStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Friendship f WHERE f.sender.id = :senderId AND f.recipient.id = :recipientId " +
+            "AND f.status = :status")
+    int deleteBySenderIdAndRecipientIdAndStatus(@Param("senderId") Long senderId,
+                                                @Param("recipientId") Long recipientId,
+                                                @Param("status") FriendshipStatus status);
+
+    @Query("SELECT f.id FROM Friendship f WHERE f.sender.id = :userId OR f.recipient.id = :userId ORDER BY f.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    interface FriendshipRow {
+        Long getId();
+        Long getSenderId();
+        String getSenderUsername();
+        Long getRecipientId();
+        String getRecipientUsername();
+        FriendshipStatus getStatus();
+    }
+
+    interface FriendPair {
+        Long getSenderId();
+        Long getRecipientId();
+    }
+}
@@ -0,0 +1,22 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.entities.ImageCleanupTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageCleanupTaskRepository extends JpaRepository<ImageCleanupTask, Long> {
+    @Query("SELECT t FROM ImageCleanupTask t WHERE MOD(t.id, :partitions) = :partition " +
+            "AND t.nextAttemptAt <= :now ORDER BY t.id")
+    List<ImageCleanupTask> findDuePartition(
+            @Param("partition") int partition,
+            @Param("partitions") int partitions,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+}
@@ -1,11 +1,19 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Item;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
@@ -13,4 +21,29 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByProfileId(Long profileId);
     Optional<Item> findByNameAndWardrobeId(String itemName, Long wardrobeId);
     List<Item> findAllByWardrobeId(Long wardrobeId);
+    List<Item> findByWardrobeIdOrderByIdDesc(Long wardrobeId, Pageable pageable);
+    List<Item> findByWardrobeIdAndIdLessThanOrderByIdDesc(Long wardrobeId, Long id, Pageable pageable);
+
+    @Query("SELECT i.name FROM Item i WHERE i.wardrobe.id = :wardrobeId")
+    List<String> findNamesByWardrobeId(@Param("wardrobeId") Long wardrobeId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Item i WHERE i.profile.id = :profileId ORDER BY i.id")
+    Stream<Item> streamByProfileId(@Param("profileId") Long profileId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i.imageUrl FROM Item i WHERE i.profile.id = :profileId AND i.imageUrl IS NOT NULL ORDER BY i.id")
+    Stream<String> streamImageUrlsByProfileId(@Param("profileId") Long profileId);
+
+    @Query("SELECT i.id FROM Item i WHERE i.profile.id = :profileId ORDER BY i.id")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId, Pageable pageable);
+
+    @Query("SELECT i.imageUrl FROM Item i WHERE i.id IN :ids AND i.imageUrl IS NOT NULL")
+    List<String> findImageUrlsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,65 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Like;
-import com.yalice.wardrobe_social_app.entities.Post;
-import com.yalice.wardrobe_social_app.entities.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
-    Optional<Like> findByPostAndProfile(Post post, Profile profile);
-    boolean existsByPostAndProfile(Post post, Profile profile);
-}
\ No newline at end of file
+    boolean existsByPostIdAndProfileId(Long postId, Long profileId);
+
+    /**
+     * Adds the like unless the profile already likes the post. The ID is drawn from the
+     * entity's sequence; with the pooled optimizer every value handed out by the sequence
+     * is the top of a block no other caller uses, so this cannot collide with IDs Hibernate
+     * assigns.
+     *
+     * @return 1 if the like was added, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO likes (id, post_id, profile_id, created_at, updated_at) "
+            + "VALUES (nextval('likes_seq'), :postId, :profileId, now(), now()) "
+            + "ON CONFLICT (post_id, profile_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("profileId") Long profileId);
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.post.id = :postId AND l.profile.id = :profileId")
+    int deleteByPostIdAndProfileId(@Param("postId") Long postId, @Param("profileId") Long profileId);
+
+    /**
+     * The authors of the posts the profile liked since the given time, latest like first.
+     * Likes of the profile's own posts are left out.
+     */
+    @Query("SELECT l.post.profile.id AS authorId, l.createdAt AS createdAt FROM Like l "
+            + "WHERE l.profile.id = :profileId AND l.post.profile.id <> :profileId AND l.createdAt >= :since "
+            + "ORDER BY l.createdAt DESC")
+    List<InteractionRow> findLikedAuthorsSince(@Param("profileId") Long profileId,
+                                               @Param("since") LocalDateTime since, Pageable pageable);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.profile.id = :profileId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("profileId") Long profileId, @Param("postIds") Collection<Long> postIds);
+
+    @EntityGraph(attributePaths = {"profile.user"})
+    Page<Like> findByPostIdOrderByCreatedAtDescIdDesc(Long postId, Pageable pageable);
+
+    @Query("SELECT l.id FROM Like l WHERE l.profile.id = :profileId OR l.post.profile.id = :profileId ORDER BY l.id")
+    List<Long> findIdsByProfileOrPostOwner(@Param("profileId") Long profileId, Pageable pageable);
+
+    /**
+     * An interaction of a profile with a post, by the author of the post.
+     */
+    interface InteractionRow {
+        Long getAuthorId();
+        LocalDateTime getCreatedAt();
+    }
+}
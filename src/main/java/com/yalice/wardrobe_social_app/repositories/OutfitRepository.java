@@ -1,13 +1,71 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Outfit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OutfitRepository extends JpaRepository<Outfit, Long> {
     List<Outfit> findByProfileId(Long profileId);
     List<Outfit> findByProfileIdAndSeason(Long profileId, String season);
+
+    @EntityGraph(attributePaths = "items")
+    List<Outfit> findAllWithItemsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "items")
+    List<Outfit> findAllWithItemsByProfileIdIn(Collection<Long> profileIds);
+
+    @Query("SELECT o.id AS outfitId, i.id AS id, i.name AS name, i.imageUrl AS imageUrl " +
+            "FROM Outfit o JOIN o.items i WHERE o.id IN :outfitIds ORDER BY i.id")
+    List<OutfitItemRow> findItemRowsByOutfitIdIn(@Param("outfitIds") Collection<Long> outfitIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Outfit o WHERE o.profile.id = :profileId ORDER BY o.id")
+    Stream<Outfit> streamByProfileId(@Param("profileId") Long profileId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o.imageUrl FROM Outfit o WHERE o.profile.id = :profileId AND o.imageUrl IS NOT NULL ORDER BY o.id")
+    Stream<String> streamImageUrlsByProfileId(@Param("profileId") Long profileId);
+
+    @Query("SELECT o.id FROM Outfit o WHERE o.profile.id = :profileId ORDER BY o.id")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId, Pageable pageable);
+
+    @Query("SELECT o.imageUrl FROM Outfit o WHERE o.id IN :ids AND o.imageUrl IS NOT NULL")
+    List<String> findImageUrlsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM outfit_items WHERE outfit_id IN (:outfitIds)", nativeQuery = true)
+    int deleteItemLinksByOutfitIds(@Param("outfitIds") Collection<Long> outfitIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM outfit_items WHERE item_id IN (:itemIds)", nativeQuery = true)
+    int deleteItemLinksByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * An item of an outfit, reduced to what a post needs to show it.
+     */
+    interface OutfitItemRow {
+        Long getOutfitId();
+        Long getId();
+        String getName();
+        String getImageUrl();
+    }
 }
@@ -1,21 +1,123 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+    @EntityGraph(attributePaths = {"profile.user", "outfit"})
     Page<Post> findByProfileIdAndVisibilityInOrderByCreatedAtDesc(Long profileId, List<Post.PostVisibility> visibility,
                                                                   Pageable pageable);
 
     Page<Post> findByProfileIdAndVisibilityOrderByCreatedAtDesc(Long profileId, Post.PostVisibility visibility, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"profile.user", "outfit"})
     Page<Post> findByProfileIdInOrderByCreatedAtDesc(List<Long> profileIds, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"profile.user", "outfit"})
     Page<Post> findByProfileIdInAndOutfitSeasonOrderByCreatedAtDesc(List<Long> profileIds, String season, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"profile.user", "outfit"})
     Page<Post> findByProfileIdInAndOutfitCategoryOrderByCreatedAtDesc(List<Long> profileIds, String category, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.profile.id IN :profileIds ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIds(@Param("profileIds") List<Long> profileIds, Pageable pageable);
+
+    /**
+     * The latest posts of the given profiles with what ranking needs of them, newest first.
+     * Rows are built as records rather than projection proxies, since every field of
+     * every row is read.
+     */
+    @Query("SELECT new com.yalice.wardrobe_social_app.repositories.PostRepository$FeedCandidate("
+            + "p.id, p.profile.id, p.createdAt, p.likeCount, p.commentCount) "
+            + "FROM Post p WHERE p.profile.id IN :profileIds ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedCandidate> findFeedCandidates(@Param("profileIds") List<Long> profileIds, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.profile.id IN :profileIds AND p.outfit.season = :season " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsBySeason(@Param("profileIds") List<Long> profileIds, @Param("season") String season,
+                                   Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.profile.id IN :profileIds AND p.outfit.category = :category " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsByCategory(@Param("profileIds") List<Long> profileIds, @Param("category") String category,
+                                     Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.profile pr JOIN FETCH pr.user JOIN FETCH p.outfit WHERE p.id IN :ids")
+    List<Post> findAllWithAuthorAndOutfitByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p WHERE p.profile.id = :profileId ORDER BY p.id")
+    Stream<Post> streamByProfileId(@Param("profileId") Long profileId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.featureImage FROM Post p WHERE p.profile.id = :profileId AND p.featureImage IS NOT NULL ORDER BY p.id")
+    Stream<String> streamFeatureImagesByProfileId(@Param("profileId") Long profileId);
+
+    @Query("SELECT p.profile.id FROM Post p WHERE p.id = :postId")
+    Optional<Long> findProfileIdById(@Param("postId") Long postId);
+
+    @Query("SELECT p.id FROM Post p WHERE p.profile.id = :profileId ORDER BY p.id")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId, Pageable pageable);
+
+    /**
+     * Returns up to {@code limit} of the latest posts of each profile, newest first.
+     */
+    @Query(value = "SELECT p.id AS \"id\", p.profile_id AS \"profileId\", p.created_at AS \"createdAt\" "
+            + "FROM profiles pr CROSS JOIN LATERAL ("
+            + "SELECT id, profile_id, created_at FROM posts WHERE profile_id = pr.id "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit) p "
+            + "WHERE pr.id IN (:profileIds)", nativeQuery = true)
+    List<RecentPostRow> findLatestByProfileIdIn(@Param("profileIds") Collection<Long> profileIds,
+                                                @Param("limit") int limit);
+
+    @Query("SELECT p.featureImage FROM Post p WHERE p.id IN :ids AND p.featureImage IS NOT NULL")
+    List<String> findFeatureImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount - 1 WHERE p.id IN (SELECT l.post.id FROM Like l WHERE l.id IN :likeIds)")
+    int decrementLikeCountsForLikes(@Param("likeIds") Collection<Long> likeIds);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - "
+            + "(SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.id IN :commentIds) "
+            + "WHERE p.id IN (SELECT c.post.id FROM Comment c WHERE c.id IN :commentIds)")
+    int decrementCommentCountsForComments(@Param("commentIds") Collection<Long> commentIds);
+
+    record FeedCandidate(long id, long profileId, LocalDateTime createdAt, int likeCount, int commentCount) {
+    }
+
+    interface RecentPostRow {
+        Long getId();
+        Long getProfileId();
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -1,12 +1,55 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Profile;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "user")
+    List<Profile> findAllByUserIdIn(Collection<Long> userIds);
+
+    @Query("SELECT p.id AS id, p.user.id AS userId FROM Profile p WHERE p.id IN :profileIds")
+    List<ProfileUserRow> findUserIdsByIdIn(@Param("profileIds") Collection<Long> profileIds);
+
+    @Query("SELECT p.id AS id, p.user.id AS userId FROM Profile p WHERE p.user.id IN :userIds")
+    List<ProfileUserRow> findIdsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Adds {@code delta} to the following count of the follower and the follower count of
+     * the followed profile. Both rows are updated by one statement, so two opposite follows
+     * running at once lock them in the same order.
+     */
+    @Modifying
+    @Query("UPDATE Profile p SET "
+            + "p.followingCount = p.followingCount + CASE WHEN p.id = :followerId THEN :delta ELSE 0 END, "
+            + "p.followerCount = p.followerCount + CASE WHEN p.id = :followedId THEN :delta ELSE 0 END "
+            + "WHERE p.id IN (:followerId, :followedId)")
+    int adjustFollowCounts(@Param("followerId") Long followerId, @Param("followedId") Long followedId,
+                           @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Profile p SET p.followerCount = p.followerCount - 1 "
+            + "WHERE p.id IN (SELECT f.followed.id FROM Follow f WHERE f.id IN :followIds)")
+    int decrementFollowerCountsForFollows(@Param("followIds") Collection<Long> followIds);
+
+    @Modifying
+    @Query("UPDATE Profile p SET p.followingCount = p.followingCount - 1 "
+            + "WHERE p.id IN (SELECT f.follower.id FROM Follow f WHERE f.id IN :followIds)")
+    int decrementFollowingCountsForFollows(@Param("followIds") Collection<Long> followIds);
+
+    interface ProfileUserRow {
+        Long getId();
+        Long getUserId();
+    }
+}
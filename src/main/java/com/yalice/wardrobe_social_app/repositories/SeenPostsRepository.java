@@ -0,0 +1,23 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.entities.SeenPosts;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SeenPostsRepository extends JpaRepository<SeenPosts, Long> {
+
+    /**
+     * Reads the user's row and locks it until the transaction ends, so that instances
+     * saving the same user's seen posts merge them one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SeenPosts s WHERE s.userId = :userId")
+    Optional<SeenPosts> findForUpdate(@Param("userId") Long userId);
+}
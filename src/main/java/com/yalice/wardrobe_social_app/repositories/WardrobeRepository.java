@@ -1,9 +1,14 @@
 package com.yalice.wardrobe_social_app.repositories;
 
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,18 @@ public interface WardrobeRepository extends JpaRepository<Wardrobe, Long> {
     Optional<Wardrobe> findByProfileId(Long profileId);
     Boolean existsByProfileIdAndName(Long profileId, String wardrobeName);
     List<Wardrobe> findAllByProfileId(Long profileId);
+    List<Wardrobe> findAllByProfileIdIn(Collection<Long> profileIds);
+
+    @Query("SELECT w.id FROM Wardrobe w WHERE w.profile.id = :profileId ORDER BY w.id")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wardrobe w SET w.itemCount = w.itemCount + :delta WHERE w.id = :wardrobeId")
+    int adjustItemCount(@Param("wardrobeId") Long wardrobeId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wardrobe w SET w.coverImageUrl = (SELECT i.imageUrl FROM Item i WHERE i.id = " +
+            "(SELECT MAX(i2.id) FROM Item i2 WHERE i2.wardrobe.id = :wardrobeId AND i2.imageUrl IS NOT NULL)) " +
+            "WHERE w.id = :wardrobeId")
+    int refreshCoverImage(@Param("wardrobeId") Long wardrobeId);
 }
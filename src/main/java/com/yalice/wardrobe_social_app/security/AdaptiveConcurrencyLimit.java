@@ -0,0 +1,130 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adapts to measured latency, in the style of a gradient limiter.
+ *
+ * <p>Latencies are averaged over windows of {@link #SAMPLE_WINDOW} requests. Each window's
+ * average is compared with a long-running average: while they match, the limit grows by
+ * about its square root per window; when the window is slower than the long-running
+ * average allows for, the limit shrinks in proportion, down to half per window. The limit
+ * only grows when requests actually used at least half of it, so a quiet period does not
+ * inflate it. The long-running average follows slowly, so a lasting change in latency
+ * becomes the new baseline.</p>
+ *
+ * <p>Taking a permit is a compare-and-set on the in-flight count and never waits.</p>
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int SAMPLE_WINDOW = 20;
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimit.class);
+    private static final double LONG_WINDOW_SMOOTHING = 2.0 / (600 + 1);
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(String name, AppConfig.Bulkhead.Limit config) {
+        this.name = name;
+        this.minLimit = Math.max(1, config.getMinLimit());
+        this.maxLimit = Math.max(minLimit, config.getMaxLimit());
+        this.estimatedLimit = Math.clamp(config.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Takes a permit if fewer requests than the limit are in flight.
+     *
+     * @return the number of requests in flight including this one, or 0 if the limit is reached
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and records how long the request took.
+     *
+     * @param rttNanos          the time the request held the permit
+     * @param inFlightAtAcquire the value returned by {@link #tryAcquire()}
+     */
+    public void release(long rttNanos, int inFlightAtAcquire) {
+        inFlight.decrementAndGet();
+        sample(rttNanos, inFlightAtAcquire);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtAcquire) {
+        windowRttSum += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtAcquire);
+        if (++windowCount < SAMPLE_WINDOW) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+        updateLimit(shortRtt, maxInFlight);
+    }
+
+    private void updateLimit(double shortRtt, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * LONG_WINDOW_SMOOTHING;
+        }
+        // After a slow period the long-running average stays high; let it recover faster
+        // so a return to normal latency is not mistaken for spare capacity for too long.
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(RTT_TOLERANCE * longRttNanos / shortRtt, 0.5, 1.0);
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        if (limit != previous) {
+            logger.debug("{} concurrency limit {} -> {} (window {} ms, baseline {} ms)", name, previous, limit,
+                    Math.round(shortRtt / 1_000_000), Math.round(longRttNanos / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Caps how many requests of each endpoint class run at once, so slow uploads or BCrypt
+ * logins cannot take every request thread and database connection from the feed.
+ *
+ * <p>Each class has its own {@link AdaptiveConcurrencyLimit}. A request that finds its
+ * class at the limit is answered at once with {@code 503 Service Unavailable} and
+ * {@code Retry-After: 1} instead of queueing behind the others.</p>
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    /**
+     * The groups of endpoints that get separate limits.
+     */
+    public enum EndpointClass {
+        /** Login, logout, registration and password changes, which hash passwords. */
+        AUTH,
+        /** Multipart requests: image uploads and bulk item imports. */
+        UPLOAD,
+        /** Other requests that change data. */
+        WRITE,
+        /** Everything else, mostly the feed and other reads. */
+        READ
+    }
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(AppConfig.Bulkhead config, ObjectMapper objectMapper) {
+        limits.put(EndpointClass.AUTH, new AdaptiveConcurrencyLimit("auth", config.getAuth()));
+        limits.put(EndpointClass.UPLOAD, new AdaptiveConcurrencyLimit("upload", config.getUpload()));
+        limits.put(EndpointClass.WRITE, new AdaptiveConcurrencyLimit("write", config.getWrite()));
+        limits.put(EndpointClass.READ, new AdaptiveConcurrencyLimit("read", config.getRead()));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        int inFlight = limit.tryAcquire();
+        if (inFlight == 0) {
+            shed(response, endpointClass);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start, inFlight);
+        }
+    }
+
+    /**
+     * @return the current limit of an endpoint class
+     */
+    public int getLimit(EndpointClass endpointClass) {
+        return limits.get(endpointClass).getLimit();
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (path.startsWith("/api/auth/")
+                || (HttpMethod.POST.matches(method) && path.equals("/api/users/register"))
+                || (HttpMethod.PUT.matches(method) && path.startsWith("/api/users/") && path.endsWith("/password"))) {
+            return EndpointClass.AUTH;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return EndpointClass.UPLOAD;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+
+    private void shed(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<Void>(false,
+                "Server is busy with " + endpointClass.name().toLowerCase(Locale.ROOT) + " requests, retry shortly",
+                null));
+    }
+}
@@ -0,0 +1,118 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests from clients that have used up their rate limit with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ *
+ * <p>A request costs the weight of the first route in {@code app.rate-limit.routes} that
+ * it matches, or 1 if it matches none; a weight of 0 exempts the route. The filter is
+ * added to the security chain twice: keyed by client IP before the JWT filter, so floods
+ * are turned away before the user is loaded from the database, and keyed by username
+ * after it, so a user's limit holds whichever address they connect from.</p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int DEFAULT_COST = 1;
+
+    private final RateLimiter rateLimiter;
+    private final RateLimiter.Scope scope;
+    private final List<RouteCost> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimiter.Scope scope,
+                           List<AppConfig.RateLimit.Route> routes, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.scope = scope;
+        this.routes = routes.stream()
+                .map(route -> new RouteCost(route.getMethod(),
+                        PathPatternParser.defaultInstance.parse(route.getPattern()), route.getCost()))
+                .toList();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String key = resolveKey(request);
+        int cost = costOf(request);
+        if (key != null && cost > 0) {
+            long waitNanos = rateLimiter.tryAcquire(scope, key, cost);
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Both instances are the same class, so each needs its own marker to run once per request.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return super.getAlreadyFilteredAttributeName() + "." + scope;
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        if (scope == RateLimiter.Scope.IP) {
+            return request.getRemoteAddr();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private int costOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (RouteCost route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route.cost();
+            }
+        }
+        return DEFAULT_COST;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<Void>(false,
+                "Too many requests, retry after " + retryAfterSeconds + " seconds", null));
+    }
+
+    private record RouteCost(String method, PathPattern pattern, int cost) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limits per client IP and per user.
+ *
+ * <p>Each bucket is stored as a single timestamp: the time at which it will be full again.
+ * A request of cost {@code n} moves that time forward by {@code n} refill intervals and is
+ * allowed if the bucket would still not be emptier than its capacity allows. The timestamp
+ * is updated with compare-and-set, so concurrent requests never wait on a lock.</p>
+ *
+ * <p>A bucket whose full-again time has passed carries no state, so such buckets are dropped
+ * by a periodic sweep. The number of buckets is capped by {@code app.rate-limit.max-buckets};
+ * a new key that arrives at the cap triggers the sweep early, but at most once a second, so
+ * a flood of new keys does not scan every bucket on each request. Keys that arrive while
+ * the cap is reached and nothing could be dropped share one overflow bucket per scope.</p>
+ *
+ * <p>With {@code app.rate-limit.shared} on, a request that passes its local bucket is also
+ * charged against a bucket in the database, so the limit holds across nodes. The local
+ * bucket never allows more than the shared one, so requests it rejects do not reach the
+ * database. If the database cannot be reached, the local decision stands.</p>
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * What a bucket is keyed by.
+     */
+    public enum Scope {
+        IP,
+        USER
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String OVERFLOW_KEY = "overflow";
+    private static final long INLINE_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<Scope, Limit> limits = new EnumMap<>(Scope.class);
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final SharedRateLimitStore sharedStore;
+    private final LongSupplier nanoClock;
+    private final AtomicLong lastInlineSweep;
+
+    @Autowired
+    public RateLimiter(AppConfig appConfig, SharedRateLimitStore sharedStore) {
+        this(appConfig.getRateLimit(), appConfig.getRateLimit().isShared() ? sharedStore : null, System::nanoTime);
+    }
+
+    RateLimiter(AppConfig.RateLimit config, SharedRateLimitStore sharedStore, LongSupplier nanoClock) {
+        this.limits.put(Scope.IP, new Limit(config.getIp()));
+        this.limits.put(Scope.USER, new Limit(config.getUser()));
+        this.maxBuckets = config.getMaxBuckets();
+        this.sharedStore = sharedStore;
+        this.nanoClock = nanoClock;
+        this.lastInlineSweep = new AtomicLong(nanoClock.getAsLong() - INLINE_SWEEP_INTERVAL_NANOS);
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket of a client, if it holds that many.
+     * A cost above the bucket's capacity is charged as the full capacity.
+     *
+     * @param scope what the key identifies
+     * @param key   the client IP or username
+     * @param cost  the number of tokens the request costs
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(Scope scope, String key, int cost) {
+        Limit limit = limits.get(scope);
+        long increment = Math.min(cost, limit.capacity) * limit.intervalNanos;
+        String bucketKey = scope.name() + ':' + key;
+
+        long waitNanos = tryAcquireLocal(bucket(scope, bucketKey), increment, limit.toleranceNanos);
+        if (waitNanos > 0 || sharedStore == null) {
+            return waitNanos;
+        }
+
+        try {
+            long waitMicros = sharedStore.tryAcquire(bucketKey,
+                    TimeUnit.NANOSECONDS.toMicros(increment), TimeUnit.NANOSECONDS.toMicros(limit.toleranceNanos));
+            return TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (DataAccessException e) {
+            logger.warn("Shared rate limit unavailable, using the local limit only: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Drops this node's buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        evictIdleLocalBuckets();
+    }
+
+    /**
+     * Drops the shared buckets that have refilled completely. Run by one node at a time,
+     * as the {@code rate-limit-buckets} job.
+     */
+    public void evictIdleSharedBuckets() {
+        if (sharedStore != null) {
+            try {
+                sharedStore.deleteIdle();
+            } catch (DataAccessException e) {
+                logger.warn("Failed to remove idle shared rate limit buckets: {}", e.getMessage());
+            }
+        }
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private long tryAcquireLocal(AtomicLong bucket, long increment, long tolerance) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt, now) + increment;
+            long waitNanos = newFullAt - now - tolerance;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucket(Scope scope, String bucketKey) {
+        AtomicLong bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        String key = bucketKey;
+        if (buckets.size() >= maxBuckets) {
+            evictIdleLocalBucketsInline();
+            if (buckets.size() >= maxBuckets) {
+                logger.debug("Rate limit bucket cap of {} reached; sharing an overflow bucket", maxBuckets);
+                key = scope.name() + ':' + OVERFLOW_KEY;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Sweeps unless a sweep started within the last second. Of the requests that find the
+     * interval passed, only the one that moves the timestamp forward sweeps.
+     */
+    private void evictIdleLocalBucketsInline() {
+        long now = nanoClock.getAsLong();
+        long last = lastInlineSweep.get();
+        if (now - last >= INLINE_SWEEP_INTERVAL_NANOS && lastInlineSweep.compareAndSet(last, now)) {
+            evictIdleLocalBuckets();
+        }
+    }
+
+    /**
+     * A request that read a bucket just before it was dropped is charged to the dropped
+     * bucket, which at worst lets one extra request through.
+     */
+    private void evictIdleLocalBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private static final class Limit {
+        private final long capacity;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        private Limit(AppConfig.RateLimit.Limit config) {
+            this.capacity = Math.max(1, config.getCapacity());
+            this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / config.getRefillPerSecond()));
+            this.toleranceNanos = capacity * intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.yalice.wardrobe_social_app.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rate limit buckets kept in the {@code rate_limit_buckets} table, so every node charges
+ * the same bucket. A bucket is updated in one statement, with the database clock, so
+ * nodes with skewed clocks still agree. Uses PostgreSQL's {@code INSERT ... ON CONFLICT}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SharedRateLimitStore {
+
+    private static final String NOW_MICROS = "CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000 AS BIGINT)";
+
+    private static final String ACQUIRE =
+            "INSERT INTO rate_limit_buckets (bucket_key, full_at) VALUES (?, " + NOW_MICROS + " + ?) "
+                    + "ON CONFLICT (bucket_key) DO UPDATE "
+                    + "SET full_at = GREATEST(rate_limit_buckets.full_at, EXCLUDED.full_at - ?) + ? "
+                    + "WHERE GREATEST(rate_limit_buckets.full_at, EXCLUDED.full_at - ?) + ? "
+                    + "- (EXCLUDED.full_at - ?) <= ? "
+                    + "RETURNING full_at";
+
+    private static final String TIME_UNTIL_FULL =
+            "SELECT full_at - " + NOW_MICROS + " FROM rate_limit_buckets WHERE bucket_key = ?";
+
+    private static final String DELETE_IDLE =
+            "DELETE FROM rate_limit_buckets WHERE full_at < " + NOW_MICROS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Charges a shared bucket, creating it full if it does not exist.
+     *
+     * @param key             the bucket key
+     * @param incrementMicros how far the cost moves the bucket's full-again time
+     * @param toleranceMicros how far ahead of now the full-again time may be
+     * @return 0 if the cost was charged, otherwise the microseconds until it could be
+     */
+    public long tryAcquire(String key, long incrementMicros, long toleranceMicros) {
+        List<Long> charged = jdbcTemplate.queryForList(ACQUIRE, Long.class, key, incrementMicros,
+                incrementMicros, incrementMicros, incrementMicros, incrementMicros, incrementMicros, toleranceMicros);
+        if (!charged.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> untilFull = jdbcTemplate.queryForList(TIME_UNTIL_FULL, Long.class, key);
+        return untilFull.isEmpty() ? 0 : Math.max(1, untilFull.get(0) + incrementMicros - toleranceMicros);
+    }
+
+    /**
+     * Deletes buckets that have refilled completely.
+     *
+     * @return the number of buckets deleted
+     */
+    public int deleteIdle() {
+        return jdbcTemplate.update(DELETE_IDLE);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -63,6 +64,28 @@ public class ImageServiceImpl extends BaseService implements ImageService {
         }
     }
 
+    @Override
+    public String storeImage(Path source, String entityType, Long entityId) {
+        logger.debug("Storing image {} for entity type: {} with ID: {}", source, entityType, entityId);
+
+        validationService.validateNotNull(source, "Source file");
+        validationService.validateStringNotEmpty(entityType, "Entity type");
+        validationService.validatePositive(entityId, "Entity ID");
+
+        try {
+            validateStoredImage(source);
+
+            Path uploadPath = createEntityDirectory(entityType, entityId);
+            String filename = UUID.randomUUID() + getExtension(source.getFileName().toString());
+            Files.copy(source, uploadPath.resolve(filename), StandardCopyOption.REPLACE_EXISTING);
+
+            return buildImageUrl(entityType, entityId, filename);
+        } catch (IOException e) {
+            logger.error("Failed to store image for entity type: {} with ID: {}", entityType, entityId, e);
+            throw new ImageProcessingException("Failed to store image. Please try again.", e);
+        }
+    }
+
     @Override
     public void deleteImage(String imageUrl) {
         if (imageUrl == null || imageUrl.isEmpty()) {
@@ -81,6 +104,27 @@ public class ImageServiceImpl extends BaseService implements ImageService {
         }
     }
 
+    @Override
+    public boolean copyImage(String imageUrl, OutputStream target) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return false;
+        }
+
+        Path filePath = convertUrlToPath(imageUrl);
+        if (!Files.isRegularFile(filePath)) {
+            logger.warn("Image file not found for copy: {}", filePath);
+            return false;
+        }
+
+        try {
+            Files.copy(filePath, target);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to copy image: {}", imageUrl, e);
+            throw new ImageProcessingException("Failed to copy image.", e);
+        }
+    }
+
     @Override
     public boolean validateImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -115,6 +159,39 @@ public class ImageServiceImpl extends BaseService implements ImageService {
         }
     }
 
+    private void validateStoredImage(Path source) throws IOException {
+        long size = Files.size(source);
+        if (size == 0) {
+            throw new ImageProcessingException("Empty file provided");
+        }
+        if (size > maxFileSize) {
+            throw new ImageProcessingException(
+                    String.format("File size %d exceeds maximum allowed size %d", size, maxFileSize));
+        }
+
+        String contentType = contentTypeFor(source.getFileName().toString());
+        if (contentType == null || Arrays.stream(allowedTypes).noneMatch(contentType::equals)) {
+            throw new ImageProcessingException(
+                    String.format("Invalid content type: %s. Allowed types: %s",
+                            contentType, String.join(", ", allowedTypes)));
+        }
+    }
+
+    private String contentTypeFor(String filename) {
+        String extension = getExtension(filename).toLowerCase();
+        return switch (extension) {
+            case ".jpg", ".jpeg" -> "image/jpeg";
+            case ".png" -> "image/png";
+            case ".gif" -> "image/gif";
+            default -> null;
+        };
+    }
+
+    private String getExtension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot) : ".jpg";
+    }
+
     private void createUploadDirectory() throws IOException {
         Path path = Paths.get(StringUtils.cleanPath(uploadDir));
         if (!Files.exists(path)) {
@@ -0,0 +1,367 @@
+package com.yalice.wardrobe_social_app.services.core;
+
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportResultDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportRowDto;
+import com.yalice.wardrobe_social_app.entities.Item;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.exceptions.ImageProcessingException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.interfaces.ItemImportService;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.ItemImportParser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports many items into a wardrobe in one request.
+ *
+ * <p>The items file is streamed row by row and each row is validated as it is read.
+ * Valid rows are buffered into batches of {@code app.import.batch-size}; for each batch
+ * the images are stored in parallel and the items are inserted in one transaction, which
+ * Hibernate sends as JDBC batches since item IDs come from a pooled sequence. Memory use
+ * depends on the batch size, not on the number of rows.</p>
+ */
+@Service
+public class ItemImportServiceImpl extends BaseService<Item, Long> implements ItemImportService {
+
+    private static final String IMAGE_ENTITY_TYPE = "wardrobe";
+
+    private final ItemRepository itemRepository;
+    private final ProfileRepository profileRepository;
+    private final WardrobeRepository wardrobeRepository;
+    private final ImageService imageService;
+    private final ItemImportParser importParser;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService imageExecutor;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxImages;
+    private final long maxImageBytes;
+    private final long maxArchiveBytes;
+
+    public ItemImportServiceImpl(
+            ItemRepository itemRepository,
+            ProfileRepository profileRepository,
+            WardrobeRepository wardrobeRepository,
+            ImageService imageService,
+            ItemImportParser importParser,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.import.batch-size:50}") int batchSize,
+            @Value("${app.import.image-threads:4}") int imageThreads,
+            @Value("${app.import.max-errors:100}") int maxErrors,
+            @Value("${app.import.max-images:5000}") int maxImages,
+            @Value("${app.image.max-size:5242880}") long maxImageBytes,
+            @Value("${app.import.max-archive-bytes:1073741824}") long maxArchiveBytes) {
+        this.itemRepository = itemRepository;
+        this.profileRepository = profileRepository;
+        this.wardrobeRepository = wardrobeRepository;
+        this.imageService = imageService;
+        this.importParser = importParser;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.imageExecutor = Executors.newFixedThreadPool(imageThreads);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxImages = maxImages;
+        this.maxImageBytes = maxImageBytes;
+        this.maxArchiveBytes = maxArchiveBytes;
+    }
+
+    @Override
+    protected JpaRepository<Item, Long> getRepository() {
+        return itemRepository;
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "Item";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        imageExecutor.shutdown();
+    }
+
+    @Override
+    public ItemImportResultDto importItems(Long profileId, Long wardrobeId,
+                                           MultipartFile itemsFile, MultipartFile imagesZip) {
+        logger.info("Importing items for profile ID: {} into wardrobe ID: {}", profileId, wardrobeId);
+
+        validationService.validateNotNull(profileId, "Profile ID");
+        validationService.validateNotNull(wardrobeId, "Wardrobe ID");
+        validationService.validateExists(itemsFile != null && !itemsFile.isEmpty(), "Items file is required");
+        validationService.validateExists(imagesZip != null && !imagesZip.isEmpty(), "Images archive is required");
+
+        Wardrobe wardrobe = wardrobeRepository.findById(wardrobeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Wardrobe not found with ID: " + wardrobeId));
+        if (!wardrobe.getProfile().getId().equals(profileId)) {
+            throw new SecurityException("Profile does not own this wardrobe");
+        }
+
+        ItemImportResultDto result = new ItemImportResultDto();
+        Set<String> takenNames = new HashSet<>(itemRepository.findNamesByWardrobeId(wardrobeId));
+        Path imageDir = extractImages(imagesZip);
+
+        try {
+            List<PendingRow> batch = new ArrayList<>(batchSize);
+            int[] rowNumber = {0};
+
+            importParser.forEachRow(itemsFile, row -> {
+                rowNumber[0]++;
+                String error = validateRow(row, takenNames, imageDir);
+                if (error != null) {
+                    recordFailure(result, rowNumber[0], error);
+                    return;
+                }
+
+                takenNames.add(row.getName());
+                batch.add(new PendingRow(rowNumber[0], row));
+                if (batch.size() >= batchSize) {
+                    importBatch(batch, profileId, wardrobeId, imageDir, result);
+                    batch.clear();
+                }
+            });
+
+            if (!batch.isEmpty()) {
+                importBatch(batch, profileId, wardrobeId, imageDir, result);
+            }
+        } finally {
+            deleteDirectory(imageDir);
+        }
+
+        logger.info("Imported {} items into wardrobe ID: {} ({} rows rejected)",
+                result.getImportedCount(), wardrobeId, result.getFailedCount());
+        return result;
+    }
+
+    private String validateRow(ItemImportRowDto row, Set<String> takenNames, Path imageDir) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            return "Item name cannot be empty";
+        }
+        if (row.getName().length() > ItemServiceImpl.MAX_ITEM_NAME_LENGTH) {
+            return String.format("Item name must not exceed %d characters", ItemServiceImpl.MAX_ITEM_NAME_LENGTH);
+        }
+        if (row.getCategory() == null || row.getCategory().isBlank()) {
+            return "Category cannot be empty";
+        }
+        if (takenNames.contains(row.getName())) {
+            return String.format("Item with name '%s' already exists in this wardrobe", row.getName());
+        }
+        if (row.getImage() == null || !Files.isRegularFile(resolveImage(imageDir, row.getImage()))) {
+            return "Image not found in archive: " + row.getImage();
+        }
+        return null;
+    }
+
+    private void importBatch(List<PendingRow> batch, Long profileId, Long wardrobeId,
+                             Path imageDir, ItemImportResultDto result) {
+        List<String> imageUrls;
+        try {
+            imageUrls = storeImages(batch, wardrobeId, imageDir);
+        } catch (ImageProcessingException e) {
+            batch.forEach(pending -> recordFailure(result, pending.row(), e.getMessage()));
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Profile profile = profileRepository.getReferenceById(profileId);
+                Wardrobe wardrobe = wardrobeRepository.getReferenceById(wardrobeId);
+
+                List<Item> items = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    items.add(buildItem(batch.get(i).data(), imageUrls.get(i), profile, wardrobe));
+                }
+                itemRepository.saveAll(items);
+                wardrobeRepository.adjustItemCount(wardrobeId, items.size());
+                wardrobeRepository.refreshCoverImage(wardrobeId);
+            });
+            result.setImportedCount(result.getImportedCount() + batch.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to insert import batch for wardrobe ID: {}", wardrobeId, e);
+            imageUrls.forEach(this::deleteImageQuietly);
+            batch.forEach(pending -> recordFailure(result, pending.row(), "Failed to save item"));
+        }
+    }
+
+    /**
+     * Stores the images of a batch in parallel. Images are keyed by wardrobe rather than
+     * item, so they can be stored before the items are inserted. If any image fails, the
+     * ones already stored are removed and the whole batch is rejected.
+     */
+    private List<String> storeImages(List<PendingRow> batch, Long wardrobeId, Path imageDir) {
+        List<CompletableFuture<String>> uploads = batch.stream()
+                .map(pending -> CompletableFuture.supplyAsync(
+                        () -> imageService.storeImage(
+                                resolveImage(imageDir, pending.data().getImage()), IMAGE_ENTITY_TYPE, wardrobeId),
+                        imageExecutor))
+                .toList();
+
+        CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+
+        List<String> imageUrls = new ArrayList<>(uploads.size());
+        ImageProcessingException failure = null;
+        for (CompletableFuture<String> upload : uploads) {
+            if (upload.isCompletedExceptionally()) {
+                failure = new ImageProcessingException("Failed to store one or more images in this batch");
+            } else {
+                imageUrls.add(upload.join());
+            }
+        }
+
+        if (failure != null) {
+            imageUrls.forEach(this::deleteImageQuietly);
+            throw failure;
+        }
+        return imageUrls;
+    }
+
+    private Item buildItem(ItemImportRowDto row, String imageUrl, Profile profile, Wardrobe wardrobe) {
+        return Item.builder()
+                .name(row.getName())
+                .brand(row.getBrand())
+                .category(row.getCategory())
+                .size(row.getSize())
+                .color(row.getColor())
+                .description(row.getDescription())
+                .imageUrl(imageUrl)
+                .wardrobe(wardrobe)
+                .profile(profile)
+                .build();
+    }
+
+    private void recordFailure(ItemImportResultDto result, int row, String message) {
+        result.setFailedCount(result.getFailedCount() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ItemImportResultDto.RowError(row, message));
+        }
+    }
+
+    /**
+     * Streams the archive to a temporary directory so rows can reference images in any
+     * order without buffering the archive in memory. Entry paths are flattened to their
+     * file name, which also keeps entries from escaping the directory. The number of
+     * files and the bytes actually decompressed are capped while copying, since the
+     * sizes an entry declares cannot be trusted. The directory is removed if extraction
+     * fails.
+     */
+    private Path extractImages(MultipartFile imagesZip) {
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("item-import-");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create a temporary directory for the import", e);
+        }
+
+        try (ZipInputStream zip = new ZipInputStream(imagesZip.getInputStream())) {
+            int images = 0;
+            long totalBytes = 0;
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    String filename = Paths.get(entry.getName()).getFileName().toString();
+                    if (!filename.startsWith(".")) {
+                        if (++images > maxImages) {
+                            throw new IllegalArgumentException(
+                                    String.format("Images archive must not contain more than %d files", maxImages));
+                        }
+                        totalBytes += copyEntry(zip, directory.resolve(filename), filename, totalBytes);
+                    }
+                }
+                zip.closeEntry();
+            }
+            return directory;
+        } catch (IOException e) {
+            deleteDirectory(directory);
+            throw new IllegalArgumentException("Images archive could not be read: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            deleteDirectory(directory);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the current archive entry, failing as soon as it exceeds the image size limit
+     * or takes the archive past its total limit.
+     *
+     * @return the number of bytes written
+     */
+    private long copyEntry(InputStream zip, Path target, String filename, long archiveBytesSoFar) throws IOException {
+        byte[] buffer = new byte[8192];
+        long entryBytes = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = zip.read(buffer)) != -1) {
+                entryBytes += read;
+                if (entryBytes > maxImageBytes) {
+                    throw new IllegalArgumentException(
+                            String.format("Image %s exceeds the maximum size of %d bytes", filename, maxImageBytes));
+                }
+                if (archiveBytesSoFar + entryBytes > maxArchiveBytes) {
+                    throw new IllegalArgumentException(
+                            String.format("Images archive exceeds the maximum size of %d bytes", maxArchiveBytes));
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return entryBytes;
+    }
+
+    private Path resolveImage(Path imageDir, String image) {
+        return imageDir.resolve(Paths.get(image).getFileName().toString());
+    }
+
+    private void deleteImageQuietly(String imageUrl) {
+        try {
+            imageService.deleteImage(imageUrl);
+        } catch (ImageProcessingException e) {
+            logger.warn("Failed to remove image {} after a failed import batch", imageUrl);
+        }
+    }
+
+    private void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete temporary import file: {}", path);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to clean up temporary import directory: {}", directory);
+        }
+    }
+
+    private record PendingRow(int row, ItemImportRowDto data) {
+    }
+}
@@ -5,6 +5,8 @@ import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.entities.Item;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
+import com.yalice.wardrobe_social_app.events.ImageOrphanedEvent;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.interfaces.ItemService;
 import com.yalice.wardrobe_social_app.mappers.ItemMapper;
@@ -29,20 +31,23 @@ public class ItemServiceImpl extends BaseService<Item, Long> implements ItemServ
     private final WardrobeRepository wardrobeRepository;
     private final ItemMapper itemMapper;
     private final ImageHandlerService imageHandler;
+    private final DomainEventOutbox outbox;
 
-    private static final int MAX_ITEM_NAME_LENGTH = 100;
+    static final int MAX_ITEM_NAME_LENGTH = 100;
 
     public ItemServiceImpl(
             ItemRepository itemRepository,
             ProfileRepository profileRepository,
             WardrobeRepository wardrobeRepository,
             ItemMapper itemMapper,
-            ImageHandlerService imageHandler) {
+            ImageHandlerService imageHandler,
+            DomainEventOutbox outbox) {
         this.itemRepository = itemRepository;
         this.profileRepository = profileRepository;
         this.wardrobeRepository = wardrobeRepository;
         this.itemMapper = itemMapper;
         this.imageHandler = imageHandler;
+        this.outbox = outbox;
     }
 
     @Override
@@ -75,6 +80,11 @@ public class ItemServiceImpl extends BaseService<Item, Long> implements ItemServ
             item = save(item);
         }
 
+        wardrobeRepository.adjustItemCount(wardrobeId, 1);
+        if (item.getImageUrl() != null) {
+            wardrobeRepository.refreshCoverImage(wardrobeId);
+        }
+
         logger.info("Successfully created item with ID: {}", item.getId());
         return mapEntity(item, itemMapper::toResponseDto);
     }
@@ -100,6 +110,9 @@ public class ItemServiceImpl extends BaseService<Item, Long> implements ItemServ
         }
 
         updatedItem = save(updatedItem);
+        if (image != null && !image.isEmpty()) {
+            wardrobeRepository.refreshCoverImage(updatedItem.getWardrobe().getId());
+        }
         logger.info("Successfully updated item with ID: {}", itemId);
         return mapEntity(updatedItem, itemMapper::toResponseDto);
     }
@@ -115,8 +128,13 @@ public class ItemServiceImpl extends BaseService<Item, Long> implements ItemServ
         Item item = findById(itemId);
         validateItemOwnership(item, profileId);
 
-        imageHandler.handleImageDelete(item.getImageUrl());
+        Long wardrobeId = item.getWardrobe().getId();
+        if (item.getImageUrl() != null) {
+            outbox.append(new ImageOrphanedEvent(item.getImageUrl()));
+        }
         delete(itemId);
+        wardrobeRepository.adjustItemCount(wardrobeId, -1);
+        wardrobeRepository.refreshCoverImage(wardrobeId);
         logger.info("Successfully deleted item with ID: {}", itemId);
     }
 
@@ -140,6 +158,14 @@ public class ItemServiceImpl extends BaseService<Item, Long> implements ItemServ
         return mapEntity(findById(itemId), itemMapper::toResponseDto);
     }
 
+    @Override
+    public List<ItemResponseDto> getItems(List<Long> itemIds) {
+        logger.info("Fetching batch of {} items", itemIds == null ? 0 : itemIds.size());
+        return mapEntityList(
+                findAllByIdsInOrder(itemIds, itemRepository::findAllById, Item::getId),
+                itemMapper::toResponseDto);
+    }
+
     @Override
     public ItemResponseDto getItemByName(String itemName) {
         logger.info("Fetching item by name: {}", itemName);
@@ -17,7 +17,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class OutfitServiceImpl extends BaseService<Outfit, Long> implements OutfitService {
@@ -111,6 +114,20 @@ public class OutfitServiceImpl extends BaseService<Outfit, Long> implements Outf
         return mapEntityList(outfitRepository.findByProfileId(profile.getId()), outfitMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<OutfitResponseDto>> getOutfitsByProfileIds(List<Long> profileIds) {
+        logger.info("Fetching outfits for batch of {} profiles", profileIds == null ? 0 : profileIds.size());
+        validationService.validateBatchIds(profileIds, MAX_BATCH_SIZE);
+
+        Map<Long, List<OutfitResponseDto>> outfitsByProfile = new LinkedHashMap<>();
+        profileIds.forEach(profileId -> outfitsByProfile.put(profileId, new ArrayList<>()));
+        for (Outfit outfit : outfitRepository.findAllWithItemsByProfileIdIn(profileIds)) {
+            outfitsByProfile.get(outfit.getProfile().getId()).add(outfitMapper.toResponseDto(outfit));
+        }
+        return outfitsByProfile;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OutfitResponseDto getOutfit(Long outfitId) {
@@ -118,6 +135,15 @@ public class OutfitServiceImpl extends BaseService<Outfit, Long> implements Outf
         return mapEntity(findById(outfitId), outfitMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<OutfitResponseDto> getOutfits(List<Long> outfitIds) {
+        logger.info("Fetching batch of {} outfits", outfitIds == null ? 0 : outfitIds.size());
+        return mapEntityList(
+                findAllByIdsInOrder(outfitIds, outfitRepository::findAllWithItemsByIdIn, Outfit::getId),
+                outfitMapper::toResponseDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Outfit getOutfitEntityById(Long outfitId) {
@@ -1,20 +1,33 @@
 package com.yalice.wardrobe_social_app.services.core;
 
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
-import com.yalice.wardrobe_social_app.entities.Like;
 import com.yalice.wardrobe_social_app.entities.Outfit;
 import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
+import com.yalice.wardrobe_social_app.events.ImageOrphanedEvent;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.events.PostCreatedEvent;
+import com.yalice.wardrobe_social_app.events.PostDeletedEvent;
 import com.yalice.wardrobe_social_app.exceptions.PostAccessException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
 import com.yalice.wardrobe_social_app.interfaces.OutfitService;
 import com.yalice.wardrobe_social_app.interfaces.PostService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
-import com.yalice.wardrobe_social_app.mappers.PostMapper;
-import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
 import com.yalice.wardrobe_social_app.services.helpers.ImageHandlerService;
+import com.yalice.wardrobe_social_app.services.helpers.PostResponseAssembler;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -22,6 +35,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,25 +43,46 @@ import java.util.stream.Collectors;
 public class PostServiceImpl extends BaseService<Post, Long> implements PostService {
 
     private final PostRepository postRepository;
-    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final ProfileRepository profileRepository;
+    private final LikeService likeService;
+    private final FollowService followService;
     private final ProfileService profileService;
     private final OutfitService outfitService;
-    private final PostMapper postMapper;
+    private final PostResponseAssembler postResponseAssembler;
     private final ImageHandlerService imageHandler;
+    private final SingleFlight singleFlight;
+    private final BlockList blockList;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PostServiceImpl(
             PostRepository postRepository,
-            LikeRepository likeRepository,
+            CommentRepository commentRepository,
+            ProfileRepository profileRepository,
+            LikeService likeService,
+            FollowService followService,
             ProfileService profileService,
             OutfitService outfitService,
-            PostMapper postMapper,
-            ImageHandlerService imageHandler) {
+            PostResponseAssembler postResponseAssembler,
+            ImageHandlerService imageHandler,
+            SingleFlight singleFlight,
+            BlockList blockList,
+            DomainEventOutbox outbox,
+            ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
-        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.profileRepository = profileRepository;
+        this.likeService = likeService;
+        this.followService = followService;
         this.profileService = profileService;
         this.outfitService = outfitService;
-        this.postMapper = postMapper;
+        this.postResponseAssembler = postResponseAssembler;
         this.imageHandler = imageHandler;
+        this.singleFlight = singleFlight;
+        this.blockList = blockList;
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -80,7 +115,8 @@ public class PostServiceImpl extends BaseService<Post, Long> implements PostServ
             post = save(post);
         }
 
-        return mapEntity(post, postMapper::toResponseDto);
+        eventPublisher.publishEvent(new PostCreatedEvent(post.getId(), profile.getId(), post.getCreatedAt()));
+        return mapEntity(post, postResponseAssembler::toResponseDto);
     }
 
     @Override
@@ -101,7 +137,8 @@ public class PostServiceImpl extends BaseService<Post, Long> implements PostServ
         existingPost.setFeatureImage(
                 imageHandler.handleImageUpload(image, "post", postId, existingPost.getFeatureImage()));
 
-        return mapEntity(save(existingPost), postMapper::toResponseDto);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+        return mapEntity(save(existingPost), postResponseAssembler::toResponseDto);
     }
 
     @Override
@@ -112,53 +149,76 @@ public class PostServiceImpl extends BaseService<Post, Long> implements PostServ
         Post post = findById(postId);
         validationService.validateOwnership(post.getProfile(), profileId, "post");
 
-        imageHandler.handleImageDelete(post.getFeatureImage());
+        if (post.getFeatureImage() != null) {
+            outbox.append(new ImageOrphanedEvent(post.getFeatureImage()));
+        }
+        // Replies go first so no statement removes a comment that still has replies
+        commentRepository.deleteRepliesByPostId(postId);
+        commentRepository.deleteByPostId(postId);
         delete(postId);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+        eventPublisher.publishEvent(new PostDeletedEvent(postId, post.getProfile().getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getFeedPosts(Long viewerId, Pageable pageable) {
-        Profile viewer = profileService.getProfileEntityById(viewerId);
-        List<Long> feedProfileIds = viewer.getFollowing().stream()
-                .map(Profile::getId)
-                .collect(Collectors.toList());
+        List<Long> feedProfileIds = new ArrayList<>(followService.getFollowingIds(viewerId));
         feedProfileIds.add(viewerId); // Include viewer's own posts
-        return mapPage(postRepository.findByProfileIdInOrderByCreatedAtDesc(feedProfileIds, pageable),
-                postMapper::toResponseDto);
+        return postResponseAssembler.toResponseDtos(
+                postRepository.findByProfileIdInOrderByCreatedAtDesc(feedProfileIds, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public PostResponseDto getPost(Long postId, Long viewerId) {
-        Post post = findById(postId);
-        validatePostAccess(post, viewerId);
-        return mapEntity(post, postMapper::toResponseDto);
+        return getVisiblePost(postId, viewerId, userIdOf(viewerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponseDto> getPosts(List<Long> postIds, Long viewerId) {
+        validationService.validateNotNull(viewerId, "Viewer ID");
+        List<Post> posts = findAllByIdsInOrder(postIds, postRepository::findAllWithAuthorAndOutfitByIdIn, Post::getId)
+                .stream()
+                .filter(post -> isPostAccessible(post, viewerId))
+                .collect(Collectors.toList());
+        return postResponseAssembler.toResponseDtos(
+                blockList.visibleTo(userIdOf(viewerId), posts, post -> post.getProfile().getUser().getId()));
     }
 
     @Override
     @Transactional
     public boolean toggleLikePost(Long postId, Long profileId) {
-        Post post = findById(postId);
-        Profile profile = profileService.getProfileEntityById(profileId);
+        return likeService.toggleLike(postId, profileId);
+    }
 
-        return likeRepository.findByPostAndProfile(post, profile)
-                .map(like -> {
-                    likeRepository.delete(like);
-                    post.setLikeCount(post.getLikeCount() - 1);
-                    save(post);
-                    return false;
-                })
-                .orElseGet(() -> {
-                    Like like = Like.builder()
-                            .post(post)
-                            .profile(profile)
-                            .build();
-                    likeRepository.save(like);
-                    post.setLikeCount(post.getLikeCount() + 1);
-                    save(post);
-                    return true;
-                });
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LikeResponseDto> getPostLikes(Long postId, Long viewerId, Pageable pageable) {
+        Long viewerUserId = userIdOf(viewerId);
+        getVisiblePost(postId, viewerId, viewerUserId);
+        return likeService.getLikes(postId, viewerUserId, pageable);
+    }
+
+    private PostResponseDto getVisiblePost(Long postId, Long viewerId, Long viewerUserId) {
+        // The loaded post is the same for every viewer, so concurrent callers share one
+        // load and each is then checked against the post's visibility and author.
+        PostResponseDto post = singleFlight.execute(SingleFlight.POST, postId,
+                () -> mapEntity(findById(postId), postResponseAssembler::toResponseDto));
+        validatePostAccess(post, viewerId);
+        if (blockList.isBlocked(viewerUserId, post.getAuthor().getUserId())) {
+            throw new PostAccessException("Post is not accessible to the viewer");
+        }
+        return post;
+    }
+
+    private Long userIdOf(Long profileId) {
+        validationService.validateNotNull(profileId, "Viewer ID");
+        return profileRepository.findUserIdsByIdIn(List.of(profileId)).stream()
+                .findFirst()
+                .map(ProfileUserRow::getUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile not found with ID: " + profileId));
     }
 
     private Post buildPost(PostDto postDto, Profile profile, Outfit outfit) {
@@ -176,10 +236,15 @@ public class PostServiceImpl extends BaseService<Post, Long> implements PostServ
         post.setVisibility(Post.PostVisibility.valueOf(postDto.getVisibility()));
     }
 
-    private void validatePostAccess(Post post, Long viewerId) {
-        if (!post.getProfile().getId().equals(viewerId) &&
-                post.getVisibility() != Post.PostVisibility.PUBLIC) {
+    private void validatePostAccess(PostResponseDto post, Long viewerId) {
+        if (!post.getAuthor().getProfileId().equals(viewerId) &&
+                !Post.PostVisibility.PUBLIC.name().equals(post.getVisibility())) {
             throw new PostAccessException("Post is not accessible to the viewer");
         }
     }
+
+    private boolean isPostAccessible(Post post, Long viewerId) {
+        return post.getProfile().getId().equals(viewerId) ||
+                post.getVisibility() == Post.PostVisibility.PUBLIC;
+    }
 }
@@ -6,6 +6,7 @@ import com.yalice.wardrobe_social_app.entities.Item;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.events.ProfileChangedEvent;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
@@ -15,11 +16,15 @@ import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
 import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
 import com.yalice.wardrobe_social_app.services.helpers.ImageHandlerService;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Service
 public class ProfileServiceImpl extends BaseService<Profile, Long> implements ProfileService {
 
@@ -30,6 +35,8 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
     private final FriendService friendService;
     private final ProfileMapper profileMapper;
     private final ImageHandlerService imageHandler;
+    private final SingleFlight singleFlight;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProfileServiceImpl(
             ProfileRepository profileRepository,
@@ -38,7 +45,9 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
             UserSearchService userSearchService,
             FriendService friendService,
             ProfileMapper profileMapper,
-            ImageHandlerService imageHandler) {
+            ImageHandlerService imageHandler,
+            SingleFlight singleFlight,
+            ApplicationEventPublisher eventPublisher) {
         this.profileRepository = profileRepository;
         this.wardrobeRepository = wardrobeRepository;
         this.itemRepository = itemRepository;
@@ -46,6 +55,8 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
         this.friendService = friendService;
         this.profileMapper = profileMapper;
         this.imageHandler = imageHandler;
+        this.singleFlight = singleFlight;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -63,7 +74,18 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
     public ProfileResponseDto getProfile(Long userId) {
         logger.info("Retrieving profile for user ID: {}", userId);
         validationService.validateNotNull(userId, "User ID");
-        return mapEntity(getProfileEntityByUserId(userId), profileMapper::toResponseDto);
+        return singleFlight.execute(SingleFlight.PROFILE, userId,
+                () -> mapEntity(getProfileEntityByUserId(userId), profileMapper::toResponseDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProfileResponseDto> getProfiles(List<Long> userIds) {
+        logger.info("Retrieving batch of {} profiles", userIds == null ? 0 : userIds.size());
+        return mapEntityList(
+                findAllByIdsInOrder(userIds, profileRepository::findAllByUserIdIn,
+                        profile -> profile.getUser().getId()),
+                profileMapper::toResponseDto);
     }
 
     @Override
@@ -78,6 +100,7 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
         updateProfileFields(profile, profileDto);
         profile.setProfileImageUrl(
                 imageHandler.handleImageUpload(image, "profile", profile.getId(), profile.getProfileImageUrl()));
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId));
 
         return mapEntity(save(profile), profileMapper::toResponseDto);
     }
@@ -90,6 +113,7 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
         validationService.validateNotNull(userId, "User ID");
         Profile profile = getProfileEntityByUserId(userId);
         profile.setVisibility(isPublic ? Profile.ProfileVisibility.PUBLIC : Profile.ProfileVisibility.PRIVATE);
+        eventPublisher.publishEvent(new ProfileChangedEvent(userId));
 
         return mapEntity(save(profile), profileMapper::toResponseDto);
     }
@@ -179,8 +203,20 @@ public class ProfileServiceImpl extends BaseService<Profile, Long> implements Pr
 
         validationService.validateOwnership(item.getProfile(), newWardrobe.getProfile().getId(), "item");
 
+        Wardrobe oldWardrobe = item.getWardrobe();
+        if (oldWardrobe != null && oldWardrobe.getId().equals(newWardrobeId)) {
+            return;
+        }
+
         item.setWardrobe(newWardrobe);
         itemRepository.save(item);
+
+        if (oldWardrobe != null) {
+            wardrobeRepository.adjustItemCount(oldWardrobe.getId(), -1);
+            wardrobeRepository.refreshCoverImage(oldWardrobe.getId());
+        }
+        wardrobeRepository.adjustItemCount(newWardrobeId, 1);
+        wardrobeRepository.refreshCoverImage(newWardrobeId);
     }
 
     private Profile getProfileEntityByUserId(Long userId) {
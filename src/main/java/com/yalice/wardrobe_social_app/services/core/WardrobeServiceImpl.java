@@ -1,19 +1,29 @@
 package com.yalice.wardrobe_social_app.services.core;
 
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
+import com.yalice.wardrobe_social_app.entities.Item;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import com.yalice.wardrobe_social_app.interfaces.WardrobeService;
+import com.yalice.wardrobe_social_app.mappers.ItemMapper;
 import com.yalice.wardrobe_social_app.mappers.WardrobeMapper;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
 import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class WardrobeServiceImpl extends BaseService<Wardrobe, Long> implements WardrobeService {
@@ -21,14 +31,22 @@ public class WardrobeServiceImpl extends BaseService<Wardrobe, Long> implements
     private final WardrobeRepository wardrobeRepository;
     private final ProfileService profileService;
     private final WardrobeMapper wardrobeMapper;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+
+    static final int MAX_ITEM_PAGE_SIZE = 100;
 
     public WardrobeServiceImpl(
             WardrobeRepository wardrobeRepository,
             ProfileService profileService,
-            WardrobeMapper wardrobeMapper) {
+            WardrobeMapper wardrobeMapper,
+            ItemRepository itemRepository,
+            ItemMapper itemMapper) {
         this.wardrobeRepository = wardrobeRepository;
         this.profileService = profileService;
         this.wardrobeMapper = wardrobeMapper;
+        this.itemRepository = itemRepository;
+        this.itemMapper = itemMapper;
     }
 
     @Override
@@ -64,6 +82,38 @@ public class WardrobeServiceImpl extends BaseService<Wardrobe, Long> implements
         return mapEntity(findById(wardrobeId), wardrobeMapper::toResponseDto);
     }
 
+    /**
+     * Lists the items of a wardrobe newest first, one page at a time. The cursor is the
+     * ID of the last item of the previous page, so each page is a range scan on
+     * (wardrobe_id, id) whatever its position in the wardrobe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<ItemResponseDto> getWardrobeItems(Long wardrobeId, Long cursor, int size) {
+        logger.info("Fetching items of wardrobe ID: {} after cursor: {}", wardrobeId, cursor);
+
+        validationService.validateNotNull(wardrobeId, "Wardrobe ID");
+        validationService.validatePageSize(size, MAX_ITEM_PAGE_SIZE);
+        validationService.validateExists(wardrobeRepository.existsById(wardrobeId),
+                "Wardrobe not found with ID: " + wardrobeId);
+
+        // One extra row tells whether another page follows without a count query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Item> items = cursor == null
+                ? itemRepository.findByWardrobeIdOrderByIdDesc(wardrobeId, limit)
+                : itemRepository.findByWardrobeIdAndIdLessThanOrderByIdDesc(wardrobeId, cursor, limit);
+
+        boolean hasMore = items.size() > size;
+        List<Item> page = hasMore ? items.subList(0, size) : items;
+
+        return CursorPageResponseDto.<ItemResponseDto>builder()
+                .content(page.stream().map(itemMapper::toResponseDto).toList())
+                .pageSize(size)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<WardrobeResponseDto> getProfileWardrobes(Long profileId) {
@@ -76,6 +126,20 @@ public class WardrobeServiceImpl extends BaseService<Wardrobe, Long> implements
         return mapEntityList(wardrobeRepository.findAllByProfileId(profileId), wardrobeMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<WardrobeResponseDto>> getWardrobesByProfileIds(List<Long> profileIds) {
+        logger.info("Fetching wardrobes for batch of {} profiles", profileIds == null ? 0 : profileIds.size());
+        validationService.validateBatchIds(profileIds, MAX_BATCH_SIZE);
+
+        Map<Long, List<WardrobeResponseDto>> wardrobesByProfile = new LinkedHashMap<>();
+        profileIds.forEach(profileId -> wardrobesByProfile.put(profileId, new ArrayList<>()));
+        for (Wardrobe wardrobe : wardrobeRepository.findAllByProfileIdIn(profileIds)) {
+            wardrobesByProfile.get(wardrobe.getProfile().getId()).add(wardrobeMapper.toResponseDto(wardrobe));
+        }
+        return wardrobesByProfile;
+    }
+
     @Override
     @Transactional
     public WardrobeResponseDto updateWardrobe(Long wardrobeId, WardrobeDto wardrobeDto) {
@@ -0,0 +1,231 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository.InteractionRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps how much each recently seen profile interacts with each author, as a sparse
+ * vector of affinities per profile.
+ *
+ * <p>Likes, comments and visits to an author's posts add to the affinity, and every
+ * interaction loses half its weight each {@code app.feed.affinity.half-life-days}. A
+ * vector is loaded from the profile's recent likes and comments the first time it is
+ * read, and then kept up to date by {@link InteractionEvent}s as they commit. A vector
+ * loaded while an interaction of its profile commits is not kept, so the next read loads
+ * it with that interaction. Visits are not stored, so they count only while the vector
+ * is held. At most
+ * {@code app.feed.affinity.authors-per-user} authors are kept per profile, dropping the
+ * weakest; at most {@code app.feed.affinity.max-users} vectors are kept, dropping the
+ * least recently read, and each is reloaded after {@code app.feed.affinity.ttl-seconds}.</p>
+ */
+@Component
+public class AffinityIndex {
+
+    private static final int HISTORY_LIMIT = 500;
+    private static final int HISTORY_HALF_LIVES = 4;
+
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final int authorsPerUser;
+    private final double halfLifeSeconds;
+    private final VersionedCache<Vector> vectors;
+
+    /**
+     * Values are stored as weights grown by one half-life per half-life since this time,
+     * so decaying a vector needs no writes: every value is scaled by the same factor when
+     * it is read.
+     */
+    private final long epochSeconds = seconds(LocalDateTime.now());
+
+    public AffinityIndex(
+            LikeRepository likeRepository,
+            CommentRepository commentRepository,
+            @Value("${app.feed.affinity.max-users:100000}") int maxUsers,
+            @Value("${app.feed.affinity.authors-per-user:200}") int authorsPerUser,
+            @Value("${app.feed.affinity.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${app.feed.affinity.half-life-days:14}") double halfLifeDays) {
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.authorsPerUser = authorsPerUser;
+        this.halfLifeSeconds = halfLifeDays * 86_400;
+        this.vectors = new VersionedCache<>(maxUsers, ttlSeconds);
+    }
+
+    /**
+     * @return the profile's affinity with each author, as of now
+     */
+    public Affinities affinitiesOf(Long profileId) {
+        Vector vector = vectors.get(profileId);
+        if (vector == null) {
+            long versionBefore = vectors.version(profileId);
+            vector = load(profileId);
+            vectors.put(profileId, vector, versionBefore);
+        }
+        if (vector.authorIds().length == 0) {
+            return Affinities.NONE;
+        }
+        double scale = Math.pow(2, -(seconds(LocalDateTime.now()) - epochSeconds) / halfLifeSeconds);
+        return new Affinities(vector.authorIds(), vector.values(), scale);
+    }
+
+    public void evict(Long profileId) {
+        vectors.invalidate(profileId);
+    }
+
+    /**
+     * Adds the interaction to the profile's vector, if it is held, once it commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteraction(InteractionEvent event) {
+        if (event.profileId().equals(event.authorId())) {
+            return;
+        }
+        double value = grown(weightOf(event.interaction()), seconds(LocalDateTime.now()));
+        vectors.update(event.profileId(), vector -> vector.plus(event.authorId(), value, authorsPerUser));
+    }
+
+    int size() {
+        return vectors.size();
+    }
+
+    static double weightOf(Interaction interaction) {
+        return switch (interaction) {
+            case LIKE -> 1;
+            case COMMENT -> 3;
+            case VISIT -> 0.5;
+        };
+    }
+
+    /**
+     * Loads the profile's likes and comments from the last few half-lives; older ones
+     * would add less than a sixteenth of their weight.
+     */
+    private Vector load(Long profileId) {
+        LocalDateTime since = LocalDateTime.now().minusSeconds((long) (halfLifeSeconds * HISTORY_HALF_LIVES));
+        PageRequest limit = PageRequest.of(0, HISTORY_LIMIT);
+
+        Map<Long, Double> values = new HashMap<>();
+        for (InteractionRow row : likeRepository.findLikedAuthorsSince(profileId, since, limit)) {
+            values.merge(row.getAuthorId(), grown(weightOf(Interaction.LIKE), seconds(row.getCreatedAt())),
+                    Double::sum);
+        }
+        for (InteractionRow row : commentRepository.findCommentedAuthorsSince(profileId, since, limit)) {
+            values.merge(row.getAuthorId(), grown(weightOf(Interaction.COMMENT), seconds(row.getCreatedAt())),
+                    Double::sum);
+        }
+
+        // Keep the strongest authors, then order them by ID for lookups
+        List<Map.Entry<Long, Double>> strongest = values.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(authorsPerUser)
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        long[] authorIds = new long[strongest.size()];
+        double[] authorValues = new double[strongest.size()];
+        for (int i = 0; i < authorIds.length; i++) {
+            authorIds[i] = strongest.get(i).getKey();
+            authorValues[i] = strongest.get(i).getValue();
+        }
+        return new Vector(authorIds, authorValues);
+    }
+
+    private double grown(double weight, long atSeconds) {
+        return weight * Math.pow(2, (atSeconds - epochSeconds) / halfLifeSeconds);
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A profile's affinities as of one moment, looked up by author ID.
+     */
+    public static final class Affinities {
+
+        /**
+         * No affinity with anyone.
+         */
+        static final Affinities NONE = new Affinities(new long[0], new double[0], 0);
+
+        private final long[] authorIds;
+        private final double[] values;
+        private final double scale;
+
+        Affinities(long[] authorIds, double[] values, double scale) {
+            this.authorIds = authorIds;
+            this.values = values;
+            this.scale = scale;
+        }
+
+        /**
+         * @return the affinity with the author, or 0 if there has been no interaction
+         */
+        public double of(long authorId) {
+            int index = Arrays.binarySearch(authorIds, authorId);
+            return index >= 0 ? values[index] * scale : 0;
+        }
+    }
+
+    /**
+     * Author IDs in ascending order, with the grown value of each. Never modified once
+     * built.
+     */
+    private record Vector(long[] authorIds, double[] values) {
+
+        Vector plus(long authorId, double value, int maxAuthors) {
+            int index = Arrays.binarySearch(authorIds, authorId);
+            if (index >= 0) {
+                double[] newValues = values.clone();
+                newValues[index] += value;
+                return new Vector(authorIds, newValues);
+            }
+            if (authorIds.length >= maxAuthors) {
+                int weakest = 0;
+                for (int i = 1; i < values.length; i++) {
+                    if (values[i] < values[weakest]) {
+                        weakest = i;
+                    }
+                }
+                if (values.length == 0 || values[weakest] >= value) {
+                    return this;
+                }
+                return without(weakest).plus(authorId, value, maxAuthors);
+            }
+
+            int insertAt = -index - 1;
+            long[] newAuthorIds = new long[authorIds.length + 1];
+            double[] newValues = new double[values.length + 1];
+            System.arraycopy(authorIds, 0, newAuthorIds, 0, insertAt);
+            System.arraycopy(values, 0, newValues, 0, insertAt);
+            newAuthorIds[insertAt] = authorId;
+            newValues[insertAt] = value;
+            System.arraycopy(authorIds, insertAt, newAuthorIds, insertAt + 1, authorIds.length - insertAt);
+            System.arraycopy(values, insertAt, newValues, insertAt + 1, values.length - insertAt);
+            return new Vector(newAuthorIds, newValues);
+        }
+
+        private Vector without(int index) {
+            long[] newAuthorIds = new long[authorIds.length - 1];
+            double[] newValues = new double[values.length - 1];
+            System.arraycopy(authorIds, 0, newAuthorIds, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(authorIds, index + 1, newAuthorIds, index, newAuthorIds.length - index);
+            System.arraycopy(values, index + 1, newValues, index, newValues.length - index);
+            return new Vector(newAuthorIds, newValues);
+        }
+    }
+}
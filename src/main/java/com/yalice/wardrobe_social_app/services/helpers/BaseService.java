@@ -9,9 +9,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Base service class that provides common functionality for all services.
@@ -21,6 +26,9 @@ public abstract class BaseService<T, ID> {
 
     protected final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    /** Maximum number of IDs accepted by a single batch ("multi-get") lookup. */
+    public static final int MAX_BATCH_SIZE = 50;
+
     @Autowired
     protected ValidationService validationService;
 
@@ -84,6 +92,30 @@ public abstract class BaseService<T, ID> {
         return page.map(mapper);
     }
 
+    /**
+     * Loads a batch of entities with a single query and returns them in the order the IDs were requested.
+     * Duplicate IDs are collapsed and IDs that do not resolve to an entity are skipped.
+     *
+     * @param ids         the requested IDs, in the order the caller expects the results
+     * @param loader      loads all entities for the given IDs in one query
+     * @param idExtractor extracts the ID from a loaded entity
+     * @return the loaded entities in request order
+     */
+    protected List<T> findAllByIdsInOrder(List<ID> ids,
+                                          Function<Collection<ID>, List<T>> loader,
+                                          Function<T, ID> idExtractor) {
+        validationService.validateBatchIds(ids, MAX_BATCH_SIZE);
+        Collection<ID> distinctIds = new LinkedHashSet<>(ids);
+
+        Map<ID, T> entitiesById = loader.apply(distinctIds).stream()
+                .collect(Collectors.toMap(idExtractor, Function.identity(), (first, second) -> first));
+
+        return distinctIds.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     protected T getEntityOrThrow(Optional<T> optional, String message) {
         return optional.orElseThrow(() -> new ResourceNotFoundException(message));
     }
@@ -0,0 +1,110 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
+import com.yalice.wardrobe_social_app.events.UserBlockChangedEvent;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendPair;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps, for recently seen users, the sorted IDs of the users they must not see: those
+ * they blocked and those who blocked them. Blocking works both ways, so one lookup in
+ * the viewer's array answers whether two users may interact.
+ *
+ * <p>An array is loaded with one query the first time a user is seen and is dropped when
+ * either side of a block changes, once the change commits. The TTL covers changes made
+ * on other instances. Most users block nobody and share one empty array, so the filter
+ * costs a map lookup on every list path.</p>
+ */
+@Component
+public class BlockList {
+
+    private static final long[] NONE = new long[0];
+    private static final List<FriendshipStatus> BLOCKED = List.of(FriendshipStatus.BLOCKED);
+
+    private final FriendRepository friendRepository;
+    private final VersionedCache<long[]> cache;
+
+    public BlockList(
+            FriendRepository friendRepository,
+            @Value("${app.friends.block-list.max-users:100000}") int maxUsers,
+            @Value("${app.friends.block-list.ttl-seconds:300}") long ttlSeconds) {
+        this.friendRepository = friendRepository;
+        this.cache = new VersionedCache<>(maxUsers, ttlSeconds);
+    }
+
+    /**
+     * @return the sorted IDs of users the user blocked or was blocked by
+     */
+    public long[] blockedFor(Long userId) {
+        long[] blocked = cache.get(userId);
+        if (blocked == null) {
+            long versionBefore = cache.version(userId);
+            blocked = load(userId);
+            cache.put(userId, blocked, versionBefore);
+        }
+        return blocked;
+    }
+
+    /**
+     * @return true if either user has blocked the other
+     */
+    public boolean isBlocked(Long userId, Long otherUserId) {
+        return Arrays.binarySearch(blockedFor(userId), otherUserId) >= 0;
+    }
+
+    /**
+     * Drops the values that belong to users the viewer must not see. Returns the list
+     * itself when the viewer has no blocks.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param values   the values to filter
+     * @param userIdOf gets the ID of the user a value belongs to
+     * @return the visible values, in the given order
+     */
+    public <T> List<T> visibleTo(Long viewerId, List<T> values, Function<T, Long> userIdOf) {
+        long[] blocked = blockedFor(viewerId);
+        if (blocked.length == 0) {
+            return values;
+        }
+        List<T> visible = new ArrayList<>(values.size());
+        for (T value : values) {
+            Long userId = userIdOf.apply(value);
+            if (userId == null || Arrays.binarySearch(blocked, userId) < 0) {
+                visible.add(value);
+            }
+        }
+        return visible;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlockChanged(UserBlockChangedEvent event) {
+        cache.invalidate(event.userId());
+        cache.invalidate(event.blockedUserId());
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private long[] load(Long userId) {
+        List<FriendPair> pairs = friendRepository.findPairsByUserIdInAndStatusIn(List.of(userId), BLOCKED);
+        if (pairs.isEmpty()) {
+            return NONE;
+        }
+        long[] blocked = new long[pairs.size()];
+        for (int i = 0; i < blocked.length; i++) {
+            FriendPair pair = pairs.get(i);
+            blocked[i] = userId.equals(pair.getSenderId()) ? pair.getRecipientId() : pair.getSenderId();
+        }
+        Arrays.sort(blocked);
+        return blocked;
+    }
+}
@@ -0,0 +1,117 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Caches the serialized feed entry of each post, keyed by post ID.
+ *
+ * <p>A post's feed entry is the same for every viewer, so it is serialized once and the
+ * bytes are reused for every feed page that shows the post. If
+ * {@code app.feed.fragment-cache.precompressed} is on, each entry is also compressed once
+ * when it is cached, so gzip responses splice in the compressed bytes instead of
+ * compressing the entry again on every read. Entries are kept in direct buffers outside
+ * the Java heap, so a large cache does not add to garbage collection work. The total size
+ * of the cached entries, counting both forms, is bounded by
+ * {@code app.feed.fragment-cache.max-bytes}; when it is exceeded, the least recently read
+ * entries are dropped first. Direct memory is itself limited by
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.</p>
+ *
+ * <p>An entry is dropped when a {@link PostChangedEvent} for its post commits. Changes
+ * that do not publish that event, such as an author renaming their account or editing an
+ * outfit, show up once the entry expires after {@code app.feed.fragment-cache.ttl-seconds}.
+ * An entry built from rows read before such an event is not cached: callers read
+ * {@link #evictions(Long)} before loading the post and pass it to {@link #put}, which drops
+ * the entry if the post was evicted in between.</p>
+ */
+@Component
+public class FeedFragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedFragmentCache.class);
+
+    private final long maxBytes;
+    private final boolean precompressed;
+    private final VersionedCache<Entry> entries;
+
+    public FeedFragmentCache(
+            @Value("${app.feed.fragment-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.feed.fragment-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.feed.fragment-cache.precompressed:false}") boolean precompressed) {
+        this.maxBytes = maxBytes;
+        this.precompressed = precompressed;
+        this.entries = new VersionedCache<>(maxBytes, ttlSeconds, Entry::size);
+    }
+
+    /**
+     * @return the cached entry of the post, or null if it is not cached or has expired
+     */
+    public JsonFragment get(Long postId) {
+        Entry entry = entries.get(postId);
+        return entry == null ? null : JsonFragment.of(entry.json, entry.deflated);
+    }
+
+    /**
+     * @return the eviction count to pass to {@link #put} for an entry of the post loaded after this call
+     */
+    public long evictions(Long postId) {
+        return entries.version(postId);
+    }
+
+    /**
+     * Copies the serialized entry of a post off-heap, together with its compressed form if
+     * entries are precompressed, and caches it. Entries larger than the whole cache are not
+     * stored, nor are entries of a post evicted since {@code evictionsBefore} was read, as
+     * they may have been built from rows the eviction replaced.
+     *
+     * @param evictionsBefore the value {@link #evictions(Long)} returned before the post was loaded
+     * @return the fragment, which is not cached if it was too large or the post was evicted
+     */
+    public JsonFragment put(Long postId, byte[] json, long evictionsBefore) {
+        byte[] deflated = precompressed ? JsonFragment.deflate(json) : null;
+        long size = (long) json.length + (deflated == null ? 0 : deflated.length);
+        if (size > maxBytes) {
+            return JsonFragment.of(ByteBuffer.wrap(json), deflated == null ? null : ByteBuffer.wrap(deflated));
+        }
+
+        Entry entry = new Entry(toDirectBuffer(json), deflated == null ? null : toDirectBuffer(deflated));
+        if (entries.put(postId, entry, evictionsBefore)) {
+            logger.debug("Feed fragment cache holds {} entries ({} bytes)", entries.size(), entries.weight());
+        }
+        return JsonFragment.of(entry.json, entry.deflated);
+    }
+
+    public void evict(Long postId) {
+        entries.invalidate(postId);
+    }
+
+    public long sizeInBytes() {
+        return entries.weight();
+    }
+
+    /**
+     * Drops the entry of a changed post once the change is committed, so the next read
+     * serializes the post as committed rather than as it was before the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evict(event.postId());
+    }
+
+    private static ByteBuffer toDirectBuffer(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
+
+    private record Entry(ByteBuffer json, ByteBuffer deflated) {
+
+        long size() {
+            return json.capacity() + (deflated == null ? 0 : deflated.capacity());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.PostCreatedEvent;
+import com.yalice.wardrobe_social_app.events.PostDeletedEvent;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the latest posts of recently read authors in memory, and assembles feed pages
+ * by merging them instead of querying all of a viewer's friends' posts.
+ *
+ * <p>Each author has a ring of at most {@code app.feed.rings.per-author} post IDs with
+ * their creation times, newest first. Rings are never modified once cached; a new or
+ * deleted post replaces its author's ring, if it is cached, when its event commits.
+ * Posts removed in other ways, such as by an account deletion, show up once a ring
+ * expires after {@code app.feed.rings.ttl-seconds}. At most
+ * {@code app.feed.rings.max-authors} rings are kept; the least recently read are
+ * dropped first.</p>
+ *
+ * <p>A ring that holds all of its author's posts is complete. The posts missing from an
+ * incomplete ring are all older than its oldest entry, so a merged page is exact only
+ * while it stays above the oldest entry of every incomplete ring. Older pages are left
+ * to the database.</p>
+ */
+@Component
+public class FeedRings {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final PostRepository postRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final VersionedCache<Ring> rings;
+
+    public FeedRings(
+            PostRepository postRepository,
+            @Value("${app.feed.rings.enabled:false}") boolean enabled,
+            @Value("${app.feed.rings.per-author:50}") int capacity,
+            @Value("${app.feed.rings.max-authors:50000}") int maxAuthors,
+            @Value("${app.feed.rings.ttl-seconds:600}") long ttlSeconds) {
+        this.postRepository = postRepository;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.rings = new VersionedCache<>(maxAuthors, ttlSeconds);
+    }
+
+    /**
+     * @return whether feed pages should be assembled from the rings
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Assembles a page of the feed made of the given authors' posts, ordered newest first
+     * like {@link PostRepository#findFeedIds}.
+     *
+     * <p>The rings are merged with a heap keyed by each ring's next entry, so building a
+     * page takes {@code O((offset + size) log authors)} steps after the rings are read.</p>
+     *
+     * @return the post IDs of the page, or empty if the rings do not reach that far back
+     */
+    public Optional<List<Long>> page(Collection<Long> authorIds, Pageable pageable) {
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+
+        Ring[] merged = ringsOf(authorIds).values().stream()
+                .filter(ring -> ring.postIds().length > 0)
+                .toArray(Ring[]::new);
+
+        // The merge may only return entries at or above the newest of the oldest entries
+        // of the incomplete rings; anything older may be preceded by posts not held here.
+        long boundKey = Long.MIN_VALUE;
+        long boundId = Long.MIN_VALUE;
+        boolean anyIncomplete = false;
+        for (Ring ring : merged) {
+            if (!ring.complete()) {
+                anyIncomplete = true;
+                int last = ring.postIds().length - 1;
+                if (compare(ring.keys()[last], ring.postIds()[last], boundKey, boundId) > 0) {
+                    boundKey = ring.keys()[last];
+                    boundId = ring.postIds()[last];
+                }
+            }
+        }
+
+        int[] positions = new int[merged.length];
+        int[] heap = new int[merged.length];
+        int heapSize = merged.length;
+        for (int i = 0; i < heapSize; i++) {
+            heap[i] = i;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, merged, positions);
+        }
+
+        List<Long> postIds = new ArrayList<>(size);
+        for (long taken = 0; taken < offset + size; taken++) {
+            if (heapSize == 0) {
+                return anyIncomplete ? Optional.empty() : Optional.of(postIds);
+            }
+            Ring ring = merged[heap[0]];
+            int position = positions[heap[0]];
+            long key = ring.keys()[position];
+            long postId = ring.postIds()[position];
+            if (compare(key, postId, boundKey, boundId) < 0) {
+                return Optional.empty();
+            }
+            if (taken >= offset) {
+                postIds.add(postId);
+            }
+            if (++positions[heap[0]] == ring.postIds().length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, merged, positions);
+        }
+        return Optional.of(postIds);
+    }
+
+    public void evict(Long authorId) {
+        rings.invalidate(authorId);
+    }
+
+    /**
+     * Adds the new post to its author's ring once it is committed. Posts can commit out
+     * of order, so it is inserted at its place rather than at the front.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        rings.update(event.profileId(), ring -> event.createdAt() == null
+                ? null
+                : ring.with(sortKey(event.createdAt()), event.postId(), capacity));
+    }
+
+    /**
+     * Removes the deleted post from its author's ring once the deletion is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        rings.update(event.profileId(), ring -> {
+            Ring updated = ring.without(event.postId());
+            return updated.postIds().length == 0 && !updated.complete() ? null : updated;
+        });
+    }
+
+    int size() {
+        return rings.size();
+    }
+
+    /**
+     * Gets the rings of a set of authors. Authors that are not cached are loaded together,
+     * with one query per {@value #LOAD_CHUNK_SIZE} authors.
+     */
+    private Map<Long, Ring> ringsOf(Collection<Long> authorIds) {
+        Map<Long, Ring> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long authorId : authorIds) {
+            Ring ring = rings.get(authorId);
+            if (ring != null) {
+                found.put(authorId, ring);
+            } else {
+                missing.add(authorId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + LOAD_CHUNK_SIZE, missing.size()));
+            long[] versionsBefore = rings.versions(chunk);
+            Map<Long, Ring> loaded = load(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                rings.put(chunk.get(i), loaded.get(chunk.get(i)), versionsBefore[i]);
+            }
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /**
+     * Loads one more post than a ring holds for each author, to tell whether the ring
+     * is complete.
+     */
+    private Map<Long, Ring> load(List<Long> authorIds) {
+        Map<Long, List<PostRepository.RecentPostRow>> rows = new HashMap<>();
+        authorIds.forEach(authorId -> rows.put(authorId, new ArrayList<>()));
+        for (PostRepository.RecentPostRow row : postRepository.findLatestByProfileIdIn(authorIds, capacity + 1)) {
+            List<PostRepository.RecentPostRow> authorRows = rows.get(row.getProfileId());
+            if (authorRows != null) {
+                authorRows.add(row);
+            }
+        }
+
+        Map<Long, Ring> loaded = new HashMap<>();
+        rows.forEach((authorId, authorRows) -> {
+            int length = Math.min(authorRows.size(), capacity);
+            long[] keys = new long[length];
+            long[] postIds = new long[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = sortKey(authorRows.get(i).getCreatedAt());
+                postIds[i] = authorRows.get(i).getId();
+            }
+            loaded.put(authorId, new Ring(keys, postIds, authorRows.size() <= capacity));
+        });
+        return loaded;
+    }
+
+    /**
+     * Converts a creation time to microseconds, rounded the way the database rounds
+     * timestamps it stores, so that in-memory and loaded entries order alike.
+     */
+    static long sortKey(LocalDateTime createdAt) {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1000;
+        return createdAt.getNano() % 1000 >= 500 ? micros + 1 : micros;
+    }
+
+    /**
+     * Orders entries by creation time, then post ID.
+     */
+    private static int compare(long key, long postId, long otherKey, long otherPostId) {
+        int byKey = Long.compare(key, otherKey);
+        return byKey != 0 ? byKey : Long.compare(postId, otherPostId);
+    }
+
+    /**
+     * Keeps the ring with the newest next entry at the top of the heap.
+     */
+    private static void siftDown(int[] heap, int size, int index, Ring[] rings, int[] positions) {
+        while (true) {
+            int newest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && isNewer(heap[left], heap[newest], rings, positions)) {
+                newest = left;
+            }
+            if (right < size && isNewer(heap[right], heap[newest], rings, positions)) {
+                newest = right;
+            }
+            if (newest == index) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[newest];
+            heap[newest] = swap;
+            index = newest;
+        }
+    }
+
+    private static boolean isNewer(int ring, int other, Ring[] rings, int[] positions) {
+        int position = positions[ring];
+        int otherPosition = positions[other];
+        return compare(rings[ring].keys()[position], rings[ring].postIds()[position],
+                rings[other].keys()[otherPosition], rings[other].postIds()[otherPosition]) > 0;
+    }
+
+    /**
+     * The latest posts of one author, newest first.
+     *
+     * @param keys     the creation time of each post, in microseconds
+     * @param postIds  the post IDs
+     * @param complete whether these are all of the author's posts
+     */
+    private record Ring(long[] keys, long[] postIds, boolean complete) {
+
+        Ring with(long key, long postId, int capacity) {
+            int insertAt = 0;
+            while (insertAt < postIds.length && compare(keys[insertAt], postIds[insertAt], key, postId) > 0) {
+                insertAt++;
+            }
+            if (insertAt < postIds.length && postIds[insertAt] == postId) {
+                return this;
+            }
+            if (insertAt == capacity) {
+                // Older than everything held by a full ring
+                return new Ring(keys, postIds, false);
+            }
+
+            int length = Math.min(postIds.length + 1, capacity);
+            long[] newKeys = new long[length];
+            long[] newPostIds = new long[length];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(postIds, 0, newPostIds, 0, insertAt);
+            newKeys[insertAt] = key;
+            newPostIds[insertAt] = postId;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, length - insertAt - 1);
+            System.arraycopy(postIds, insertAt, newPostIds, insertAt + 1, length - insertAt - 1);
+            return new Ring(newKeys, newPostIds, complete && postIds.length < capacity);
+        }
+
+        Ring without(long postId) {
+            for (int i = 0; i < postIds.length; i++) {
+                if (postIds[i] == postId) {
+                    long[] newKeys = new long[postIds.length - 1];
+                    long[] newPostIds = new long[postIds.length - 1];
+                    System.arraycopy(keys, 0, newKeys, 0, i);
+                    System.arraycopy(postIds, 0, newPostIds, 0, i);
+                    System.arraycopy(keys, i + 1, newKeys, i, newKeys.length - i);
+                    System.arraycopy(postIds, i + 1, newPostIds, i, newPostIds.length - i);
+                    return new Ring(newKeys, newPostIds, complete);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
+import com.yalice.wardrobe_social_app.events.FriendshipAcceptedEvent;
+import com.yalice.wardrobe_social_app.events.UserBlockChangedEvent;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Keeps the accepted friendships of recently seen users in memory as sorted arrays of
+ * friend IDs, and ranks friend-of-friend candidates by the number of mutual friends.
+ *
+ * <p>Arrays are never modified once cached; an accepted friend request replaces the
+ * arrays of both users, if they are cached, when its {@link FriendshipAcceptedEvent}
+ * commits, and a block drops them. Other changes, such as a deleted account, show up
+ * once an entry expires after {@code app.friends.graph.ttl-seconds}. At most
+ * {@code app.friends.graph.max-users} users are kept; the least recently read are
+ * dropped first.</p>
+ */
+@Component
+public class FriendGraph {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final long[] NO_FRIENDS = new long[0];
+
+    /**
+     * Most mutual friends first, then lowest user ID.
+     */
+    static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::mutualFriends).reversed()
+            .thenComparingLong(Candidate::userId);
+
+    private final FriendRepository friendRepository;
+    private final VersionedCache<long[]> cache;
+
+    public FriendGraph(
+            FriendRepository friendRepository,
+            @Value("${app.friends.graph.max-users:100000}") int maxUsers,
+            @Value("${app.friends.graph.ttl-seconds:600}") long ttlSeconds) {
+        this.friendRepository = friendRepository;
+        this.cache = new VersionedCache<>(maxUsers, ttlSeconds);
+    }
+
+    /**
+     * @return the sorted IDs of the user's friends
+     */
+    public long[] friendsOf(Long userId) {
+        return friendsOf(Set.of(userId)).get(userId);
+    }
+
+    /**
+     * Gets the friends of a set of users. Users that are not cached are loaded together,
+     * with one query per {@value #LOAD_CHUNK_SIZE} users.
+     *
+     * @return the sorted IDs of each user's friends, keyed by user ID
+     */
+    public Map<Long, long[]> friendsOf(Collection<Long> userIds) {
+        Map<Long, long[]> friends = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            long[] cached = cache.get(userId);
+            if (cached != null) {
+                friends.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + LOAD_CHUNK_SIZE, missing.size()));
+            long[] versionsBefore = cache.versions(chunk);
+            Map<Long, long[]> loaded = load(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                cache.put(chunk.get(i), loaded.get(chunk.get(i)), versionsBefore[i]);
+            }
+            friends.putAll(loaded);
+        }
+        return friends;
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Adds the new friendship to the cached arrays of both users once it is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFriendshipAccepted(FriendshipAcceptedEvent event) {
+        addFriend(event.senderId(), event.recipientId());
+        addFriend(event.recipientId(), event.senderId());
+    }
+
+    /**
+     * Drops both users once a block commits, since blocking ends their friendship.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlockChanged(UserBlockChangedEvent event) {
+        evict(event.userId());
+        evict(event.blockedUserId());
+    }
+
+    /**
+     * Ranks the friends of a user's friends by how many friends they share with the user.
+     *
+     * <p>The friend lists are merged as sorted streams, so all occurrences of a candidate
+     * arrive together and their number is the size of the intersection of the candidate's
+     * friends with the user's. The user's own friends are skipped by walking their sorted
+     * array alongside the merge. The whole ranking takes no per-candidate allocation
+     * beyond the {@code limit} best kept in a bounded heap.</p>
+     *
+     * @param userId      the user to find candidates for
+     * @param friends     the sorted IDs of the user's friends
+     * @param friendLists the sorted friend IDs of each of the user's friends
+     * @param excluded    sorted IDs that must not be suggested
+     * @param limit       the number of candidates to return
+     * @return the best candidates, best first, and the number of candidates found
+     */
+    public static Ranking rankByMutualFriends(long userId, long[] friends, Collection<long[]> friendLists,
+                                              long[] excluded, int limit) {
+        long[][] lists = friendLists.stream().filter(list -> list.length > 0).toArray(long[][]::new);
+        int[] positions = new int[lists.length];
+        int[] heap = new int[lists.length];
+        int heapSize = lists.length;
+        for (int i = 0; i < heapSize; i++) {
+            heap[i] = i;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, lists, positions);
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        int candidates = 0;
+        int ownFriend = 0;
+        while (heapSize > 0) {
+            long candidate = head(heap[0], lists, positions);
+            int mutualFriends = 0;
+            while (heapSize > 0 && head(heap[0], lists, positions) == candidate) {
+                mutualFriends++;
+                int list = heap[0];
+                if (++positions[list] == lists[list].length) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, 0, lists, positions);
+            }
+
+            while (ownFriend < friends.length && friends[ownFriend] < candidate) {
+                ownFriend++;
+            }
+            boolean isFriend = ownFriend < friends.length && friends[ownFriend] == candidate;
+            if (candidate == userId || isFriend || Arrays.binarySearch(excluded, candidate) >= 0) {
+                continue;
+            }
+
+            candidates++;
+            Candidate next = new Candidate(candidate, mutualFriends);
+            if (best.size() < limit) {
+                best.add(next);
+            } else if (limit > 0 && BEST_FIRST.compare(next, best.peek()) < 0) {
+                best.poll();
+                best.add(next);
+            }
+        }
+
+        List<Candidate> top = new ArrayList<>(best);
+        top.sort(BEST_FIRST);
+        return new Ranking(top, candidates);
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private Map<Long, long[]> load(List<Long> userIds) {
+        Map<Long, LongArray> friends = new HashMap<>();
+        userIds.forEach(userId -> friends.put(userId, new LongArray()));
+        for (FriendRepository.FriendPair pair : friendRepository.findPairsByUserIdInAndStatusIn(
+                userIds, List.of(FriendshipStatus.ACCEPTED))) {
+            LongArray senderFriends = friends.get(pair.getSenderId());
+            if (senderFriends != null) {
+                senderFriends.add(pair.getRecipientId());
+            }
+            LongArray recipientFriends = friends.get(pair.getRecipientId());
+            if (recipientFriends != null) {
+                recipientFriends.add(pair.getSenderId());
+            }
+        }
+
+        Map<Long, long[]> sorted = new HashMap<>();
+        friends.forEach((userId, ids) -> sorted.put(userId, ids.toSortedDistinctArray()));
+        return sorted;
+    }
+
+    private void addFriend(Long userId, Long friendId) {
+        cache.update(userId, friends -> withFriend(friends, friendId));
+    }
+
+    private static long[] withFriend(long[] friends, long friendId) {
+        int index = Arrays.binarySearch(friends, friendId);
+        if (index >= 0) {
+            return friends;
+        }
+        int insertAt = -index - 1;
+        long[] updated = new long[friends.length + 1];
+        System.arraycopy(friends, 0, updated, 0, insertAt);
+        updated[insertAt] = friendId;
+        System.arraycopy(friends, insertAt, updated, insertAt + 1, friends.length - insertAt);
+        return updated;
+    }
+
+    private static long head(int list, long[][] lists, int[] positions) {
+        return lists[list][positions[list]];
+    }
+
+    private static void siftDown(int[] heap, int size, int index, long[][] lists, int[] positions) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && head(heap[left], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = left;
+            }
+            if (right < size && head(heap[right], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = swap;
+            index = smallest;
+        }
+    }
+
+    /**
+     * A user suggested as a friend, with the number of friends they share with the viewer.
+     */
+    public record Candidate(long userId, int mutualFriends) {
+    }
+
+    /**
+     * The best candidates, best first, and how many candidates there were in total.
+     */
+    public record Ranking(List<Candidate> top, int candidates) {
+    }
+
+    /**
+     * A growable array of primitive IDs, used while loading friend lists.
+     */
+    private static final class LongArray {
+        private long[] values = new long[8];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedDistinctArray() {
+            if (size == 0) {
+                return NO_FRIENDS;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] != sorted[distinct - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportRowDto;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows of a bulk item import file one at a time, so the whole file
+ * is never held in memory. Supports CSV (with a header line) and JSON (a top-level
+ * array of objects). Quoted CSV fields may contain commas and doubled quotes but
+ * not line breaks.
+ */
+@Component
+public class ItemImportParser {
+
+    private final ObjectMapper objectMapper;
+
+    public ItemImportParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the import file and hands each row to the consumer in file order.
+     *
+     * @param file     the uploaded CSV or JSON file
+     * @param consumer receives each parsed row
+     * @throws IllegalArgumentException if the file format is not supported or cannot be parsed
+     */
+    public void forEachRow(MultipartFile file, Consumer<ItemImportRowDto> consumer) {
+        try (InputStream input = file.getInputStream()) {
+            if (isJson(file)) {
+                readJson(input, consumer);
+            } else if (isCsv(file)) {
+                readCsv(input, consumer);
+            } else {
+                throw new IllegalArgumentException("Import file must be CSV or JSON");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Import file could not be read: " + e.getMessage(), e);
+        }
+    }
+
+    private void readJson(InputStream input, Consumer<ItemImportRowDto> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON import file must contain an array of items");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(parser.readValueAs(ItemImportRowDto.class));
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, Consumer<ItemImportRowDto> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> headers = splitCsvLine(stripByteOrderMark(headerLine));
+        for (int i = 0; i < headers.size(); i++) {
+            columns.put(headers.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(line);
+            consumer.accept(ItemImportRowDto.builder()
+                    .name(column(values, columns, "name"))
+                    .brand(column(values, columns, "brand"))
+                    .category(column(values, columns, "category"))
+                    .size(column(values, columns, "size"))
+                    .color(column(values, columns, "color"))
+                    .description(column(values, columns, "description"))
+                    .image(column(values, columns, "image"))
+                    .build());
+        }
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private String stripByteOrderMark(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    private boolean isJson(MultipartFile file) {
+        return hasExtension(file, ".json") ||
+                (file.getContentType() != null && file.getContentType().contains("json"));
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        return hasExtension(file, ".csv") ||
+                (file.getContentType() != null && file.getContentType().contains("csv"));
+    }
+
+    private boolean hasExtension(MultipartFile file, String extension) {
+        String filename = file.getOriginalFilename();
+        return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(extension);
+    }
+}
@@ -0,0 +1,41 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.ImageCleanupTask;
+import com.yalice.wardrobe_social_app.events.ImageOrphanedEvent;
+import com.yalice.wardrobe_social_app.events.OutboxConsumer;
+import com.yalice.wardrobe_social_app.repositories.ImageCleanupTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Queues the images of deleted posts and items as {@link ImageCleanupTask}s, which the
+ * image cleanup job removes from storage with retries. Files are only removed once the
+ * deletion has committed, and never while a request is waiting.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrphanedImageConsumer implements OutboxConsumer {
+
+    private final ImageCleanupTaskRepository imageCleanupTaskRepository;
+
+    @Override
+    public String getName() {
+        return "orphaned-images";
+    }
+
+    @Override
+    public List<Class<?>> getEventTypes() {
+        return List.of(ImageOrphanedEvent.class);
+    }
+
+    @Override
+    public void consume(List<Object> events) {
+        imageCleanupTaskRepository.saveAll(events.stream()
+                .map(event -> ((ImageOrphanedEvent) event).imageUrl())
+                .filter(imageUrl -> !imageUrl.isEmpty())
+                .map(imageUrl -> ImageCleanupTask.builder().imageUrl(imageUrl).build())
+                .toList());
+    }
+}
@@ -0,0 +1,233 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of post IDs, laid out like a roaring bitmap: IDs are grouped into
+ * chunks of 65,536 consecutive IDs, and each chunk holds the low 16 bits of its IDs
+ * either as a sorted array, while it has few of them, or as a bitmap once it has more.
+ * A user who has seen a few hundred posts takes two bytes per post; a dense chunk never
+ * takes more than 8 KiB.
+ *
+ * <p>Not thread-safe.</p>
+ */
+public final class PostIdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final int FORMAT_VERSION = 1;
+
+    private long[] keys = new long[0];
+    private Chunk[] chunks = new Chunk[0];
+
+    public static PostIdBitmap fromBytes(byte[] bytes) {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return bitmap;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown post ID bitmap format: " + version);
+        }
+        int count = buffer.getInt();
+        bitmap.keys = new long[count];
+        bitmap.chunks = new Chunk[count];
+        for (int i = 0; i < count; i++) {
+            bitmap.keys[i] = buffer.getLong();
+            bitmap.chunks[i] = Chunk.read(buffer);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return true if the ID was not in the set
+     */
+    public boolean add(long postId) {
+        if (postId < 0) {
+            throw new IllegalArgumentException("Post ID must not be negative: " + postId);
+        }
+        long key = postId >>> 16;
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            index = -index - 1;
+            keys = insert(keys, index, key);
+            chunks = insert(chunks, index, new Chunk());
+        }
+        return chunks[index].add((char) postId);
+    }
+
+    public boolean contains(long postId) {
+        if (postId < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, postId >>> 16);
+        return index >= 0 && chunks[index].contains((char) postId);
+    }
+
+    /**
+     * Adds every ID of the other set to this one.
+     */
+    public void addAll(PostIdBitmap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            long high = other.keys[i] << 16;
+            other.chunks[i].forEach(low -> add(high | low));
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Chunk chunk : chunks) {
+            size += chunk.size;
+        }
+        return size;
+    }
+
+    /**
+     * Drops all but the chunks of the highest IDs. Post IDs only grow, so this keeps the
+     * newest posts.
+     */
+    public void retainNewest(int maxChunks) {
+        if (keys.length > maxChunks) {
+            keys = Arrays.copyOfRange(keys, keys.length - maxChunks, keys.length);
+            chunks = Arrays.copyOfRange(chunks, chunks.length - maxChunks, chunks.length);
+        }
+    }
+
+    public byte[] toBytes() {
+        int length = 2 * Integer.BYTES;
+        for (Chunk chunk : chunks) {
+            length += Long.BYTES + chunk.serializedSize();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putLong(keys[i]);
+            chunks[i].write(buffer);
+        }
+        return buffer.array();
+    }
+
+    private static long[] insert(long[] array, int index, long value) {
+        long[] result = new long[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Chunk[] insert(Chunk[] array, int index, Chunk value) {
+        Chunk[] result = new Chunk[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * The low 16 bits of the IDs of one chunk: the first {@code size} entries of
+     * {@code values} in ascending order, or the set bits of {@code bits} once there are
+     * more than {@link #ARRAY_MAX}, where an array would outgrow the bitmap.
+     */
+    private static final class Chunk {
+        private char[] values = new char[4];
+        private long[] bits;
+        private int size;
+
+        static Chunk read(ByteBuffer buffer) {
+            Chunk chunk = new Chunk();
+            chunk.size = buffer.getInt();
+            if (chunk.size > ARRAY_MAX) {
+                chunk.values = null;
+                chunk.bits = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get(chunk.bits);
+                buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+            } else {
+                chunk.values = new char[Math.max(chunk.size, 4)];
+                buffer.asCharBuffer().get(chunk.values, 0, chunk.size);
+                buffer.position(buffer.position() + chunk.size * Character.BYTES);
+            }
+            return chunk;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long word = bits[low >>> 6];
+                long updated = word | (1L << low);
+                if (updated == word) {
+                    return false;
+                }
+                bits[low >>> 6] = updated;
+                size++;
+                return true;
+            }
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (size == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+            size++;
+            return true;
+        }
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        void forEach(IntConsumer action) {
+            if (bits == null) {
+                for (int i = 0; i < size; i++) {
+                    action.accept(values[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    action.accept(word << 6 | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+        }
+
+        int serializedSize() {
+            return Integer.BYTES + (bits != null ? BITMAP_WORDS * Long.BYTES : size * Character.BYTES);
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.putInt(size);
+            if (bits != null) {
+                for (long word : bits) {
+                    buffer.putLong(word);
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    buffer.putChar(values[i]);
+                }
+            }
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.dtos.item.ItemThumbnailDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
+import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.mappers.PostMapper;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds post responses for a list of posts with one query for the items of all their
+ * outfits, instead of loading each outfit's item collection. The posts' profiles, users
+ * and outfits are expected to be fetched with the posts.
+ */
+@Component
+public class PostResponseAssembler {
+
+    private final OutfitRepository outfitRepository;
+    private final PostMapper postMapper;
+
+    public PostResponseAssembler(OutfitRepository outfitRepository, PostMapper postMapper) {
+        this.outfitRepository = outfitRepository;
+        this.postMapper = postMapper;
+    }
+
+    public PostResponseDto toResponseDto(Post post) {
+        return toResponseDtos(List.of(post)).get(0);
+    }
+
+    public List<PostResponseDto> toResponseDtos(List<Post> posts) {
+        Map<Long, List<ItemThumbnailDto>> itemsByOutfit = loadOutfitItems(posts);
+        return posts.stream()
+                .map(post -> postMapper.toResponseDto(post,
+                        itemsByOutfit.getOrDefault(post.getOutfit().getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    public Page<PostResponseDto> toResponseDtos(Page<Post> posts) {
+        return new PageImpl<>(toResponseDtos(posts.getContent()), posts.getPageable(), posts.getTotalElements());
+    }
+
+    private Map<Long, List<ItemThumbnailDto>> loadOutfitItems(List<Post> posts) {
+        Set<Long> outfitIds = posts.stream()
+                .map(post -> post.getOutfit().getId())
+                .collect(Collectors.toSet());
+        if (outfitIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<ItemThumbnailDto>> itemsByOutfit = new HashMap<>();
+        for (OutfitRepository.OutfitItemRow row : outfitRepository.findItemRowsByOutfitIdIn(outfitIds)) {
+            itemsByOutfit.computeIfAbsent(row.getOutfitId(), id -> new ArrayList<>())
+                    .add(new ItemThumbnailDto(row.getId(), row.getName(), row.getImageUrl()));
+        }
+        return itemsByOutfit;
+    }
+}
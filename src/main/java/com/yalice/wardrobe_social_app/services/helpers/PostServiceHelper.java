@@ -1,37 +1,24 @@
 package com.yalice.wardrobe_social_app.services.helpers;
 
 import com.yalice.wardrobe_social_app.entities.Post;
-import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
-import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import com.yalice.wardrobe_social_app.repositories.LikeRepository;
-import com.yalice.wardrobe_social_app.repositories.PostRepository;
 import org.springframework.stereotype.Component;
 
 @Component
 public class PostServiceHelper {
 
-    private final PostRepository postRepository;
     private final LikeRepository likeRepository;
 
     private final FriendService friendService;
-    private final ProfileService profileService;
 
-    public PostServiceHelper(PostRepository postRepository, LikeRepository likeRepository, FriendService friendService, ProfileService profileService) {
-        this.postRepository = postRepository;
+    public PostServiceHelper(LikeRepository likeRepository, FriendService friendService) {
         this.likeRepository = likeRepository;
         this.friendService = friendService;
-        this.profileService = profileService;
     }
 
     public boolean hasProfileLikedPost(Long postId, Long profileId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-
-        Profile profile = profileService.getProfileEntityById(profileId);
-
-
-        return likeRepository.existsByPostAndProfile(post, profile); // Return true if the like exists
+        return likeRepository.existsByPostIdAndProfileId(postId, profileId);
     }
 
     /**
@@ -0,0 +1,242 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.SeenPosts;
+import com.yalice.wardrobe_social_app.repositories.SeenPostsRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the posts each recently active user has seen in their feed, as a
+ * {@link PostIdBitmap} per user.
+ *
+ * <p>A user's set is loaded the first time it is used and changed in memory only; sets
+ * with changes are saved every {@code app.feed.seen.flush-interval-ms} and on shutdown,
+ * so a crash loses at most one interval of seen posts. Saving merges the set with the
+ * stored one under a row lock, so instances that served the same user add to each
+ * other's sets instead of overwriting them. Each set keeps only its newest
+ * {@code app.feed.seen.max-chunks} chunks of 65,536 post IDs, and at most
+ * {@code app.feed.seen.max-users} sets are held, dropping the least recently used once
+ * they are saved.</p>
+ */
+@Component
+public class SeenPostTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeenPostTracker.class);
+
+    private final SeenPostsRepository seenPostsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUsers;
+    private final int maxChunks;
+    private final int window;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Sets dropped from {@link #entries} before their changes were saved. The next flush
+     * saves them, and a user seen again before then gets theirs back.
+     */
+    private final Map<Long, Entry> unsaved = new HashMap<>();
+
+    public SeenPostTracker(
+            SeenPostsRepository seenPostsRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.feed.seen.max-users:100000}") int maxUsers,
+            @Value("${app.feed.seen.max-chunks:32}") int maxChunks,
+            @Value("${app.feed.seen.window:200}") int window) {
+        this.seenPostsRepository = seenPostsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxUsers = maxUsers;
+        this.maxChunks = maxChunks;
+        this.window = window;
+    }
+
+    /**
+     * @return how many of the latest feed posts the unseen-first feed and the unseen count
+     *         look at
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    public void markSeen(Long userId, Collection<Long> postIds) {
+        Entry entry = entryOf(userId);
+        synchronized (entry) {
+            for (Long postId : postIds) {
+                if (entry.bitmap.add(postId)) {
+                    entry.dirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the indexes, in {@code postIds}, of the posts the user has seen
+     */
+    public BitSet seen(Long userId, List<Long> postIds) {
+        Entry entry = entryOf(userId);
+        BitSet seen = new BitSet(postIds.size());
+        synchronized (entry) {
+            for (int i = 0; i < postIds.size(); i++) {
+                if (entry.bitmap.contains(postIds.get(i))) {
+                    seen.set(i);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Saves every set changed since it was last saved. A set that fails to save is kept
+     * for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.seen.flush-interval-ms:30000}")
+    @PreDestroy
+    public void flush() {
+        Map<Long, Entry> changed = new LinkedHashMap<>();
+        synchronized (this) {
+            changed.putAll(unsaved);
+            unsaved.clear();
+            entries.forEach((userId, entry) -> {
+                if (entry.isDirty()) {
+                    changed.put(userId, entry);
+                }
+            });
+        }
+        changed.forEach(this::save);
+    }
+
+    /**
+     * Drops the user's set, including unsaved changes, once their stored set has been
+     * deleted, so that a later flush does not write it back. A flush already saving the
+     * set when this is called may still write it.
+     */
+    public void forget(Long userId) {
+        Entry entry;
+        Entry unsavedEntry;
+        synchronized (this) {
+            entry = entries.remove(userId);
+            unsavedEntry = unsaved.remove(userId);
+        }
+        for (Entry forgotten : new Entry[]{entry, unsavedEntry}) {
+            if (forgotten != null) {
+                synchronized (forgotten) {
+                    forgotten.forgotten = true;
+                    forgotten.dirty = false;
+                }
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry entryOf(Long userId) {
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry == null && (entry = unsaved.remove(userId)) != null) {
+                entries.put(userId, entry);
+                evictOverflow();
+            }
+            if (entry != null) {
+                return entry;
+            }
+        }
+
+        PostIdBitmap loaded = seenPostsRepository.findById(userId)
+                .map(row -> PostIdBitmap.fromBytes(row.getPostIds()))
+                .orElseGet(PostIdBitmap::new);
+        synchronized (this) {
+            // Another request may have loaded the set meanwhile, and may have changed it
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                entry = new Entry(loaded);
+                entries.put(userId, entry);
+                evictOverflow();
+            }
+            return entry;
+        }
+    }
+
+    private void save(Long userId, Entry entry) {
+        byte[] changes;
+        synchronized (entry) {
+            if (entry.forgotten) {
+                return;
+            }
+            changes = entry.bitmap.toBytes();
+            entry.dirty = false;
+        }
+        try {
+            PostIdBitmap merged = transactionTemplate.execute(status -> {
+                SeenPosts row = seenPostsRepository.findForUpdate(userId)
+                        .orElseGet(() -> new SeenPosts(userId, null));
+                PostIdBitmap stored = PostIdBitmap.fromBytes(row.getPostIds());
+                stored.addAll(PostIdBitmap.fromBytes(changes));
+                stored.retainNewest(maxChunks);
+                row.setPostIds(stored.toBytes());
+                seenPostsRepository.save(row);
+                return stored;
+            });
+            // Take in what other instances saved, and drop chunks the stored set dropped
+            synchronized (entry) {
+                entry.bitmap.addAll(merged);
+                entry.bitmap.retainNewest(maxChunks);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save seen posts of user {}; retrying on the next flush", userId, e);
+            synchronized (entry) {
+                if (entry.forgotten) {
+                    return;
+                }
+                entry.dirty = true;
+            }
+            synchronized (this) {
+                if (entries.get(userId) != entry) {
+                    unsaved.putIfAbsent(userId, entry);
+                }
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        var eldest = entries.entrySet().iterator();
+        while (entries.size() > maxUsers && eldest.hasNext()) {
+            Map.Entry<Long, Entry> evicted = eldest.next();
+            eldest.remove();
+            if (evicted.getValue().isDirty()) {
+                unsaved.put(evicted.getKey(), evicted.getValue());
+            }
+        }
+    }
+
+    /**
+     * A user's set, whether it has changed since it was last saved and whether it was
+     * dropped by {@link #forget(Long)}. Guarded by its own lock.
+     */
+    private static final class Entry {
+        private final PostIdBitmap bitmap;
+        private boolean dirty;
+        private boolean forgotten;
+
+        Entry(PostIdBitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+
+        synchronized boolean isDirty() {
+            return dirty;
+        }
+    }
+}
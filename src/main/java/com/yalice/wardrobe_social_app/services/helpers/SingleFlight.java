@@ -0,0 +1,132 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.events.ProfileChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads: while a load for a key is in flight, further
+ * callers asking for the same key wait for it and share its result instead of running
+ * their own queries.
+ *
+ * <p>Nothing is cached. A flight is removed the moment its load finishes, so a caller
+ * arriving afterwards always starts a fresh load. A committed change to a post or profile
+ * also detaches the flights for it, so callers arriving after the commit never join a load
+ * that may have read the old state. Loads are only shared when the caller is outside a
+ * transaction or in a read-only one, so uncommitted writes of one caller are never handed
+ * to another.</p>
+ *
+ * <p>Results are shared between callers and must not be modified.</p>
+ */
+@Component
+public class SingleFlight {
+
+    public static final String POST = "post";
+    public static final String POST_COMMENTS = "postComments";
+    public static final String PROFILE = "profile";
+
+    private final ConcurrentHashMap<Key, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader, or waits for an identical load that is already running.
+     *
+     * @param operation the kind of read, one of the constants of this class
+     * @param id        the ID the read is for
+     * @param loader    performs the read
+     * @return the result of the loader, possibly produced for another caller
+     */
+    public <T> T execute(String operation, Object id, Supplier<T> loader) {
+        return execute(operation, id, null, loader);
+    }
+
+    /**
+     * Runs the loader, or waits for an identical load that is already running. Loads of
+     * different variants of the same ID, such as different pages, are not shared, but are
+     * all detached together by {@link #forget}.
+     *
+     * @param operation the kind of read, one of the constants of this class
+     * @param id        the ID the read is for
+     * @param variant   what else the read depends on, or null
+     * @param loader    performs the read
+     * @return the result of the loader, possibly produced for another caller
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object id, Object variant, Supplier<T> loader) {
+        if (!isShareable()) {
+            return loader.get();
+        }
+
+        Key key = new Key(operation, id, variant);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            return (T) await(running);
+        }
+
+        try {
+            T result = loader.get();
+            flights.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Detaches any in-flight loads for the ID, of every variant, so later callers start a
+     * new one.
+     *
+     * @param operation the kind of read
+     * @param id        the ID the read is for
+     */
+    public void forget(String operation, Object id) {
+        flights.keySet().removeIf(key -> key.operation().equals(operation) && key.id().equals(id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        forget(POST, event.postId());
+        forget(POST_COMMENTS, event.postId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        forget(PROFILE, event.userId());
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private boolean isShareable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String operation, Object id, Object variant) {
+    }
+}
@@ -5,6 +5,9 @@ import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.exceptions.UnauthorizedAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Objects;
+
 @Service
 public class ValidationService {
 
@@ -33,6 +36,26 @@ public class ValidationService {
         }
     }
 
+    public void validateBatchIds(Collection<?> ids, int maxSize) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID must be provided");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs cannot contain null values");
+        }
+        if (ids.size() > maxSize) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot request more than %d IDs at once", maxSize));
+        }
+    }
+
+    public void validatePageSize(int size, int maxSize) {
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", maxSize));
+        }
+    }
+
     public void validateExists(boolean exists, String message) {
         if (!exists) {
             throw new ResourceNotFoundException(message);
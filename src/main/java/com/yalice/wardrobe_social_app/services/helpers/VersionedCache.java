@@ -0,0 +1,157 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * An in-memory cache of values loaded from the database, keyed by ID, that events
+ * committing on other threads update or invalidate.
+ *
+ * <p>Every change to a key moves its version forward. Versions are counted per stripe of
+ * keys, so they cost a fixed amount of memory however many keys change. A loader reads
+ * the {@link #version} before it queries and passes it to {@link #put}. If the key
+ * changed in between, the loaded value may predate the change, so it is not cached and
+ * the next read loads it again.</p>
+ *
+ * <p>Entries expire a fixed time after they were loaded, which covers changes that publish
+ * no event. While the total weight of the entries exceeds the limit, the least recently
+ * read are dropped first. All methods lock the cache, and none of them queries.</p>
+ *
+ * @param <V> the cached values, which must not be modified once cached
+ */
+final class VersionedCache<V> {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<Long, Entry<V>> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long[] versions = new long[VERSION_STRIPES];
+    private long totalWeight;
+
+    /**
+     * Creates a cache that holds at most {@code maxEntries} values.
+     */
+    VersionedCache(int maxEntries, long ttlSeconds) {
+        this(maxEntries, ttlSeconds, value -> 1);
+    }
+
+    /**
+     * Creates a cache whose values weigh at most {@code maxWeight} in total.
+     */
+    VersionedCache(long maxWeight, long ttlSeconds, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @return the cached value, or null if it is not cached or has expired
+     */
+    synchronized V get(Long key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * @return the version to pass to {@link #put} for a value of the key loaded after this call
+     */
+    synchronized long version(Long key) {
+        return versions[stripe(key)];
+    }
+
+    /**
+     * @return the version of each key, in the same order
+     */
+    synchronized long[] versions(List<Long> keys) {
+        long[] before = new long[keys.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = versions[stripe(keys.get(i))];
+        }
+        return before;
+    }
+
+    /**
+     * Caches a loaded value, unless the key changed since {@code versionBefore} was read.
+     *
+     * @return whether the value was cached
+     */
+    synchronized boolean put(Long key, V value, long versionBefore) {
+        if (versions[stripe(key)] != versionBefore) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        totalWeight += weigher.applyAsLong(value);
+        evictOverflow();
+        return true;
+    }
+
+    /**
+     * Applies a committed change to the cached value of the key, if there is one, keeping
+     * its load time. A change that returns null drops the value.
+     */
+    synchronized void update(Long key, UnaryOperator<V> change) {
+        versions[stripe(key)]++;
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        V updated = change.apply(entry.value());
+        remove(key);
+        if (updated != null) {
+            entries.put(key, new Entry<>(updated, entry.loadedAt()));
+            totalWeight += weigher.applyAsLong(updated);
+        }
+    }
+
+    /**
+     * Drops the value of the key, and any value of it still being loaded.
+     */
+    synchronized void invalidate(Long key) {
+        versions[stripe(key)]++;
+        remove(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return totalWeight;
+    }
+
+    private void remove(Long key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= weigher.applyAsLong(removed.value());
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && eldest.hasNext()) {
+            totalWeight -= weigher.applyAsLong(eldest.next().getValue().value());
+            eldest.remove();
+        }
+    }
+
+    private static int stripe(Long key) {
+        return Long.hashCode(key) & (VERSION_STRIPES - 1);
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
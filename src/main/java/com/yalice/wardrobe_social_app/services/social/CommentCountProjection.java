@@ -0,0 +1,77 @@
+package com.yalice.wardrobe_social_app.services.social;
+
+import com.yalice.wardrobe_social_app.events.CommentAddedEvent;
+import com.yalice.wardrobe_social_app.events.CommentRemovedEvent;
+import com.yalice.wardrobe_social_app.events.OutboxConsumer;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the denormalized comment count of each post and reply count of each comment,
+ * from the comments added and removed. The changes of a batch are summed first, so a
+ * post commented on many times is updated once per batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentCountProjection implements OutboxConsumer {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "comment-counts";
+    }
+
+    @Override
+    public List<Class<?>> getEventTypes() {
+        return List.of(CommentAddedEvent.class, CommentRemovedEvent.class);
+    }
+
+    @Override
+    public void consume(List<Object> events) {
+        // Sorted, so concurrent transactions lock the rows in the same order
+        Map<Long, Integer> commentDeltas = new TreeMap<>();
+        Map<Long, Integer> replyDeltas = new TreeMap<>();
+        Set<Long> changedPostIds = new HashSet<>();
+        for (Object event : events) {
+            if (event instanceof CommentAddedEvent added) {
+                changedPostIds.add(added.postId());
+                commentDeltas.merge(added.postId(), 1, Integer::sum);
+                if (added.parentId() != null) {
+                    replyDeltas.merge(added.parentId(), 1, Integer::sum);
+                }
+            } else if (event instanceof CommentRemovedEvent removed) {
+                changedPostIds.add(removed.postId());
+                commentDeltas.merge(removed.postId(), -removed.removed(), Integer::sum);
+                if (removed.parentId() != null) {
+                    replyDeltas.merge(removed.parentId(), -1, Integer::sum);
+                }
+            }
+        }
+
+        commentDeltas.forEach((postId, delta) -> {
+            if (delta != 0) {
+                postRepository.adjustCommentCount(postId, delta);
+            }
+        });
+        replyDeltas.forEach((commentId, delta) -> {
+            if (delta != 0) {
+                commentRepository.adjustReplyCount(commentId, delta);
+            }
+        });
+        // Cached feed items and comment pages show the counts
+        changedPostIds.forEach(postId -> eventPublisher.publishEvent(new PostChangedEvent(postId)));
+    }
+}
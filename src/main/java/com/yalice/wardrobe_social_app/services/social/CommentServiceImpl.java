@@ -2,21 +2,46 @@ package com.yalice.wardrobe_social_app.services.social;
 
 import com.yalice.wardrobe_social_app.dtos.comment.CommentDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
 import com.yalice.wardrobe_social_app.entities.Comment;
 import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.events.CommentAddedEvent;
+import com.yalice.wardrobe_social_app.events.CommentRemovedEvent;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
 import com.yalice.wardrobe_social_app.interfaces.CommentService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import com.yalice.wardrobe_social_app.mappers.CommentMapper;
 import com.yalice.wardrobe_social_app.repositories.CommentRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Comments on posts, threaded one level deep. Listings are keyset-paged by ID and load
+ * each page with its authors in one query. The comment count of a post and the reply
+ * count of a comment are denormalized; adding or deleting a comment records an event in
+ * the {@link DomainEventOutbox}, and the {@link CommentCountProjection} adjusts the counts
+ * after the transaction commits.
+ * Pages are shared by all viewers and filtered per viewer against the {@link BlockList}.
+ */
 @Service
 public class CommentServiceImpl extends BaseService<Comment, Long> implements CommentService {
 
@@ -24,16 +49,30 @@ public class CommentServiceImpl extends BaseService<Comment, Long> implements Co
     private final PostRepository postRepository;
     private final ProfileService profileService;
     private final CommentMapper commentMapper;
+    private final SingleFlight singleFlight;
+    private final BlockList blockList;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final int MAX_COMMENT_PAGE_SIZE = 100;
 
     public CommentServiceImpl(
             CommentRepository commentRepository,
             PostRepository postRepository,
             ProfileService profileService,
-            CommentMapper commentMapper) {
+            CommentMapper commentMapper,
+            SingleFlight singleFlight,
+            BlockList blockList,
+            DomainEventOutbox outbox,
+            ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.profileService = profileService;
         this.commentMapper = commentMapper;
+        this.singleFlight = singleFlight;
+        this.blockList = blockList;
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -66,8 +105,15 @@ public class CommentServiceImpl extends BaseService<Comment, Long> implements Co
         // Validate post visibility for the commenter
         validatePostAccessibility(post, profile);
 
-        Comment comment = buildComment(commentDto, profile, post);
-        return mapEntity(save(comment), commentMapper::toResponseDto);
+        Comment parent = findParent(commentDto.getParentId(), postId);
+        validateNotBlocked(profile, post, parent);
+        Comment comment = buildComment(commentDto, profile, post, parent);
+        Comment saved = save(comment);
+        outbox.append(new CommentAddedEvent(saved.getId(), postId, parent != null ? parent.getId() : null));
+        CommentResponseDto response = mapEntity(saved, commentMapper::toResponseDto);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+        eventPublisher.publishEvent(new InteractionEvent(profileId, post.getProfile().getId(), Interaction.COMMENT));
+        return response;
     }
 
     @Override
@@ -87,7 +133,9 @@ public class CommentServiceImpl extends BaseService<Comment, Long> implements Co
         validatePostAccessibility(comment.getPost(), comment.getProfile());
 
         comment.setContent(commentDto.getContent());
-        return mapEntity(save(comment), commentMapper::toResponseDto);
+        CommentResponseDto response = mapEntity(save(comment), commentMapper::toResponseDto);
+        eventPublisher.publishEvent(new PostChangedEvent(comment.getPost().getId()));
+        return response;
     }
 
     @Override
@@ -101,24 +149,81 @@ public class CommentServiceImpl extends BaseService<Comment, Long> implements Co
         Comment comment = findById(commentId);
         validationService.validateOwnership(comment.getProfile(), profileId, "comment");
 
+        Long postId = comment.getPost().getId();
+        Long parentId = comment.getParent() != null ? comment.getParent().getId() : null;
+        int removed = 1;
+        if (parentId == null) {
+            removed += commentRepository.deleteByParentId(commentId);
+        }
         delete(commentId);
+        outbox.append(new CommentRemovedEvent(commentId, postId, parentId, removed));
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
         logger.info("Comment deleted successfully: {}", commentId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentResponseDto> getPostComments(Long postId) {
-        logger.info("Fetching comments for post ID: {}", postId);
+    public CursorPageResponseDto<CommentResponseDto> getPostComments(Long userId, Long postId, Long cursor,
+                                                                     int size) {
+        logger.info("Fetching comments for post ID: {} after cursor: {}", postId, cursor);
 
+        validationService.validateNotNull(userId, "User ID");
         validationService.validateNotNull(postId, "Post ID");
+        validationService.validatePageSize(size, MAX_COMMENT_PAGE_SIZE);
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + postId));
-        validationService.validateNotNull(post, "Post");
+        CursorPageResponseDto<CommentResponseDto> page = singleFlight.execute(
+                SingleFlight.POST_COMMENTS, postId, Arrays.asList(cursor, size), () -> {
+                    validationService.validateExists(postRepository.existsById(postId),
+                            "Post not found with ID: " + postId);
+
+                    // One extra row tells whether another page follows without a count query
+                    Pageable limit = PageRequest.of(0, size + 1);
+                    List<Comment> comments = cursor == null
+                            ? commentRepository.findByPostIdAndParentIsNullOrderByIdDesc(postId, limit)
+                            : commentRepository.findByPostIdAndParentIsNullAndIdLessThanOrderByIdDesc(
+                                    postId, cursor, limit);
+                    return toCursorPage(comments, size);
+                });
+        return visibleTo(userId, page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentResponseDto> getReplies(Long userId, Long commentId, Long cursor, int size) {
+        logger.info("Fetching replies to comment ID: {} after cursor: {}", commentId, cursor);
+
+        validationService.validateNotNull(userId, "User ID");
+        validationService.validateNotNull(commentId, "Comment ID");
+        validationService.validatePageSize(size, MAX_COMMENT_PAGE_SIZE);
+        validationService.validateExists(commentRepository.existsById(commentId),
+                "Comment not found with ID: " + commentId);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Comment> replies = cursor == null
+                ? commentRepository.findByParentIdOrderByIdAsc(commentId, limit)
+                : commentRepository.findByParentIdAndIdGreaterThanOrderByIdAsc(commentId, cursor, limit);
+        return visibleTo(userId, toCursorPage(replies, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<CommentResponseDto>> getCommentsByPostIds(List<Long> postIds, Long cursor, int size) {
+        logger.info("Fetching comments for batch of {} posts after cursor: {}",
+                postIds == null ? 0 : postIds.size(), cursor);
+        validationService.validateBatchIds(postIds, MAX_BATCH_SIZE);
+        validationService.validatePageSize(size, MAX_COMMENT_PAGE_SIZE);
 
-        return mapEntityList(
-                commentRepository.findByPostIdOrderByCreatedAtDesc(postId),
-                commentMapper::toResponseDto);
+        Map<Long, List<CommentResponseDto>> commentsByPost = new LinkedHashMap<>();
+        postIds.forEach(postId -> commentsByPost.put(postId, new ArrayList<>()));
+        List<Long> ids = commentRepository.findTopLevelIdsByPostIdIn(postIds,
+                cursor == null ? Long.MAX_VALUE : cursor, size);
+        if (ids.isEmpty()) {
+            return commentsByPost;
+        }
+        for (Comment comment : commentRepository.findByIdInOrderByIdDesc(ids)) {
+            commentsByPost.get(comment.getPost().getId()).add(commentMapper.toResponseDto(comment));
+        }
+        return commentsByPost;
     }
 
     @Override
@@ -130,10 +235,69 @@ public class CommentServiceImpl extends BaseService<Comment, Long> implements Co
         return mapEntity(findById(commentId), commentMapper::toResponseDto);
     }
 
-    private Comment buildComment(CommentDto commentDto, Profile profile, Post post) {
+    private CursorPageResponseDto<CommentResponseDto> toCursorPage(List<Comment> comments, int size) {
+        boolean hasMore = comments.size() > size;
+        List<Comment> page = hasMore ? comments.subList(0, size) : comments;
+
+        return CursorPageResponseDto.<CommentResponseDto>builder()
+                .content(page.stream().map(commentMapper::toResponseDto).toList())
+                .pageSize(size)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Drops comments by users the viewer must not see. The cursor still follows the last
+     * loaded comment, so paging continues past the dropped ones.
+     */
+    private CursorPageResponseDto<CommentResponseDto> visibleTo(Long userId,
+                                                                CursorPageResponseDto<CommentResponseDto> page) {
+        List<CommentResponseDto> visible = blockList.visibleTo(userId, page.getContent(), CommentResponseDto::getUserId);
+        if (visible == page.getContent()) {
+            return page;
+        }
+        return CursorPageResponseDto.<CommentResponseDto>builder()
+                .content(visible)
+                .pageSize(page.getPageSize())
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .build();
+    }
+
+    /**
+     * A user may not comment on a post by, or reply to a comment by, a user they blocked
+     * or were blocked by.
+     */
+    private void validateNotBlocked(Profile profile, Post post, Comment parent) {
+        Long userId = profile.getUser().getId();
+        if (blockList.isBlocked(userId, post.getProfile().getUser().getId())
+                || (parent != null && blockList.isBlocked(userId, parent.getProfile().getUser().getId()))) {
+            throw new ForbiddenActionException("Cannot comment on this post");
+        }
+    }
+
+    /**
+     * Finds the comment a new comment replies to. Threads are one level deep, so a reply
+     * to a reply is attached to the top-level comment above it.
+     */
+    private Comment findParent(Long parentId, Long postId) {
+        if (parentId == null) {
+            return null;
+        }
+
+        Comment parent = findById(parentId);
+        if (!parent.getPost().getId().equals(postId)) {
+            throw new IllegalArgumentException("Comment " + parentId + " does not belong to post " + postId);
+        }
+        return parent.getParent() == null ? parent : parent.getParent();
+    }
+
+    private Comment buildComment(CommentDto commentDto, Profile profile, Post post, Comment parent) {
         return Comment.builder()
                 .profile(profile)
                 .post(post)
+                .parent(parent)
                 .content(commentDto.getContent())
                 .build();
     }
@@ -1,15 +1,34 @@
 package com.yalice.wardrobe_social_app.services.social;
 
-import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.dtos.feed.NormalizedFeedResponseDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
 import com.yalice.wardrobe_social_app.interfaces.FeedService;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
 import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
+import com.yalice.wardrobe_social_app.mappers.CommentMapper;
 import com.yalice.wardrobe_social_app.mappers.FeedItemMapper;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.FeedFragmentCache;
+import com.yalice.wardrobe_social_app.services.helpers.FeedRanker;
+import com.yalice.wardrobe_social_app.services.helpers.FeedRings;
+import com.yalice.wardrobe_social_app.services.helpers.PostResponseAssembler;
+import com.yalice.wardrobe_social_app.services.helpers.SeenPostTracker;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,28 +36,72 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class FeedServiceImpl extends BaseService<Post, Long> implements FeedService {
 
         private final PostRepository postRepository;
+        private final ProfileRepository profileRepository;
         private final FriendService friendService;
         private final UserSearchService userSearchService;
         private final FeedItemMapper feedItemMapper;
+        private final PostResponseAssembler postResponseAssembler;
+        private final CommentRepository commentRepository;
+        private final CommentMapper commentMapper;
+        private final OutfitRepository outfitRepository;
+        private final FeedFragmentCache fragmentCache;
+        private final ObjectMapper objectMapper;
+        private final BlockList blockList;
+        private final FeedRings feedRings;
+        private final FeedRanker feedRanker;
+        private final SeenPostTracker seenPostTracker;
+        private final ApplicationEventPublisher eventPublisher;
 
         private static final int MAX_PAGE_SIZE = 50;
 
         public FeedServiceImpl(
                         PostRepository postRepository,
+                        ProfileRepository profileRepository,
                         FriendService friendService,
                         UserSearchService userSearchService,
-                        FeedItemMapper feedItemMapper) {
+                        FeedItemMapper feedItemMapper,
+                        PostResponseAssembler postResponseAssembler,
+                        CommentRepository commentRepository,
+                        CommentMapper commentMapper,
+                        OutfitRepository outfitRepository,
+                        FeedFragmentCache fragmentCache,
+                        ObjectMapper objectMapper,
+                        BlockList blockList,
+                        FeedRings feedRings,
+                        FeedRanker feedRanker,
+                        SeenPostTracker seenPostTracker,
+                        ApplicationEventPublisher eventPublisher) {
                 this.postRepository = postRepository;
+                this.profileRepository = profileRepository;
                 this.friendService = friendService;
                 this.userSearchService = userSearchService;
                 this.feedItemMapper = feedItemMapper;
+                this.postResponseAssembler = postResponseAssembler;
+                this.commentRepository = commentRepository;
+                this.commentMapper = commentMapper;
+                this.outfitRepository = outfitRepository;
+                this.fragmentCache = fragmentCache;
+                this.objectMapper = objectMapper;
+                this.blockList = blockList;
+                this.feedRings = feedRings;
+                this.feedRanker = feedRanker;
+                this.seenPostTracker = seenPostTracker;
+                this.eventPublisher = eventPublisher;
         }
 
         @Override
@@ -53,78 +116,330 @@ public class FeedServiceImpl extends BaseService<Post, Long> implements FeedServ
 
         @Override
         @Transactional(readOnly = true)
-        public List<FeedItemResponseDto> getFeed(Long userId, int page, int size) {
+        public List<JsonFragment> getFeed(Long userId, int page, int size) {
                 logger.info("Fetching feed for userId={} (page={}, size={})", userId, page, size);
                 validateFeedParameters(userId, page, size);
 
-                List<Long> friendIds = getFriendIds(userId);
-                Page<Post> posts = postRepository.findByProfileIdInOrderByCreatedAtDesc(
-                                friendIds,
-                                createPageRequest(page, size));
+                List<Long> authorIds = getFriendIds(userId);
+                Pageable pageable = createPageRequest(page, size);
+                // Recent pages can be merged from the authors' rings; older ones are queried
+                List<Long> postIds = feedRings.isEnabled()
+                                ? feedRings.page(authorIds, pageable).orElse(null)
+                                : null;
+                if (postIds == null) {
+                        postIds = postRepository.findFeedIds(authorIds, pageable);
+                }
+                return renderFeedItems(userId, postIds);
+        }
+
+        /**
+         * Ranks the latest posts of the user's friends and returns a page of them. The
+         * candidates and their counts are read with one query, and ranking them needs no
+         * further queries beyond finding the user's profile, which affinities are kept by.
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public List<JsonFragment> getRankedFeed(Long userId, int page, int size) {
+                logger.info("Fetching ranked feed for userId={} (page={}, size={})", userId, page, size);
+                validateFeedParameters(userId, page, size);
+
+                List<PostRepository.FeedCandidate> candidates = postRepository.findFeedCandidates(
+                                getFriendIds(userId),
+                                PageRequest.of(0, feedRanker.getCandidates()));
+                Long viewerProfileId = profileIdsOf(List.of(userId)).get(userId);
+                List<Long> ranked = feedRanker.rank(viewerProfileId, candidates, LocalDateTime.now());
+                return renderFeedItems(userId, slice(ranked, page, size));
+        }
+
+        /**
+         * Splits the latest posts of the user's feed into those the user has not seen and
+         * those they have, keeping each newest first, and returns a page of the two in
+         * that order.
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public List<JsonFragment> getUnseenFirstFeed(Long userId, int page, int size) {
+                logger.info("Fetching unseen-first feed for userId={} (page={}, size={})", userId, page, size);
+                validateFeedParameters(userId, page, size);
 
-                return mapEntityList(posts.getContent(), feedItemMapper::toResponseDto);
+                List<Long> latest = findLatestFeedIds(getFriendIds(userId));
+                BitSet seen = seenPostTracker.seen(userId, latest);
+                List<Long> ordered = new ArrayList<>(latest.size());
+                for (int i = seen.nextClearBit(0); i < latest.size(); i = seen.nextClearBit(i + 1)) {
+                        ordered.add(latest.get(i));
+                }
+                seen.stream().forEach(i -> ordered.add(latest.get(i)));
+                return renderFeedItems(userId, slice(ordered, page, size));
         }
 
+        /**
+         * Records only the posts within the latest posts of the user's feed, the only ones
+         * the unseen-first feed and the unseen count look at. Other IDs are ignored, so an
+         * arbitrary ID cannot push the posts the user has seen out of their bitmap.
+         */
         @Override
         @Transactional(readOnly = true)
-        public List<FeedItemResponseDto> getFeedBySeason(Long userId, String season, int page, int size) {
+        public void markSeen(Long userId, List<Long> postIds) {
+                logger.info("Marking {} posts as seen for userId={}", postIds == null ? 0 : postIds.size(), userId);
+                validationService.validateNotNull(userId, "User ID");
+                validationService.validateBatchIds(postIds, MAX_BATCH_SIZE);
+
+                Set<Long> latest = new HashSet<>(findLatestFeedIds(getFriendIds(userId)));
+                List<Long> inFeed = postIds.stream().filter(latest::contains).toList();
+                if (!inFeed.isEmpty()) {
+                        seenPostTracker.markSeen(userId, inFeed);
+                }
+        }
+
+        /**
+         * Counts within the latest posts of the user's friends; the user's own posts are
+         * not counted.
+         */
+        @Override
+        @Transactional(readOnly = true)
+        public long getUnseenCount(Long userId) {
+                validationService.validateNotNull(userId, "User ID");
+
+                List<Long> friendIds = getFriendIds(userId);
+                friendIds.remove(userId);
+                if (friendIds.isEmpty()) {
+                        return 0;
+                }
+                List<Long> latest = findLatestFeedIds(friendIds);
+                return latest.size() - seenPostTracker.seen(userId, latest).cardinality();
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public List<JsonFragment> getFeedBySeason(Long userId, String season, int page, int size) {
                 logger.info("Fetching seasonal feed for userId={} (season={}, page={}, size={})",
                                 userId, season, page, size);
-
                 validateFeedParameters(userId, page, size);
                 validationService.validateStringNotEmpty(season, "Season");
 
-                List<Long> friendIds = getFriendIds(userId);
-                Page<Post> posts = postRepository.findByProfileIdInAndOutfitSeasonOrderByCreatedAtDesc(
-                                friendIds,
+                return renderFeedItems(userId, postRepository.findFeedIdsBySeason(
+                                getFriendIds(userId),
                                 season,
-                                createPageRequest(page, size));
-
-                return mapEntityList(posts.getContent(), feedItemMapper::toResponseDto);
+                                createPageRequest(page, size)));
         }
 
         @Override
         @Transactional(readOnly = true)
-        public List<FeedItemResponseDto> getFeedByCategory(Long userId, String category, int page, int size) {
+        public List<JsonFragment> getFeedByCategory(Long userId, String category, int page, int size) {
                 logger.info("Fetching category feed for userId={} (category={}, page={}, size={})",
                                 userId, category, page, size);
-
                 validateFeedParameters(userId, page, size);
                 validationService.validateStringNotEmpty(category, "Category");
 
-                List<Long> friendIds = getFriendIds(userId);
-                Page<Post> posts = postRepository.findByProfileIdInAndOutfitCategoryOrderByCreatedAtDesc(
-                                friendIds,
+                return renderFeedItems(userId, postRepository.findFeedIdsByCategory(
+                                getFriendIds(userId),
                                 category,
-                                createPageRequest(page, size));
+                                createPageRequest(page, size)));
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public NormalizedFeedResponseDto getNormalizedFeed(Long userId, int page, int size) {
+                logger.info("Fetching normalized feed for userId={} (page={}, size={})", userId, page, size);
+                return normalize(findFeedPosts(userId, page, size).getContent());
+        }
 
-                return mapEntityList(posts.getContent(), feedItemMapper::toResponseDto);
+        @Override
+        @Transactional(readOnly = true)
+        public NormalizedFeedResponseDto getNormalizedFeedBySeason(Long userId, String season, int page, int size) {
+                logger.info("Fetching normalized seasonal feed for userId={} (season={}, page={}, size={})",
+                                userId, season, page, size);
+                return normalize(findFeedPostsBySeason(userId, season, page, size).getContent());
         }
 
         @Override
         @Transactional(readOnly = true)
-        public Page<Post> getUserPosts(Long userId, Long viewerId, Pageable pageable) {
+        public NormalizedFeedResponseDto getNormalizedFeedByCategory(Long userId, String category, int page,
+                        int size) {
+                logger.info("Fetching normalized category feed for userId={} (category={}, page={}, size={})",
+                                userId, category, page, size);
+                return normalize(findFeedPostsByCategory(userId, category, page, size).getContent());
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public Page<PostResponseDto> getUserPosts(Long userId, Long viewerId, Pageable pageable) {
                 logger.info("Fetching user posts for userId={} viewed by userId={}", userId, viewerId);
 
                 validateUserPostParameters(userId, viewerId, pageable);
                 User user = validateAndGetUser(userId);
+                if (blockList.isBlocked(viewerId, userId)) {
+                        return Page.empty(pageable);
+                }
+                if (!userId.equals(viewerId)) {
+                        recordVisit(viewerId, userId);
+                }
 
                 List<Post.PostVisibility> visibility = determinePostVisibility(userId, viewerId);
 
-                return postRepository.findByProfileIdAndVisibilityInOrderByCreatedAtDesc(
-                                userId,
-                                visibility,
-                                pageable);
+                return postResponseAssembler.toResponseDtos(
+                                postRepository.findByProfileIdAndVisibilityInOrderByCreatedAtDesc(
+                                                userId,
+                                                visibility,
+                                                pageable));
+        }
+
+        private Page<Post> findFeedPosts(Long userId, int page, int size) {
+                validateFeedParameters(userId, page, size);
+
+                return postRepository.findByProfileIdInOrderByCreatedAtDesc(
+                                getFriendIds(userId),
+                                createPageRequest(page, size));
+        }
+
+        private Page<Post> findFeedPostsBySeason(Long userId, String season, int page, int size) {
+                validateFeedParameters(userId, page, size);
+                validationService.validateStringNotEmpty(season, "Season");
+
+                return postRepository.findByProfileIdInAndOutfitSeasonOrderByCreatedAtDesc(
+                                getFriendIds(userId),
+                                season,
+                                createPageRequest(page, size));
+        }
+
+        private Page<Post> findFeedPostsByCategory(Long userId, String category, int page, int size) {
+                validateFeedParameters(userId, page, size);
+                validationService.validateStringNotEmpty(category, "Category");
+
+                return postRepository.findByProfileIdInAndOutfitCategoryOrderByCreatedAtDesc(
+                                getFriendIds(userId),
+                                category,
+                                createPageRequest(page, size));
+        }
+
+        /**
+         * Returns the serialized feed entry of each post, in the given order. Entries are
+         * taken from the fragment cache where possible; the remaining posts and their latest
+         * comments are loaded with one query each, mapped, serialized and cached.
+         *
+         * <p>Cached entries hold comment previews by every user, so a viewer who blocked
+         * someone or was blocked gets entries built for them, without the previews of
+         * those users, and they are not cached.</p>
+         *
+         * <p>The eviction count of each missing post is read before it is loaded, so an entry
+         * built from rows read before a change to the post committed is not cached.</p>
+         */
+        private List<JsonFragment> renderFeedItems(Long viewerId, List<Long> postIds) {
+                boolean shared = blockList.blockedFor(viewerId).length == 0;
+                Map<Long, JsonFragment> fragments = new HashMap<>();
+                Map<Long, Long> evictionsBefore = new HashMap<>();
+                List<Long> missing = new ArrayList<>();
+                for (Long postId : postIds) {
+                        JsonFragment cached = shared ? fragmentCache.get(postId) : null;
+                        if (cached != null) {
+                                fragments.put(postId, cached);
+                        } else {
+                                missing.add(postId);
+                                if (shared) {
+                                        evictionsBefore.put(postId, fragmentCache.evictions(postId));
+                                }
+                        }
+                }
+
+                if (!missing.isEmpty()) {
+                        List<CommentRepository.CommentPreviewRow> rows = blockList.visibleTo(viewerId,
+                                        commentRepository.findLatestCommentsByPostIdIn(missing),
+                                        CommentRepository.CommentPreviewRow::getUserId);
+                        Map<Long, List<CommentPreviewDto>> latestComments = rows.stream()
+                                        .collect(Collectors.groupingBy(
+                                                        CommentRepository.CommentPreviewRow::getPostId,
+                                                        Collectors.mapping(commentMapper::toPreviewDto,
+                                                                        Collectors.toList())));
+                        for (Post post : postRepository.findAllWithAuthorAndOutfitByIdIn(missing)) {
+                                byte[] json = serialize(post, latestComments.getOrDefault(post.getId(), List.of()));
+                                fragments.put(post.getId(), shared
+                                                ? fragmentCache.put(post.getId(), json, evictionsBefore.get(post.getId()))
+                                                : JsonFragment.of(json));
+                        }
+                }
+
+                return postIds.stream()
+                                .map(fragments::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList());
         }
 
+        private byte[] serialize(Post post, List<CommentPreviewDto> latestComments) {
+                try {
+                        return objectMapper.writeValueAsBytes(feedItemMapper.toResponseDto(post, latestComments));
+                } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Failed to serialize feed item for post " + post.getId(), e);
+                }
+        }
+
+        /**
+         * Loads the item images of a page of posts with one query, then maps the page to the
+         * normalized shape.
+         */
+        private NormalizedFeedResponseDto normalize(List<Post> posts) {
+                if (posts.isEmpty()) {
+                        return feedItemMapper.toNormalizedResponse(posts, Map.of());
+                }
+
+                Set<Long> outfitIds = posts.stream().map(post -> post.getOutfit().getId()).collect(Collectors.toSet());
+
+                Map<Long, Set<String>> itemImages = outfitRepository.findItemRowsByOutfitIdIn(outfitIds).stream()
+                                .filter(row -> row.getImageUrl() != null)
+                                .collect(Collectors.groupingBy(
+                                                OutfitRepository.OutfitItemRow::getOutfitId,
+                                                Collectors.mapping(OutfitRepository.OutfitItemRow::getImageUrl,
+                                                                Collectors.toSet())));
+
+                return feedItemMapper.toNormalizedResponse(posts, itemImages);
+        }
+
+        /**
+         * Returns the authors whose posts make up the user's feed. Authors the user blocked
+         * or was blocked by are dropped here, before the feed query.
+         */
         private List<Long> getFriendIds(Long userId) {
-                List<Long> friendIds = friendService.getFriends(userId).stream()
+                List<FriendResponseDto> friends = blockList.visibleTo(
+                                userId, friendService.getFriends(userId), FriendResponseDto::getUserId);
+                List<Long> friendIds = friends.stream()
                                 .map(FriendResponseDto::getUserId)
                                 .collect(Collectors.toList());
                 friendIds.add(userId); // Include user's own posts
                 return friendIds;
         }
 
+        /**
+         * Publishes a visit between the profiles of the two users, since interactions are
+         * kept by profile. Nothing is published if either user has no profile.
+         */
+        private void recordVisit(Long viewerId, Long userId) {
+                Map<Long, Long> profileIds = profileIdsOf(List.of(viewerId, userId));
+                Long viewerProfileId = profileIds.get(viewerId);
+                Long authorProfileId = profileIds.get(userId);
+                if (viewerProfileId != null && authorProfileId != null) {
+                        eventPublisher.publishEvent(
+                                        new InteractionEvent(viewerProfileId, authorProfileId, Interaction.VISIT));
+                }
+        }
+
+        /**
+         * @return the profile ID of each of the users that has a profile, keyed by user ID
+         */
+        private Map<Long, Long> profileIdsOf(List<Long> userIds) {
+                return profileRepository.findIdsByUserIdIn(userIds).stream()
+                                .collect(Collectors.toMap(ProfileUserRow::getUserId, ProfileUserRow::getId));
+        }
+
+        private List<Long> findLatestFeedIds(List<Long> authorIds) {
+                return postRepository.findFeedIds(authorIds, PageRequest.of(0, seenPostTracker.getWindow()));
+        }
+
+        private List<Long> slice(List<Long> postIds, int page, int size) {
+                Pageable pageable = createPageRequest(page, size);
+                int from = (int) Math.min(pageable.getOffset(), postIds.size());
+                int to = Math.min(from + pageable.getPageSize(), postIds.size());
+                return postIds.subList(from, to);
+        }
+
         private void validateFeedParameters(Long userId, int page, int size) {
                 validationService.validateNotNull(userId, "User ID");
                 validationService.validatePositive((long) page, "Page number");
@@ -0,0 +1,155 @@
+package com.yalice.wardrobe_social_app.services.social;
+
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+import com.yalice.wardrobe_social_app.entities.Follow;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
+import com.yalice.wardrobe_social_app.mappers.FollowMapper;
+import com.yalice.wardrobe_social_app.repositories.FollowRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps the follower graph in the {@code follows} table, with one row per follower and
+ * followed profile. The follower and following counts of a profile are denormalized onto
+ * the profile row and adjusted in the same transaction as the follow.
+ */
+@Service
+public class FollowServiceImpl extends BaseService<Follow, Long> implements FollowService {
+
+    private final FollowRepository followRepository;
+    private final ProfileRepository profileRepository;
+    private final FollowMapper followMapper;
+    private final BlockList blockList;
+
+    static final int MAX_FOLLOW_PAGE_SIZE = 100;
+
+    public FollowServiceImpl(
+            FollowRepository followRepository,
+            ProfileRepository profileRepository,
+            FollowMapper followMapper,
+            BlockList blockList) {
+        this.followRepository = followRepository;
+        this.profileRepository = profileRepository;
+        this.followMapper = followMapper;
+        this.blockList = blockList;
+    }
+
+    @Override
+    protected JpaRepository<Follow, Long> getRepository() {
+        return followRepository;
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "Follow";
+    }
+
+    /**
+     * The insert skips follows that already exist, so two concurrent follows of the same
+     * profile add one row and count once. The users behind both profiles are read in the
+     * same query that checks the followed profile exists, for the block check.
+     */
+    @Override
+    @Transactional
+    public boolean follow(Long followerId, Long profileId) {
+        validateFollowIds(followerId, profileId);
+        List<ProfileUserRow> profiles = profileRepository.findUserIdsByIdIn(List.of(followerId, profileId));
+        validationService.validateExists(profiles.stream().anyMatch(row -> row.getId().equals(profileId)),
+                "Profile not found with ID: " + profileId);
+        if (profiles.size() == 2 && blockList.isBlocked(profiles.get(0).getUserId(), profiles.get(1).getUserId())) {
+            throw new ForbiddenActionException("Cannot follow this profile");
+        }
+
+        boolean added = followRepository.insertIfAbsent(followerId, profileId) > 0;
+        if (added) {
+            profileRepository.adjustFollowCounts(followerId, profileId, 1);
+            logger.info("Profile ID: {} followed profile ID: {}", followerId, profileId);
+        }
+        return added;
+    }
+
+    @Override
+    @Transactional
+    public boolean unfollow(Long followerId, Long profileId) {
+        validateFollowIds(followerId, profileId);
+
+        boolean removed = followRepository.deleteByFollowerIdAndFollowedId(followerId, profileId) > 0;
+        if (removed) {
+            profileRepository.adjustFollowCounts(followerId, profileId, -1);
+            logger.info("Profile ID: {} unfollowed profile ID: {}", followerId, profileId);
+        }
+        return removed;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<FollowResponseDto> getFollowers(Long profileId, Long cursor, int size) {
+        validatePageRequest(profileId, size);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Follow> follows = cursor == null
+                ? followRepository.findByFollowedIdOrderByIdDesc(profileId, limit)
+                : followRepository.findByFollowedIdAndIdLessThanOrderByIdDesc(profileId, cursor, limit);
+        return toCursorPage(follows, size, Follow::getFollower);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<FollowResponseDto> getFollowing(Long profileId, Long cursor, int size) {
+        validatePageRequest(profileId, size);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Follow> follows = cursor == null
+                ? followRepository.findByFollowerIdOrderByIdDesc(profileId, limit)
+                : followRepository.findByFollowerIdAndIdLessThanOrderByIdDesc(profileId, cursor, limit);
+        return toCursorPage(follows, size, Follow::getFollowed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getFollowingIds(Long profileId) {
+        validationService.validateNotNull(profileId, "Profile ID");
+        return followRepository.findFollowedIds(profileId);
+    }
+
+    private CursorPageResponseDto<FollowResponseDto> toCursorPage(List<Follow> follows, int size,
+                                                                  Function<Follow, Profile> otherSide) {
+        boolean hasMore = follows.size() > size;
+        List<Follow> page = hasMore ? follows.subList(0, size) : follows;
+
+        return CursorPageResponseDto.<FollowResponseDto>builder()
+                .content(page.stream().map(follow -> followMapper.toResponseDto(follow, otherSide.apply(follow))).toList())
+                .pageSize(size)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void validateFollowIds(Long followerId, Long profileId) {
+        validationService.validateNotNull(followerId, "Follower ID");
+        validationService.validateNotNull(profileId, "Profile ID");
+        if (followerId.equals(profileId)) {
+            throw new IllegalArgumentException("A profile cannot follow itself");
+        }
+    }
+
+    private void validatePageRequest(Long profileId, int size) {
+        validationService.validateNotNull(profileId, "Profile ID");
+        validationService.validatePageSize(size, MAX_FOLLOW_PAGE_SIZE);
+        validationService.validateExists(profileRepository.existsById(profileId),
+                "Profile not found with ID: " + profileId);
+    }
+}
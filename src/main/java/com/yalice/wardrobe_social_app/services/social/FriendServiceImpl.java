@@ -2,19 +2,40 @@ package com.yalice.wardrobe_social_app.services.social;
 
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendSuggestionDto;
 import com.yalice.wardrobe_social_app.entities.Friendship;
 import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.events.FriendshipAcceptedEvent;
+import com.yalice.wardrobe_social_app.events.UserBlockChangedEvent;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
 import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
 import com.yalice.wardrobe_social_app.mappers.FriendMapper;
 import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendPair;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendshipRow;
+import com.yalice.wardrobe_social_app.repositories.UserRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph.Candidate;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph.Ranking;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class FriendServiceImpl extends BaseService<Friendship, Long> implements FriendService {
@@ -22,14 +43,34 @@ public class FriendServiceImpl extends BaseService<Friendship, Long> implements
     private final FriendRepository friendRepository;
     private final UserSearchService userSearchService;
     private final FriendMapper friendMapper;
+    private final UserRepository userRepository;
+    private final FriendGraph friendGraph;
+    private final BlockList blockList;
+    private final FollowService followService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static final int MAX_SUGGESTIONS = 100;
+
+    private static final List<FriendshipStatus> NOT_SUGGESTED =
+            List.of(FriendshipStatus.PENDING, FriendshipStatus.REJECTED, FriendshipStatus.BLOCKED);
 
     public FriendServiceImpl(
             FriendRepository friendRepository,
             UserSearchService userSearchService,
-            FriendMapper friendMapper) {
+            FriendMapper friendMapper,
+            UserRepository userRepository,
+            FriendGraph friendGraph,
+            BlockList blockList,
+            FollowService followService,
+            ApplicationEventPublisher eventPublisher) {
         this.friendRepository = friendRepository;
         this.userSearchService = userSearchService;
         this.friendMapper = friendMapper;
+        this.userRepository = userRepository;
+        this.friendGraph = friendGraph;
+        this.blockList = blockList;
+        this.followService = followService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -50,6 +91,7 @@ public class FriendServiceImpl extends BaseService<Friendship, Long> implements
         validationService.validateNotNull(senderId, "Sender ID");
         validationService.validateNotNull(recipientId, "Recipient ID");
         validateSelfFriendRequest(senderId, recipientId);
+        validateNotBlocked(senderId, recipientId);
 
         validationService.validateExists(!friendRepository.existsBySenderIdAndRecipientId(senderId, recipientId),
                 "Friend request already exists");
@@ -81,7 +123,10 @@ public class FriendServiceImpl extends BaseService<Friendship, Long> implements
         validateFriendRequestRecipient(userId, friendship);
 
         friendship.setStatus(FriendshipStatus.ACCEPTED);
-        return mapEntity(save(friendship), friendMapper::toResponseDto);
+        FriendResponseDto accepted = mapEntity(save(friendship), friendMapper::toResponseDto);
+        eventPublisher.publishEvent(
+                new FriendshipAcceptedEvent(friendship.getSender().getId(), friendship.getRecipient().getId()));
+        return accepted;
     }
 
     @Override
@@ -121,6 +166,25 @@ public class FriendServiceImpl extends BaseService<Friendship, Long> implements
                 friendMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<FriendResponseDto>> getFriendsByUserIds(List<Long> userIds) {
+        logger.info("Getting friends for batch of {} users", userIds == null ? 0 : userIds.size());
+        validationService.validateBatchIds(userIds, MAX_BATCH_SIZE);
+
+        Map<Long, List<FriendResponseDto>> friendsByUser = new LinkedHashMap<>();
+        userIds.forEach(userId -> friendsByUser.put(userId, new ArrayList<>()));
+        for (FriendshipRow friendship : friendRepository.findRowsByUserIdInAndStatus(userIds, FriendshipStatus.ACCEPTED)) {
+            for (Long userId : List.of(friendship.getSenderId(), friendship.getRecipientId())) {
+                List<FriendResponseDto> friends = friendsByUser.get(userId);
+                if (friends != null) {
+                    friends.add(friendMapper.toResponseDto(friendship, userId));
+                }
+            }
+        }
+        return friendsByUser;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean areFriends(Long userId1, Long userId2) {
@@ -134,11 +198,120 @@ public class FriendServiceImpl extends BaseService<Friendship, Long> implements
                 .orElse(false);
     }
 
+    /**
+     * Replaces whatever linked the two users with one BLOCKED row sent by the blocker. A
+     * block the other user placed is kept, so either can lift only their own.
+     */
+    @Override
+    @Transactional
+    public void blockUser(Long userId, Long blockedUserId) {
+        logger.info("User {} blocking user {}", userId, blockedUserId);
+
+        validationService.validateNotNull(userId, "User ID");
+        validationService.validateNotNull(blockedUserId, "Blocked user ID");
+        if (userId.equals(blockedUserId)) {
+            throw new IllegalArgumentException("Cannot block yourself");
+        }
+        if (friendRepository.existsBySenderIdAndRecipientIdAndStatus(userId, blockedUserId, FriendshipStatus.BLOCKED)) {
+            return;
+        }
+
+        User user = userSearchService.getUserEntityById(userId);
+        User blocked = userSearchService.getUserEntityById(blockedUserId);
+        friendRepository.deleteBetweenUsersExceptStatus(userId, blockedUserId, FriendshipStatus.BLOCKED);
+        save(Friendship.builder()
+                .sender(user)
+                .recipient(blocked)
+                .status(FriendshipStatus.BLOCKED)
+                .build());
+
+        if (user.getProfile() != null && blocked.getProfile() != null) {
+            followService.unfollow(user.getProfile().getId(), blocked.getProfile().getId());
+            followService.unfollow(blocked.getProfile().getId(), user.getProfile().getId());
+        }
+        eventPublisher.publishEvent(new UserBlockChangedEvent(userId, blockedUserId));
+    }
+
+    @Override
+    @Transactional
+    public void unblockUser(Long userId, Long blockedUserId) {
+        logger.info("User {} unblocking user {}", userId, blockedUserId);
+
+        validationService.validateNotNull(userId, "User ID");
+        validationService.validateNotNull(blockedUserId, "Blocked user ID");
+
+        if (friendRepository.deleteBySenderIdAndRecipientIdAndStatus(
+                userId, blockedUserId, FriendshipStatus.BLOCKED) > 0) {
+            eventPublisher.publishEvent(new UserBlockChangedEvent(userId, blockedUserId));
+        }
+    }
+
+    /**
+     * Ranks friends of friends from the cached friend graph, then loads only the users on
+     * the requested page. Ranking needs the friend lists of the user's friends, which the
+     * graph loads in batches for whichever of them are not cached.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FriendSuggestionDto> getFriendSuggestions(Long userId, int page, int size) {
+        logger.info("Getting friend suggestions for user {}", userId);
+
+        validationService.validateNotNull(userId, "User ID");
+        validationService.validatePageSize(size, MAX_SUGGESTIONS);
+
+        PageRequest pageable = PageRequest.of(page, size);
+        long from = pageable.getOffset();
+        if (from >= MAX_SUGGESTIONS) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        long[] friends = friendGraph.friendsOf(userId);
+        List<Long> friendIds = Arrays.stream(friends).boxed().toList();
+        Ranking ranking = FriendGraph.rankByMutualFriends(userId, friends,
+                friendGraph.friendsOf(friendIds).values(), notSuggested(userId),
+                (int) Math.min(from + size, MAX_SUGGESTIONS));
+
+        List<Candidate> onPage = ranking.top().subList((int) Math.min(from, ranking.top().size()), ranking.top().size());
+        Map<Long, String> usernames = new HashMap<>();
+        userRepository.findAllById(onPage.stream().map(Candidate::userId).toList())
+                .forEach(user -> usernames.put(user.getId(), user.getUsername()));
+
+        List<FriendSuggestionDto> suggestions = onPage.stream()
+                .filter(candidate -> usernames.containsKey(candidate.userId()))
+                .map(candidate -> FriendSuggestionDto.builder()
+                        .userId(candidate.userId())
+                        .username(usernames.get(candidate.userId()))
+                        .mutualFriends(candidate.mutualFriends())
+                        .build())
+                .toList();
+        return new PageImpl<>(suggestions, pageable, Math.min(ranking.candidates(), MAX_SUGGESTIONS));
+    }
+
+    /**
+     * @return the sorted IDs of users with an open or refused request to or from the user
+     */
+    private long[] notSuggested(Long userId) {
+        List<FriendPair> pairs = friendRepository.findPairsByUserIdInAndStatusIn(List.of(userId), NOT_SUGGESTED);
+        long[] ids = new long[pairs.size()];
+        for (int i = 0; i < ids.length; i++) {
+            FriendPair pair = pairs.get(i);
+            ids[i] = userId.equals(pair.getSenderId()) ? pair.getRecipientId() : pair.getSenderId();
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
     private void validateSelfFriendRequest(Long senderId, Long recipientId) {
         validationService.validateExists(!senderId.equals(recipientId),
                 "Cannot send friend request to yourself");
     }
 
+    private void validateNotBlocked(Long senderId, Long recipientId) {
+        if (blockList.isBlocked(senderId, recipientId)) {
+            throw new ForbiddenActionException("Cannot send friend request to this user");
+        }
+    }
+
     private void validateFriendRequestRecipient(Long userId, Friendship friendship) {
         validationService.validateExists(
                 friendship.getRecipient().getId().equals(userId) &&
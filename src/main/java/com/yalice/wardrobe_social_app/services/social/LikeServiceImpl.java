@@ -0,0 +1,143 @@
+package com.yalice.wardrobe_social_app.services.social;
+
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
+import com.yalice.wardrobe_social_app.entities.Like;
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
+import com.yalice.wardrobe_social_app.mappers.LikeMapper;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the likes of posts in the {@code likes} table, with one row per post and
+ * profile. The like count shown on a post is the denormalized {@code Post.likeCount},
+ * which is adjusted in the same transaction as the row.
+ */
+@Service
+public class LikeServiceImpl extends BaseService<Like, Long> implements LikeService {
+
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+    private final ProfileRepository profileRepository;
+    private final LikeMapper likeMapper;
+    private final BlockList blockList;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LikeServiceImpl(
+            LikeRepository likeRepository,
+            PostRepository postRepository,
+            ProfileRepository profileRepository,
+            LikeMapper likeMapper,
+            BlockList blockList,
+            ApplicationEventPublisher eventPublisher) {
+        this.likeRepository = likeRepository;
+        this.postRepository = postRepository;
+        this.profileRepository = profileRepository;
+        this.likeMapper = likeMapper;
+        this.blockList = blockList;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    protected JpaRepository<Like, Long> getRepository() {
+        return likeRepository;
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "Like";
+    }
+
+    /**
+     * Removes the like if there is one, and adds it otherwise. The insert skips rows that
+     * already exist, so two concurrent likes by the same profile add one row and count once.
+     * Removing a like is always allowed; adding one is refused between blocked users.
+     */
+    @Override
+    @Transactional
+    public boolean toggleLike(Long postId, Long profileId) {
+        validationService.validateNotNull(postId, "Post ID");
+        validationService.validateNotNull(profileId, "Profile ID");
+        Long authorId = postRepository.findProfileIdById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with ID: " + postId));
+
+        boolean liked;
+        if (likeRepository.deleteByPostIdAndProfileId(postId, profileId) > 0) {
+            postRepository.adjustLikeCount(postId, -1);
+            liked = false;
+        } else {
+            validateNotBlocked(profileId, authorId);
+            if (likeRepository.insertIfAbsent(postId, profileId) > 0) {
+                postRepository.adjustLikeCount(postId, 1);
+                eventPublisher.publishEvent(new InteractionEvent(profileId, authorId, Interaction.LIKE));
+            }
+            liked = true;
+        }
+
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+        logger.info("Post ID: {} {} by profile ID: {}", postId, liked ? "liked" : "unliked", profileId);
+        return liked;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BitSet likedBy(Long profileId, List<Long> postIds) {
+        validationService.validateNotNull(profileId, "Profile ID");
+        validationService.validateBatchIds(postIds, MAX_BATCH_SIZE);
+
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedPostIds(profileId, new HashSet<>(postIds)));
+        BitSet bits = new BitSet(postIds.size());
+        for (int i = 0; i < postIds.size(); i++) {
+            if (liked.contains(postIds.get(i))) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<LikeResponseDto> getLikes(Long postId, Long viewerUserId, Pageable pageable) {
+        validationService.validateNotNull(postId, "Post ID");
+        validationService.validateNotNull(viewerUserId, "Viewer ID");
+        validationService.validatePageSize(pageable.getPageSize(), MAX_BATCH_SIZE);
+        Page<LikeResponseDto> page = likeRepository.findByPostIdOrderByCreatedAtDescIdDesc(postId, pageable)
+                .map(likeMapper::toResponseDto);
+        List<LikeResponseDto> visible = blockList.visibleTo(viewerUserId, page.getContent(), LikeResponseDto::getUserId);
+        return visible == page.getContent() ? page : new PageImpl<>(visible, page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * A user may not like a post by a user they blocked or were blocked by. The users
+     * behind both profiles are read in one query.
+     */
+    private void validateNotBlocked(Long profileId, Long authorId) {
+        if (profileId.equals(authorId)) {
+            return;
+        }
+        List<ProfileUserRow> profiles = profileRepository.findUserIdsByIdIn(List.of(profileId, authorId));
+        if (profiles.size() == 2 && blockList.isBlocked(profiles.get(0).getUserId(), profiles.get(1).getUserId())) {
+            throw new ForbiddenActionException("Cannot like this post");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.yalice.wardrobe_social_app.services.user;
+
+import com.yalice.wardrobe_social_app.entities.AccountDeletion;
+import com.yalice.wardrobe_social_app.entities.ImageCleanupTask;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.exceptions.ImageProcessingException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.AccountDeletionService;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.jobs.JobPartition;
+import com.yalice.wardrobe_social_app.repositories.AccountDeletionRepository;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.FollowRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.ImageCleanupTaskRepository;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.SeenPostsRepository;
+import com.yalice.wardrobe_social_app.repositories.UserRepository;
+import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.SeenPostTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Deletes accounts in the background.
+ *
+ * <p>A deletion request only disables the user and records an {@link AccountDeletion}.
+ * A scheduled job then removes the account's rows one stage at a time, each batch in
+ * its own short transaction using bulk deletes by ID. The job's stage and progress are
+ * saved in the same transaction as each batch, so a purge interrupted by a crash or
+ * restart resumes at the batch it was on. Image URLs of deleted rows are queued as
+ * {@link ImageCleanupTask}s in that transaction too, and the files are removed by a
+ * separate scheduled job, which backs off exponentially between retries of a file it
+ * could not remove. Both jobs run as partitioned cluster jobs, so each purge and
+ * each file is handled by one node at a time.</p>
+ */
+@Service
+public class AccountDeletionServiceImpl extends BaseService<AccountDeletion, Long> implements AccountDeletionService {
+
+    private static final List<AccountDeletion.Status> ACTIVE_STATUSES =
+            List.of(AccountDeletion.Status.PENDING, AccountDeletion.Status.IN_PROGRESS);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AccountDeletionRepository accountDeletionRepository;
+    private final ImageCleanupTaskRepository imageCleanupTaskRepository;
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final OutfitRepository outfitRepository;
+    private final ItemRepository itemRepository;
+    private final WardrobeRepository wardrobeRepository;
+    private final FriendRepository friendRepository;
+    private final FollowRepository followRepository;
+    private final SeenPostsRepository seenPostsRepository;
+    private final SeenPostTracker seenPostTracker;
+    private final ImageService imageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public AccountDeletionServiceImpl(
+            AccountDeletionRepository accountDeletionRepository,
+            ImageCleanupTaskRepository imageCleanupTaskRepository,
+            UserRepository userRepository,
+            ProfileRepository profileRepository,
+            LikeRepository likeRepository,
+            CommentRepository commentRepository,
+            PostRepository postRepository,
+            OutfitRepository outfitRepository,
+            ItemRepository itemRepository,
+            WardrobeRepository wardrobeRepository,
+            FriendRepository friendRepository,
+            FollowRepository followRepository,
+            SeenPostsRepository seenPostsRepository,
+            SeenPostTracker seenPostTracker,
+            ImageService imageService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.account-deletion.batch-size:500}") int batchSize,
+            @Value("${app.account-deletion.max-attempts:5}") int maxAttempts,
+            @Value("${app.account-deletion.retry-backoff-ms:60000}") long retryBackoffMs) {
+        this.accountDeletionRepository = accountDeletionRepository;
+        this.imageCleanupTaskRepository = imageCleanupTaskRepository;
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.outfitRepository = outfitRepository;
+        this.itemRepository = itemRepository;
+        this.wardrobeRepository = wardrobeRepository;
+        this.friendRepository = friendRepository;
+        this.followRepository = followRepository;
+        this.seenPostsRepository = seenPostsRepository;
+        this.seenPostTracker = seenPostTracker;
+        this.imageService = imageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+    }
+
+    @Override
+    protected JpaRepository<AccountDeletion, Long> getRepository() {
+        return accountDeletionRepository;
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "Account deletion";
+    }
+
+    @Override
+    @Transactional
+    public void requestDeletion(Long userId) {
+        logger.info("Requesting deletion of user with ID: {}", userId);
+        validationService.validateNotNull(userId, "User ID");
+
+        if (accountDeletionRepository.findByUserId(userId).isPresent()) {
+            logger.info("Deletion of user with ID: {} is already scheduled", userId);
+            return;
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        user.setDisabledAt(LocalDateTime.now());
+        userRepository.save(user);
+
+        Long profileId = profileRepository.findByUserId(userId).map(Profile::getId).orElse(null);
+        accountDeletionRepository.save(AccountDeletion.builder()
+                .userId(userId)
+                .profileId(profileId)
+                .build());
+
+        logger.info("Disabled user with ID: {} and scheduled its data for removal", userId);
+    }
+
+    @Override
+    public void processPendingDeletions(JobPartition partition) {
+        for (AccountDeletion deletion : accountDeletionRepository.findPartitionByStatusIn(
+                ACTIVE_STATUSES, partition.index(), partition.count())) {
+            runDeletion(deletion);
+        }
+    }
+
+    @Override
+    public void processImageCleanup(JobPartition partition) {
+        Pageable batch = PageRequest.of(0, batchSize);
+        LocalDateTime now = LocalDateTime.now();
+        List<ImageCleanupTask> tasks;
+        do {
+            // Removed tasks are deleted and failed ones rescheduled past now, so each pass sees new tasks
+            tasks = imageCleanupTaskRepository.findDuePartition(partition.index(), partition.count(), now, batch);
+            for (ImageCleanupTask task : tasks) {
+                removeImage(task);
+            }
+        } while (tasks.size() == batchSize);
+    }
+
+    /**
+     * Purges the account batch by batch until it is gone. Once the last stage, which
+     * deletes the stored seen posts, has committed, the user's cached set is dropped too,
+     * so that a later flush of the tracker does not recreate the row.
+     */
+    private void runDeletion(AccountDeletion deletion) {
+        Long deletionId = deletion.getId();
+        try {
+            boolean finished;
+            do {
+                finished = Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeNextBatch(deletionId)));
+            } while (!finished);
+            seenPostTracker.forget(deletion.getUserId());
+        } catch (RuntimeException e) {
+            logger.error("Purge of account deletion {} failed", deletionId, e);
+            transactionTemplate.executeWithoutResult(status -> recordFailure(deletionId, e));
+        }
+    }
+
+    /**
+     * Removes the next batch of the current stage and saves the job's progress in the same
+     * transaction. A batched stage is complete once a batch comes back smaller than the
+     * batch size.
+     *
+     * @return true once the whole account has been removed
+     */
+    private boolean purgeNextBatch(Long deletionId) {
+        AccountDeletion deletion = findById(deletionId);
+        int deleted = deleteBatch(deletion);
+
+        deletion.setStatus(AccountDeletion.Status.IN_PROGRESS);
+        deletion.setDeletedRows(deletion.getDeletedRows() + deleted);
+        if (!deletion.getStage().isBatched() || deleted < batchSize) {
+            AccountDeletion.Stage next = deletion.getStage().next();
+            if (next == null) {
+                deletion.setStatus(AccountDeletion.Status.COMPLETED);
+                deletion.setCompletedAt(LocalDateTime.now());
+                logger.info("Finished deleting user with ID: {} ({} rows removed)",
+                        deletion.getUserId(), deletion.getDeletedRows());
+            } else {
+                deletion.setStage(next);
+            }
+        }
+        save(deletion);
+        return deletion.getStatus() == AccountDeletion.Status.COMPLETED;
+    }
+
+    private int deleteBatch(AccountDeletion deletion) {
+        Long userId = deletion.getUserId();
+        Long profileId = deletion.getProfileId();
+        Pageable batch = PageRequest.of(0, batchSize);
+
+        if (profileId == null && deletion.getStage().compareTo(AccountDeletion.Stage.FRIENDSHIPS) < 0) {
+            return 0;
+        }
+
+        switch (deletion.getStage()) {
+            case LIKES -> {
+                List<Long> ids = likeRepository.findIdsByProfileOrPostOwner(profileId, batch);
+                if (!ids.isEmpty()) {
+                    postRepository.decrementLikeCountsForLikes(ids);
+                    likeRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case COMMENTS -> {
+                List<Long> ids = commentRepository.findIdsByProfileOrPostOwner(profileId, batch);
+                if (!ids.isEmpty()) {
+                    postRepository.decrementCommentCountsForComments(ids);
+                    commentRepository.decrementReplyCountsForReplies(ids);
+                    commentRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case POSTS -> {
+                List<Long> ids = postRepository.findIdsByProfileId(profileId, batch);
+                if (!ids.isEmpty()) {
+                    enqueueImageCleanup(postRepository.findFeatureImagesByIdIn(ids));
+                    postRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case OUTFITS -> {
+                List<Long> ids = outfitRepository.findIdsByProfileId(profileId, batch);
+                if (!ids.isEmpty()) {
+                    enqueueImageCleanup(outfitRepository.findImageUrlsByIdIn(ids));
+                    outfitRepository.deleteItemLinksByOutfitIds(ids);
+                    outfitRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case ITEMS -> {
+                List<Long> ids = itemRepository.findIdsByProfileId(profileId, batch);
+                if (!ids.isEmpty()) {
+                    enqueueImageCleanup(itemRepository.findImageUrlsByIdIn(ids));
+                    outfitRepository.deleteItemLinksByItemIds(ids);
+                    itemRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case WARDROBES -> {
+                List<Long> ids = wardrobeRepository.findIdsByProfileId(profileId, batch);
+                wardrobeRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            }
+            case CONNECTIONS -> {
+                List<Long> ids = followRepository.findIdsByProfileId(profileId, batch);
+                if (!ids.isEmpty()) {
+                    profileRepository.decrementFollowerCountsForFollows(ids);
+                    profileRepository.decrementFollowingCountsForFollows(ids);
+                    followRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            }
+            case FRIENDSHIPS -> {
+                List<Long> ids = friendRepository.findIdsByUserId(userId, batch);
+                friendRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            }
+            case PROFILE -> {
+                if (profileId == null) {
+                    return 0;
+                }
+                profileRepository.findById(profileId)
+                        .map(Profile::getProfileImageUrl)
+                        .ifPresent(imageUrl -> enqueueImageCleanup(List.of(imageUrl)));
+                profileRepository.deleteAllByIdInBatch(List.of(profileId));
+                return 1;
+            }
+            case USER -> {
+                seenPostsRepository.deleteAllByIdInBatch(List.of(userId));
+                userRepository.deleteAllByIdInBatch(List.of(userId));
+                return 1;
+            }
+            default -> throw new IllegalStateException("Unknown deletion stage: " + deletion.getStage());
+        }
+    }
+
+    private void enqueueImageCleanup(Collection<String> imageUrls) {
+        imageCleanupTaskRepository.saveAll(imageUrls.stream()
+                .filter(imageUrl -> !imageUrl.isEmpty())
+                .map(imageUrl -> ImageCleanupTask.builder().imageUrl(imageUrl).build())
+                .toList());
+    }
+
+    private void removeImage(ImageCleanupTask task) {
+        try {
+            imageService.deleteImage(task.getImageUrl());
+            imageCleanupTaskRepository.delete(task);
+        } catch (ImageProcessingException e) {
+            task.setAttempts(task.getAttempts() + 1);
+            if (task.getAttempts() >= maxAttempts) {
+                logger.error("Giving up on removing image {} after {} attempts", task.getImageUrl(), task.getAttempts());
+                imageCleanupTaskRepository.delete(task);
+            } else {
+                task.setNextAttemptAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << Math.min(task.getAttempts() - 1, 20))));
+                imageCleanupTaskRepository.save(task);
+            }
+        }
+    }
+
+    private void recordFailure(Long deletionId, RuntimeException e) {
+        AccountDeletion deletion = findById(deletionId);
+        deletion.setAttempts(deletion.getAttempts() + 1);
+        String message = String.valueOf(e.getMessage());
+        deletion.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (deletion.getAttempts() >= maxAttempts) {
+            deletion.setStatus(AccountDeletion.Status.FAILED);
+            logger.error("Giving up on deleting user with ID: {} after {} attempts",
+                    deletion.getUserId(), deletion.getAttempts());
+        }
+        save(deletion);
+    }
+}
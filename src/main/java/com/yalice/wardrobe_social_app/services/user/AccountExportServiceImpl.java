@@ -0,0 +1,300 @@
+package com.yalice.wardrobe_social_app.services.user;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.AccountExportService;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.mappers.CommentMapper;
+import com.yalice.wardrobe_social_app.mappers.ItemMapper;
+import com.yalice.wardrobe_social_app.mappers.OutfitMapper;
+import com.yalice.wardrobe_social_app.mappers.PostMapper;
+import com.yalice.wardrobe_social_app.mappers.ProfileMapper;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a user's account data to a zip archive.
+ *
+ * <p>Each kind of entity is read through a forward-only repository stream and written
+ * to its own JSON entry one element at a time, and image files are copied straight from
+ * storage into the archive. The persistence context is cleared every
+ * {@value #CLEAR_INTERVAL} rows, so neither the object graph nor the archive is ever
+ * held in memory as a whole.</p>
+ *
+ * <p>An image that cannot be read from storage does not abort the export: it is left out
+ * of the archive and listed, with the reason, in {@code manifest.json}, which is written
+ * last. An image that failed part-way through is kept as far as it was copied and listed
+ * too. Only a failure to write to the client stops the export.</p>
+ */
+@Service
+public class AccountExportServiceImpl extends BaseService<Profile, Long> implements AccountExportService {
+
+    private static final int CLEAR_INTERVAL = 100;
+    private static final String IMAGE_URL_PREFIX = "/api/images/";
+
+    private final ProfileRepository profileRepository;
+    private final ItemRepository itemRepository;
+    private final OutfitRepository outfitRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ImageService imageService;
+    private final ProfileMapper profileMapper;
+    private final ItemMapper itemMapper;
+    private final OutfitMapper outfitMapper;
+    private final PostMapper postMapper;
+    private final CommentMapper commentMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AccountExportServiceImpl(
+            ProfileRepository profileRepository,
+            ItemRepository itemRepository,
+            OutfitRepository outfitRepository,
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            ImageService imageService,
+            ProfileMapper profileMapper,
+            ItemMapper itemMapper,
+            OutfitMapper outfitMapper,
+            PostMapper postMapper,
+            CommentMapper commentMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.itemRepository = itemRepository;
+        this.outfitRepository = outfitRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.imageService = imageService;
+        this.profileMapper = profileMapper;
+        this.itemMapper = itemMapper;
+        this.outfitMapper = outfitMapper;
+        this.postMapper = postMapper;
+        this.commentMapper = commentMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    protected JpaRepository<Profile, Long> getRepository() {
+        return profileRepository;
+    }
+
+    @Override
+    protected String getEntityName() {
+        return "Profile";
+    }
+
+    @Override
+    public StreamingResponseBody exportAccount(Long userId) {
+        logger.info("Preparing account export for user ID: {}", userId);
+        validationService.validateNotNull(userId, "User ID");
+
+        Long profileId = profileRepository.findByUserId(userId)
+                .map(Profile::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile not found for user ID: " + userId));
+
+        return out -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeArchive(profileId, out));
+                logger.info("Finished account export for user ID: {}", userId);
+            } catch (UncheckedIOException e) {
+                logger.warn("Account export for user ID: {} was interrupted: {}", userId, e.getMessage());
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void writeArchive(Long profileId, OutputStream out) {
+        try {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            Profile profile = findById(profileId);
+            String profileImageUrl = profile.getProfileImageUrl();
+
+            zip.putNextEntry(new ZipEntry("profile.json"));
+            try (JsonGenerator generator = createGenerator(zip)) {
+                generator.writeObject(profileMapper.toResponseDto(profile));
+            }
+            zip.closeEntry();
+
+            writeJsonArray(zip, "items.json", itemRepository.streamByProfileId(profileId),
+                    itemMapper::toResponseDto);
+            writeJsonArray(zip, "outfits.json", outfitRepository.streamByProfileId(profileId),
+                    outfitMapper::toResponseDto);
+            writeJsonArray(zip, "posts.json", postRepository.streamByProfileId(profileId),
+                    postMapper::toExportDto);
+            writeJsonArray(zip, "comments.json", commentRepository.streamByProfileId(profileId),
+                    commentMapper::toResponseDto);
+
+            Set<String> imageEntries = new HashSet<>();
+            List<SkippedImage> skippedImages = new ArrayList<>();
+            writeImage(zip, profileImageUrl, imageEntries, skippedImages);
+            writeImages(zip, itemRepository.streamImageUrlsByProfileId(profileId), imageEntries, skippedImages);
+            writeImages(zip, outfitRepository.streamImageUrlsByProfileId(profileId), imageEntries, skippedImages);
+            writeImages(zip, postRepository.streamFeatureImagesByProfileId(profileId), imageEntries, skippedImages);
+
+            zip.putNextEntry(new ZipEntry("manifest.json"));
+            try (JsonGenerator generator = createGenerator(zip)) {
+                generator.writeObject(new Manifest(skippedImages));
+            }
+            zip.closeEntry();
+
+            zip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T, R> void writeJsonArray(ZipOutputStream zip, String entryName, Stream<T> entities,
+                                       Function<T, R> mapper) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName));
+        try (Stream<T> stream = entities; JsonGenerator generator = createGenerator(zip)) {
+            generator.writeStartArray();
+            int count = 0;
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(mapper.apply(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.writeEndArray();
+        }
+        entityManager.clear();
+        zip.closeEntry();
+    }
+
+    private void writeImages(ZipOutputStream zip, Stream<String> imageUrls, Set<String> imageEntries,
+                             List<SkippedImage> skippedImages) throws IOException {
+        try (Stream<String> stream = imageUrls) {
+            Iterator<String> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeImage(zip, iterator.next(), imageEntries, skippedImages);
+            }
+        }
+    }
+
+    private void writeImage(ZipOutputStream zip, String imageUrl, Set<String> imageEntries,
+                            List<SkippedImage> skippedImages) throws IOException {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+
+        String entryName = "images/" + (imageUrl.startsWith(IMAGE_URL_PREFIX)
+                ? imageUrl.substring(IMAGE_URL_PREFIX.length())
+                : imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+        if (!imageEntries.add(entryName)) {
+            // The same image can be referenced more than once, e.g. by a post and its outfit.
+            return;
+        }
+
+        ImageEntryStream entry = new ImageEntryStream(zip, entryName);
+        try {
+            if (!imageService.copyImage(imageUrl, entry)) {
+                skippedImages.add(new SkippedImage(imageUrl, "Image file not found"));
+            } else if (!entry.opened) {
+                // The image file exists but is empty; export it as an empty entry.
+                entry.open();
+            }
+        } catch (RuntimeException e) {
+            if (entry.writeFailure != null) {
+                throw entry.writeFailure;
+            }
+            logger.warn("Skipping image {} in account export: {}", imageUrl, e.getMessage());
+            skippedImages.add(new SkippedImage(imageUrl, entry.opened
+                    ? "Image was cut short while copying: " + e.getMessage()
+                    : e.getMessage()));
+        }
+        if (entry.opened) {
+            zip.closeEntry();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory()
+                .createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes an image to its archive entry, opening the entry only when the first bytes
+     * arrive, so an image that cannot be read at all leaves no empty entry behind. An
+     * image read in full without any bytes has its entry opened afterwards. A
+     * failure to write to the archive is kept, to tell it apart from a failure to read
+     * the image.
+     */
+    private static final class ImageEntryStream extends OutputStream {
+        private final ZipOutputStream zip;
+        private final String entryName;
+        private boolean opened;
+        private IOException writeFailure;
+
+        ImageEntryStream(ZipOutputStream zip, String entryName) {
+            this.zip = zip;
+            this.entryName = entryName;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            try {
+                if (!opened) {
+                    open();
+                }
+                zip.write(bytes, offset, length);
+            } catch (IOException e) {
+                writeFailure = e;
+                throw e;
+            }
+        }
+
+        void open() throws IOException {
+            zip.putNextEntry(new ZipEntry(entryName));
+            opened = true;
+        }
+    }
+
+    /**
+     * The contents of {@code manifest.json}.
+     */
+    record Manifest(List<SkippedImage> skippedImages) {
+    }
+
+    record SkippedImage(String imageUrl, String reason) {
+    }
+}
@@ -1,16 +1,20 @@
 package com.yalice.wardrobe_social_app.services.user;
 
+import com.yalice.wardrobe_social_app.configs.AppConfig;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.repositories.UserRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of Spring Security's UserDetailsService.
@@ -22,11 +26,18 @@ import java.util.Collections;
 @Transactional(readOnly = true)
 public class UserDetailsServiceImpl extends BaseService<User, Long> implements UserDetailsService {
 
+    /** Role required for operational endpoints such as {@code /actuator/metrics}. */
+    public static final String ADMIN_ROLE = "ADMIN";
+
     /** Repository to fetch user authentication details. */
     private final UserRepository userRepository;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    /** Users granted {@link #ADMIN_ROLE}, from {@code app.admin.usernames}. */
+    private final Set<String> adminUsernames;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, AppConfig appConfig) {
         this.userRepository = userRepository;
+        this.adminUsernames = Set.copyOf(appConfig.getAdmin().getUsernames());
     }
 
     @Override
@@ -65,12 +76,22 @@ public class UserDetailsServiceImpl extends BaseService<User, Long> implements U
 
     /**
      * Builds a UserDetails object from our User entity.
-     * This method can be extended to include roles and authorities.
+     * Users listed in {@code app.admin.usernames} get the admin role; everyone else has none.
      */
     private UserDetails buildUserDetails(User user) {
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
-                Collections.emptyList()); // Add authorities/roles here if needed
+                !user.isDisabled(), // Accounts pending deletion cannot sign in
+                true,
+                true,
+                true,
+                authoritiesOf(user.getUsername()));
+    }
+
+    private List<GrantedAuthority> authoritiesOf(String username) {
+        return adminUsernames.contains(username)
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE))
+                : List.of();
     }
 }
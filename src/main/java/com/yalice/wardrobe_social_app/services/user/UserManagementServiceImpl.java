@@ -5,6 +5,7 @@ import com.yalice.wardrobe_social_app.dtos.user.UserRegistrationDto;
 import com.yalice.wardrobe_social_app.dtos.user.UserResponseDto;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.interfaces.AccountDeletionService;
 import com.yalice.wardrobe_social_app.interfaces.UserManagementService;
 import com.yalice.wardrobe_social_app.mappers.UserMapper;
 import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
@@ -29,6 +30,7 @@ public class UserManagementServiceImpl extends BaseService<User, Long> implement
     private final ProfileRepository profileRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final AccountDeletionService accountDeletionService;
 
     private static final int MIN_PASSWORD_LENGTH = 8;
     private static final int MAX_USERNAME_LENGTH = 30;
@@ -37,11 +39,13 @@ public class UserManagementServiceImpl extends BaseService<User, Long> implement
             UserRepository userRepository,
             ProfileRepository profileRepository,
             PasswordEncoder passwordEncoder,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            AccountDeletionService accountDeletionService) {
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
+        this.accountDeletionService = accountDeletionService;
     }
 
     @Override
@@ -98,8 +102,9 @@ public class UserManagementServiceImpl extends BaseService<User, Long> implement
         validationService.validateExists(existsById(userId),
                 "User not found with ID: " + userId);
 
-        delete(userId);
-        logger.info("Successfully deleted user with ID: {}", userId);
+        // The account is disabled now; its data is purged in the background.
+        accountDeletionService.requestDeletion(userId);
+        logger.info("Successfully scheduled deletion of user with ID: {}", userId);
     }
 
     @Override
@@ -7,6 +7,7 @@ import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
 import com.yalice.wardrobe_social_app.mappers.UserMapper;
 import com.yalice.wardrobe_social_app.repositories.UserRepository;
 import com.yalice.wardrobe_social_app.services.helpers.BaseService;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,12 +27,14 @@ public class UserSearchServiceImpl extends BaseService<User, Long> implements Us
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final BlockList blockList;
 
     private static final int MAX_PAGE_SIZE = 50;
 
-    public UserSearchServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserSearchServiceImpl(UserRepository userRepository, UserMapper userMapper, BlockList blockList) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.blockList = blockList;
     }
 
     @Override
@@ -75,16 +78,16 @@ public class UserSearchServiceImpl extends BaseService<User, Long> implements Us
     }
 
     @Override
-    public List<UserResponseDto> searchUsersByUsername(String partialUsername) {
+    public List<UserResponseDto> searchUsersByUsername(Long userId, String partialUsername) {
         logger.info("Searching for users with partial username: {}", partialUsername);
 
+        validationService.validateNotNull(userId, "User ID");
         validationService.validateStringNotEmpty(partialUsername, "Partial username");
         validationService.validateExists(partialUsername.length() >= 3,
                 "Search term must be at least 3 characters long");
 
-        return mapEntityList(
-                userRepository.findByUsernameContainingIgnoreCase(partialUsername),
-                userMapper::toResponseDto);
+        List<User> users = userRepository.findByUsernameContainingIgnoreCase(partialUsername);
+        return mapEntityList(blockList.visibleTo(userId, users, User::getId), userMapper::toResponseDto);
     }
 
     @Override
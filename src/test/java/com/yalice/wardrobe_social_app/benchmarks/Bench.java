@@ -0,0 +1,61 @@
+package com.yalice.wardrobe_social_app.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Times small pieces of code for the benchmark tests. Each task is run untimed until the JIT
+ * has compiled it, then timed run by run, and the median is reported so that a stray GC
+ * pause or context switch does not move the figure. Results are fed into a sink so the JIT
+ * cannot drop the work.
+ */
+final class Bench {
+
+    private static volatile int sink;
+
+    private Bench() {
+    }
+
+    /**
+     * @return the median time of one run of the task, in microseconds
+     */
+    static double medianMicros(Callable<?> task, int warmupRuns, int timedRuns) throws Exception {
+        for (int i = 0; i < warmupRuns; i++) {
+            consume(task.call());
+        }
+        long[] nanos = new long[timedRuns];
+        for (int i = 0; i < timedRuns; i++) {
+            long start = System.nanoTime();
+            Object result = task.call();
+            nanos[i] = System.nanoTime() - start;
+            consume(result);
+        }
+        Arrays.sort(nanos);
+        return nanos[timedRuns / 2] / 1000.0;
+    }
+
+    static void consume(Object result) {
+        sink += System.identityHashCode(result);
+    }
+
+    /**
+     * Prints a table in the README's Markdown format.
+     */
+    static void printTable(String title, String[] headers, String[]... rows) {
+        StringBuilder table = new StringBuilder(title).append('\n');
+        table.append("| ").append(String.join(" | ", headers)).append(" |\n");
+        table.append("|").append("---|".repeat(headers.length)).append('\n');
+        for (String[] row : rows) {
+            table.append("| ").append(String.join(" | ", row)).append(" |\n");
+        }
+        System.out.println(table);
+    }
+
+    static String bytes(long size) {
+        return String.format("%,d B", size);
+    }
+
+    static String micros(double micros) {
+        return String.format("%.0f us", micros);
+    }
+}
@@ -0,0 +1,132 @@
+package com.yalice.wardrobe_social_app.benchmarks;
+
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.PostgresTestDatabase;
+import com.yalice.wardrobe_social_app.services.helpers.FeedRings;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares building a feed page from the database with merging it from {@link FeedRings},
+ * behind the table in the Feed section of the README. The data is 1,000 authors with 100
+ * posts each, spread over 30 days, in an embedded PostgreSQL server. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FeedRingsBenchmarkTest {
+
+    private static final int AUTHORS = 1000;
+    private static final int POSTS_PER_AUTHOR = 100;
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void secondPageFromDatabaseAndFromRings() throws Exception {
+        seed();
+        Random random = new Random(42);
+
+        List<String[]> rows = new ArrayList<>();
+        for (int friends : new int[]{50, 200}) {
+            List<Long> authorIds = sampleAuthors(random, friends);
+            FeedRings loaded = newRings();
+            assertTrue(loaded.page(authorIds, SECOND_PAGE).isPresent());
+
+            double database = Bench.medianMicros(() -> postRepository.findFeedIds(authorIds, SECOND_PAGE), 50, 200);
+            double rings = Bench.medianMicros(() -> loaded.page(authorIds, SECOND_PAGE), 5_000, 5_000);
+            double loading = Bench.medianMicros(() -> newRings().page(authorIds, SECOND_PAGE), 5, 20);
+            rows.add(new String[]{String.valueOf(friends), millis(database), Bench.micros(rings), millis(loading)});
+        }
+        Bench.printTable(String.format("Second page of 20, %,d authors with %d posts each",
+                        AUTHORS, POSTS_PER_AUTHOR),
+                new String[]{"Friends", "Database", "Rings, loaded", "Loading the rings"}, rows.toArray(String[][]::new));
+    }
+
+    @Test
+    void ringsMatchTheDatabasePageForPage() {
+        seed();
+        Random random = new Random(7);
+        FeedRings rings = newRings();
+        int answered = 0;
+
+        for (int viewer = 0; viewer < 50; viewer++) {
+            List<Long> authorIds = sampleAuthors(random, 50);
+            for (int page = 0; page < 8; page++) {
+                Pageable pageable = PageRequest.of(page, 20);
+                Optional<List<Long>> merged = rings.page(authorIds, pageable);
+                if (merged.isPresent()) {
+                    assertEquals(postRepository.findFeedIds(authorIds, pageable), merged.get(),
+                            "viewer " + viewer + ", page " + page);
+                    answered++;
+                }
+            }
+        }
+        System.out.printf("Rings answered %d of 400 pages%n", answered);
+        assertEquals(400, answered);
+    }
+
+    /**
+     * Inserts the authors and their posts with set-based SQL, then updates the planner
+     * statistics so the database is measured with the plan it would use in production.
+     */
+    private void seed() {
+        jdbcTemplate.queryForObject("SELECT setseed(0.42)", Object.class);
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, provider, created_at, updated_at) "
+                + "SELECT g, 'user' || g, 'user' || g || '@example.com', 'x', 'LOCAL', now(), now() "
+                + "FROM generate_series(1, ?) g", AUTHORS);
+        jdbcTemplate.update("INSERT INTO profiles (id, user_id, visibility, follower_count, following_count, "
+                + "created_at, updated_at) SELECT g, g, 'PUBLIC', 0, 0, now(), now() "
+                + "FROM generate_series(1, ?) g", AUTHORS);
+        jdbcTemplate.update("INSERT INTO outfits (id, profile_id, name, favorite, is_public, created_at, updated_at) "
+                + "SELECT g, g, 'Outfit', false, true, now(), now() FROM generate_series(1, ?) g", AUTHORS);
+        jdbcTemplate.update("INSERT INTO posts (id, profile_id, outfit_id, title, visibility, like_count, "
+                + "comment_count, created_at, updated_at) "
+                + "SELECT (a - 1) * ? + n, a, a, 'Post', 'PUBLIC', 0, 0, t, t FROM ("
+                + "SELECT a, n, timestamp '2025-03-01' + random() * interval '30 days' AS t "
+                + "FROM generate_series(1, ?) a, generate_series(1, ?) n) p",
+                POSTS_PER_AUTHOR, AUTHORS, POSTS_PER_AUTHOR);
+        jdbcTemplate.execute("ANALYZE posts");
+    }
+
+    private static List<Long> sampleAuthors(Random random, int count) {
+        List<Long> authorIds = new ArrayList<>(LongStream.rangeClosed(1, AUTHORS).boxed().toList());
+        Collections.shuffle(authorIds, random);
+        return List.copyOf(authorIds.subList(0, count));
+    }
+
+    private FeedRings newRings() {
+        return new FeedRings(postRepository, true, 50, 50_000, 600);
+    }
+
+    private static String millis(double micros) {
+        return String.format("%.1f ms", micros / 1000);
+    }
+}
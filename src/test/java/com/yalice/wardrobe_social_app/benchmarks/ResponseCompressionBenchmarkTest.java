@@ -0,0 +1,88 @@
+package com.yalice.wardrobe_social_app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.GzipFragmentHttpMessageConverter;
+import com.yalice.wardrobe_social_app.configs.WebConfig;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the encodings of a 20-item feed page behind the Response Compression table in
+ * the README: plain JSON, the page joined from precompressed cache entries, and the page
+ * gzip-compressed per request at several levels. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ResponseCompressionBenchmarkTest {
+
+    private static final Type FRAGMENT_RESPONSE = ResolvableType.forClassWithGenerics(ApiResponse.class,
+            ResolvableType.forClassWithGenerics(List.class, JsonFragment.class)).getType();
+    private static final int WARMUP_RUNS = 5_000;
+    private static final int TIMED_RUNS = 5_000;
+
+    private final ObjectMapper objectMapper = new WebConfig().objectMapper();
+    private final GzipFragmentHttpMessageConverter converter = new GzipFragmentHttpMessageConverter(objectMapper);
+
+    @Test
+    void feedPageEncodings() throws Exception {
+        List<JsonFragment> fragments = new ArrayList<>();
+        for (FeedItemResponseDto item : SamplePages.feedItems(20)) {
+            byte[] json = objectMapper.writeValueAsBytes(item);
+            fragments.add(JsonFragment.of(ByteBuffer.wrap(json), ByteBuffer.wrap(JsonFragment.deflate(json))));
+        }
+        ApiResponse<List<JsonFragment>> page = new ApiResponse<>(true, "Feed retrieved", fragments);
+        byte[] json = objectMapper.writeValueAsBytes(page);
+        byte[] joined = joined(page);
+        assertArrayEquals(json, new GZIPInputStream(new ByteArrayInputStream(joined)).readAllBytes());
+
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"None", Bench.bytes(json.length),
+                Bench.micros(Bench.medianMicros(() -> objectMapper.writeValueAsBytes(page), WARMUP_RUNS, TIMED_RUNS))});
+        rows.add(new String[]{"Joined from cached compressed items", Bench.bytes(joined.length),
+                Bench.micros(Bench.medianMicros(() -> joined(page), WARMUP_RUNS, TIMED_RUNS))});
+        for (int level : new int[]{1, 6, 9}) {
+            rows.add(new String[]{"gzip level " + level, Bench.bytes(gzipped(page, level).length),
+                    Bench.micros(Bench.medianMicros(() -> gzipped(page, level), WARMUP_RUNS, TIMED_RUNS))});
+        }
+        Bench.printTable(String.format("20-item feed page (%,d B of JSON)", json.length),
+                new String[]{"Encoding", "Response size", "CPU time per response"}, rows.toArray(String[][]::new));
+    }
+
+    private byte[] joined(ApiResponse<List<JsonFragment>> page) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, FRAGMENT_RESPONSE, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    /**
+     * Serializes and compresses the page, as the server does for responses it compresses itself.
+     */
+    private byte[] gzipped(ApiResponse<List<JsonFragment>> page, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return out.toByteArray();
+    }
+}
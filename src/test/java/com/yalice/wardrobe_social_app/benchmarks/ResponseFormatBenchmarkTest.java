@@ -0,0 +1,66 @@
+package com.yalice.wardrobe_social_app.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.WebConfig;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Encodes a 20-item feed page and a 20-wardrobe page with the application's JSON, CBOR and
+ * Smile mappers, behind the Response Formats table in the README. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ResponseFormatBenchmarkTest {
+
+    private static final int WARMUP_RUNS = 5_000;
+    private static final int TIMED_RUNS = 5_000;
+
+    @Test
+    void pageSizesAndEncodeTimes() throws Exception {
+        WebConfig webConfig = new WebConfig();
+        ObjectMapper json = webConfig.objectMapper();
+        ObjectMapper[] mappers = {
+                json,
+                webConfig.cborHttpMessageConverter(json).getObjectMapper(),
+                webConfig.smileHttpMessageConverter(json).getObjectMapper()};
+        ApiResponse<?> feed = new ApiResponse<>(true, "Feed retrieved", SamplePages.feedItems(20));
+        ApiResponse<?> wardrobes = new ApiResponse<>(true, "Wardrobes retrieved", SamplePages.wardrobes(20));
+
+        String[][] rows = {
+                {"Feed items, size"}, {"Feed items, size gzipped"}, {"Feed items, encode time"},
+                {"Wardrobes, size"}, {"Wardrobes, size gzipped"}};
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = Arrays.copyOf(rows[i], 1 + mappers.length);
+        }
+        for (int m = 0; m < mappers.length; m++) {
+            ObjectMapper mapper = mappers[m];
+            byte[] feedBytes = mapper.writeValueAsBytes(feed);
+            byte[] wardrobeBytes = mapper.writeValueAsBytes(wardrobes);
+            assertEquals(json.readTree(json.writeValueAsBytes(feed)), mapper.readTree(feedBytes));
+
+            rows[0][m + 1] = Bench.bytes(feedBytes.length);
+            rows[1][m + 1] = Bench.bytes(gzip(feedBytes).length);
+            rows[2][m + 1] = Bench.micros(Bench.medianMicros(() -> mapper.writeValueAsBytes(feed), WARMUP_RUNS, TIMED_RUNS));
+            rows[3][m + 1] = Bench.bytes(wardrobeBytes.length);
+            rows[4][m + 1] = Bench.bytes(gzip(wardrobeBytes).length);
+        }
+        Bench.printTable("20-item pages", new String[]{"Page", "JSON", "CBOR", "Smile"}, rows);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.yalice.wardrobe_social_app.benchmarks;
+
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
+import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import com.yalice.wardrobe_social_app.dtos.user.UserResponseDto;
+import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds the response pages the benchmarks encode. Field values are shaped like production
+ * data (upload URLs with random file names, sentences of a few dozen words, a few comments
+ * per post) and come from a fixed seed, so every run encodes the same bytes.
+ */
+final class SamplePages {
+
+    private static final String[] SEASONS = {"SPRING", "SUMMER", "AUTUMN", "WINTER"};
+    private static final String[] CATEGORIES = {"CASUAL", "FORMAL", "STREETWEAR", "SPORT", "VINTAGE"};
+    private static final String[] WORDS = {"linen", "layered", "oversized", "denim", "neutral", "tones",
+            "with", "a", "the", "for", "weekend", "office", "look", "paired", "sneakers", "boots", "coat",
+            "vintage", "thrifted", "favourite", "colour", "texture", "fit", "relaxed", "tailored", "and"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private SamplePages() {
+    }
+
+    static List<FeedItemResponseDto> feedItems(int count) {
+        Random random = new Random(42);
+        List<FeedItemResponseDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long authorId = 100 + random.nextInt(50);
+            Set<String> itemImages = new LinkedHashSet<>();
+            for (int j = 0; j < 3; j++) {
+                itemImages.add(upload("item", 5000 + random.nextInt(1000), random));
+            }
+            List<CommentPreviewDto> comments = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                long commenterId = 100 + random.nextInt(50);
+                comments.add(CommentPreviewDto.builder()
+                        .id(90_000L + i * 10L + j)
+                        .content(sentence(random, 6 + random.nextInt(10)))
+                        .replyCount(random.nextInt(4))
+                        .userId(commenterId)
+                        .username("user" + commenterId)
+                        .profileImageUrl(upload("profile", commenterId, random))
+                        .createdAt(EPOCH.plusMinutes(random.nextInt(40_000)))
+                        .build());
+            }
+            LocalDateTime createdAt = EPOCH.plusMinutes(random.nextInt(40_000));
+            items.add(FeedItemResponseDto.builder()
+                    .id(10_000L + i)
+                    .title(sentence(random, 3 + random.nextInt(4)))
+                    .content(sentence(random, 20 + random.nextInt(30)))
+                    .season(SEASONS[random.nextInt(SEASONS.length)])
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .likesCount(random.nextInt(500))
+                    .commentsCount(2 + random.nextInt(40))
+                    .featureImage(upload("post", 10_000L + i, random))
+                    .outfitImage(upload("outfit", 3000 + random.nextInt(1000), random))
+                    .itemImages(itemImages)
+                    .user(UserResponseDto.builder()
+                            .id(authorId)
+                            .username("user" + authorId)
+                            .email("user" + authorId + "@example.com")
+                            .build())
+                    .latestComments(comments)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<WardrobeResponseDto> wardrobes(int count) {
+        Random random = new Random(7);
+        List<WardrobeResponseDto> wardrobes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            wardrobes.add(WardrobeResponseDto.builder()
+                    .id(2000L + i)
+                    .name(sentence(random, 1 + random.nextInt(3)))
+                    .profileId(100L)
+                    .itemCount(random.nextInt(120))
+                    .coverImageUrl(upload("item", 5000 + random.nextInt(1000), random))
+                    .build());
+        }
+        return wardrobes;
+    }
+
+    private static String upload(String entityType, long entityId, Random random) {
+        return "/uploads/" + entityType + "/" + entityId + "/"
+                + new UUID(random.nextLong(), random.nextLong()) + ".jpg";
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+}
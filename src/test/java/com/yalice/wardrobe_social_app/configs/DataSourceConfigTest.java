@@ -0,0 +1,49 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://primary:5432/app",
+                    "spring.datasource.username=app",
+                    "spring.datasource.driver-class-name=org.postgresql.Driver");
+
+    @Test
+    void primaryPool_UsesHikariSettings() {
+        contextRunner.withPropertyValues(
+                        "app.datasource.replica.urls=jdbc:postgresql://replica:5432/app",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "spring.datasource.hikari.pool-name=primary-pool")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+
+                    assertEquals("jdbc:postgresql://primary:5432/app", primary.getJdbcUrl());
+                    assertEquals("app", primary.getUsername());
+                    assertEquals(7, primary.getMaximumPoolSize());
+                    assertEquals("primary-pool", primary.getPoolName());
+                    assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                });
+    }
+
+    @Test
+    void withoutReplicas_SpringBootDataSourceIsUsed() {
+        contextRunner.withPropertyValues("spring.datasource.hikari.maximum-pool-size=7")
+                .run(context -> {
+                    assertFalse(context.containsBean("primaryDataSource"));
+                    assertEquals(7, context.getBean(HikariDataSource.class).getMaximumPoolSize());
+                });
+    }
+}
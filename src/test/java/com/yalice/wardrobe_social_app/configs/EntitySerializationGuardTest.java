@@ -0,0 +1,57 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
+import com.yalice.wardrobe_social_app.entities.Outfit;
+import com.yalice.wardrobe_social_app.entities.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntitySerializationGuardTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new WebConfig().objectMapper();
+    }
+
+    @Test
+    void serializesDtos() throws Exception {
+        PostResponseDto post = PostResponseDto.builder().id(1L).title("Look").build();
+
+        String json = objectMapper.writeValueAsString(post);
+
+        assertTrue(json.contains("\"title\":\"Look\""));
+    }
+
+    @Test
+    void rejectsEntities() {
+        Post post = Post.builder().id(1L).title("Look").build();
+
+        JsonMappingException exception = assertThrows(JsonMappingException.class,
+                () -> objectMapper.writeValueAsString(post));
+        assertTrue(exception.getMessage().contains("Post must be mapped to a DTO"));
+    }
+
+    @Test
+    void rejectsEntitiesNestedInOtherValues() {
+        Map<String, Object> response = Map.of("data", List.of(Outfit.builder().id(1L).build()));
+
+        assertThrows(JsonMappingException.class, () -> objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void rejectsSubclassesOfEntities() {
+        Post proxy = new Post() {
+        };
+
+        assertThrows(JsonMappingException.class, () -> objectMapper.writeValueAsString(proxy));
+    }
+}
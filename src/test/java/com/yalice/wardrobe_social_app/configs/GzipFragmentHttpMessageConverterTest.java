@@ -0,0 +1,130 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipFragmentHttpMessageConverterTest {
+
+    private static final Type FRAGMENT_RESPONSE = ResolvableType.forClassWithGenerics(ApiResponse.class,
+            ResolvableType.forClassWithGenerics(List.class, JsonFragment.class)).getType();
+
+    private ObjectMapper objectMapper;
+    private GzipFragmentHttpMessageConverter converter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new WebConfig().objectMapper();
+        converter = new GzipFragmentHttpMessageConverter(objectMapper);
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void canWrite_OnlyFragmentResponsesForGzipClients() {
+        Type otherResponse = ResolvableType.forClassWithGenerics(ApiResponse.class,
+                ResolvableType.forClassWithGenerics(List.class, String.class)).getType();
+
+        assertFalse(converter.canWrite(FRAGMENT_RESPONSE, ApiResponse.class, MediaType.APPLICATION_JSON));
+
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+        assertTrue(converter.canWrite(FRAGMENT_RESPONSE, ApiResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(otherResponse, ApiResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(FRAGMENT_RESPONSE, ApiResponse.class, MediaType.valueOf("application/cbor")));
+        assertFalse(converter.canWrite(ApiResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void canWrite_GzipRefused_ReturnsFalse() {
+        request.addHeader("Accept-Encoding", "gzip;q=0, deflate");
+
+        assertFalse(converter.canWrite(FRAGMENT_RESPONSE, ApiResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void write_SplicesFragmentsIntoValidGzip() throws Exception {
+        byte[] first = "{\"id\":1,\"title\":\"Linen look\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "{\"id\":2,\"title\":\"Café \\\"classic\\\"\"}".getBytes(StandardCharsets.UTF_8);
+        ApiResponse<List<JsonFragment>> response = new ApiResponse<>(true, "Feed retrieved",
+                List.of(JsonFragment.of(ByteBuffer.wrap(first), ByteBuffer.wrap(JsonFragment.deflate(first))),
+                        JsonFragment.of(second)));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(response, FRAGMENT_RESPONSE, MediaType.APPLICATION_JSON, output);
+
+        assertEquals("gzip", output.getHeaders().getFirst("Content-Encoding"));
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(response), json);
+    }
+
+    @Test
+    void write_EmptyPage_ProducesEmptyArray() throws Exception {
+        ApiResponse<List<JsonFragment>> response = new ApiResponse<>(true, null, List.of());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(response, FRAGMENT_RESPONSE, MediaType.APPLICATION_JSON, output);
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals("{\"success\":true,\"message\":null,\"data\":[]}", json);
+    }
+
+    @Test
+    void write_NullData_MatchesJsonConverter() throws Exception {
+        ApiResponse<List<JsonFragment>> response = new ApiResponse<>(false, "[\"\u0000fragments\"]", null);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(response, FRAGMENT_RESPONSE, MediaType.APPLICATION_JSON, output);
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(response), json);
+    }
+
+    @Test
+    void write_MessageLookingLikeData_IsEscapedAsUsual() throws Exception {
+        byte[] fragment = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        ApiResponse<List<JsonFragment>> response = new ApiResponse<>(true, "[\"\u0000fragments\"]",
+                List.of(JsonFragment.of(fragment)));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(response, FRAGMENT_RESPONSE, MediaType.APPLICATION_JSON, output);
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(response), json);
+    }
+
+    @Test
+    void read_IsRejected() {
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(FRAGMENT_RESPONSE, null, new MockHttpInputMessage(new byte[0])));
+    }
+}
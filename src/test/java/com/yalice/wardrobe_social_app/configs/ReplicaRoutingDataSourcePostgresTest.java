@@ -0,0 +1,66 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.yalice.wardrobe_social_app.repositories.PostgresTestDatabase;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the replication check against real servers: the shared test server, which is not
+ * in recovery, and a standby with no primary to stream from, as a replica whose WAL
+ * receiver has stopped looks.
+ */
+class ReplicaRoutingDataSourcePostgresTest {
+
+    @TempDir
+    static Path dataDirectory;
+
+    private static EmbeddedPostgres standby;
+
+    @BeforeAll
+    static void startStandby() throws IOException {
+        EmbeddedPostgres.builder().setDataDirectory(dataDirectory).setCleanDataDirectory(false).start().close();
+        Files.createFile(dataDirectory.resolve("standby.signal"));
+        standby = EmbeddedPostgres.builder().setDataDirectory(dataDirectory).setCleanDataDirectory(false).start();
+    }
+
+    @AfterAll
+    static void stopStandby() throws IOException {
+        if (standby != null) {
+            standby.close();
+        }
+    }
+
+    @Test
+    void standbyWithStoppedReceiver_IsNotHealthy() {
+        DataSource replica = standby.getPostgresDatabase();
+        assertEquals(Boolean.TRUE, new JdbcTemplate(replica).queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                PostgresTestDatabase.server().getPostgresDatabase(), List.of(replica), 60_000);
+
+        routingDataSource.checkReplicas();
+
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+    }
+
+    @Test
+    void serverNotInRecovery_IsHealthy() {
+        DataSource server = PostgresTestDatabase.server().getPostgresDatabase();
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(server, List.of(server), 1000);
+
+        routingDataSource.checkReplicas();
+
+        assertTrue(routingDataSource.isReplicaHealthy(0));
+    }
+}
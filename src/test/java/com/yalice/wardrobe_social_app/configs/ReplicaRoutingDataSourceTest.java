@@ -0,0 +1,175 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource firstReplica;
+    private DataSource secondReplica;
+    private Connection primaryConnection;
+    private Connection firstReplicaConnection;
+    private Connection secondReplicaConnection;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        firstReplica = mock(DataSource.class);
+        secondReplica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        firstReplicaConnection = mock(Connection.class);
+        secondReplicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), 1000);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_BeforeFirstCheck_UsesPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_AlternatesBetweenReplicas() throws SQLException {
+        stubLagSeconds(firstReplicaConnection, 0.0);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void laggingReplica_IsTakenOutOfRotation() throws SQLException {
+        stubLagSeconds(firstReplicaConnection, 5.0);
+        stubLagSeconds(secondReplicaConnection, 0.2);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+        assertTrue(routingDataSource.isReplicaHealthy(1));
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void noHealthyReplica_FallsBackToPrimary() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        stubLagSeconds(secondReplicaConnection, 30.0);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void recoveredReplica_ReturnsToRotation() throws SQLException {
+        stubLagSeconds(firstReplicaConnection, 5.0, 0.0);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+
+        routingDataSource.checkReplicas();
+        assertTrue(routingDataSource.isReplicaHealthy(0));
+    }
+
+    @Test
+    void stoppedWalReceiver_IsTakenOutOfRotation() throws SQLException {
+        ResultSet status = stubStatus(firstReplicaConnection, true, null, 0.0);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        verify(status, never()).getObject(3, Double.class);
+    }
+
+    @Test
+    void silentWalReceiver_IsTakenOutOfRotation() throws SQLException {
+        stubStatus(firstReplicaConnection, true, 2.5, 0.0);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+    }
+
+    @Test
+    void replicaThatReplayedNothing_IsTakenOutOfRotation() throws SQLException {
+        stubStatus(firstReplicaConnection, true, 0.1, null);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+
+        assertFalse(routingDataSource.isReplicaHealthy(0));
+    }
+
+    @Test
+    void serverNotInRecovery_IsHealthy() throws SQLException {
+        stubStatus(firstReplicaConnection, false, null, null);
+        stubLagSeconds(secondReplicaConnection, 0.0);
+
+        routingDataSource.checkReplicas();
+
+        assertTrue(routingDataSource.isReplicaHealthy(0));
+    }
+
+    /**
+     * Stubs a streaming replica that heard from the primary just now.
+     */
+    private void stubLagSeconds(Connection connection, Double lag, Double... laterLags) throws SQLException {
+        ResultSet resultSet = stubStatus(connection, true, 0.0, lag);
+        when(resultSet.getObject(3, Double.class)).thenReturn(lag, laterLags);
+    }
+
+    private ResultSet stubStatus(Connection connection, boolean inRecovery, Double silenceSeconds, Double lagSeconds)
+            throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(inRecovery);
+        when(resultSet.getObject(2, Double.class)).thenReturn(silenceSeconds);
+        when(resultSet.getObject(3, Double.class)).thenReturn(lagSeconds);
+        return resultSet;
+    }
+}
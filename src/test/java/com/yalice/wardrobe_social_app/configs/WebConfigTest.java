@@ -0,0 +1,65 @@
+package com.yalice.wardrobe_social_app.configs;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.controllers.utilities.ApiResponse;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
+import com.yalice.wardrobe_social_app.entities.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebConfigTest {
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @BeforeEach
+    void setUp() {
+        WebConfig webConfig = new WebConfig();
+        jsonMapper = webConfig.objectMapper();
+        cborMapper = webConfig.cborHttpMessageConverter(jsonMapper).getObjectMapper();
+        smileMapper = webConfig.smileHttpMessageConverter(jsonMapper).getObjectMapper();
+    }
+
+    @Test
+    void binaryFormatsEncodeTheSameTreeAsJson() throws Exception {
+        ApiResponse<List<WardrobeResponseDto>> response = new ApiResponse<>(true, "Wardrobes retrieved",
+                List.of(WardrobeResponseDto.builder().id(1L).name("Summer").itemCount(3).build()));
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(response));
+
+        assertEquals(expected, cborMapper.readTree(cborMapper.writeValueAsBytes(response)));
+        assertEquals(expected, smileMapper.readTree(smileMapper.writeValueAsBytes(response)));
+    }
+
+    @Test
+    void binaryFormatsKeepJsonMapperModules() {
+        FeedItemResponseDto item = new FeedItemResponseDto();
+        item.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 0));
+
+        assertDoesNotThrow(() -> cborMapper.writeValueAsBytes(item));
+        assertThrows(JsonMappingException.class, () -> cborMapper.writeValueAsBytes(Post.builder().id(1L).build()));
+        assertThrows(JsonMappingException.class, () -> smileMapper.writeValueAsBytes(Post.builder().id(1L).build()));
+    }
+
+    @Test
+    void jsonFragmentsAreReencodedForBinaryFormats() throws Exception {
+        FeedItemResponseDto item = new FeedItemResponseDto();
+        item.setId(7L);
+        item.setTitle("Look");
+        ApiResponse<List<JsonFragment>> response = new ApiResponse<>(true, "Feed retrieved",
+                List.of(JsonFragment.of(jsonMapper.writeValueAsBytes(item))));
+        JsonNode expected = jsonMapper.readTree(jsonMapper.writeValueAsBytes(response));
+
+        assertEquals(expected, cborMapper.readTree(cborMapper.writeValueAsBytes(response)));
+        assertEquals(expected, smileMapper.readTree(smileMapper.writeValueAsBytes(response)));
+    }
+}
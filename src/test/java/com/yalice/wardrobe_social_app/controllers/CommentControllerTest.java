@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
@@ -167,19 +168,43 @@ class CommentControllerTest {
 
     @Test
     void getPostComments() throws Exception {
-        List<CommentResponseDto> comments = List.of(createTestCommentResponse());
-        when(commentService.getPostComments(any())).thenReturn(comments);
+        CursorPageResponseDto<CommentResponseDto> comments = CursorPageResponseDto.<CommentResponseDto>builder()
+                .content(List.of(createTestCommentResponse()))
+                .pageSize(20)
+                .hasMore(false)
+                .build();
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(commentService.getPostComments(1L, 1L, null, 20)).thenReturn(comments);
 
         mockMvc.perform(get("/api/comments/posts/1/comments"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").exists())
-                .andExpect(jsonPath("$.data[0].id").exists());
+                .andExpect(jsonPath("$.data.content[0].id").exists())
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
+    @Test
+    void getReplies() throws Exception {
+        CursorPageResponseDto<CommentResponseDto> replies = CursorPageResponseDto.<CommentResponseDto>builder()
+                .content(List.of(createTestCommentResponse()))
+                .pageSize(10)
+                .nextCursor(1L)
+                .hasMore(true)
+                .build();
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(commentService.getReplies(1L, 1L, 5L, 10)).thenReturn(replies);
+
+        mockMvc.perform(get("/api/comments/1/replies").param("cursor", "5").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").exists())
+                .andExpect(jsonPath("$.data.nextCursor").value(1));
     }
 
     @Test
     void getPostComments_NotFound() throws Exception {
-        when(commentService.getPostComments(any()))
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(commentService.getPostComments(any(), any(), any(), anyInt()))
                 .thenThrow(new ResourceNotFoundException("Post not found"));
 
         mockMvc.perform(get("/api/comments/posts/999/comments"))
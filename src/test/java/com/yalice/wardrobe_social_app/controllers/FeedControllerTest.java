@@ -1,10 +1,13 @@
 package com.yalice.wardrobe_social_app.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
 import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
+import com.yalice.wardrobe_social_app.dtos.feed.NormalizedFeedResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.dtos.user.UserResponseDto;
-import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
@@ -18,18 +21,24 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,7 +65,7 @@ class FeedControllerTest {
                                 .setControllerAdvice(new GlobalExceptionHandler())
                                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                                 .build();
-                objectMapper = new ObjectMapper();
+                objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
                 testUser = User.builder()
                                 .id(1L)
                                 .profile(Profile.builder().id(1L).build())
@@ -65,7 +74,7 @@ class FeedControllerTest {
 
         @Test
         void getFeed() throws Exception {
-                List<FeedItemResponseDto> feedItems = List.of(createTestFeedItem());
+                List<JsonFragment> feedItems = List.of(toFragment(createTestFeedItem()));
                 when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
                 when(feedService.getFeed(any(), any(Integer.class), any(Integer.class))).thenReturn(feedItems);
 
@@ -78,6 +87,58 @@ class FeedControllerTest {
                                 .andExpect(jsonPath("$.data[0].id").exists());
         }
 
+        @Test
+        void getRankedFeed() throws Exception {
+                List<JsonFragment> feedItems = List.of(toFragment(createTestFeedItem()));
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(feedService.getRankedFeed(any(), any(Integer.class), any(Integer.class))).thenReturn(feedItems);
+
+                mockMvc.perform(get("/api/feed")
+                                .param("order", "ranked")
+                                .param("page", "0")
+                                .param("size", "20"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[0].id").exists());
+
+                verify(feedService, never()).getFeed(any(), anyInt(), anyInt());
+        }
+
+        @Test
+        void getUnseenFirstFeed() throws Exception {
+                List<JsonFragment> feedItems = List.of(toFragment(createTestFeedItem()));
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(feedService.getUnseenFirstFeed(1L, 0, 20)).thenReturn(feedItems);
+
+                mockMvc.perform(get("/api/feed").param("order", "unseen-first"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data[0].id").exists());
+
+                verify(feedService, never()).getFeed(any(), anyInt(), anyInt());
+        }
+
+        @Test
+        void markSeen() throws Exception {
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+
+                mockMvc.perform(post("/api/feed/seen")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[3, 4]"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true));
+
+                verify(feedService).markSeen(1L, List.of(3L, 4L));
+        }
+
+        @Test
+        void getUnseenCount() throws Exception {
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(feedService.getUnseenCount(1L)).thenReturn(7L);
+
+                mockMvc.perform(get("/api/feed/unseen-count"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data").value(7));
+        }
+
         @Test
         void getFeed_Unauthorized() throws Exception {
                 when(authUtils.getCurrentUserOrElseThrow())
@@ -94,7 +155,7 @@ class FeedControllerTest {
 
         @Test
         void getFeedBySeason() throws Exception {
-                List<FeedItemResponseDto> feedItems = List.of(createTestFeedItem());
+                List<JsonFragment> feedItems = List.of(toFragment(createTestFeedItem()));
                 when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
                 when(feedService.getFeedBySeason(any(), any(), any(Integer.class), any(Integer.class)))
                                 .thenReturn(feedItems);
@@ -124,7 +185,7 @@ class FeedControllerTest {
 
         @Test
         void getFeedByCategory() throws Exception {
-                List<FeedItemResponseDto> feedItems = List.of(createTestFeedItem());
+                List<JsonFragment> feedItems = List.of(toFragment(createTestFeedItem()));
                 when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
                 when(feedService.getFeedByCategory(any(), any(), any(Integer.class), any(Integer.class)))
                                 .thenReturn(feedItems);
@@ -152,10 +213,32 @@ class FeedControllerTest {
                                 .andExpect(jsonPath("$.data").doesNotExist());
         }
 
+        @Test
+        void getNormalizedFeed() throws Exception {
+                NormalizedFeedResponseDto feed = NormalizedFeedResponseDto.builder()
+                                .posts(List.of(
+                                                NormalizedFeedResponseDto.FeedPost.builder().id(1L).authorId(7L).outfitId(3L).build(),
+                                                NormalizedFeedResponseDto.FeedPost.builder().id(2L).authorId(7L).outfitId(3L).build()))
+                                .users(Map.of(7L, NormalizedFeedResponseDto.FeedAuthor.builder().id(7L).username("friend").build()))
+                                .outfits(Map.of(3L, NormalizedFeedResponseDto.FeedOutfit.builder().id(3L).build()))
+                                .build();
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(feedService.getNormalizedFeed(eq(1L), eq(0), eq(20))).thenReturn(feed);
+
+                mockMvc.perform(get("/api/feed")
+                                .param("view", "normalized"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.posts[1].authorId").value(7))
+                                .andExpect(jsonPath("$.data.users.7.username").value("friend"))
+                                .andExpect(jsonPath("$.data.users.7.email").doesNotExist())
+                                .andExpect(jsonPath("$.data.outfits.3.id").value(3));
+        }
+
         @Test
         void getUserPosts() throws Exception {
-                Post testPost = createTestPost();
-                Page<Post> postPage = new PageImpl<>(List.of(testPost));
+                PostResponseDto testPost = createTestPost();
+                Page<PostResponseDto> postPage = new PageImpl<>(List.of(testPost));
                 when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
                 when(feedService.getUserPosts(eq(1L), eq(1L), any())).thenReturn(postPage);
 
@@ -185,7 +268,7 @@ class FeedControllerTest {
 
         @Test
         void getUserPosts_Empty() throws Exception {
-                Page<Post> emptyPage = new PageImpl<>(Collections.emptyList());
+                Page<PostResponseDto> emptyPage = new PageImpl<>(Collections.emptyList());
                 when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
                 when(feedService.getUserPosts(eq(1L), eq(1L), any())).thenReturn(emptyPage);
 
@@ -212,6 +295,10 @@ class FeedControllerTest {
                                 .andExpect(jsonPath("$.data").doesNotExist());
         }
 
+        private JsonFragment toFragment(FeedItemResponseDto feedItem) throws Exception {
+                return JsonFragment.of(objectMapper.writeValueAsBytes(feedItem));
+        }
+
         private FeedItemResponseDto createTestFeedItem() {
                 return FeedItemResponseDto.builder()
                                 .id(1L)
@@ -233,11 +320,11 @@ class FeedControllerTest {
                                 .build();
         }
 
-        private Post createTestPost() {
-                Post post = new Post();
-                post.setId(1L);
-                post.setTitle("Test Post");
-                post.setContent("Test content");
-                return post;
+        private PostResponseDto createTestPost() {
+                return PostResponseDto.builder()
+                                .id(1L)
+                                .title("Test Post")
+                                .content("Test content")
+                                .build();
         }
 }
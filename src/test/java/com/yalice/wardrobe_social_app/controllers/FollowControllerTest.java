@@ -0,0 +1,83 @@
+package com.yalice.wardrobe_social_app.controllers;
+
+import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FollowControllerTest {
+
+    @Mock
+    private FollowService followService;
+
+    @Mock
+    private AuthUtils authUtils;
+
+    private MockMvc mockMvc;
+
+    @InjectMocks
+    private FollowController followController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(followController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        User testUser = User.builder().id(1L).profile(Profile.builder().id(10L).build()).build();
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+    }
+
+    @Test
+    void follow() throws Exception {
+        when(followService.follow(10L, 20L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/follows/20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").value(true));
+    }
+
+    @Test
+    void unfollow_ProfileNotFound() throws Exception {
+        when(followService.unfollow(10L, 99L)).thenThrow(new ResourceNotFoundException("Profile not found"));
+
+        mockMvc.perform(delete("/api/follows/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void getFollowers() throws Exception {
+        CursorPageResponseDto<FollowResponseDto> followers = CursorPageResponseDto.<FollowResponseDto>builder()
+                .content(List.of(FollowResponseDto.builder().profileId(30L).username("follower").build()))
+                .pageSize(20)
+                .hasMore(false)
+                .build();
+        when(followService.getFollowers(20L, null, 20)).thenReturn(followers);
+
+        mockMvc.perform(get("/api/follows/20/followers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].profileId").value(30))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendSuggestionDto;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
@@ -13,6 +14,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -202,6 +205,26 @@ class FriendshipControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void getFriendSuggestions() throws Exception {
+        FriendSuggestionDto suggestion = FriendSuggestionDto.builder()
+                .userId(5L)
+                .username("mutualfriend")
+                .mutualFriends(3)
+                .build();
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(friendService.getFriendSuggestions(1L, 0, 10))
+                .thenReturn(new PageImpl<>(List.of(suggestion), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/friendships/suggestions")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].userId").value(5))
+                .andExpect(jsonPath("$.data.content[0].mutualFriends").value(3))
+                .andExpect(jsonPath("$.data.totalElements").value(1));
+    }
+
     private FriendRequestDto createTestFriendRequestDto() {
         return FriendRequestDto.builder()
                 .id(1L)
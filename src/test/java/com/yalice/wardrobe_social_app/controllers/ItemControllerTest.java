@@ -3,10 +3,12 @@ package com.yalice.wardrobe_social_app.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
 import com.yalice.wardrobe_social_app.dtos.item.ItemDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportResultDto;
 import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.ItemImportService;
 import com.yalice.wardrobe_social_app.interfaces.ItemService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -33,6 +36,9 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private ItemImportService itemImportService;
+
     @Mock
     private AuthUtils authUtils;
 
@@ -335,4 +341,37 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void getItemsInBatch_ReturnsItemsInRequestOrder() throws Exception {
+        ItemResponseDto second = ItemResponseDto.builder().id(2L).name("Jeans").build();
+        ItemResponseDto first = ItemResponseDto.builder().id(1L).name("T-shirt").build();
+        when(itemService.getItems(List.of(2L, 1L))).thenReturn(List.of(second, first));
+
+        mockMvc.perform(get("/api/items/batch").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].id").value(2))
+                .andExpect(jsonPath("$.data[1].id").value(1));
+    }
+
+    @Test
+    void importItems_ReturnsImportSummary() throws Exception {
+        MockMultipartFile items = new MockMultipartFile(
+                "items", "items.csv", "text/csv", "name,category,image\nShirt,Tops,shirt.jpg\n".getBytes());
+        MockMultipartFile images = new MockMultipartFile(
+                "images", "images.zip", "application/zip", new byte[1]);
+        ItemImportResultDto result = ItemImportResultDto.builder().importedCount(1).failedCount(0).build();
+
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(itemImportService.importItems(eq(1L), eq(5L), any(), any())).thenReturn(result);
+
+        mockMvc.perform(multipart("/api/items/{wardrobeId}/import", 5L)
+                .file(items)
+                .file(images))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.importedCount").value(1))
+                .andExpect(jsonPath("$.data.failedCount").value(0));
+    }
+
 }
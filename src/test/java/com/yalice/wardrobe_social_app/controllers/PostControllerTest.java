@@ -2,19 +2,23 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitSummaryDto;
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
-import com.yalice.wardrobe_social_app.entities.Outfit;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
 import com.yalice.wardrobe_social_app.interfaces.PostService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,6 +27,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.BitSet;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -35,6 +42,9 @@ class PostControllerTest {
         @Mock
         private PostService postService;
 
+        @Mock
+        private LikeService likeService;
+
         @Mock
         private AuthUtils authUtils;
 
@@ -72,7 +82,7 @@ class PostControllerTest {
                                 .id(1L)
                                 .title("Test Post")
                                 .content("Test content")
-                                .outfit(Outfit.builder().id(1L).build())
+                                .outfit(OutfitSummaryDto.builder().id(1L).build())
                                 .visibility("PUBLIC")
                                 .build();
 
@@ -114,7 +124,7 @@ class PostControllerTest {
                                 .id(1L)
                                 .title("Test Post")
                                 .content("Test content")
-                                .outfit(Outfit.builder().id(1L).build())
+                                .outfit(OutfitSummaryDto.builder().id(1L).build())
                                 .visibility("PUBLIC")
                                 .build();
 
@@ -164,7 +174,7 @@ class PostControllerTest {
                                 .id(1L)
                                 .title("Updated Post")
                                 .content("Updated content")
-                                .outfit(Outfit.builder().id(1L).build())
+                                .outfit(OutfitSummaryDto.builder().id(1L).build())
                                 .visibility("PUBLIC")
                                 .build();
 
@@ -214,7 +224,7 @@ class PostControllerTest {
                                 .id(1L)
                                 .title("Updated Post")
                                 .content("Updated content")
-                                .outfit(Outfit.builder().id(1L).build())
+                                .outfit(OutfitSummaryDto.builder().id(1L).build())
                                 .visibility("PUBLIC")
                                 .build();
 
@@ -309,7 +319,7 @@ class PostControllerTest {
                                 .id(1L)
                                 .title("Test Post")
                                 .content("Test content")
-                                .outfit(Outfit.builder().id(1L).build())
+                                .outfit(OutfitSummaryDto.builder().id(1L).build())
                                 .visibility("PUBLIC")
                                 .build();
 
@@ -387,4 +397,30 @@ class PostControllerTest {
                                 .andExpect(jsonPath("$.message").value("Unauthorized"))
                                 .andExpect(jsonPath("$.data").doesNotExist());
         }
+
+        @Test
+        void getPostLikes() throws Exception {
+                LikeResponseDto like = LikeResponseDto.builder().profileId(2L).username("liker").build();
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(postService.getPostLikes(eq(1L), eq(1L), eq(PageRequest.of(0, 20))))
+                                .thenReturn(new PageImpl<>(List.of(like), PageRequest.of(0, 20), 1));
+
+                mockMvc.perform(get("/api/feed/{postId}/likes", 1L))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.content[0].username").value("liker"))
+                                .andExpect(jsonPath("$.data.totalElements").value(1));
+        }
+
+        @Test
+        void getLikedPosts() throws Exception {
+                BitSet liked = new BitSet();
+                liked.set(1);
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(likeService.likedBy(1L, List.of(5L, 6L, 7L))).thenReturn(liked);
+
+                mockMvc.perform(get("/api/feed/liked").param("ids", "5,6,7"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.length()").value(1))
+                                .andExpect(jsonPath("$.data[0]").value(6));
+        }
 }
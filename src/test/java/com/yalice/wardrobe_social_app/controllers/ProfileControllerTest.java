@@ -7,6 +7,7 @@ import com.yalice.wardrobe_social_app.dtos.profile.ProfileResponseDto;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.GlobalExceptionHandler;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.AccountExportService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,13 +16,18 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class ProfileControllerTest {
@@ -29,6 +35,9 @@ class ProfileControllerTest {
         @Mock
         private ProfileService profileService;
 
+        @Mock
+        private AccountExportService accountExportService;
+
         @Mock
         private AuthUtils authUtils;
 
@@ -75,6 +84,36 @@ class ProfileControllerTest {
                                 .andExpect(jsonPath("$.data").doesNotExist());
         }
 
+        @Test
+        void exportAccount_StreamsZipArchive() throws Exception {
+                byte[] archive = {'P', 'K', 3, 4};
+                StreamingResponseBody body = out -> out.write(archive);
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(accountExportService.exportAccount(eq(1L))).thenReturn(body);
+
+                MvcResult result = mockMvc.perform(get("/api/profiles/me/export"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Disposition",
+                                                "attachment; filename=\"wardrobe-export.zip\""))
+                                .andExpect(content().contentType("application/zip"))
+                                .andExpect(content().bytes(archive));
+        }
+
+        @Test
+        void exportAccount_ProfileNotFound() throws Exception {
+                when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+                when(accountExportService.exportAccount(eq(1L)))
+                                .thenThrow(new ResourceNotFoundException("Profile not found for user ID: 1"));
+
+                mockMvc.perform(get("/api/profiles/me/export"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
         @Test
         void getProfile() throws Exception {
                 ProfileResponseDto responseDto = createTestProfileResponse();
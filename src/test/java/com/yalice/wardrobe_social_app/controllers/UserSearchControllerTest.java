@@ -101,7 +101,8 @@ class UserSearchControllerTest {
     @Test
     void searchUsers() throws Exception {
         List<UserResponseDto> users = List.of(createTestUserResponse());
-        when(userSearchService.searchUsersByUsername(any())).thenReturn(users);
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(userSearchService.searchUsersByUsername(any(), any())).thenReturn(users);
 
         mockMvc.perform(get("/api/users/search/search")
                 .param("partialUsername", "test"))
@@ -113,7 +114,8 @@ class UserSearchControllerTest {
 
     @Test
     void searchUsers_NoResults() throws Exception {
-        when(userSearchService.searchUsersByUsername(any())).thenReturn(Collections.emptyList());
+        when(authUtils.getCurrentUserOrElseThrow()).thenReturn(testUser);
+        when(userSearchService.searchUsersByUsername(any(), any())).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/users/search/search")
                 .param("partialUsername", "nonexistent"))
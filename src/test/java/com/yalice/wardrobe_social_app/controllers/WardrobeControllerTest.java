@@ -2,6 +2,8 @@ package com.yalice.wardrobe_social_app.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yalice.wardrobe_social_app.controllers.utilities.AuthUtils;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.item.ItemResponseDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeDto;
 import com.yalice.wardrobe_social_app.dtos.wardrobe.WardrobeResponseDto;
 import com.yalice.wardrobe_social_app.entities.Profile;
@@ -22,6 +24,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -177,6 +180,28 @@ class WardrobeControllerTest {
                 .andExpect(jsonPath("$.data").exists());
     }
 
+    @Test
+    void getWardrobeItems_ReturnsPageWithCursor() throws Exception {
+        Long wardrobeId = 1L;
+        CursorPageResponseDto<ItemResponseDto> page = CursorPageResponseDto.<ItemResponseDto>builder()
+                .content(List.of(ItemResponseDto.builder().id(42L).name("Shirt").wardrobeId(wardrobeId).build()))
+                .pageSize(1)
+                .nextCursor(42L)
+                .hasMore(true)
+                .build();
+
+        when(wardrobeService.getWardrobeItems(eq(wardrobeId), eq(50L), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/wardrobes/{wardrobeId}/items", wardrobeId)
+                        .param("cursor", "50")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value(42))
+                .andExpect(jsonPath("$.data.nextCursor").value(42))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
     @Test
     void getWardrobeById_NotFound() throws Exception {
         Long wardrobeId = 1L;
@@ -0,0 +1,233 @@
+package com.yalice.wardrobe_social_app.events;
+
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.Position;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.StoredEvent;
+import com.yalice.wardrobe_social_app.repositories.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the outbox on PostgreSQL, whose transaction ID and snapshot functions order and
+ * hold back events, and whose {@code SKIP LOCKED} keeps a consumer on one instance.
+ *
+ * <p>Each step commits in its own transaction, as the services and the dispatcher run
+ * them, so the tests run outside a test transaction and clear the tables after
+ * themselves.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureJson
+@Import(DomainEventOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DomainEventOutboxTest {
+
+    private static final Position START = new Position(0, 0);
+
+    @Autowired
+    private DomainEventOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.update("DELETE FROM domain_events");
+        jdbcTemplate.update("DELETE FROM outbox_checkpoints");
+        jdbcTemplate.update("DELETE FROM outbox_dead_letters");
+    }
+
+    @Test
+    void readAfter_ReturnsCommittedEventsInTransactionOrder() {
+        commit(new ImageOrphanedEvent("a"), new CommentAddedEvent(1L, 10L, null));
+        commit(new ImageOrphanedEvent("b"));
+
+        List<StoredEvent> events = outbox.readAfter(START, 10);
+        List<StoredEvent> rest = outbox.readAfter(events.get(0).position(), 10);
+
+        assertEquals(List.of("ImageOrphanedEvent", "CommentAddedEvent", "ImageOrphanedEvent"),
+                events.stream().map(StoredEvent::type).toList());
+        assertEquals(events.get(0).position().txId(), events.get(1).position().txId());
+        assertTrue(events.get(1).position().compareTo(events.get(2).position()) < 0);
+        assertEquals(new ImageOrphanedEvent("a"), outbox.payloadOf(events.get(0), ImageOrphanedEvent.class));
+        assertEquals(new CommentAddedEvent(1L, 10L, null), outbox.payloadOf(events.get(1), CommentAddedEvent.class));
+        assertEquals(events.subList(1, 3), rest);
+        assertEquals(events.subList(0, 2), outbox.readAfter(START, 2));
+        assertTrue(outbox.readAfter(events.get(2).position(), 10).isEmpty());
+    }
+
+    /**
+     * A transaction that appended first but commits last must not be skipped: while it
+     * runs, the events of the younger transaction that committed are held back too.
+     */
+    @Test
+    void readAfter_HoldsBackEventsUntilOlderTransactionsEnd() throws Exception {
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> older = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            outbox.append(new ImageOrphanedEvent("older"));
+            appended.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(appended.await(10, TimeUnit.SECONDS));
+
+        commit(new ImageOrphanedEvent("younger"));
+        List<StoredEvent> whileRunning = outbox.readAfter(START, 10);
+        release.countDown();
+        older.get(10, TimeUnit.SECONDS);
+        List<StoredEvent> afterCommit = outbox.readAfter(START, 10);
+
+        assertTrue(whileRunning.isEmpty());
+        assertEquals(List.of(new ImageOrphanedEvent("older"), new ImageOrphanedEvent("younger")),
+                afterCommit.stream().map(event -> outbox.payloadOf(event, ImageOrphanedEvent.class)).toList());
+    }
+
+    @Test
+    void readAfter_SkipsEventsOfRolledBackTransactions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.append(new ImageOrphanedEvent("rolled back"));
+            status.setRollbackOnly();
+        });
+        commit(new ImageOrphanedEvent("committed"));
+
+        List<StoredEvent> events = outbox.readAfter(START, 10);
+
+        assertEquals(1, events.size());
+        assertEquals(new ImageOrphanedEvent("committed"), outbox.payloadOf(events.get(0), ImageOrphanedEvent.class));
+    }
+
+    @Test
+    void append_RequiresTransaction() {
+        assertThrows(IllegalTransactionStateException.class, () -> outbox.append(new ImageOrphanedEvent("a")));
+    }
+
+    @Test
+    void lockCheckpoint_CreatesCheckpointAtStartAndSavesPosition() {
+        Position saved = new Position(5, 7);
+
+        assertEquals(Optional.of(START), transactionTemplate.execute(status -> outbox.lockCheckpoint("counts")));
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.lockCheckpoint("counts");
+            outbox.saveCheckpoint("counts", saved);
+        });
+
+        assertEquals(Optional.of(saved), transactionTemplate.execute(status -> outbox.lockCheckpoint("counts")));
+    }
+
+    @Test
+    void lockCheckpoint_SkipsCheckpointLockedByAnotherTransaction() throws Exception {
+        transactionTemplate.execute(status -> outbox.lockCheckpoint("counts"));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Optional<Position>> holder = executor.submit(() -> transactionTemplate.execute(status -> {
+            Optional<Position> position = outbox.lockCheckpoint("counts");
+            locked.countDown();
+            awaitQuietly(release);
+            return position;
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        Optional<Position> whileHeld = transactionTemplate.execute(status -> outbox.lockCheckpoint("counts"));
+        Optional<Position> otherConsumer = transactionTemplate.execute(status -> outbox.lockCheckpoint("images"));
+        release.countDown();
+
+        assertEquals(Optional.of(START), holder.get(10, TimeUnit.SECONDS));
+        assertTrue(whileHeld.isEmpty());
+        assertEquals(Optional.of(START), otherConsumer);
+        assertEquals(Optional.of(START), transactionTemplate.execute(status -> outbox.lockCheckpoint("counts")));
+    }
+
+    @Test
+    void deleteConsumed_DeletesUpToTheOldestCheckpoint() {
+        commit(new ImageOrphanedEvent("a"));
+        commit(new ImageOrphanedEvent("b"));
+        commit(new ImageOrphanedEvent("c"));
+        List<StoredEvent> events = outbox.readAfter(START, 10);
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.lockCheckpoint("counts");
+            outbox.saveCheckpoint("counts", events.get(1).position());
+            outbox.lockCheckpoint("images");
+            outbox.saveCheckpoint("images", events.get(0).position());
+        });
+
+        assertEquals(0, outbox.deleteConsumed(List.of("counts", "images", "new-consumer")));
+        assertEquals(1, outbox.deleteConsumed(List.of("counts", "images")));
+
+        assertEquals(events.subList(1, 3), outbox.readAfter(START, 10));
+    }
+
+    @Test
+    void deadLetter_KeepsCopyOfEventWithError() {
+        commit(new ImageOrphanedEvent("a"));
+        StoredEvent event = outbox.readAfter(START, 1).get(0);
+
+        transactionTemplate.executeWithoutResult(status -> outbox.deadLetter("images", event, "x".repeat(2000)));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM outbox_dead_letters");
+        assertEquals("images", row.get("consumer"));
+        assertEquals(event.position(), new Position((Long) row.get("tx_id"), (Long) row.get("event_id")));
+        assertEquals(event.payload(), row.get("payload"));
+        assertEquals(1000, ((String) row.get("error")).length());
+    }
+
+    private void commit(Object... events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object event : events) {
+                outbox.append(event);
+            }
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
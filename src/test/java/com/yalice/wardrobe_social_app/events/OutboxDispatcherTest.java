@@ -0,0 +1,210 @@
+package com.yalice.wardrobe_social_app.events;
+
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.Position;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox.StoredEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private static final Position START = new Position(0, 0);
+
+    private DomainEventOutbox outbox;
+    private RecordingConsumer images;
+
+    @BeforeEach
+    void setUp() {
+        outbox = mock(DomainEventOutbox.class);
+        images = new RecordingConsumer("orphaned-images", ImageOrphanedEvent.class);
+        when(outbox.lockCheckpoint(any())).thenReturn(Optional.of(START));
+        when(outbox.payloadOf(any(), eq(ImageOrphanedEvent.class)))
+                .thenAnswer(invocation -> {
+                    String payload = ((StoredEvent) invocation.getArgument(0)).payload();
+                    if (payload.equals("bad")) {
+                        throw new IllegalStateException("unreadable payload");
+                    }
+                    return new ImageOrphanedEvent(payload);
+                });
+    }
+
+    @Test
+    void dispatch_DeliversEventsOfConsumerTypesAndCheckpointsWholeBatch() {
+        when(outbox.readAfter(START, 10)).thenReturn(List.of(
+                stored(5, 1, "ImageOrphanedEvent", "a.jpg"),
+                stored(5, 2, "CommentAddedEvent", "{}"),
+                stored(7, 3, "ImageOrphanedEvent", "b.jpg")));
+
+        dispatcher(10, images).dispatch();
+
+        assertThat(images.received).containsExactly(new ImageOrphanedEvent("a.jpg"), new ImageOrphanedEvent("b.jpg"));
+        verify(outbox).saveCheckpoint("orphaned-images", new Position(7, 3));
+    }
+
+    @Test
+    void dispatch_BatchWithoutConsumerTypesOnlyMovesCheckpoint() {
+        when(outbox.readAfter(START, 10)).thenReturn(List.of(stored(5, 2, "CommentAddedEvent", "{}")));
+
+        dispatcher(10, images).dispatch();
+
+        assertThat(images.batches).isZero();
+        verify(outbox).saveCheckpoint("orphaned-images", new Position(5, 2));
+    }
+
+    @Test
+    void dispatch_KeepsReadingWhileBatchesAreFull() {
+        Position afterFirst = new Position(5, 2);
+        when(outbox.readAfter(START, 2)).thenReturn(List.of(
+                stored(5, 1, "ImageOrphanedEvent", "a.jpg"),
+                stored(5, 2, "ImageOrphanedEvent", "b.jpg")));
+        when(outbox.lockCheckpoint("orphaned-images"))
+                .thenReturn(Optional.of(START))
+                .thenReturn(Optional.of(afterFirst));
+        when(outbox.readAfter(afterFirst, 2)).thenReturn(List.of(stored(6, 3, "ImageOrphanedEvent", "c.jpg")));
+
+        dispatcher(2, images).dispatch();
+
+        assertThat(images.batches).isEqualTo(2);
+        assertThat(images.received).hasSize(3);
+        verify(outbox).saveCheckpoint("orphaned-images", new Position(6, 3));
+    }
+
+    @Test
+    void dispatch_SkipsConsumerHeldByAnotherInstance() {
+        when(outbox.lockCheckpoint("orphaned-images")).thenReturn(Optional.empty());
+
+        dispatcher(10, images).dispatch();
+
+        verify(outbox, never()).readAfter(any(), anyInt());
+    }
+
+    @Test
+    void dispatch_FailedConsumerKeepsCheckpointAndOthersStillRun() {
+        RecordingConsumer failing = new RecordingConsumer("failing", ImageOrphanedEvent.class) {
+            @Override
+            public void consume(List<Object> events) {
+                throw new IllegalStateException("down");
+            }
+        };
+        when(outbox.readAfter(START, 10)).thenReturn(List.of(stored(5, 1, "ImageOrphanedEvent", "a.jpg")));
+
+        dispatcher(10, failing, images).dispatch();
+
+        verify(outbox, never()).saveCheckpoint(eq("failing"), any());
+        verify(outbox).saveCheckpoint("orphaned-images", new Position(5, 1));
+    }
+
+    @Test
+    void dispatch_FailedConsumerIsNotPolledUntilBackoffExpires() {
+        when(outbox.readAfter(START, 10)).thenReturn(List.of(stored(5, 1, "ImageOrphanedEvent", "bad")));
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outbox, List.of(images),
+                mock(PlatformTransactionManager.class), 10, 5, 60_000);
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        verify(outbox, times(1)).readAfter(START, 10);
+        assertThat(images.batches).isZero();
+    }
+
+    @Test
+    void dispatch_AfterMaxAttempts_DeadLettersTheFailingEventAndDeliversTheRest() {
+        StoredEvent poison = stored(5, 2, "ImageOrphanedEvent", "bad");
+        storeEvents(stored(5, 1, "ImageOrphanedEvent", "a.jpg"), poison, stored(6, 3, "ImageOrphanedEvent", "c.jpg"));
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outbox, List.of(images),
+                mock(PlatformTransactionManager.class), 10, 2, 0);
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertThat(images.batches).isZero();
+        dispatcher.dispatch();
+
+        assertThat(images.received).containsExactly(new ImageOrphanedEvent("a.jpg"), new ImageOrphanedEvent("c.jpg"));
+        verify(outbox).deadLetter(eq("orphaned-images"), eq(poison), contains("unreadable"));
+        verify(outbox).saveCheckpoint("orphaned-images", new Position(6, 3));
+    }
+
+    @Test
+    void prune_DeletesEventsGivenToEveryConsumer() {
+        dispatcher(10, images, new RecordingConsumer("other")).prune();
+
+        verify(outbox).deleteConsumed(List.of("orphaned-images", "other"));
+    }
+
+    @Test
+    void constructor_RejectsDuplicateConsumerNames() {
+        assertThatThrownBy(() -> dispatcher(10, images, new RecordingConsumer("orphaned-images")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, OutboxConsumer... consumers) {
+        return new OutboxDispatcher(outbox, List.of(consumers), mock(PlatformTransactionManager.class), batchSize, 5, 0);
+    }
+
+    /**
+     * Backs the mocked outbox with the events and a checkpoint that moves when saved.
+     */
+    private void storeEvents(StoredEvent... events) {
+        AtomicReference<Position> checkpoint = new AtomicReference<>(START);
+        when(outbox.lockCheckpoint(any())).thenAnswer(invocation -> Optional.of(checkpoint.get()));
+        doAnswer(invocation -> {
+            checkpoint.set(invocation.getArgument(1));
+            return null;
+        }).when(outbox).saveCheckpoint(any(), any());
+        when(outbox.readAfter(any(), anyInt())).thenAnswer(invocation -> Arrays.stream(events)
+                .filter(event -> event.position().compareTo(invocation.getArgument(0)) > 0)
+                .limit(invocation.<Integer>getArgument(1))
+                .toList());
+    }
+
+    private static StoredEvent stored(long txId, long eventId, String type, String payload) {
+        return new StoredEvent(new Position(txId, eventId), type, payload);
+    }
+
+    private static class RecordingConsumer implements OutboxConsumer {
+        private final String name;
+        private final List<Class<?>> types;
+        final List<Object> received = new ArrayList<>();
+        int batches;
+
+        RecordingConsumer(String name, Class<?>... types) {
+            this.name = name;
+            this.types = List.of(types);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Class<?>> getEventTypes() {
+            return types;
+        }
+
+        @Override
+        public void consume(List<Object> events) {
+            batches++;
+            received.addAll(events);
+        }
+    }
+}
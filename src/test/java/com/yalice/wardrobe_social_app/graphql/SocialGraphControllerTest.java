@@ -0,0 +1,230 @@
+package com.yalice.wardrobe_social_app.graphql;
+
+import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.outfit.OutfitSummaryDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostAuthorDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.ProfileResponseDto;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.interfaces.CommentService;
+import com.yalice.wardrobe_social_app.interfaces.FriendService;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
+import com.yalice.wardrobe_social_app.interfaces.OutfitService;
+import com.yalice.wardrobe_social_app.interfaces.PostService;
+import com.yalice.wardrobe_social_app.interfaces.ProfileService;
+import com.yalice.wardrobe_social_app.interfaces.WardrobeService;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@GraphQlTest(SocialGraphController.class)
+@Import({GraphQlDataLoaders.class, BlockList.class})
+class SocialGraphControllerTest {
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    @MockitoBean
+    private ProfileService profileService;
+
+    @MockitoBean
+    private PostService postService;
+
+    @MockitoBean
+    private OutfitService outfitService;
+
+    @MockitoBean
+    private WardrobeService wardrobeService;
+
+    @MockitoBean
+    private CommentService commentService;
+
+    @MockitoBean
+    private FriendService friendService;
+
+    @MockitoBean
+    private LikeService likeService;
+
+    @MockitoBean
+    private FriendRepository friendRepository;
+
+    private GraphQlTester graphQlTester;
+
+    @BeforeEach
+    void setUp() {
+        User viewer = User.builder().id(1L).profile(Profile.builder().id(10L).build()).build();
+        graphQlTester = ExecutionGraphQlServiceTester.builder(graphQlService)
+                .configureExecutionInput((input, builder) ->
+                        builder.graphQLContext(Map.of(ViewerInterceptor.VIEWER, viewer)).build())
+                .build();
+    }
+
+    @Test
+    void feed_LoadsAuthorsAndCommentsInOneBatchEach() {
+        List<PostResponseDto> posts = List.of(createPost(100L, 1L), createPost(101L, 2L), createPost(102L, 1L));
+        when(postService.getFeedPosts(eq(10L), any())).thenReturn(new PageImpl<>(posts));
+        when(profileService.getProfiles(anyList())).thenReturn(List.of(createProfile(1L), createProfile(2L)));
+        when(commentService.getCommentsByPostIds(anyList(), isNull(), eq(10))).thenReturn(Map.of(
+                100L, List.of(CommentResponseDto.builder().id(5L).content("Nice").userId(2L).build()),
+                101L, List.of(),
+                102L, List.of()));
+
+        graphQlTester.document("{ feed(size: 3) { id author { username } comments { content author { username } } } }")
+                .execute()
+                .path("feed[*].author.username").entityList(String.class).containsExactly("user1", "user2", "user1")
+                .path("feed[0].comments[0].author.username").entity(String.class).isEqualTo("user2");
+
+        verify(profileService, times(1)).getProfiles(anyList());
+        verify(commentService, times(1)).getCommentsByPostIds(anyList(), isNull(), eq(10));
+    }
+
+    @Test
+    void comments_LoadsEachRequestedPageOnce() {
+        when(postService.getPosts(anyList(), eq(10L))).thenReturn(List.of(createPost(100L, 1L), createPost(101L, 1L)));
+        when(commentService.getCommentsByPostIds(anyList(), isNull(), eq(2))).thenReturn(Map.of(
+                100L, List.of(CommentResponseDto.builder().id(9L).userId(2L).build()),
+                101L, List.of()));
+        when(commentService.getCommentsByPostIds(anyList(), eq(9L), eq(2))).thenReturn(Map.of(
+                100L, List.of(CommentResponseDto.builder().id(8L).userId(2L).build()),
+                101L, List.of()));
+
+        graphQlTester.document("{ posts(ids: [100, 101]) { first: comments(first: 2) { id } "
+                        + "next: comments(first: 2, after: 9) { id } } }")
+                .execute()
+                .path("posts[0].first[*].id").entityList(String.class).containsExactly("9")
+                .path("posts[0].next[*].id").entityList(String.class).containsExactly("8");
+
+        verify(commentService, times(1)).getCommentsByPostIds(anyList(), isNull(), eq(2));
+        verify(commentService, times(1)).getCommentsByPostIds(anyList(), eq(9L), eq(2));
+    }
+
+    @Test
+    void comments_PageSizeTooLarge_ReturnsBadRequestError() {
+        when(postService.getPosts(anyList(), eq(10L))).thenReturn(List.of(createPost(100L, 1L)));
+
+        graphQlTester.document("{ posts(ids: [100]) { comments(first: 500) { id } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors.getFirst().getErrorType()).isEqualTo(ErrorType.BAD_REQUEST));
+    }
+
+    @Test
+    void feed_LikedByViewer_LoadsOneBitSetForThePage() {
+        List<PostResponseDto> posts = List.of(createPost(100L, 1L), createPost(101L, 2L), createPost(102L, 1L));
+        when(postService.getFeedPosts(eq(10L), any())).thenReturn(new PageImpl<>(posts));
+        when(likeService.likedBy(eq(10L), anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(1);
+            BitSet liked = new BitSet();
+            liked.set(ids.indexOf(101L));
+            return liked;
+        });
+
+        graphQlTester.document("{ feed(size: 3) { id likedByViewer } }")
+                .execute()
+                .path("feed[*].likedByViewer").entityList(Boolean.class).containsExactly(false, true, false);
+
+        verify(likeService, times(1)).likedBy(eq(10L), anyList());
+    }
+
+    /**
+     * Runs as its own viewer, so the block list is loaded for this test rather than taken
+     * from the cache the other tests fill.
+     */
+    @Test
+    void blockedUsers_AreLeftOutOfAuthorsAndFriends() {
+        User viewer = User.builder().id(5L).profile(Profile.builder().id(15L).build()).build();
+        GraphQlTester tester = ExecutionGraphQlServiceTester.builder(graphQlService)
+                .configureExecutionInput((input, builder) ->
+                        builder.graphQLContext(Map.of(ViewerInterceptor.VIEWER, viewer)).build())
+                .build();
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(5L)), any()))
+                .thenReturn(List.of(blockPair(5L, 2L)));
+        when(postService.getFeedPosts(eq(15L), any()))
+                .thenReturn(new PageImpl<>(List.of(createPost(100L, 2L), createPost(101L, 3L))));
+        when(profileService.getProfile(5L)).thenReturn(createProfile(5L));
+        when(profileService.getProfiles(anyList())).thenReturn(List.of(createProfile(2L), createProfile(3L)));
+        when(friendService.getFriendsByUserIds(anyList())).thenReturn(Map.of(5L, List.of(
+                FriendResponseDto.builder().id(1L).userId(2L).build(),
+                FriendResponseDto.builder().id(2L).userId(3L).build())));
+
+        tester.document("{ feed(size: 2) { author { username } } me { friends { userId } } }")
+                .execute()
+                .path("feed[0].author").valueIsNull()
+                .path("feed[1].author.username").entity(String.class).isEqualTo("user3")
+                .path("me.friends[*].userId").entityList(String.class).containsExactly("3");
+    }
+
+    @Test
+    void post_NotFound_ReturnsNotFoundError() {
+        when(postService.getPost(99L, 10L)).thenThrow(new ResourceNotFoundException("Post not found with ID: 99"));
+
+        graphQlTester.document("{ post(id: 99) { title } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertThat(errors).hasSize(1);
+                    assertThat(errors.getFirst().getErrorType()).isEqualTo(ErrorType.NOT_FOUND);
+                });
+    }
+
+    @Test
+    void feed_PageSizeTooLarge_ReturnsBadRequestError() {
+        graphQlTester.document("{ feed(size: 500) { id } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors.getFirst().getErrorType()).isEqualTo(ErrorType.BAD_REQUEST));
+    }
+
+    private PostResponseDto createPost(Long id, Long authorUserId) {
+        return PostResponseDto.builder()
+                .id(id)
+                .title("Post " + id)
+                .author(PostAuthorDto.builder().userId(authorUserId).build())
+                .outfit(OutfitSummaryDto.builder().id(7L).build())
+                .build();
+    }
+
+    private static FriendRepository.FriendPair blockPair(Long senderId, Long recipientId) {
+        return new FriendRepository.FriendPair() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+
+    private ProfileResponseDto createProfile(Long userId) {
+        return ProfileResponseDto.builder().id(userId + 10).userId(userId).username("user" + userId).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClusterJobSchedulerTest {
+
+    private JobLocks locks;
+    private SimpleMeterRegistry meterRegistry;
+    private JobLocks.Lock lock;
+    private final List<ClusterJobScheduler> schedulers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        locks = mock(JobLocks.class);
+        meterRegistry = new SimpleMeterRegistry();
+        lock = mock(JobLocks.Lock.class);
+        when(locks.tryLock(anyInt(), anyInt())).thenReturn(Optional.of(lock));
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.forEach(ClusterJobScheduler::destroy);
+    }
+
+    @Test
+    void run_WithLock_RunsPartitionAndReleasesLock() {
+        List<JobPartition> ran = new ArrayList<>();
+        ClusterJob job = job("sweep", 2, ran::add);
+
+        scheduler(1, job).run(job, new JobPartition(1, 2));
+
+        assertThat(ran).containsExactly(new JobPartition(1, 2));
+        verify(locks).tryLock(JobLocks.keyOf("sweep"), 1);
+        verify(lock).close();
+        assertThat(meterRegistry.get("cluster.jobs.run").tags("job", "sweep", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("cluster.jobs.last.run").tag("job", "sweep").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isPositive();
+    }
+
+    @Test
+    void run_LockHeldByAnotherNode_SkipsPartition() {
+        when(locks.tryLock(eq(JobLocks.keyOf("sweep")), anyInt())).thenReturn(Optional.empty());
+        List<JobPartition> ran = new ArrayList<>();
+        ClusterJob job = job("sweep", 1, ran::add);
+
+        scheduler(1, job).run(job, JobPartition.ALL);
+
+        assertThat(ran).isEmpty();
+        assertThat(meterRegistry.get("cluster.jobs.skipped").tags("job", "sweep", "reason", "locked").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void run_TaskFails_ReleasesLockAndRecordsFailure() {
+        ClusterJob job = job("sweep", 1, partition -> {
+            throw new IllegalStateException("down");
+        });
+
+        scheduler(1, job).run(job, JobPartition.ALL);
+
+        verify(lock).close();
+        assertThat(meterRegistry.get("cluster.jobs.run").tags("job", "sweep", "outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void startRound_RunsEveryPartitionOnce() throws Exception {
+        List<JobPartition> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        ClusterJob job = job("sweep", 3, partition -> {
+            ran.add(partition);
+            done.countDown();
+        });
+
+        scheduler(3, job).startRound(job);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactlyInAnyOrder(
+                new JobPartition(0, 3), new JobPartition(1, 3), new JobPartition(2, 3));
+    }
+
+    @Test
+    void startRound_NoFreeThread_LeavesPartitionsForLaterRound() throws Exception {
+        List<JobPartition> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClusterJob job = job("sweep", 3, partition -> {
+            ran.add(partition);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ClusterJobScheduler scheduler = scheduler(1, job);
+
+        scheduler.startRound(job);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        scheduler.startRound(job);
+        release.countDown();
+
+        assertThat(ran).hasSize(1);
+        assertThat(meterRegistry.get("cluster.jobs.skipped").tags("job", "sweep", "reason", "busy").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    void constructor_RejectsJobsWithTheSameName() {
+        ClusterJob job = job("sweep", 1, partition -> { });
+
+        assertThatThrownBy(() -> scheduler(1, job, job("sweep", 2, partition -> { })))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void jobPartition_OwnsIdsByRemainder() {
+        JobPartition partition = new JobPartition(1, 4);
+
+        assertThat(partition.owns(5)).isTrue();
+        assertThat(partition.owns(6)).isFalse();
+        assertThatThrownBy(() -> new JobPartition(4, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ClusterJobScheduler scheduler(int threads, ClusterJob... jobs) {
+        ClusterJobScheduler scheduler = new ClusterJobScheduler(List.of(jobs), locks, meterRegistry, threads);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private static ClusterJob job(String name, int partitions, Consumer<JobPartition> task) {
+        return new ClusterJob(name, Duration.ofSeconds(1), partitions, task);
+    }
+}
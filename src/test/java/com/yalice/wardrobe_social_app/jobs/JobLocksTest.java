@@ -0,0 +1,109 @@
+package com.yalice.wardrobe_social_app.jobs;
+
+import com.yalice.wardrobe_social_app.repositories.PostgresTestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Takes advisory locks on PostgreSQL through a connection pool, so a released lock's
+ * connection goes back to the pool with its session still open, as it does in the
+ * application.
+ */
+class JobLocksTest {
+
+    private static final int JOB_KEY = 4242;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private JobLocks locks;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(PostgresTestDatabase.server().getJdbcUrl("postgres", "postgres"));
+        dataSource.setUsername("postgres");
+        dataSource.setPassword("postgres");
+        dataSource.setMaximumPoolSize(4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        locks = new JobLocks(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void tryLock_HeldPartitionIsEmptyForOthers() {
+        try (JobLocks.Lock held = locks.tryLock(JOB_KEY, 1).orElseThrow()) {
+            assertThat(locks.tryLock(JOB_KEY, 1)).isEmpty();
+            assertThat(heldPartitions()).containsExactly(1);
+        }
+    }
+
+    @Test
+    void tryLock_OtherPartitionsAndJobsStayAvailable() {
+        try (JobLocks.Lock held = locks.tryLock(JOB_KEY, 1).orElseThrow();
+             JobLocks.Lock otherPartition = locks.tryLock(JOB_KEY, 2).orElseThrow();
+             JobLocks.Lock otherJob = locks.tryLock(JOB_KEY + 1, 1).orElseThrow()) {
+            assertThat(heldPartitions()).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    void close_UnlocksBeforeConnectionReturnsToPool() {
+        locks.tryLock(JOB_KEY, 1).orElseThrow().close();
+
+        assertThat(heldPartitions()).isEmpty();
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        try (JobLocks.Lock again = locks.tryLock(JOB_KEY, 1).orElseThrow()) {
+            assertThat(heldPartitions()).containsExactly(1);
+        }
+    }
+
+    @Test
+    void close_Twice_LeavesNextHolderLocked() {
+        JobLocks.Lock first = locks.tryLock(JOB_KEY, 1).orElseThrow();
+        first.close();
+
+        try (JobLocks.Lock next = locks.tryLock(JOB_KEY, 1).orElseThrow()) {
+            first.close();
+
+            assertThat(heldPartitions()).containsExactly(1);
+            assertThat(locks.tryLock(JOB_KEY, 1)).isEmpty();
+        }
+    }
+
+    /**
+     * A lock whose session has ended, as when the database restarts or kills the
+     * connection, is gone; closing it afterwards aborts the dead connection.
+     */
+    @Test
+    void close_AfterSessionEnded_ReleasesConnection() {
+        JobLocks.Lock lost = locks.tryLock(JOB_KEY, 1).orElseThrow();
+        Integer holder = jdbcTemplate.queryForObject("SELECT pid FROM pg_locks WHERE locktype = 'advisory' "
+                + "AND classid = ? AND objid = 1 AND objsubid = 2", Integer.class, JOB_KEY);
+        jdbcTemplate.queryForObject("SELECT pg_terminate_backend(?)", Boolean.class, holder);
+
+        Optional<JobLocks.Lock> taken = locks.tryLock(JOB_KEY, 1);
+        lost.close();
+
+        assertThat(taken).isPresent();
+        taken.get().close();
+        assertThat(heldPartitions()).isEmpty();
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    private List<Integer> heldPartitions() {
+        return jdbcTemplate.queryForList("SELECT objid::int FROM pg_locks WHERE locktype = 'advisory' "
+                + "AND classid = ? AND objsubid = 2 AND granted ORDER BY objid", Integer.class, JOB_KEY);
+    }
+}
@@ -0,0 +1,163 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.entities.Comment;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the comment queries on PostgreSQL: the {@code LATERAL} preview of the latest
+ * comments of each post, keyset paging of comments and replies, and the bulk count
+ * and delete statements.
+ *
+ * <p>Post 10 has top-level comments 101, 102 and 103, and 103 has replies 104 and 105.
+ * Post 11 has comment 111, and post 12 has none.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentRepositoryPostgresTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        SeedRows.profile(jdbcTemplate, 1);
+        SeedRows.profile(jdbcTemplate, 2);
+        SeedRows.post(jdbcTemplate, 10, 1, CREATED_AT);
+        SeedRows.post(jdbcTemplate, 11, 1, CREATED_AT);
+        SeedRows.post(jdbcTemplate, 12, 1, CREATED_AT);
+        SeedRows.comment(jdbcTemplate, 101, 10, 2, null);
+        SeedRows.comment(jdbcTemplate, 102, 10, 1, null);
+        SeedRows.comment(jdbcTemplate, 103, 10, 2, null);
+        SeedRows.comment(jdbcTemplate, 104, 10, 1, 103L);
+        SeedRows.comment(jdbcTemplate, 105, 10, 2, 103L);
+        SeedRows.comment(jdbcTemplate, 111, 11, 2, null);
+        jdbcTemplate.update("UPDATE comments SET reply_count = 2 WHERE id = 103");
+        jdbcTemplate.update("UPDATE posts SET comment_count = 5 WHERE id = 10");
+        jdbcTemplate.update("UPDATE posts SET comment_count = 1 WHERE id = 11");
+    }
+
+    @Test
+    void findLatestCommentsByPostIdIn_ReturnsTwoNewestTopLevelCommentsOfEachPost() {
+        List<CommentRepository.CommentPreviewRow> rows =
+                commentRepository.findLatestCommentsByPostIdIn(List.of(10L, 11L, 12L));
+
+        assertEquals(List.of(103L, 102L, 111L), rows.stream().map(CommentRepository.CommentPreviewRow::getId).toList());
+        CommentRepository.CommentPreviewRow latest = rows.get(0);
+        assertEquals(10L, latest.getPostId());
+        assertEquals("Comment 103", latest.getContent());
+        assertEquals(2, latest.getReplyCount());
+        assertEquals(2L, latest.getUserId());
+        assertEquals("user2", latest.getUsername());
+        assertNotNull(latest.getCreatedAt());
+        assertEquals(11L, rows.get(2).getPostId());
+    }
+
+    @Test
+    void findLatestCommentsByPostIdIn_UnknownPostsReturnNothing() {
+        assertTrue(commentRepository.findLatestCommentsByPostIdIn(List.of(12L, 99L)).isEmpty());
+    }
+
+    @Test
+    void findTopLevelIdsByPostIdIn_PagesTopLevelCommentsOfEachPost() {
+        List<Long> first = commentRepository.findTopLevelIdsByPostIdIn(List.of(10L, 11L, 12L), Long.MAX_VALUE, 2);
+        List<Long> next = commentRepository.findTopLevelIdsByPostIdIn(List.of(10L, 11L), 102L, 2);
+
+        assertEquals(List.of(102L, 103L, 111L), first.stream().sorted().toList());
+        assertEquals(List.of(101L), next);
+        assertEquals(List.of(111L, 103L), commentRepository.findByIdInOrderByIdDesc(List.of(103L, 111L)).stream()
+                .map(Comment::getId).toList());
+    }
+
+    @Test
+    void topLevelComments_PageNewestFirstByKeyset() {
+        List<Comment> first = commentRepository.findByPostIdAndParentIsNullOrderByIdDesc(10L, PageRequest.of(0, 2));
+        List<Comment> next = commentRepository.findByPostIdAndParentIsNullAndIdLessThanOrderByIdDesc(
+                10L, first.get(first.size() - 1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(103L, 102L), first.stream().map(Comment::getId).toList());
+        assertEquals(List.of(101L), next.stream().map(Comment::getId).toList());
+        assertEquals("user2", first.get(0).getProfile().getUser().getUsername());
+    }
+
+    @Test
+    void replies_PageOldestFirstByKeyset() {
+        List<Comment> first = commentRepository.findByParentIdOrderByIdAsc(103L, PageRequest.of(0, 1));
+        List<Comment> next = commentRepository.findByParentIdAndIdGreaterThanOrderByIdAsc(
+                103L, first.get(0).getId(), PageRequest.of(0, 1));
+
+        assertEquals(List.of(104L), first.stream().map(Comment::getId).toList());
+        assertEquals(List.of(105L), next.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void decrementCounts_SubtractTheDeletedCommentsFromTheirParentsAndPosts() {
+        List<Long> deleted = List.of(104L, 105L, 111L);
+
+        commentRepository.decrementReplyCountsForReplies(deleted);
+        postRepository.decrementCommentCountsForComments(deleted);
+        commentRepository.deleteAllByIdInBatch(deleted);
+
+        assertEquals(0, replyCount(103));
+        assertEquals(3, commentCount(10));
+        assertEquals(0, commentCount(11));
+    }
+
+    @Test
+    void adjustCounts_AddToTheStoredCounts() {
+        commentRepository.adjustReplyCount(103L, 1);
+        postRepository.adjustCommentCount(10L, -1);
+
+        assertEquals(3, replyCount(103));
+        assertEquals(4, commentCount(10));
+    }
+
+    @Test
+    void deletePaths_RemoveRepliesBeforeTheirParents() {
+        assertEquals(2, commentRepository.deleteByParentId(103L));
+        SeedRows.comment(jdbcTemplate, 106, 10, 1, 101L);
+
+        assertEquals(1, commentRepository.deleteRepliesByPostId(10L));
+        assertEquals(3, commentRepository.deleteByPostId(10L));
+
+        entityManager.clear();
+        assertEquals(List.of(111L), commentRepository.findAll().stream().map(Comment::getId).toList());
+    }
+
+    private int replyCount(long commentId) {
+        return jdbcTemplate.queryForObject("SELECT reply_count FROM comments WHERE id = ?", Integer.class, commentId);
+    }
+
+    private int commentCount(long postId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM posts WHERE id = ?", Integer.class, postId);
+    }
+}
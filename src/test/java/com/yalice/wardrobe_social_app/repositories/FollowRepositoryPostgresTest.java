@@ -0,0 +1,208 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.configs.JpaConfig;
+import com.yalice.wardrobe_social_app.entities.Follow;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the follower graph's SQL on PostgreSQL: the {@code ON CONFLICT} insert, the stored
+ * follower and following counts, keyset paging, and the decrements of account deletion.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class FollowRepositoryPostgresTest {
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void insertIfAbsent_DuplicateFollowCountsOnce() {
+        SeedRows.profile(jdbcTemplate, 1);
+        SeedRows.profile(jdbcTemplate, 2);
+
+        for (int i = 0; i < 2; i++) {
+            if (followRepository.insertIfAbsent(1L, 2L) > 0) {
+                profileRepository.adjustFollowCounts(1L, 2L, 1);
+            }
+        }
+
+        assertEquals(List.of(2L), followRepository.findFollowedIds(1L));
+        assertEquals(1, followingCount(1));
+        assertEquals(0, followerCount(1));
+        assertEquals(1, followerCount(2));
+        assertEquals(0, followingCount(2));
+    }
+
+    @Test
+    void unfollow_DecrementsBothSidesOnce() {
+        SeedRows.profile(jdbcTemplate, 1);
+        SeedRows.profile(jdbcTemplate, 2);
+        followRepository.insertIfAbsent(1L, 2L);
+        profileRepository.adjustFollowCounts(1L, 2L, 1);
+
+        assertEquals(1, followRepository.deleteByFollowerIdAndFollowedId(1L, 2L));
+        profileRepository.adjustFollowCounts(1L, 2L, -1);
+        assertEquals(0, followRepository.deleteByFollowerIdAndFollowedId(1L, 2L));
+
+        assertEquals(0, followingCount(1));
+        assertEquals(0, followerCount(2));
+    }
+
+    @Test
+    void followersAndFollowing_PageNewestFirstByKeyset() {
+        for (long id = 1; id <= 4; id++) {
+            SeedRows.profile(jdbcTemplate, id);
+        }
+        followRepository.insertIfAbsent(2L, 1L);
+        followRepository.insertIfAbsent(3L, 1L);
+        followRepository.insertIfAbsent(4L, 1L);
+        followRepository.insertIfAbsent(1L, 4L);
+
+        List<Follow> first = followRepository.findByFollowedIdOrderByIdDesc(1L, PageRequest.of(0, 2));
+        List<Follow> next = followRepository.findByFollowedIdAndIdLessThanOrderByIdDesc(
+                1L, first.get(1).getId(), PageRequest.of(0, 2));
+        List<Follow> following = followRepository.findByFollowerIdOrderByIdDesc(1L, PageRequest.of(0, 2));
+
+        assertEquals(List.of(4L, 3L), first.stream().map(follow -> follow.getFollower().getId()).toList());
+        assertEquals(List.of(2L), next.stream().map(follow -> follow.getFollower().getId()).toList());
+        assertEquals("user4", first.get(0).getFollower().getUser().getUsername());
+        assertEquals(List.of(4L), following.stream().map(follow -> follow.getFollowed().getId()).toList());
+        assertTrue(followRepository.findByFollowerIdAndIdLessThanOrderByIdDesc(
+                1L, following.get(0).getId(), PageRequest.of(0, 2)).isEmpty());
+    }
+
+    @Test
+    void decrementCountsForFollows_LeavesOtherProfilesCountsCorrect() {
+        for (long id = 1; id <= 3; id++) {
+            SeedRows.profile(jdbcTemplate, id);
+        }
+        follow(1L, 2L);
+        follow(2L, 1L);
+        follow(3L, 2L);
+        follow(1L, 3L);
+
+        // Deleting profile 1, as AccountDeletionServiceImpl does
+        List<Long> followIds = followRepository.findIdsByProfileId(1L, PageRequest.of(0, 10));
+        assertEquals(3, followIds.size());
+        profileRepository.decrementFollowerCountsForFollows(followIds);
+        profileRepository.decrementFollowingCountsForFollows(followIds);
+        followRepository.deleteAllByIdInBatch(followIds);
+
+        assertEquals(1, followerCount(2));
+        assertEquals(0, followingCount(2));
+        assertEquals(0, followerCount(3));
+        assertEquals(1, followingCount(3));
+    }
+
+    /**
+     * Two profiles following each other at the same moment, each in its own committed
+     * transaction, while a profile edit that loaded one of them before the follows is
+     * still open, as {@code ProfileServiceImpl.updateProfile} runs it.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void counts_StayCorrectUnderConcurrentOppositeFollowsAndProfileEdits() throws Exception {
+        Long[] profileIds = {901L, 902L};
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            SeedRows.profile(jdbcTemplate, 901);
+            SeedRows.profile(jdbcTemplate, 902);
+        });
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Callable<Void>> follows = new ArrayList<>();
+            for (long[] pair : new long[][]{{901, 902}, {902, 901}}) {
+                follows.add(() -> transactionTemplate.execute(status -> {
+                    awaitQuietly(start);
+                    if (followRepository.insertIfAbsent(pair[0], pair[1]) > 0) {
+                        profileRepository.adjustFollowCounts(pair[0], pair[1], 1);
+                    }
+                    return null;
+                }));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Profile profile = profileRepository.findById(901L).orElseThrow();
+                try {
+                    for (Future<Void> result : executor.invokeAll(follows)) {
+                        result.get();
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                profile.setBio("Edited after the follows");
+                profileRepository.save(profile);
+            });
+
+            for (long id : new long[]{901, 902}) {
+                assertEquals(1, followerCount(id));
+                assertEquals(1, followingCount(id));
+            }
+            assertEquals("Edited after the follows", jdbcTemplate.queryForObject(
+                    "SELECT bio FROM profiles WHERE id = 901", String.class));
+        } finally {
+            executor.shutdown();
+            SeedRows.delete(jdbcTemplate, profileIds, new Long[0]);
+        }
+    }
+
+    private void follow(Long followerId, Long followedId) {
+        followRepository.insertIfAbsent(followerId, followedId);
+        profileRepository.adjustFollowCounts(followerId, followedId, 1);
+    }
+
+    private int followerCount(long profileId) {
+        return jdbcTemplate.queryForObject("SELECT follower_count FROM profiles WHERE id = ?", Integer.class, profileId);
+    }
+
+    private int followingCount(long profileId) {
+        return jdbcTemplate.queryForObject("SELECT following_count FROM profiles WHERE id = ?", Integer.class,
+                profileId);
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import com.yalice.wardrobe_social_app.configs.JpaConfig;
+import com.yalice.wardrobe_social_app.entities.Like;
+import com.yalice.wardrobe_social_app.entities.Post;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the like store's native SQL on PostgreSQL: the {@code ON CONFLICT} insert, its use of
+ * the entity sequence next to IDs Hibernate assigns, and the count and lookup queries
+ * around it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+class LikeRepositoryPostgresTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void insertIfAbsent_AddsLikeOnce() {
+        SeedRows.profile(jdbcTemplate, 1);
+        SeedRows.profile(jdbcTemplate, 2);
+        SeedRows.post(jdbcTemplate, 10, 1, CREATED_AT);
+
+        assertEquals(1, likeRepository.insertIfAbsent(10L, 2L));
+        assertEquals(0, likeRepository.insertIfAbsent(10L, 2L));
+
+        assertTrue(likeRepository.existsByPostIdAndProfileId(10L, 2L));
+        assertEquals(1, likeRepository.count());
+    }
+
+    @Test
+    void insertIfAbsent_IdsDoNotCollideWithThoseHibernateAssigns() {
+        for (long id = 1; id <= 4; id++) {
+            SeedRows.profile(jdbcTemplate, id);
+        }
+        SeedRows.post(jdbcTemplate, 10, 1, CREATED_AT);
+        Post post = entityManager.getReference(Post.class, 10L);
+
+        Like saved = likeRepository.saveAndFlush(Like.builder().post(post)
+                .profile(entityManager.getReference(Profile.class, 2L)).build());
+        likeRepository.insertIfAbsent(10L, 3L);
+        Like savedAfter = likeRepository.saveAndFlush(Like.builder().post(post)
+                .profile(entityManager.getReference(Profile.class, 4L)).build());
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM likes", Long.class);
+        assertEquals(3, Set.copyOf(ids).size());
+        assertTrue(ids.contains(saved.getId()));
+        assertTrue(ids.contains(savedAfter.getId()));
+    }
+
+    @Test
+    void findLikedPostIds_AndUnlike_KeepTheCountInStep() {
+        SeedRows.profile(jdbcTemplate, 1);
+        SeedRows.profile(jdbcTemplate, 2);
+        SeedRows.profile(jdbcTemplate, 3);
+        SeedRows.post(jdbcTemplate, 10, 1, CREATED_AT);
+        SeedRows.post(jdbcTemplate, 11, 1, CREATED_AT);
+        likeRepository.insertIfAbsent(10L, 2L);
+        likeRepository.insertIfAbsent(10L, 3L);
+        postRepository.adjustLikeCount(10L, 2);
+
+        assertEquals(List.of(10L), likeRepository.findLikedPostIds(2L, List.of(10L, 11L, 12L)));
+        assertEquals(1, likeRepository.deleteByPostIdAndProfileId(10L, 2L));
+        assertEquals(0, likeRepository.deleteByPostIdAndProfileId(10L, 2L));
+        postRepository.adjustLikeCount(10L, -1);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT like_count FROM posts WHERE id = 10", Integer.class));
+        assertEquals(List.of(10L), likeRepository.findLikedPostIds(3L, List.of(10L, 11L)));
+        assertTrue(likeRepository.findLikedPostIds(2L, List.of(10L, 11L)).isEmpty());
+    }
+
+    @Test
+    void findByPostId_PagesLikersNewestFirst() {
+        for (long id = 1; id <= 4; id++) {
+            SeedRows.profile(jdbcTemplate, id);
+        }
+        SeedRows.post(jdbcTemplate, 10, 1, CREATED_AT);
+        likeRepository.insertIfAbsent(10L, 2L);
+        likeRepository.insertIfAbsent(10L, 3L);
+        likeRepository.insertIfAbsent(10L, 4L);
+        // The inserts share one transaction timestamp, so the ID breaks the tie
+        Page<Like> first = likeRepository.findByPostIdOrderByCreatedAtDescIdDesc(10L, PageRequest.of(0, 2));
+        Page<Like> second = likeRepository.findByPostIdOrderByCreatedAtDescIdDesc(10L, PageRequest.of(1, 2));
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(4L, 3L), first.map(like -> like.getProfile().getId()).getContent());
+        assertEquals(List.of(2L), second.map(like -> like.getProfile().getId()).getContent());
+        assertEquals("user4", first.getContent().get(0).getProfile().getUser().getUsername());
+    }
+
+    /**
+     * Likes by one profile racing in separate committed transactions, as
+     * {@code LikeServiceImpl.toggleLike} runs them, add one row and count once.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void insertIfAbsent_ConcurrentLikesBySameProfileCountOnce() throws Exception {
+        Long[] profileIds = {901L, 902L};
+        Long[] postIds = {910L};
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            SeedRows.profile(jdbcTemplate, 901);
+            SeedRows.profile(jdbcTemplate, 902);
+            SeedRows.post(jdbcTemplate, 910, 901, CREATED_AT);
+        });
+        int threads = 4;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> likes = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                likes.add(() -> transactionTemplate.execute(status -> {
+                    awaitQuietly(start);
+                    int inserted = likeRepository.insertIfAbsent(910L, 902L);
+                    if (inserted > 0) {
+                        postRepository.adjustLikeCount(910L, 1);
+                    }
+                    return inserted;
+                }));
+            }
+            int inserted = 0;
+            for (Future<Integer> result : executor.invokeAll(likes)) {
+                inserted += result.get();
+            }
+
+            assertEquals(1, inserted);
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM likes WHERE post_id = 910",
+                    Integer.class));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT like_count FROM posts WHERE id = 910",
+                    Integer.class));
+        } finally {
+            executor.shutdown();
+            SeedRows.delete(jdbcTemplate, profileIds, postIds);
+        }
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@code LATERAL} query that fills the feed's per-author rings on PostgreSQL.
+ *
+ * <p>Profile 1 has posts 10 and 11, created at the same moment, and the older post 12.
+ * Profile 2 has post 20, and profile 3 has none.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostRepositoryPostgresTest {
+
+    private static final LocalDateTime OLDER = LocalDateTime.of(2025, 3, 1, 9, 0);
+    private static final LocalDateTime NEWER = OLDER.plusHours(1);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        for (long id = 1; id <= 3; id++) {
+            SeedRows.profile(jdbcTemplate, id);
+        }
+        SeedRows.post(jdbcTemplate, 10, 1, NEWER);
+        SeedRows.post(jdbcTemplate, 11, 1, NEWER);
+        SeedRows.post(jdbcTemplate, 12, 1, OLDER);
+        SeedRows.post(jdbcTemplate, 20, 2, OLDER);
+    }
+
+    @Test
+    void findLatestByProfileIdIn_ReturnsNewestPostsOfEachProfileUpToLimit() {
+        Map<Long, Set<Long>> byProfile = postIdsByProfile(
+                postRepository.findLatestByProfileIdIn(List.of(1L, 2L, 3L, 99L), 2));
+
+        assertEquals(Map.of(1L, Set.of(10L, 11L), 2L, Set.of(20L)), byProfile);
+    }
+
+    @Test
+    void findLatestByProfileIdIn_BreaksCreatedAtTiesByNewestId() {
+        List<PostRepository.RecentPostRow> rows = postRepository.findLatestByProfileIdIn(List.of(1L), 1);
+
+        assertEquals(1, rows.size());
+        assertEquals(11L, rows.get(0).getId());
+        assertEquals(1L, rows.get(0).getProfileId());
+        assertEquals(NEWER, rows.get(0).getCreatedAt());
+    }
+
+    @Test
+    void findLatestByProfileIdIn_ProfilesWithoutPostsReturnNothing() {
+        assertTrue(postRepository.findLatestByProfileIdIn(List.of(3L, 99L), 5).isEmpty());
+    }
+
+    private static Map<Long, Set<Long>> postIdsByProfile(List<PostRepository.RecentPostRow> rows) {
+        return rows.stream().collect(Collectors.groupingBy(PostRepository.RecentPostRow::getProfileId,
+                Collectors.mapping(PostRepository.RecentPostRow::getId, Collectors.toSet())));
+    }
+}
@@ -0,0 +1,50 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A PostgreSQL server for tests of SQL that H2 does not run the same way, such as native
+ * queries with {@code LATERAL} joins, {@code ON CONFLICT} upserts, advisory locks and
+ * snapshot functions.
+ *
+ * <p>The server is started from the PostgreSQL binaries bundled with the embedded-postgres
+ * test dependency, so no Docker daemon or local installation is needed. One server is
+ * started per test JVM and shared; Hibernate recreates the schema for each test context.
+ * Test classes use it with {@code @DataJpaTest}, {@code @AutoConfigureTestDatabase(replace = NONE)}
+ * and a {@code @DynamicPropertySource} method that calls {@link #register}.</p>
+ */
+public final class PostgresTestDatabase {
+
+    private static EmbeddedPostgres server;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static synchronized EmbeddedPostgres server() {
+        if (server == null) {
+            try {
+                server = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+        }
+        return server;
+    }
+
+    /**
+     * Points the test context's data source at the shared server.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> server().getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+    }
+}
@@ -0,0 +1,61 @@
+package com.yalice.wardrobe_social_app.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inserts the rows the PostgreSQL repository tests build on, with plain SQL and fixed IDs,
+ * so a test can seed data in committed transactions as well as in its own.
+ */
+final class SeedRows {
+
+    private SeedRows() {
+    }
+
+    /**
+     * Inserts a user and its public profile, both with the given ID.
+     */
+    static void profile(JdbcTemplate jdbcTemplate, long id) {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, provider, created_at, updated_at) "
+                + "VALUES (?, ?, ?, 'x', 'LOCAL', now(), now())", id, "user" + id, "user" + id + "@example.com");
+        jdbcTemplate.update("INSERT INTO profiles (id, user_id, visibility, follower_count, following_count, "
+                + "created_at, updated_at) VALUES (?, ?, 'PUBLIC', 0, 0, now(), now())", id, id);
+    }
+
+    /**
+     * Inserts a public post of the profile, with an outfit of the same ID.
+     */
+    static void post(JdbcTemplate jdbcTemplate, long id, long profileId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO outfits (id, profile_id, name, favorite, is_public, created_at, updated_at) "
+                + "VALUES (?, ?, 'Outfit', false, true, now(), now())", id, profileId);
+        jdbcTemplate.update("INSERT INTO posts (id, profile_id, outfit_id, title, visibility, like_count, "
+                + "comment_count, created_at, updated_at) VALUES (?, ?, ?, 'Post', 'PUBLIC', 0, 0, ?, ?)",
+                id, profileId, id, createdAt, createdAt);
+    }
+
+    /**
+     * Inserts a comment on the post, or a reply to the parent comment if one is given. The
+     * stored reply and comment counts are left for the test to set.
+     */
+    static void comment(JdbcTemplate jdbcTemplate, long id, long postId, long profileId, Long parentId) {
+        jdbcTemplate.update("INSERT INTO comments (id, post_id, profile_id, parent_id, content, reply_count, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, now(), now())",
+                id, postId, profileId, parentId, "Comment " + id);
+    }
+
+    /**
+     * Deletes the rows seeded with the given IDs, and everything that refers to them, for
+     * tests whose seed data is committed.
+     */
+    static void delete(JdbcTemplate jdbcTemplate, Long[] profileIds, Long[] postIds) {
+        jdbcTemplate.update("DELETE FROM likes WHERE post_id = ANY (?) OR profile_id = ANY (?)", postIds, profileIds);
+        jdbcTemplate.update("DELETE FROM comments WHERE post_id = ANY (?)", (Object) postIds);
+        jdbcTemplate.update("DELETE FROM follows WHERE follower_id = ANY (?) OR followed_id = ANY (?)",
+                profileIds, profileIds);
+        jdbcTemplate.update("DELETE FROM posts WHERE id = ANY (?)", (Object) postIds);
+        jdbcTemplate.update("DELETE FROM outfits WHERE id = ANY (?)", (Object) postIds);
+        jdbcTemplate.update("DELETE FROM profiles WHERE id = ANY (?)", (Object) profileIds);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ANY (?)", (Object) profileIds);
+    }
+}
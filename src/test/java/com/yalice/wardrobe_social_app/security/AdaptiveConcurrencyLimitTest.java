@@ -0,0 +1,75 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig.Bulkhead.Limit config = new AppConfig.Bulkhead.Limit();
+        config.setInitialLimit(10);
+        config.setMinLimit(2);
+        config.setMaxLimit(50);
+        limit = new AdaptiveConcurrencyLimit("test", config);
+    }
+
+    @Test
+    void tryAcquire_AtLimit_RejectsUntilReleased() {
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, limit.tryAcquire());
+        }
+
+        assertEquals(0, limit.tryAcquire());
+        limit.release(FAST, 10);
+        assertEquals(10, limit.tryAcquire());
+    }
+
+    @Test
+    void release_SteadyLatencyUnderLoad_GrowsLimit() {
+        runWindows(10, FAST, 10);
+
+        assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void release_SteadyLatencyWithLittleLoad_KeepsLimit() {
+        runWindows(10, FAST, 2);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void release_LatencyRises_ShrinksLimit() {
+        runWindows(5, FAST, 10);
+        int grown = limit.getLimit();
+
+        runWindows(30, SLOW, grown);
+
+        assertTrue(limit.getLimit() <= grown / 2, "limit went from " + grown + " to " + limit.getLimit());
+    }
+
+    @Test
+    void release_NeverExceedsMaximum() {
+        runWindows(200, FAST, 50);
+
+        assertEquals(50, limit.getLimit());
+    }
+
+    private void runWindows(int windows, long rttNanos, int inFlight) {
+        for (int i = 0; i < windows * AdaptiveConcurrencyLimit.SAMPLE_WINDOW; i++) {
+            limit.tryAcquire();
+            limit.release(rttNanos, inFlight);
+        }
+    }
+}
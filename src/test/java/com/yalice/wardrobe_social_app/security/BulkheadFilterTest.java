@@ -0,0 +1,94 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig.Bulkhead config = new AppConfig.Bulkhead();
+        config.getUpload().setInitialLimit(1);
+        config.getUpload().setMaxLimit(1);
+        filter = new BulkheadFilter(config, new ObjectMapper());
+    }
+
+    @Test
+    void classify_GroupsRequestsByEndpointClass() {
+        assertEquals(BulkheadFilter.EndpointClass.AUTH, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/auth/login")));
+        assertEquals(BulkheadFilter.EndpointClass.AUTH, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/users/register")));
+        assertEquals(BulkheadFilter.EndpointClass.AUTH, BulkheadFilter.classify(new MockHttpServletRequest("PUT", "/api/users/7/password")));
+
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/wardrobes/1/items");
+        upload.setContentType("multipart/form-data; boundary=x");
+        assertEquals(BulkheadFilter.EndpointClass.UPLOAD, BulkheadFilter.classify(upload));
+
+        assertEquals(BulkheadFilter.EndpointClass.WRITE, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/posts/3/like")));
+        assertEquals(BulkheadFilter.EndpointClass.READ, BulkheadFilter.classify(new MockHttpServletRequest("GET", "/api/feed")));
+    }
+
+    @Test
+    void doFilter_ClassSaturated_ShedsOnlyThatClass() throws Exception {
+        CountDownLatch uploadStarted = new CountDownLatch(1);
+        CountDownLatch finishUpload = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowUpload = executor.submit(() -> {
+                filter.doFilter(upload(), new MockHttpServletResponse(), (req, res) -> {
+                    uploadStarted.countDown();
+                    try {
+                        finishUpload.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+            assertTrue(uploadStarted.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            MockFilterChain shedChain = new MockFilterChain();
+            filter.doFilter(upload(), shed, shedChain);
+
+            MockHttpServletResponse read = new MockHttpServletResponse();
+            MockFilterChain readChain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/feed"), read, readChain);
+
+            assertEquals(503, shed.getStatus());
+            assertEquals("1", shed.getHeader("Retry-After"));
+            assertNull(shedChain.getRequest());
+            assertEquals(200, read.getStatus());
+            assertNotNull(readChain.getRequest());
+
+            finishUpload.countDown();
+            slowUpload.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(upload(), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    private MockHttpServletRequest upload() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/images/upload");
+        request.setContentType("multipart/form-data; boundary=x");
+        return request;
+    }
+}
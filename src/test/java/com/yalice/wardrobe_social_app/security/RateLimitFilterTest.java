@@ -0,0 +1,111 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private RateLimiter rateLimiter;
+    private RateLimitFilter ipFilter;
+    private RateLimitFilter userFilter;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig.RateLimit.Route login = new AppConfig.RateLimit.Route();
+        login.setMethod("POST");
+        login.setPattern("/api/auth/login");
+        login.setCost(40);
+        AppConfig.RateLimit.Route health = new AppConfig.RateLimit.Route();
+        health.setPattern("/actuator/health/**");
+        health.setCost(0);
+
+        rateLimiter = mock(RateLimiter.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ipFilter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, List.of(login, health), objectMapper);
+        userFilter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.USER, List.of(login, health), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithinLimit_ChargesRouteCostAndContinues() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+
+        ipFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(rateLimiter).tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 40);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_OverLimit_RejectsWithRetryAfter() throws Exception {
+        when(rateLimiter.tryAcquire(any(), anyString(), anyInt())).thenReturn(TimeUnit.MILLISECONDS.toNanos(1_200));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/feed");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        ipFilter.doFilter(request, response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"success\":false"));
+        assertNull(chain.getRequest());
+        verify(rateLimiter).tryAcquire(RateLimiter.Scope.IP, "127.0.0.1", 1);
+    }
+
+    @Test
+    void doFilter_ZeroCostRoute_IsNotLimited() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        ipFilter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/liveness"), new MockHttpServletResponse(), chain);
+
+        verifyNoInteractions(rateLimiter);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void doFilter_UserScope_KeysByAuthenticatedUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/feed");
+
+        ipFilter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                userFilter.doFilter(req, res, new MockFilterChain()));
+
+        verify(rateLimiter).tryAcquire(RateLimiter.Scope.IP, "127.0.0.1", 1);
+        verify(rateLimiter).tryAcquire(RateLimiter.Scope.USER, "alice", 1);
+    }
+
+    @Test
+    void doFilter_UserScope_SkipsAnonymousRequests() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        userFilter.doFilter(new MockHttpServletRequest("GET", "/api/feed"), new MockHttpServletResponse(), chain);
+
+        verifyNoInteractions(rateLimiter);
+        assertNotNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,175 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.yalice.wardrobe_social_app.configs.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private AppConfig.RateLimit config;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        config = new AppConfig.RateLimit();
+        config.getIp().setCapacity(10);
+        config.getIp().setRefillPerSecond(5);
+        config.getUser().setCapacity(4);
+        config.getUser().setRefillPerSecond(1);
+        rateLimiter = new RateLimiter(config, null, clock::get);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacityThenRejects() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 1));
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 1);
+
+        assertEquals(SECOND / 5, waitNanos);
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.2", 1));
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1);
+        }
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1) > 0);
+
+        clock.addAndGet(2 * SECOND);
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1) > 0);
+    }
+
+    @Test
+    void tryAcquire_WeightedCost_ChargesSeveralTokens() {
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 3));
+
+        long waitNanos = rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 3);
+
+        assertEquals(2 * SECOND, waitNanos);
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+    }
+
+    @Test
+    void tryAcquire_CostAboveCapacity_ChargesWholeBucket() {
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 50));
+
+        assertEquals(SECOND, rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+    }
+
+    @Test
+    void tryAcquire_Concurrent_NeverAllowsMoreThanCapacity() throws Exception {
+        config.getIp().setCapacity(1_000);
+        RateLimiter limiter = new RateLimiter(config, null, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 1) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1_000, allowed.get());
+    }
+
+    @Test
+    void evictIdleBuckets_DropsOnlyRefilledBuckets() {
+        rateLimiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 1);
+        clock.addAndGet(SECOND);
+        rateLimiter.tryAcquire(RateLimiter.Scope.USER, "alice", 2);
+
+        rateLimiter.evictIdleBuckets();
+
+        assertEquals(1, rateLimiter.bucketCount());
+    }
+
+    @Test
+    void tryAcquire_AtBucketCap_SharesOverflowBucket() {
+        config.setMaxBuckets(2);
+        RateLimiter limiter = new RateLimiter(config, null, clock::get);
+        limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 4);
+        limiter.tryAcquire(RateLimiter.Scope.USER, "bob", 4);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Scope.USER, "carol", 4));
+        assertTrue(limiter.tryAcquire(RateLimiter.Scope.USER, "dave", 1) > 0);
+        assertEquals(3, limiter.bucketCount());
+    }
+
+    @Test
+    void tryAcquire_AtBucketCap_SweepsAtMostOncePerSecond() {
+        config.setMaxBuckets(2);
+        RateLimiter limiter = new RateLimiter(config, null, clock::get);
+        limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.1", 1);
+        limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.2", 1);
+        limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.3", 1);
+        assertEquals(3, limiter.bucketCount());
+
+        clock.addAndGet(SECOND / 2);
+        limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.4", 1);
+        assertEquals(3, limiter.bucketCount());
+
+        clock.addAndGet(SECOND / 2);
+        limiter.tryAcquire(RateLimiter.Scope.IP, "10.0.0.5", 1);
+        assertEquals(1, limiter.bucketCount());
+    }
+
+    @Test
+    void tryAcquire_Shared_ChargesStoreAfterLocalBucket() {
+        SharedRateLimitStore store = mock(SharedRateLimitStore.class);
+        when(store.tryAcquire(anyString(), anyLong(), anyLong())).thenReturn(0L, 500_000L);
+        RateLimiter limiter = new RateLimiter(config, store, clock::get);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1));
+        verify(store, times(2)).tryAcquire("USER:alice", 1_000_000L, 4_000_000L);
+
+        limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 2);
+        assertTrue(limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1) > 0);
+        verify(store, times(3)).tryAcquire(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void tryAcquire_SharedStoreDown_FallsBackToLocalLimit() {
+        SharedRateLimitStore store = mock(SharedRateLimitStore.class);
+        when(store.tryAcquire(anyString(), anyLong(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        RateLimiter limiter = new RateLimiter(config, store, clock::get);
+
+        assertEquals(0, limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 4));
+        assertTrue(limiter.tryAcquire(RateLimiter.Scope.USER, "alice", 1) > 0);
+    }
+}
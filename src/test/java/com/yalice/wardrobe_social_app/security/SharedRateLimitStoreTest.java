@@ -0,0 +1,113 @@
+package com.yalice.wardrobe_social_app.security;
+
+import com.yalice.wardrobe_social_app.repositories.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the shared bucket upsert on PostgreSQL, whose {@code ON CONFLICT} and clock
+ * functions it relies on.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SharedRateLimitStore.class)
+class SharedRateLimitStoreTest {
+
+    private static final long SECOND = 1_000_000;
+
+    @Autowired
+    private SharedRateLimitStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void tryAcquire_ChargesUntilToleranceThenReportsWait() {
+        assertEquals(0, store.tryAcquire("ip:1", SECOND, 3 * SECOND));
+        assertEquals(0, store.tryAcquire("ip:1", SECOND, 3 * SECOND));
+        assertEquals(0, store.tryAcquire("ip:1", SECOND, 3 * SECOND));
+
+        long wait = store.tryAcquire("ip:1", SECOND, 3 * SECOND);
+
+        assertTrue(wait > 0 && wait <= SECOND, "wait was " + wait);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM rate_limit_buckets WHERE bucket_key = 'ip:1'", Integer.class));
+    }
+
+    @Test
+    void tryAcquire_KeepsBucketsApart() {
+        assertEquals(0, store.tryAcquire("ip:1", SECOND, SECOND));
+        assertTrue(store.tryAcquire("ip:1", SECOND, SECOND) > 0);
+
+        assertEquals(0, store.tryAcquire("user:1", SECOND, SECOND));
+    }
+
+    @Test
+    void tryAcquire_RefilledBucketStartsFromNow() {
+        jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, full_at) VALUES ('ip:1', 0)");
+
+        assertEquals(0, store.tryAcquire("ip:1", SECOND, SECOND));
+        assertTrue(store.tryAcquire("ip:1", SECOND, SECOND) > 0);
+    }
+
+    @Test
+    void deleteIdle_DeletesOnlyRefilledBuckets() {
+        jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, full_at) VALUES ('ip:1', 0)");
+        store.tryAcquire("ip:2", 60 * SECOND, 60 * SECOND);
+
+        assertEquals(1, store.deleteIdle());
+
+        assertEquals(List.of("ip:2"), jdbcTemplate.queryForList("SELECT bucket_key FROM rate_limit_buckets",
+                String.class));
+    }
+
+    /**
+     * Each thread charges on its own connection and commits, so the statements really race
+     * on the row. The test runs outside a transaction so that its cleanup commits too.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void tryAcquire_ConcurrentRequestsChargeExactlyTheTolerance() throws Exception {
+        String key = "ip:concurrent";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> requests = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                requests.add(() -> store.tryAcquire(key, 60 * SECOND, 10 * 60 * SECOND));
+            }
+            int charged = 0;
+            for (Future<Long> result : executor.invokeAll(requests)) {
+                if (result.get() == 0) {
+                    charged++;
+                }
+            }
+
+            assertEquals(10, charged);
+        } finally {
+            executor.shutdown();
+            jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE bucket_key = ?", key);
+        }
+    }
+}
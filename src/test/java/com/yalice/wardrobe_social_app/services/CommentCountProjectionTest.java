@@ -0,0 +1,63 @@
+package com.yalice.wardrobe_social_app.services;
+
+import com.yalice.wardrobe_social_app.events.CommentAddedEvent;
+import com.yalice.wardrobe_social_app.events.CommentRemovedEvent;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.services.social.CommentCountProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CommentCountProjectionTest {
+
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private CommentCountProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        projection = new CommentCountProjection(postRepository, commentRepository, eventPublisher);
+    }
+
+    @Test
+    void consume_SumsChangesPerPostAndParent() {
+        projection.consume(List.of(
+                new CommentAddedEvent(10L, 1L, null),
+                new CommentAddedEvent(11L, 1L, 10L),
+                new CommentAddedEvent(12L, 1L, 10L),
+                new CommentAddedEvent(13L, 2L, null),
+                new CommentRemovedEvent(14L, 2L, null, 3)));
+
+        verify(postRepository).adjustCommentCount(1L, 3);
+        verify(postRepository).adjustCommentCount(2L, -2);
+        verify(commentRepository).adjustReplyCount(10L, 2);
+        verify(eventPublisher).publishEvent(new PostChangedEvent(1L));
+        verify(eventPublisher).publishEvent(new PostChangedEvent(2L));
+    }
+
+    @Test
+    void consume_ChangesThatCancelOutAreNotWritten() {
+        projection.consume(List.of(
+                new CommentAddedEvent(11L, 1L, 10L),
+                new CommentRemovedEvent(11L, 1L, 10L, 1)));
+
+        verify(postRepository, never()).adjustCommentCount(any(), anyInt());
+        verify(commentRepository, never()).adjustReplyCount(any(), anyInt());
+        verify(eventPublisher).publishEvent(eq(new PostChangedEvent(1L)));
+    }
+}
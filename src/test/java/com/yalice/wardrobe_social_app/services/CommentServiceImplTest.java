@@ -2,27 +2,50 @@ package com.yalice.wardrobe_social_app.services;
 
 import com.yalice.wardrobe_social_app.dtos.comment.CommentDto;
 import com.yalice.wardrobe_social_app.dtos.comment.CommentResponseDto;
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
 import com.yalice.wardrobe_social_app.entities.Comment;
+import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
 import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.events.CommentAddedEvent;
+import com.yalice.wardrobe_social_app.events.CommentRemovedEvent;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
 import com.yalice.wardrobe_social_app.mappers.CommentMapper;
 import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.ResponseMapperService;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import com.yalice.wardrobe_social_app.services.social.CommentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +55,11 @@ class CommentServiceImplTest {
     @Mock private PostRepository postRepository;
     @Mock private ProfileService profileService;
     @Mock private CommentMapper commentMapper;
+    @Mock private DomainEventOutbox outbox;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private SingleFlight singleFlight = new SingleFlight();
+    private final FriendRepository friendRepository = mock(FriendRepository.class);
+    @Spy private BlockList blockList = new BlockList(friendRepository, 100, 300);
     @InjectMocks private CommentServiceImpl commentService;
 
     private Profile profile;
@@ -41,11 +69,16 @@ class CommentServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(commentService, "validationService", new ValidationService());
+        ReflectionTestUtils.setField(commentService, "responseMapper", new ResponseMapperService());
         profile = Profile.builder()
                 .id(1L)
                 .user(User.builder().id(1L).username("testuser").build())
                 .build();
-        post = Post.builder().id(1L).build();
+        post = Post.builder()
+                .id(1L)
+                .profile(Profile.builder().id(2L).user(User.builder().id(2L).username("author").build()).build())
+                .build();
         comment = Comment.builder().id(1L).profile(profile).post(post).content("Test comment.").build();
     }
 
@@ -131,22 +164,172 @@ class CommentServiceImplTest {
         CommentResponseDto expectedResponse = new CommentResponseDto();
         expectedResponse.setContent("Test comment.");
 
-        when(commentRepository.findByPostIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(comment));
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByPostIdAndParentIsNullOrderByIdDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(comment));
         when(commentMapper.toResponseDto(any(Comment.class))).thenReturn(expectedResponse);
 
-        List<CommentResponseDto> response = commentService.getPostComments(1L);
+        CursorPageResponseDto<CommentResponseDto> response = commentService.getPostComments(3L, 1L, null, 20);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
-        assertEquals("Test comment.", response.getFirst().getContent());
+        assertEquals(1, response.getContent().size());
+        assertEquals("Test comment.", response.getContent().getFirst().getContent());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
     }
 
     @Test
     void getPostComments_ShouldReturnEmptyList_WhenNoCommentsFound() {
-        when(commentRepository.findByPostIdOrderByCreatedAtDesc(1L)).thenReturn(List.of());
-        List<CommentResponseDto> response = commentService.getPostComments(1L);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByPostIdAndParentIsNullOrderByIdDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of());
+        CursorPageResponseDto<CommentResponseDto> response = commentService.getPostComments(3L, 1L, null, 20);
         assertNotNull(response);
-        assertTrue(response.isEmpty());
+        assertTrue(response.getContent().isEmpty());
+    }
+
+    @Test
+    void getPostComments_FullPage_ReturnsCursorOfLastComment() {
+        Comment older = Comment.builder().id(4L).profile(profile).post(post).content("b").build();
+        Comment oldest = Comment.builder().id(3L).profile(profile).post(post).content("c").build();
+        Comment newest = Comment.builder().id(5L).profile(profile).post(post).content("a").build();
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByPostIdAndParentIsNullAndIdLessThanOrderByIdDesc(
+                1L, 6L, PageRequest.of(0, 3))).thenReturn(List.of(newest, older, oldest));
+
+        CursorPageResponseDto<CommentResponseDto> response = commentService.getPostComments(3L, 1L, 6L, 2);
+
+        assertEquals(2, response.getContent().size());
+        assertTrue(response.isHasMore());
+        assertEquals(4L, response.getNextCursor());
+    }
+
+    @Test
+    void getPostComments_PostNotFound_Throws() {
+        when(postRepository.existsById(9L)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getPostComments(3L, 9L, null, 20));
+    }
+
+    @Test
+    void getPostComments_PageTooLarge_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> commentService.getPostComments(3L, 1L, null, 101));
+    }
+
+    @Test
+    void getCommentsByPostIds_GroupsPageOfTopLevelCommentsByPost() {
+        Comment other = Comment.builder().id(7L).profile(profile).post(Post.builder().id(2L).build()).build();
+        when(commentRepository.findTopLevelIdsByPostIdIn(List.of(1L, 2L, 3L), 9L, 5)).thenReturn(List.of(7L, 1L));
+        when(commentRepository.findByIdInOrderByIdDesc(List.of(7L, 1L))).thenReturn(List.of(other, comment));
+        when(commentMapper.toResponseDto(any(Comment.class)))
+                .thenAnswer(invocation -> CommentResponseDto.builder()
+                        .id(invocation.<Comment>getArgument(0).getId()).build());
+
+        Map<Long, List<CommentResponseDto>> comments = commentService.getCommentsByPostIds(Arrays.asList(1L, 2L, 3L), 9L, 5);
+
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(comments.keySet()));
+        assertEquals(List.of(1L), comments.get(1L).stream().map(CommentResponseDto::getId).toList());
+        assertEquals(List.of(7L), comments.get(2L).stream().map(CommentResponseDto::getId).toList());
+        assertTrue(comments.get(3L).isEmpty());
+    }
+
+    @Test
+    void getCommentsByPostIds_FirstPage_StartsAboveEveryId() {
+        when(commentRepository.findTopLevelIdsByPostIdIn(List.of(1L), Long.MAX_VALUE, 5)).thenReturn(List.of());
+
+        assertEquals(Map.of(1L, List.of()), commentService.getCommentsByPostIds(Arrays.asList(1L), null, 5));
+        verify(commentRepository, never()).findByIdInOrderByIdDesc(any());
+    }
+
+    @Test
+    void getReplies_ReturnsRepliesOldestFirst() {
+        Comment reply = Comment.builder().id(8L).profile(profile).post(post).parent(comment).content("r").build();
+        when(commentRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByParentIdOrderByIdAsc(eq(1L), any(Pageable.class))).thenReturn(List.of(reply));
+
+        CursorPageResponseDto<CommentResponseDto> response = commentService.getReplies(3L, 1L, null, 20);
+
+        assertEquals(1, response.getContent().size());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void createComment_Reply_RecordsReplyToTopLevelComment() {
+        Comment reply = Comment.builder().id(2L).profile(profile).post(post).parent(comment).content("r").build();
+        CommentDto commentDto = CommentDto.builder().content("reply").parentId(2L).build();
+        post.setVisibility(Post.PostVisibility.PUBLIC);
+
+        when(profileService.getProfileEntityById(1L)).thenReturn(profile);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(reply));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        commentService.createComment(1L, 1L, commentDto);
+
+        // A reply to a reply is attached to the top-level comment
+        ArgumentCaptor<Comment> saved = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(saved.capture());
+        assertSame(comment, saved.getValue().getParent());
+        // Counts are adjusted by the projection once the outbox event is delivered
+        verify(outbox).append(new CommentAddedEvent(null, 1L, 1L));
+        verify(commentRepository, never()).adjustReplyCount(any(), anyInt());
+        verify(postRepository, never()).adjustCommentCount(any(), anyInt());
+    }
+
+    @Test
+    void createComment_ParentOnOtherPost_Throws() {
+        Post otherPost = Post.builder().id(5L).build();
+        Comment parent = Comment.builder().id(2L).profile(profile).post(otherPost).content("p").build();
+        post.setVisibility(Post.PostVisibility.PUBLIC);
+
+        when(profileService.getProfileEntityById(1L)).thenReturn(profile);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(parent));
+
+        assertThrows(IllegalArgumentException.class, () -> commentService.createComment(1L, 1L,
+                CommentDto.builder().content("reply").parentId(2L).build()));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void createComment_BlockedByPostAuthor_Throws() {
+        post.setVisibility(Post.PostVisibility.PUBLIC);
+        when(friendRepository.findPairsByUserIdInAndStatusIn(List.of(1L), List.of(FriendshipStatus.BLOCKED)))
+                .thenReturn(List.of(pair(2L, 1L)));
+        when(profileService.getProfileEntityById(1L)).thenReturn(profile);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        assertThrows(ForbiddenActionException.class, () -> commentService.createComment(1L, 1L,
+                CommentDto.builder().content("hi").build()));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void getPostComments_LeavesOutBlockedAuthors() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(List.of(3L), List.of(FriendshipStatus.BLOCKED)))
+                .thenReturn(List.of(pair(3L, 1L)));
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findByPostIdAndParentIsNullOrderByIdDesc(1L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(comment, Comment.builder().id(2L).profile(profile).post(post).build()));
+        when(commentMapper.toResponseDto(any(Comment.class)))
+                .thenReturn(CommentResponseDto.builder().id(1L).userId(1L).build())
+                .thenReturn(CommentResponseDto.builder().id(2L).userId(4L).build());
+
+        CursorPageResponseDto<CommentResponseDto> response = commentService.getPostComments(3L, 1L, null, 20);
+
+        assertEquals(List.of(2L), response.getContent().stream().map(CommentResponseDto::getId).toList());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void deleteComment_TopLevel_DeletesRepliesAndRecordsRemoval() {
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
+        when(commentRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.deleteByParentId(1L)).thenReturn(3);
+
+        commentService.deleteComment(1L, 1L);
+
+        verify(outbox).append(new CommentRemovedEvent(1L, 1L, null, 4));
+        verify(postRepository, never()).adjustCommentCount(any(), anyInt());
     }
 
     @Test
@@ -167,4 +350,18 @@ class CommentServiceImplTest {
         when(commentRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> commentService.getComment(1L));
     }
+
+    private static FriendRepository.FriendPair pair(Long senderId, Long recipientId) {
+        return new FriendRepository.FriendPair() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
 }
@@ -1,25 +1,52 @@
 package com.yalice.wardrobe_social_app.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.comment.CommentPreviewDto;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
 import com.yalice.wardrobe_social_app.dtos.feed.FeedItemResponseDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.entities.Post;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.interfaces.FriendService;
 import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
+import com.yalice.wardrobe_social_app.mappers.CommentMapper;
 import com.yalice.wardrobe_social_app.mappers.FeedItemMapper;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.FeedFragmentCache;
+import com.yalice.wardrobe_social_app.services.helpers.FeedRanker;
+import com.yalice.wardrobe_social_app.services.helpers.FeedRings;
+import com.yalice.wardrobe_social_app.services.helpers.PostResponseAssembler;
+import com.yalice.wardrobe_social_app.services.helpers.SeenPostTracker;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import com.yalice.wardrobe_social_app.services.social.FeedServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +56,9 @@ class FeedServiceImplTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private ProfileRepository profileRepository;
+
     @Mock
     private FriendService friendService;
 
@@ -38,6 +68,39 @@ class FeedServiceImplTest {
     @Mock
     private FeedItemMapper feedItemMapper;
 
+    @Mock
+    private PostResponseAssembler postResponseAssembler;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @Mock
+    private OutfitRepository outfitRepository;
+
+    @Spy
+    private FeedFragmentCache fragmentCache = new FeedFragmentCache(1024 * 1024, 60, true);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private BlockList blockList = new BlockList(mock(FriendRepository.class), 100, 300);
+
+    @Mock
+    private FeedRings feedRings;
+
+    @Mock
+    private FeedRanker feedRanker;
+
+    @Mock
+    private SeenPostTracker seenPostTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FeedServiceImpl feedService;
 
@@ -49,6 +112,7 @@ class FeedServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(feedService, "validationService", new ValidationService());
     }
 
     private List<FriendResponseDto> mockFriendships() {
@@ -68,53 +132,240 @@ class FeedServiceImplTest {
     @Test
     void shouldReturnFeedForUser() {
         when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
-        when(postRepository.findByProfileIdInOrderByCreatedAtDesc(anyList(), any())).thenReturn(mockPosts("Outfit Post"));
+        when(postRepository.findFeedIds(anyList(), any())).thenReturn(List.of(1L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Outfit Post").getContent());
 
         FeedItemResponseDto responseDto = new FeedItemResponseDto();
         responseDto.setTitle("Outfit Post");
-        when(feedItemMapper.toResponseDto(any(Post.class))).thenReturn(responseDto);
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(responseDto);
 
-        List<FeedItemResponseDto> feed = feedService.getFeed(USER_ID, PAGE, SIZE);
+        List<JsonFragment> feed = feedService.getFeed(USER_ID, PAGE, SIZE);
 
         assertNotNull(feed);
         assertEquals(1, feed.size());
-        assertEquals("Outfit Post", feed.getFirst().getTitle());
+        assertTrue(feed.getFirst().getValue().contains("\"title\":\"Outfit Post\""));
+    }
+
+    @Test
+    void getFeed_LoadsLatestCommentsForThePageInOneQuery() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(postRepository.findFeedIds(anyList(), any())).thenReturn(List.of(1L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Outfit Post").getContent());
+        CommentRepository.CommentPreviewRow row = mock(CommentRepository.CommentPreviewRow.class);
+        when(row.getPostId()).thenReturn(1L);
+        when(commentRepository.findLatestCommentsByPostIdIn(List.of(1L))).thenReturn(List.of(row));
+        CommentPreviewDto preview = CommentPreviewDto.builder().id(7L).content("Nice").build();
+        when(commentMapper.toPreviewDto(row)).thenReturn(preview);
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(new FeedItemResponseDto());
+
+        feedService.getFeed(USER_ID, 1, SIZE);
+
+        verify(feedItemMapper).toResponseDto(any(Post.class), eq(List.of(preview)));
+        verify(commentRepository, times(1)).findLatestCommentsByPostIdIn(anyCollection());
+    }
+
+    @Test
+    void getFeed_ViewerWithBlocks_DropsBlockedCommentersAndBypassesCache() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        doReturn(new long[] {5L}).when(blockList).blockedFor(USER_ID);
+        when(postRepository.findFeedIds(anyList(), any())).thenReturn(List.of(1L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Outfit Post").getContent());
+        CommentRepository.CommentPreviewRow visible = mock(CommentRepository.CommentPreviewRow.class);
+        when(visible.getPostId()).thenReturn(1L);
+        when(visible.getUserId()).thenReturn(4L);
+        CommentRepository.CommentPreviewRow blocked = mock(CommentRepository.CommentPreviewRow.class);
+        when(blocked.getPostId()).thenReturn(1L);
+        when(blocked.getUserId()).thenReturn(5L);
+        when(commentRepository.findLatestCommentsByPostIdIn(List.of(1L))).thenReturn(List.of(blocked, visible));
+        CommentPreviewDto preview = CommentPreviewDto.builder().id(7L).userId(4L).build();
+        when(commentMapper.toPreviewDto(visible)).thenReturn(preview);
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(new FeedItemResponseDto());
+        fragmentCache.put(1L, "{\"id\":1}".getBytes(), fragmentCache.evictions(1L));
+
+        feedService.getFeed(USER_ID, 1, SIZE);
+
+        verify(feedItemMapper).toResponseDto(any(Post.class), eq(List.of(preview)));
+        verify(commentMapper, never()).toPreviewDto(blocked);
+        verify(fragmentCache, never()).get(1L);
+        verify(fragmentCache, times(1)).put(eq(1L), any(), anyLong());
+    }
+
+    @Test
+    void getFeed_MergesPageFromRingsWhenEnabled() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(feedRings.isEnabled()).thenReturn(true);
+        when(feedRings.page(anyList(), any())).thenReturn(Optional.of(List.of(1L)));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Outfit Post").getContent());
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(new FeedItemResponseDto());
+
+        List<JsonFragment> feed = feedService.getFeed(USER_ID, 1, SIZE);
+
+        assertEquals(1, feed.size());
+        verify(postRepository, never()).findFeedIds(anyList(), any());
+    }
+
+    @Test
+    void getFeed_QueriesPagesOlderThanTheRings() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(feedRings.isEnabled()).thenReturn(true);
+        when(feedRings.page(anyList(), any())).thenReturn(Optional.empty());
+        when(postRepository.findFeedIds(anyList(), any())).thenReturn(List.of());
+
+        List<JsonFragment> feed = feedService.getFeed(USER_ID, 9, SIZE);
+
+        assertTrue(feed.isEmpty());
+        verify(postRepository).findFeedIds(anyList(), eq(PageRequest.of(9, SIZE)));
+    }
+
+    @Test
+    void getRankedFeed_ReturnsPageOfRankedCandidates() {
+        PostRepository.FeedCandidate candidate = new PostRepository.FeedCandidate(1L, 2L, LocalDateTime.now(), 0, 0);
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(feedRanker.getCandidates()).thenReturn(300);
+        when(postRepository.findFeedCandidates(anyList(), eq(PageRequest.of(0, 300)))).thenReturn(List.of(candidate));
+        when(profileRepository.findIdsByUserIdIn(List.of(USER_ID))).thenReturn(List.of(profileRow(11L, USER_ID)));
+        when(feedRanker.rank(eq(11L), eq(List.of(candidate)), any()))
+                .thenReturn(List.of(4L, 3L, 2L, 1L, 9L, 8L, 7L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(8L, 7L))).thenReturn(List.of());
+
+        feedService.getRankedFeed(USER_ID, 1, SIZE);
+
+        verify(postRepository).findAllWithAuthorAndOutfitByIdIn(List.of(8L, 7L));
+        verify(postRepository, never()).findFeedIds(anyList(), any());
+    }
+
+    @Test
+    void getRankedFeed_PagePastCandidatesIsEmpty() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(feedRanker.getCandidates()).thenReturn(300);
+        when(profileRepository.findIdsByUserIdIn(List.of(USER_ID))).thenReturn(List.of(profileRow(11L, USER_ID)));
+        when(feedRanker.rank(eq(11L), anyList(), any())).thenReturn(List.of(4L, 3L));
+
+        assertTrue(feedService.getRankedFeed(USER_ID, 2, SIZE).isEmpty());
+    }
+
+    @Test
+    void getRankedFeed_RanksByViewerProfileNotUserId() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(feedRanker.getCandidates()).thenReturn(300);
+        when(profileRepository.findIdsByUserIdIn(List.of(USER_ID))).thenReturn(List.of(profileRow(11L, USER_ID)));
+
+        feedService.getRankedFeed(USER_ID, 1, SIZE);
+
+        verify(feedRanker).rank(eq(11L), anyList(), any());
+        verify(feedRanker, never()).rank(eq(USER_ID), anyList(), any());
+    }
+
+    @Test
+    void getUnseenFirstFeed_PutsUnseenPostsFirst() {
+        BitSet seen = new BitSet();
+        seen.set(1);
+        seen.set(3);
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(seenPostTracker.getWindow()).thenReturn(200);
+        when(postRepository.findFeedIds(anyList(), eq(PageRequest.of(0, 200)))).thenReturn(List.of(5L, 4L, 3L, 2L, 1L));
+        when(seenPostTracker.seen(USER_ID, List.of(5L, 4L, 3L, 2L, 1L))).thenReturn(seen);
+
+        feedService.getUnseenFirstFeed(USER_ID, 1, 2);
+
+        // Ordered 5, 3, 1, 4, 2
+        verify(postRepository).findAllWithAuthorAndOutfitByIdIn(List.of(1L, 4L));
+    }
+
+    @Test
+    void getUnseenCount_CountsUnseenPostsOfFriends() {
+        BitSet seen = new BitSet();
+        seen.set(0);
+        when(friendService.getFriends(USER_ID)).thenReturn(List.of(
+                FriendResponseDto.builder().userId(2L).build(),
+                FriendResponseDto.builder().userId(3L).build()));
+        when(seenPostTracker.getWindow()).thenReturn(200);
+        when(postRepository.findFeedIds(List.of(2L, 3L), PageRequest.of(0, 200))).thenReturn(List.of(5L, 4L, 3L));
+        when(seenPostTracker.seen(USER_ID, List.of(5L, 4L, 3L))).thenReturn(seen);
+
+        assertEquals(2, feedService.getUnseenCount(USER_ID));
+    }
+
+    @Test
+    void getUnseenCount_NoFriendsIsZero() {
+        when(friendService.getFriends(USER_ID)).thenReturn(List.of());
+
+        assertEquals(0, feedService.getUnseenCount(USER_ID));
+        verify(postRepository, never()).findFeedIds(anyList(), any());
+    }
+
+    @Test
+    void markSeen_RecordsPostsWithTracker() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(seenPostTracker.getWindow()).thenReturn(200);
+        when(postRepository.findFeedIds(anyList(), eq(PageRequest.of(0, 200)))).thenReturn(List.of(5L, 4L, 3L));
+
+        feedService.markSeen(USER_ID, List.of(3L, 4L));
+
+        verify(seenPostTracker).markSeen(USER_ID, List.of(3L, 4L));
+    }
+
+    @Test
+    void markSeen_IgnoresPostsOutsideFeedWindow() {
+        when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
+        when(seenPostTracker.getWindow()).thenReturn(200);
+        when(postRepository.findFeedIds(anyList(), eq(PageRequest.of(0, 200)))).thenReturn(List.of(5L, 4L, 3L));
+
+        feedService.markSeen(USER_ID, List.of(Long.MAX_VALUE, 4L));
+        feedService.markSeen(USER_ID, List.of(1L << 40));
+
+        verify(seenPostTracker).markSeen(USER_ID, List.of(4L));
+        verify(seenPostTracker, times(1)).markSeen(any(), any());
+    }
+
+    @Test
+    void markSeen_RejectsOversizedBatch() {
+        List<Long> postIds = Collections.nCopies(51, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> feedService.markSeen(USER_ID, postIds));
+        verify(seenPostTracker, never()).markSeen(any(), any());
     }
 
     @Test
     void shouldReturnFeedFilteredBySeason() {
         String season = "Winter";
         when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
-        when(postRepository.findByProfileIdInAndOutfitSeasonOrderByCreatedAtDesc(anyList(), eq(season), any()))
-                .thenReturn(mockPosts("Winter Outfit Post"));
+        when(postRepository.findFeedIdsBySeason(anyList(), eq(season), any())).thenReturn(List.of(1L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Winter Outfit Post").getContent());
 
         FeedItemResponseDto responseDto = new FeedItemResponseDto();
         responseDto.setTitle("Winter Outfit Post");
-        when(feedItemMapper.toResponseDto(any(Post.class))).thenReturn(responseDto);
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(responseDto);
 
-        List<FeedItemResponseDto> feed = feedService.getFeedBySeason(USER_ID, season, PAGE, SIZE);
+        List<JsonFragment> feed = feedService.getFeedBySeason(USER_ID, season, PAGE, SIZE);
 
         assertNotNull(feed);
         assertEquals(1, feed.size());
-        assertEquals("Winter Outfit Post", feed.getFirst().getTitle());
+        assertTrue(feed.getFirst().getValue().contains("\"title\":\"Winter Outfit Post\""));
     }
 
     @Test
     void shouldReturnFeedFilteredByCategory() {
         String category = "Casual";
         when(friendService.getFriends(USER_ID)).thenReturn(mockFriendships());
-        when(postRepository.findByProfileIdInAndOutfitCategoryOrderByCreatedAtDesc(anyList(), eq(category), any()))
-                .thenReturn(mockPosts("Casual Outfit Post"));
+        when(postRepository.findFeedIdsByCategory(anyList(), eq(category), any())).thenReturn(List.of(1L));
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(List.of(1L)))
+                .thenReturn(mockPosts("Casual Outfit Post").getContent());
 
         FeedItemResponseDto responseDto = new FeedItemResponseDto();
         responseDto.setTitle("Casual Outfit Post");
-        when(feedItemMapper.toResponseDto(any(Post.class))).thenReturn(responseDto);
+        when(feedItemMapper.toResponseDto(any(Post.class), anyList())).thenReturn(responseDto);
 
-        List<FeedItemResponseDto> feed = feedService.getFeedByCategory(USER_ID, category, PAGE, SIZE);
+        List<JsonFragment> feed = feedService.getFeedByCategory(USER_ID, category, PAGE, SIZE);
 
         assertNotNull(feed);
         assertEquals(1, feed.size());
-        assertEquals("Casual Outfit Post", feed.getFirst().getTitle());
+        assertTrue(feed.getFirst().getValue().contains("\"title\":\"Casual Outfit Post\""));
     }
 
     @Test
@@ -124,12 +375,46 @@ class FeedServiceImplTest {
         when(userSearchService.getUserEntityById(USER_ID)).thenReturn(user);
         when(postRepository.findByProfileIdAndVisibilityInOrderByCreatedAtDesc(eq(USER_ID), any(), any()))
                 .thenReturn(mockPosts("User Post"));
+        when(postResponseAssembler.toResponseDtos(ArgumentMatchers.<Page<Post>>any())).thenReturn(new PageImpl<>(
+                List.of(PostResponseDto.builder().id(1L).title("User Post").build()), PageRequest.of(PAGE, SIZE), 1));
 
-        Page<Post> userPosts = feedService.getUserPosts(USER_ID, VIEWER_ID, PageRequest.of(PAGE, SIZE));
+        Page<PostResponseDto> userPosts = feedService.getUserPosts(USER_ID, VIEWER_ID, PageRequest.of(PAGE, SIZE));
 
         assertNotNull(userPosts);
         assertEquals(1, userPosts.getTotalElements());
         assertEquals("User Post", userPosts.getContent().getFirst().getTitle());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getUserPosts_RecordsVisitByAnotherUser() {
+        User user = new User();
+        user.setId(USER_ID);
+        when(userSearchService.getUserEntityById(USER_ID)).thenReturn(user);
+        when(friendService.areFriends(USER_ID, 2L)).thenReturn(true);
+        when(postRepository.findByProfileIdAndVisibilityInOrderByCreatedAtDesc(eq(USER_ID), any(), any()))
+                .thenReturn(mockPosts("User Post"));
+        // Profile IDs differ from user IDs, as they do once accounts are deleted and recreated
+        when(profileRepository.findIdsByUserIdIn(List.of(2L, USER_ID)))
+                .thenReturn(List.of(profileRow(12L, 2L), profileRow(11L, USER_ID)));
+
+        feedService.getUserPosts(USER_ID, 2L, PageRequest.of(PAGE, SIZE));
+
+        verify(eventPublisher).publishEvent(new InteractionEvent(12L, 11L, Interaction.VISIT));
+    }
+
+    private static ProfileUserRow profileRow(Long profileId, Long userId) {
+        return new ProfileUserRow() {
+            @Override
+            public Long getId() {
+                return profileId;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
     }
 
     @Test
@@ -0,0 +1,134 @@
+package com.yalice.wardrobe_social_app.services;
+
+import com.yalice.wardrobe_social_app.dtos.common.CursorPageResponseDto;
+import com.yalice.wardrobe_social_app.dtos.profile.FollowResponseDto;
+import com.yalice.wardrobe_social_app.entities.Follow;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.mappers.FollowMapper;
+import com.yalice.wardrobe_social_app.repositories.FollowRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
+import com.yalice.wardrobe_social_app.services.social.FollowServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FollowServiceImplTest {
+
+    @Mock private FollowRepository followRepository;
+    @Mock private ProfileRepository profileRepository;
+    @Spy private FollowMapper followMapper = new FollowMapper();
+    @Mock private BlockList blockList;
+    @InjectMocks private FollowServiceImpl followService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(followService, "validationService", new ValidationService());
+        when(profileRepository.existsById(2L)).thenReturn(true);
+        when(profileRepository.findUserIdsByIdIn(List.of(1L, 2L))).thenReturn(List.of(row(1L, 11L), row(2L, 12L)));
+    }
+
+    @Test
+    void follow_NotFollowing_InsertsAndAdjustsCounts() {
+        when(followRepository.insertIfAbsent(1L, 2L)).thenReturn(1);
+
+        assertTrue(followService.follow(1L, 2L));
+
+        verify(profileRepository).adjustFollowCounts(1L, 2L, 1);
+    }
+
+    @Test
+    void follow_AlreadyFollowing_DoesNotCountTwice() {
+        when(followRepository.insertIfAbsent(1L, 2L)).thenReturn(0);
+
+        assertFalse(followService.follow(1L, 2L));
+
+        verify(profileRepository, never()).adjustFollowCounts(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void follow_Self_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> followService.follow(2L, 2L));
+        verify(followRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void follow_ProfileNotFound_Throws() {
+        when(profileRepository.findUserIdsByIdIn(List.of(1L, 9L))).thenReturn(List.of(row(1L, 11L)));
+
+        assertThrows(ResourceNotFoundException.class, () -> followService.follow(1L, 9L));
+        verify(followRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void follow_Blocked_Throws() {
+        when(blockList.isBlocked(11L, 12L)).thenReturn(true);
+
+        assertThrows(ForbiddenActionException.class, () -> followService.follow(1L, 2L));
+        verify(followRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void unfollow_Following_DeletesAndAdjustsCounts() {
+        when(followRepository.deleteByFollowerIdAndFollowedId(1L, 2L)).thenReturn(1);
+
+        assertTrue(followService.unfollow(1L, 2L));
+
+        verify(profileRepository).adjustFollowCounts(1L, 2L, -1);
+    }
+
+    @Test
+    void getFollowers_FullPage_ReturnsCursorOfLastFollow() {
+        List<Follow> follows = List.of(follow(30L, 5L), follow(20L, 6L), follow(10L, 7L));
+        when(followRepository.findByFollowedIdAndIdLessThanOrderByIdDesc(2L, 40L, PageRequest.of(0, 3)))
+                .thenReturn(follows);
+
+        CursorPageResponseDto<FollowResponseDto> page = followService.getFollowers(2L, 40L, 2);
+
+        assertEquals(List.of(5L, 6L), page.getContent().stream().map(FollowResponseDto::getProfileId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(20L, page.getNextCursor());
+    }
+
+    private Follow follow(Long id, Long followerId) {
+        Profile follower = Profile.builder()
+                .id(followerId)
+                .user(User.builder().id(followerId * 10).username("user" + followerId).build())
+                .build();
+        return Follow.builder().id(id).follower(follower).build();
+    }
+
+    private static ProfileUserRow row(Long id, Long userId) {
+        return new ProfileUserRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+}
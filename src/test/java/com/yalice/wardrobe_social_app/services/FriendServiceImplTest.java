@@ -2,20 +2,35 @@ package com.yalice.wardrobe_social_app.services;
 
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendRequestDto;
 import com.yalice.wardrobe_social_app.dtos.friendship.FriendResponseDto;
+import com.yalice.wardrobe_social_app.dtos.friendship.FriendSuggestionDto;
 import com.yalice.wardrobe_social_app.entities.Friendship;
 import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
+import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.events.FriendshipAcceptedEvent;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.interfaces.FollowService;
 import com.yalice.wardrobe_social_app.interfaces.UserSearchService;
 import com.yalice.wardrobe_social_app.mappers.FriendMapper;
 import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendPair;
+import com.yalice.wardrobe_social_app.repositories.UserRepository;
+import com.yalice.wardrobe_social_app.events.UserBlockChangedEvent;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import com.yalice.wardrobe_social_app.services.social.FriendServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +47,21 @@ class FriendServiceImplTest {
     @Mock
     private FriendMapper friendMapper;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendGraph friendGraph;
+
+    @Mock
+    private BlockList blockList;
+
+    @Mock
+    private FollowService followService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FriendServiceImpl friendService;
 
@@ -124,6 +154,7 @@ class FriendServiceImplTest {
         verify(friendRepository, times(1)).save(friendship);
 
         assertEquals(FriendshipStatus.ACCEPTED, friendship.getStatus());
+        verify(eventPublisher).publishEvent(any(FriendshipAcceptedEvent.class));
     }
 
     @Test
@@ -204,4 +235,100 @@ class FriendServiceImplTest {
 
         assertFalse(areFriends);
     }
+
+    @Test
+    void sendFriendRequest_blocked() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+        when(blockList.isBlocked(1L, 2L)).thenReturn(true);
+
+        assertThrows(ForbiddenActionException.class, () -> friendService.sendFriendRequest(1L, 2L));
+        verify(friendRepository, never()).save(any(Friendship.class));
+    }
+
+    @Test
+    void blockUser_ReplacesFriendshipAndRemovesFollows() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+        sender.setProfile(Profile.builder().id(10L).build());
+        recipient.setProfile(Profile.builder().id(20L).build());
+        when(userSearchService.getUserEntityById(1L)).thenReturn(sender);
+        when(userSearchService.getUserEntityById(2L)).thenReturn(recipient);
+        when(friendRepository.save(any(Friendship.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        friendService.blockUser(1L, 2L);
+
+        verify(friendRepository).deleteBetweenUsersExceptStatus(1L, 2L, FriendshipStatus.BLOCKED);
+        verify(friendRepository).save(argThat(friendship -> friendship.getStatus() == FriendshipStatus.BLOCKED
+                && friendship.getSender() == sender && friendship.getRecipient() == recipient));
+        verify(followService).unfollow(10L, 20L);
+        verify(followService).unfollow(20L, 10L);
+        verify(eventPublisher).publishEvent(any(UserBlockChangedEvent.class));
+    }
+
+    @Test
+    void blockUser_AlreadyBlocked_DoesNothing() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+        when(friendRepository.existsBySenderIdAndRecipientIdAndStatus(1L, 2L, FriendshipStatus.BLOCKED))
+                .thenReturn(true);
+
+        friendService.blockUser(1L, 2L);
+
+        verify(friendRepository, never()).save(any(Friendship.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void unblockUser_RemovesOnlyOwnBlock() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+        when(friendRepository.deleteBySenderIdAndRecipientIdAndStatus(1L, 2L, FriendshipStatus.BLOCKED))
+                .thenReturn(1);
+
+        friendService.unblockUser(1L, 2L);
+
+        verify(eventPublisher).publishEvent(new UserBlockChangedEvent(1L, 2L));
+    }
+
+    @Test
+    void getFriendSuggestions_RanksByMutualFriendsAndSkipsPendingRequests() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+        // User 1 is friends with 2 and 3; user 9 has a pending request with user 1.
+        when(friendGraph.friendsOf(1L)).thenReturn(new long[] {2, 3});
+        when(friendGraph.friendsOf(List.of(2L, 3L))).thenReturn(Map.of(
+                2L, new long[] {1, 4, 5, 9},
+                3L, new long[] {1, 5, 9}));
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(1L)), anyCollection()))
+                .thenReturn(List.of(pair(9L, 1L)));
+        when(userRepository.findAllById(List.of(5L, 4L)))
+                .thenReturn(List.of(createUser(4L, "four"), createUser(5L, "five")));
+
+        Page<FriendSuggestionDto> suggestions = friendService.getFriendSuggestions(1L, 0, 20);
+
+        assertEquals(List.of(5L, 4L), suggestions.map(FriendSuggestionDto::getUserId).getContent());
+        assertEquals(List.of(2, 1), suggestions.map(FriendSuggestionDto::getMutualFriends).getContent());
+        assertEquals("five", suggestions.getContent().get(0).getUsername());
+        assertEquals(2, suggestions.getTotalElements());
+    }
+
+    @Test
+    void getFriendSuggestions_PageBeyondLimit_ReturnsEmptyPage() {
+        ReflectionTestUtils.setField(friendService, "validationService", new ValidationService());
+
+        Page<FriendSuggestionDto> suggestions = friendService.getFriendSuggestions(1L, 5, FriendServiceImpl.MAX_SUGGESTIONS);
+
+        assertTrue(suggestions.isEmpty());
+        verifyNoInteractions(friendGraph);
+    }
+
+    private static FriendPair pair(Long senderId, Long recipientId) {
+        return new FriendPair() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
 }
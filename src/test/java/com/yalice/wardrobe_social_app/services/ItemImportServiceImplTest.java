@@ -0,0 +1,218 @@
+package com.yalice.wardrobe_social_app.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportResultDto;
+import com.yalice.wardrobe_social_app.entities.Item;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.exceptions.ImageProcessingException;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
+import com.yalice.wardrobe_social_app.services.core.ItemImportServiceImpl;
+import com.yalice.wardrobe_social_app.services.helpers.ItemImportParser;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ItemImportServiceImplTest {
+
+    private static final Long PROFILE_ID = 1L;
+    private static final Long WARDROBE_ID = 5L;
+
+    @Mock private ItemRepository itemRepository;
+    @Mock private ProfileRepository profileRepository;
+    @Mock private WardrobeRepository wardrobeRepository;
+    @Mock private ImageService imageService;
+
+    private ItemImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        importService = newService(50, 100, 1024, 1024 * 1024);
+
+        Profile profile = new Profile();
+        profile.setId(PROFILE_ID);
+        Wardrobe wardrobe = Wardrobe.builder().profile(profile).build();
+        wardrobe.setId(WARDROBE_ID);
+        when(wardrobeRepository.findById(WARDROBE_ID)).thenReturn(Optional.of(wardrobe));
+        when(itemRepository.findNamesByWardrobeId(WARDROBE_ID)).thenReturn(List.of("Existing"));
+        when(imageService.storeImage(any(Path.class), eq("wardrobe"), eq(WARDROBE_ID)))
+                .thenAnswer(invocation -> "/uploads/wardrobe/5/" + invocation.<Path>getArgument(0).getFileName());
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importItems_RejectsInvalidRowsAndImportsTheRest() {
+        MockMultipartFile items = csv("name,category,image\n" +
+                "Shirt,Tops,shirt.jpg\n" +
+                ",Tops,shirt.jpg\n" +
+                "Jeans,,shirt.jpg\n" +
+                "Existing,Tops,shirt.jpg\n" +
+                "Hat,Accessories,missing.jpg\n" +
+                "Shirt,Tops,shirt.jpg\n");
+
+        ItemImportResultDto result = importService.importItems(PROFILE_ID, WARDROBE_ID, items,
+                zip(Stream.of("shirt.jpg"), 4));
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(5, result.getFailedCount());
+        assertEquals(List.of(2, 3, 4, 5, 6), result.getErrors().stream().map(ItemImportResultDto.RowError::getRow).toList());
+        assertEquals("Item name cannot be empty", result.getErrors().get(0).getMessage());
+        assertEquals("Category cannot be empty", result.getErrors().get(1).getMessage());
+        assertEquals("Item with name 'Existing' already exists in this wardrobe", result.getErrors().get(2).getMessage());
+        assertEquals("Image not found in archive: missing.jpg", result.getErrors().get(3).getMessage());
+        assertEquals("Item with name 'Shirt' already exists in this wardrobe", result.getErrors().get(4).getMessage());
+
+        ArgumentCaptor<List<Item>> saved = ArgumentCaptor.forClass(List.class);
+        verify(itemRepository).saveAll(saved.capture());
+        assertEquals("Shirt", saved.getValue().get(0).getName());
+        assertEquals("/uploads/wardrobe/5/shirt.jpg", saved.getValue().get(0).getImageUrl());
+        verify(wardrobeRepository).adjustItemCount(WARDROBE_ID, 1);
+    }
+
+    @Test
+    void importItems_FailedBatchInsert_RemovesThatBatchsImagesAndKeepsLaterBatches() {
+        importService = newService(2, 100, 1024, 1024 * 1024);
+        when(itemRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("constraint violation"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = importService.importItems(PROFILE_ID, WARDROBE_ID,
+                csv("name,category,image\nA,Tops,a.jpg\nB,Tops,b.jpg\nC,Tops,c.jpg\n"),
+                zip(Stream.of("a.jpg", "b.jpg", "c.jpg"), 4));
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals("Failed to save item", result.getErrors().get(0).getMessage());
+        verify(imageService).deleteImage("/uploads/wardrobe/5/a.jpg");
+        verify(imageService).deleteImage("/uploads/wardrobe/5/b.jpg");
+        verify(imageService, never()).deleteImage("/uploads/wardrobe/5/c.jpg");
+        verify(wardrobeRepository).adjustItemCount(WARDROBE_ID, 1);
+    }
+
+    @Test
+    void importItems_ImageStoreFailure_RejectsBatchAndRemovesItsStoredImages() {
+        when(imageService.storeImage(argThat(path -> path.endsWith("b.jpg")), anyString(), anyLong()))
+                .thenThrow(new ImageProcessingException("disk full"));
+
+        ItemImportResultDto result = importService.importItems(PROFILE_ID, WARDROBE_ID,
+                csv("name,category,image\nA,Tops,a.jpg\nB,Tops,b.jpg\n"),
+                zip(Stream.of("a.jpg", "b.jpg"), 4));
+
+        assertEquals(0, result.getImportedCount());
+        assertEquals(2, result.getFailedCount());
+        verify(imageService).deleteImage("/uploads/wardrobe/5/a.jpg");
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importItems_TooManyImages_RejectsArchiveAndRemovesTemporaryFiles() {
+        importService = newService(50, 2, 1024, 1024 * 1024);
+        Set<Path> before = importDirectories();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importService.importItems(PROFILE_ID, WARDROBE_ID, csv("name,category,image\n"),
+                        zip(Stream.of("a.jpg", "b.jpg", "c.jpg"), 4)));
+
+        assertEquals("Images archive must not contain more than 2 files", exception.getMessage());
+        assertEquals(before, importDirectories());
+    }
+
+    @Test
+    void importItems_ImageOverSizeLimit_RejectsArchiveAndRemovesTemporaryFiles() {
+        importService = newService(50, 100, 10, 1024 * 1024);
+        Set<Path> before = importDirectories();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importService.importItems(PROFILE_ID, WARDROBE_ID, csv("name,category,image\n"),
+                        zip(Stream.of("big.jpg"), 11)));
+
+        assertEquals("Image big.jpg exceeds the maximum size of 10 bytes", exception.getMessage());
+        assertEquals(before, importDirectories());
+    }
+
+    @Test
+    void importItems_ArchiveOverTotalLimit_RejectsArchiveAndRemovesTemporaryFiles() {
+        importService = newService(50, 100, 10, 15);
+        Set<Path> before = importDirectories();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> importService.importItems(PROFILE_ID, WARDROBE_ID, csv("name,category,image\n"),
+                        zip(Stream.of("a.jpg", "b.jpg"), 8)));
+
+        assertEquals("Images archive exceeds the maximum size of 15 bytes", exception.getMessage());
+        assertEquals(before, importDirectories());
+    }
+
+    private ItemImportServiceImpl newService(int batchSize, int maxImages, long maxImageBytes, long maxArchiveBytes) {
+        if (importService != null) {
+            importService.shutdown();
+        }
+        ItemImportServiceImpl service = new ItemImportServiceImpl(itemRepository, profileRepository,
+                wardrobeRepository, imageService, new ItemImportParser(new ObjectMapper()),
+                mock(PlatformTransactionManager.class), batchSize, 2, 100, maxImages, maxImageBytes, maxArchiveBytes);
+        ReflectionTestUtils.setField(service, "validationService", new ValidationService());
+        return service;
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("items", "items.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockMultipartFile zip(Stream<String> filenames, int bytesPerFile) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (String filename : filenames.toList()) {
+                zip.putNextEntry(new ZipEntry("images/" + filename));
+                zip.write(new byte[bytesPerFile]);
+                zip.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new MockMultipartFile("images", "images.zip", "application/zip", bytes.toByteArray());
+    }
+
+    private static Set<Path> importDirectories() {
+        try (Stream<Path> paths = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return paths.filter(path -> path.getFileName().toString().startsWith("item-import-"))
+                    .collect(Collectors.toSet());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
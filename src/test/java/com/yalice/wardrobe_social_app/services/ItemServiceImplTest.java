@@ -6,6 +6,7 @@ import com.yalice.wardrobe_social_app.entities.Item;
 import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.mappers.ItemMapper;
 import com.yalice.wardrobe_social_app.repositories.ItemRepository;
@@ -41,6 +42,9 @@ class ItemServiceImplTest {
     @Mock
     private WardrobeRepository wardrobeRepository;
 
+    @Mock
+    private DomainEventOutbox outbox;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -0,0 +1,185 @@
+package com.yalice.wardrobe_social_app.services;
+
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
+import com.yalice.wardrobe_social_app.entities.Like;
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import com.yalice.wardrobe_social_app.exceptions.ForbiddenActionException;
+import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
+import com.yalice.wardrobe_social_app.mappers.LikeMapper;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
+import com.yalice.wardrobe_social_app.services.social.LikeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeServiceImplTest {
+
+    @Mock private LikeRepository likeRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private ProfileRepository profileRepository;
+    @Mock private LikeMapper likeMapper;
+    @Mock private BlockList blockList;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @InjectMocks private LikeServiceImpl likeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(likeService, "validationService", new ValidationService());
+        when(postRepository.findProfileIdById(1L)).thenReturn(Optional.of(5L));
+    }
+
+    @Test
+    void toggleLike_NotLiked_InsertsAndIncrementsCount() {
+        when(likeRepository.deleteByPostIdAndProfileId(1L, 2L)).thenReturn(0);
+        when(likeRepository.insertIfAbsent(1L, 2L)).thenReturn(1);
+
+        assertTrue(likeService.toggleLike(1L, 2L));
+
+        verify(postRepository).adjustLikeCount(1L, 1);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+        verify(eventPublisher).publishEvent(new InteractionEvent(2L, 5L, Interaction.LIKE));
+    }
+
+    @Test
+    void toggleLike_Liked_DeletesAndDecrementsCount() {
+        when(likeRepository.deleteByPostIdAndProfileId(1L, 2L)).thenReturn(1);
+
+        assertFalse(likeService.toggleLike(1L, 2L));
+
+        verify(postRepository).adjustLikeCount(1L, -1);
+        verify(likeRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void toggleLike_ConcurrentLikeAlreadyInserted_DoesNotCountTwice() {
+        when(likeRepository.deleteByPostIdAndProfileId(1L, 2L)).thenReturn(0);
+        when(likeRepository.insertIfAbsent(1L, 2L)).thenReturn(0);
+
+        assertTrue(likeService.toggleLike(1L, 2L));
+
+        verify(postRepository, never()).adjustLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void toggleLike_AuthorBlocked_Throws() {
+        when(likeRepository.deleteByPostIdAndProfileId(1L, 2L)).thenReturn(0);
+        when(profileRepository.findUserIdsByIdIn(List.of(2L, 5L))).thenReturn(List.of(row(2L, 20L), row(5L, 50L)));
+        when(blockList.isBlocked(20L, 50L)).thenReturn(true);
+
+        assertThrows(ForbiddenActionException.class, () -> likeService.toggleLike(1L, 2L));
+
+        verify(likeRepository, never()).insertIfAbsent(anyLong(), anyLong());
+        verify(postRepository, never()).adjustLikeCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void toggleLike_AuthorBlocked_StillUnlikes() {
+        when(likeRepository.deleteByPostIdAndProfileId(1L, 2L)).thenReturn(1);
+        when(blockList.isBlocked(anyLong(), anyLong())).thenReturn(true);
+
+        assertFalse(likeService.toggleLike(1L, 2L));
+
+        verify(postRepository).adjustLikeCount(1L, -1);
+    }
+
+    @Test
+    void toggleLike_OwnPost_SkipsBlockCheck() {
+        when(postRepository.findProfileIdById(1L)).thenReturn(Optional.of(2L));
+        when(likeRepository.insertIfAbsent(1L, 2L)).thenReturn(1);
+
+        assertTrue(likeService.toggleLike(1L, 2L));
+
+        verify(profileRepository, never()).findUserIdsByIdIn(any());
+    }
+
+    @Test
+    void toggleLike_PostNotFound_Throws() {
+        when(postRepository.findProfileIdById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> likeService.toggleLike(9L, 2L));
+        verify(likeRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void likedBy_SetsBitsInRequestOrder() {
+        when(likeRepository.findLikedPostIds(2L, Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(13L, 11L));
+
+        BitSet liked = likeService.likedBy(2L, Arrays.asList(10L, 11L, 12L, 13L));
+
+        assertEquals(BitSet.valueOf(new long[] {0b1010}), liked);
+    }
+
+    @Test
+    void likedBy_TooManyIds_Throws() {
+        List<Long> ids = Collections.nCopies(51, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> likeService.likedBy(2L, ids));
+    }
+
+    @Test
+    void getLikes_DropsLikesOfBlockedUsers() {
+        Like visibleLike = new Like();
+        Like blockedLike = new Like();
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(likeRepository.findByPostIdOrderByCreatedAtDescIdDesc(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(visibleLike, blockedLike), pageable, 2));
+        when(likeMapper.toResponseDto(visibleLike)).thenReturn(LikeResponseDto.builder().userId(30L).build());
+        when(likeMapper.toResponseDto(blockedLike)).thenReturn(LikeResponseDto.builder().userId(40L).build());
+        when(blockList.visibleTo(eq(20L), anyList(), any())).thenAnswer(invocation -> {
+            List<LikeResponseDto> likes = invocation.getArgument(1);
+            Function<LikeResponseDto, Long> userIdOf = invocation.getArgument(2);
+            return likes.stream().filter(like -> !userIdOf.apply(like).equals(40L)).toList();
+        });
+
+        Page<LikeResponseDto> page = likeService.getLikes(1L, 20L, pageable);
+
+        assertEquals(List.of(30L), page.getContent().stream().map(LikeResponseDto::getUserId).toList());
+    }
+
+    private static ProfileUserRow row(Long id, Long userId) {
+        return new ProfileUserRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+}
@@ -1,28 +1,44 @@
 package com.yalice.wardrobe_social_app.services;
 
+import com.yalice.wardrobe_social_app.dtos.post.LikeResponseDto;
+import com.yalice.wardrobe_social_app.dtos.post.PostAuthorDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostDto;
 import com.yalice.wardrobe_social_app.dtos.post.PostResponseDto;
 import com.yalice.wardrobe_social_app.entities.*;
+import com.yalice.wardrobe_social_app.events.DomainEventOutbox;
 import com.yalice.wardrobe_social_app.exceptions.PostAccessException;
 import com.yalice.wardrobe_social_app.exceptions.PostNotFoundException;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.interfaces.LikeService;
 import com.yalice.wardrobe_social_app.interfaces.OutfitService;
 import com.yalice.wardrobe_social_app.interfaces.ProfileService;
-import com.yalice.wardrobe_social_app.mappers.PostMapper;
-import com.yalice.wardrobe_social_app.repositories.LikeRepository;
 import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository.ProfileUserRow;
 import com.yalice.wardrobe_social_app.services.core.PostServiceImpl;
+import com.yalice.wardrobe_social_app.services.helpers.BlockList;
+import com.yalice.wardrobe_social_app.services.helpers.PostResponseAssembler;
 import com.yalice.wardrobe_social_app.services.helpers.PostServiceHelper;
+import com.yalice.wardrobe_social_app.services.helpers.ResponseMapperService;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,17 +50,27 @@ class PostServiceImplTest {
     @Mock
     private PostRepository postRepository;
     @Mock
-    private LikeRepository likeRepository;
+    private ProfileRepository profileRepository;
+    @Mock
+    private BlockList blockList;
+    @Mock
+    private LikeService likeService;
     @Mock
     private ProfileService profileService;
     @Mock
     private OutfitService outfitService;
     @Mock
-    private PostMapper postMapper;
+    private PostResponseAssembler postResponseAssembler;
     @Mock
     private PostServiceHelper postServiceHelper;
     @Mock
     private ImageService imageService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight();
+    @Mock
+    private DomainEventOutbox outbox;
 
     @InjectMocks
     private PostServiceImpl postService;
@@ -62,6 +88,9 @@ class PostServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(postService, "validationService", new ValidationService());
+        ReflectionTestUtils.setField(postService, "responseMapper", new ResponseMapperService());
+
         User user = new User();
         user.setId(USER_ID);
 
@@ -107,7 +136,7 @@ class PostServiceImplTest {
                 post.getVisibility() == Post.PostVisibility.PUBLIC))).thenReturn(post);
 
         PostResponseDto mockPostResponseDto = createPostResponseDto();
-        when(postMapper.toResponseDto(argThat(p -> p.getId().equals(POST_ID)))).thenReturn(mockPostResponseDto);
+        when(postResponseAssembler.toResponseDto(argThat(p -> p.getId().equals(POST_ID)))).thenReturn(mockPostResponseDto);
 
         PostResponseDto postResponseDto = postService.createPost(PROFILE_ID, postDto, mockImage);
 
@@ -137,7 +166,7 @@ class PostServiceImplTest {
     void getPost_Success() {
         when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
         when(postServiceHelper.isPostAccessibleToUser(post, PROFILE_ID)).thenReturn(true);
-        when(postMapper.toResponseDto(post)).thenReturn(createPostResponseDto());
+        when(postResponseAssembler.toResponseDto(post)).thenReturn(createPostResponseDto());
 
         PostResponseDto postResponseDto = postService.getPost(POST_ID, PROFILE_ID);
 
@@ -163,6 +192,62 @@ class PostServiceImplTest {
         verify(postRepository).findById(POST_ID);
     }
 
+    @Test
+    void getPost_AuthorBlocked_Throws() {
+        PostResponseDto dto = createPostResponseDto();
+        dto.setAuthor(PostAuthorDto.builder().profileId(2L).userId(2L).build());
+        when(profileRepository.findUserIdsByIdIn(List.of(PROFILE_ID))).thenReturn(List.of(row(PROFILE_ID, USER_ID)));
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
+        when(postResponseAssembler.toResponseDto(post)).thenReturn(dto);
+        when(blockList.isBlocked(USER_ID, 2L)).thenReturn(true);
+
+        assertThrows(PostAccessException.class, () -> postService.getPost(POST_ID, PROFILE_ID));
+    }
+
+    @Test
+    void getPosts_DropsPostsOfBlockedAuthors() {
+        Post blockedPost = createPost(2L, 2L, Post.PostVisibility.PUBLIC);
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(any())).thenReturn(List.of(post, blockedPost));
+        when(profileRepository.findUserIdsByIdIn(List.of(PROFILE_ID))).thenReturn(List.of(row(PROFILE_ID, USER_ID)));
+        when(blockList.visibleTo(eq(USER_ID), eq(List.of(post, blockedPost)), any())).thenReturn(List.of(post));
+        when(postResponseAssembler.toResponseDtos(List.of(post))).thenReturn(List.of(createPostResponseDto()));
+
+        List<PostResponseDto> posts = postService.getPosts(Arrays.asList(POST_ID, 2L), PROFILE_ID);
+
+        assertEquals(List.of(POST_ID), posts.stream().map(PostResponseDto::getId).toList());
+    }
+
+    @Test
+    void getPosts_DropsOtherUsersNonPublicPosts() {
+        Post ownPrivate = createPost(2L, PROFILE_ID, Post.PostVisibility.PRIVATE);
+        Post otherPrivate = createPost(3L, 2L, Post.PostVisibility.PRIVATE);
+        Post otherFriendsOnly = createPost(4L, 2L, Post.PostVisibility.FRIENDS_ONLY);
+        Post otherPublic = createPost(5L, 2L, Post.PostVisibility.PUBLIC);
+        List<Post> accessible = List.of(ownPrivate, otherPublic);
+        when(postRepository.findAllWithAuthorAndOutfitByIdIn(any()))
+                .thenReturn(List.of(otherPublic, otherFriendsOnly, otherPrivate, ownPrivate));
+        when(profileRepository.findUserIdsByIdIn(List.of(PROFILE_ID))).thenReturn(List.of(row(PROFILE_ID, USER_ID)));
+        when(blockList.visibleTo(eq(USER_ID), eq(accessible), any())).thenReturn(accessible);
+        when(postResponseAssembler.toResponseDtos(accessible)).thenReturn(List.of());
+
+        postService.getPosts(List.of(2L, 3L, 4L, 5L), PROFILE_ID);
+
+        verify(postResponseAssembler).toResponseDtos(accessible);
+    }
+
+    @Test
+    void getPostLikes_PassesViewerUserIdForFiltering() {
+        PostResponseDto dto = createPostResponseDto();
+        dto.setAuthor(PostAuthorDto.builder().profileId(PROFILE_ID).userId(USER_ID).build());
+        PageImpl<LikeResponseDto> likes = new PageImpl<>(List.of(LikeResponseDto.builder().userId(3L).build()));
+        when(profileRepository.findUserIdsByIdIn(List.of(PROFILE_ID))).thenReturn(List.of(row(PROFILE_ID, USER_ID)));
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
+        when(postResponseAssembler.toResponseDto(post)).thenReturn(dto);
+        when(likeService.getLikes(POST_ID, USER_ID, PageRequest.of(0, 20))).thenReturn(likes);
+
+        assertSame(likes, postService.getPostLikes(POST_ID, PROFILE_ID, PageRequest.of(0, 20)));
+    }
+
     @Test
     void updatePost_Success() {
         PostDto updateDto = new PostDto();
@@ -189,7 +274,7 @@ class PostServiceImplTest {
                 .thenReturn("http://uploaded-image.url");
         when(postRepository.save(argThat(post -> post.getContent().equals("Updated Content") &&
                 post.getVisibility() == Post.PostVisibility.PRIVATE))).thenReturn(mockPost);
-        when(postMapper.toResponseDto(argThat(p -> p.getId().equals(mockPost.getId())))).thenReturn(postResponseDto);
+        when(postResponseAssembler.toResponseDto(argThat(p -> p.getId().equals(mockPost.getId())))).thenReturn(postResponseDto);
 
         PostResponseDto updatedPost = postService.updatePost(POST_ID, PROFILE_ID, updateDto, mockImage);
 
@@ -233,34 +318,55 @@ class PostServiceImplTest {
 
     @Test
     void toggleLikePost_Success() {
-        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
-        when(profileService.getProfileEntityById(PROFILE_ID)).thenReturn(profile);
-        when(postServiceHelper.hasProfileLikedPost(POST_ID, PROFILE_ID)).thenReturn(false);
+        when(likeService.toggleLike(POST_ID, PROFILE_ID)).thenReturn(true);
 
         boolean result = postService.toggleLikePost(POST_ID, PROFILE_ID);
 
         assertTrue(result);
-        verify(likeRepository).save(any(Like.class));
-        verify(postRepository).save(any(Post.class));
+        verify(likeService).toggleLike(POST_ID, PROFILE_ID);
+        verify(postRepository, never()).findById(POST_ID);
     }
 
     @Test
-    void toggleLikePost_LikeNotFound() {
-        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
-        when(profileService.getProfileEntityById(PROFILE_ID)).thenReturn(profile);
-        when(postServiceHelper.hasProfileLikedPost(POST_ID, PROFILE_ID)).thenReturn(true);
-        when(likeRepository.findByPostAndProfile(post, profile)).thenReturn(Optional.empty());
+    void toggleLikePost_Unlike() {
+        when(likeService.toggleLike(POST_ID, PROFILE_ID)).thenReturn(false);
 
-        assertThrows(ResourceNotFoundException.class, () -> postService.toggleLikePost(POST_ID, PROFILE_ID));
+        assertFalse(postService.toggleLikePost(POST_ID, PROFILE_ID));
     }
 
     @Test
     void toggleLikePost_PostNotFound() {
-        when(postRepository.findById(POST_ID)).thenReturn(Optional.empty());
+        when(likeService.toggleLike(POST_ID, PROFILE_ID))
+                .thenThrow(new ResourceNotFoundException("Post not found with ID: " + POST_ID));
 
-        assertThrows(PostNotFoundException.class, () -> postService.toggleLikePost(POST_ID, PROFILE_ID));
-        verify(likeRepository, never()).save(any(Like.class));
-        verify(postRepository, never()).save(any(Post.class));
+        assertThrows(ResourceNotFoundException.class, () -> postService.toggleLikePost(POST_ID, PROFILE_ID));
+    }
+
+    private static Post createPost(Long id, Long authorId, Post.PostVisibility visibility) {
+        User author = new User();
+        author.setId(authorId);
+        Profile authorProfile = new Profile();
+        authorProfile.setId(authorId);
+        authorProfile.setUser(author);
+        Post created = new Post();
+        created.setId(id);
+        created.setProfile(authorProfile);
+        created.setVisibility(visibility);
+        return created;
+    }
+
+    private static ProfileUserRow row(Long id, Long userId) {
+        return new ProfileUserRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
     }
 
     private PostResponseDto createPostResponseDto() {
@@ -14,11 +14,16 @@ import com.yalice.wardrobe_social_app.repositories.ItemRepository;
 import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
 import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
 import com.yalice.wardrobe_social_app.services.core.ProfileServiceImpl;
+import com.yalice.wardrobe_social_app.services.helpers.SingleFlight;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
@@ -34,6 +39,8 @@ class ProfileServiceImplTest {
     @Mock private UserSearchService userSearchService;
     @Mock private FriendService friendService;
     @Mock private ProfileMapper profileMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private SingleFlight singleFlight = new SingleFlight();
 
     @InjectMocks private ProfileServiceImpl profileService;
 
@@ -46,6 +53,7 @@ class ProfileServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(profileService, "validationService", new ValidationService());
         userId = 1L;
         profileId = 1L;
         viewerId = 1L;
@@ -199,4 +207,53 @@ class ProfileServiceImplTest {
 
         assertEquals(newWardrobe, item.getWardrobe());
     }
+
+    @Test
+    void moveItemToAnotherWardrobe_AdjustsCountsAndCoversOfBothWardrobes() {
+        Profile owner = new Profile();
+        owner.setId(profileId);
+        Wardrobe oldWardrobe = new Wardrobe();
+        oldWardrobe.setId(3L);
+        oldWardrobe.setProfile(owner);
+        Wardrobe newWardrobe = new Wardrobe();
+        newWardrobe.setId(2L);
+        newWardrobe.setProfile(owner);
+        Item item = new Item();
+        item.setId(1L);
+        item.setProfile(owner);
+        item.setWardrobe(oldWardrobe);
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(wardrobeRepository.findById(2L)).thenReturn(Optional.of(newWardrobe));
+
+        profileService.moveItemToAnotherWardrobe(1L, 2L);
+
+        assertEquals(newWardrobe, item.getWardrobe());
+        verify(itemRepository).save(item);
+        verify(wardrobeRepository).adjustItemCount(3L, -1);
+        verify(wardrobeRepository).adjustItemCount(2L, 1);
+        verify(wardrobeRepository).refreshCoverImage(3L);
+        verify(wardrobeRepository).refreshCoverImage(2L);
+    }
+
+    @Test
+    void moveItemToAnotherWardrobe_SameWardrobe_LeavesCountsAlone() {
+        Profile owner = new Profile();
+        owner.setId(profileId);
+        Wardrobe wardrobe = new Wardrobe();
+        wardrobe.setId(2L);
+        wardrobe.setProfile(owner);
+        Item item = new Item();
+        item.setId(1L);
+        item.setProfile(owner);
+        item.setWardrobe(wardrobe);
+
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(wardrobeRepository.findById(2L)).thenReturn(Optional.of(wardrobe));
+
+        profileService.moveItemToAnotherWardrobe(1L, 2L);
+
+        verify(itemRepository, never()).save(any());
+        verify(wardrobeRepository, never()).adjustItemCount(anyLong(), anyInt());
+    }
 }
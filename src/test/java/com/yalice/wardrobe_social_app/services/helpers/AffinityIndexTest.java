@@ -0,0 +1,117 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository.InteractionRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AffinityIndexTest {
+
+    private LikeRepository likeRepository;
+    private CommentRepository commentRepository;
+    private AffinityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        index = new AffinityIndex(likeRepository, commentRepository, 2, 2, 3600, 14);
+    }
+
+    @Test
+    void affinitiesOf_SumsLikesAndCommentsHalvedEachHalfLife() {
+        LocalDateTime now = LocalDateTime.now();
+        when(likeRepository.findLikedAuthorsSince(eq(1L), any(), any())).thenReturn(List.of(
+                row(7, now), row(7, now.minusDays(14)), row(8, now)));
+        when(commentRepository.findCommentedAuthorsSince(eq(1L), any(), any())).thenReturn(List.of(row(8, now)));
+
+        AffinityIndex.Affinities affinities = index.affinitiesOf(1L);
+
+        assertThat(affinities.of(7)).isCloseTo(1.5, within(0.01));
+        assertThat(affinities.of(8)).isCloseTo(4, within(0.01));
+        assertThat(affinities.of(9)).isZero();
+    }
+
+    @Test
+    void affinitiesOf_KeepsStrongestAuthors() {
+        LocalDateTime now = LocalDateTime.now();
+        when(likeRepository.findLikedAuthorsSince(eq(1L), any(), any())).thenReturn(List.of(
+                row(7, now), row(8, now), row(8, now), row(9, now)));
+        when(commentRepository.findCommentedAuthorsSince(eq(1L), any(), any())).thenReturn(List.of(row(9, now)));
+
+        AffinityIndex.Affinities affinities = index.affinitiesOf(1L);
+
+        assertThat(affinities.of(7)).isZero();
+        assertThat(affinities.of(8)).isGreaterThan(0);
+        assertThat(affinities.of(9)).isGreaterThan(0);
+    }
+
+    @Test
+    void onInteraction_UpdatesHeldVectorWithoutReloading() {
+        index.affinitiesOf(1L);
+
+        index.onInteraction(new InteractionEvent(1L, 7L, Interaction.COMMENT));
+        index.onInteraction(new InteractionEvent(1L, 7L, Interaction.VISIT));
+        index.onInteraction(new InteractionEvent(1L, 1L, Interaction.LIKE));
+
+        AffinityIndex.Affinities affinities = index.affinitiesOf(1L);
+        assertThat(affinities.of(7)).isCloseTo(3.5, within(0.01));
+        assertThat(affinities.of(1)).isZero();
+        verify(likeRepository, times(1)).findLikedAuthorsSince(eq(1L), any(), any());
+    }
+
+    @Test
+    void onInteraction_DuringLoad_VectorIsReloadedOnNextRead() {
+        when(likeRepository.findLikedAuthorsSince(eq(1L), any(), any())).thenAnswer(invocation -> {
+            index.onInteraction(new InteractionEvent(1L, 7L, Interaction.LIKE));
+            return List.of();
+        }).thenReturn(List.of(row(7, LocalDateTime.now())));
+
+        assertThat(index.affinitiesOf(1L).of(7)).isZero();
+        assertThat(index.size()).isZero();
+
+        assertThat(index.affinitiesOf(1L).of(7)).isCloseTo(1, within(0.01));
+        verify(likeRepository, times(2)).findLikedAuthorsSince(eq(1L), any(), any());
+    }
+
+    @Test
+    void onInteraction_IgnoresProfilesNotHeld() {
+        index.onInteraction(new InteractionEvent(1L, 7L, Interaction.LIKE));
+
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void vectorsOverCapacityDropLeastRecentlyRead() {
+        index.affinitiesOf(1L);
+        index.affinitiesOf(2L);
+        index.affinitiesOf(1L);
+        index.affinitiesOf(3L);
+
+        assertThat(index.size()).isEqualTo(2);
+        index.affinitiesOf(1L);
+        verify(likeRepository, times(1)).findLikedAuthorsSince(eq(1L), any(), any());
+    }
+
+    private static InteractionRow row(long authorId, LocalDateTime createdAt) {
+        return new Row(authorId, createdAt);
+    }
+
+    private record Row(Long getAuthorId, LocalDateTime getCreatedAt) implements InteractionRow {
+    }
+}
@@ -0,0 +1,95 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseServiceTest {
+
+    private NameService service;
+    private List<Collection<Long>> loads;
+
+    @BeforeEach
+    void setUp() {
+        service = new NameService();
+        ReflectionTestUtils.setField(service, "validationService", new ValidationService());
+        loads = new ArrayList<>();
+    }
+
+    @Test
+    void findAllByIdsInOrder_ReturnsEntitiesInRequestOrder() {
+        List<Name> names = service.findAllByIdsInOrder(List.of(3L, 1L, 2L), loader(List.of(
+                new Name(1L), new Name(2L), new Name(3L))), Name::id);
+
+        assertEquals(List.of(3L, 1L, 2L), names.stream().map(Name::id).toList());
+    }
+
+    @Test
+    void findAllByIdsInOrder_DuplicateIds_LoadedAndReturnedOnce() {
+        List<Name> names = service.findAllByIdsInOrder(List.of(2L, 1L, 2L), loader(List.of(
+                new Name(1L), new Name(2L))), Name::id);
+
+        assertEquals(List.of(2L, 1L), names.stream().map(Name::id).toList());
+        assertEquals(List.of(List.of(2L, 1L)), loads.stream().map(List::copyOf).toList());
+    }
+
+    @Test
+    void findAllByIdsInOrder_MissingIds_AreSkipped() {
+        List<Name> names = service.findAllByIdsInOrder(List.of(1L, 99L, 2L), loader(List.of(
+                new Name(2L), new Name(1L))), Name::id);
+
+        assertEquals(List.of(1L, 2L), names.stream().map(Name::id).toList());
+    }
+
+    @Test
+    void findAllByIdsInOrder_MoreThanMaxBatchSize_Throws() {
+        List<Long> ids = LongStream.rangeClosed(1, BaseService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findAllByIdsInOrder(ids, loader(List.of()), Name::id));
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void findAllByIdsInOrder_NullOrEmptyIds_Throw() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findAllByIdsInOrder(Arrays.asList(1L, null), loader(List.of()), Name::id));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findAllByIdsInOrder(Collections.emptyList(), loader(List.of()), Name::id));
+        assertTrue(loads.isEmpty());
+    }
+
+    private Function<Collection<Long>, List<Name>> loader(List<Name> found) {
+        return ids -> {
+            loads.add(ids);
+            return found;
+        };
+    }
+
+    private record Name(Long id) {
+    }
+
+    private static class NameService extends BaseService<Name, Long> {
+
+        @Override
+        protected JpaRepository<Name, Long> getRepository() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected String getEntityName() {
+            return "Name";
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.UserBlockChangedEvent;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlockListTest {
+
+    private FriendRepository friendRepository;
+    private BlockList blockList;
+
+    @BeforeEach
+    void setUp() {
+        friendRepository = mock(FriendRepository.class);
+        blockList = new BlockList(friendRepository, 2, 300);
+    }
+
+    @Test
+    void isBlocked_WorksInBothDirections() {
+        // User 1 blocked user 3, and user 5 blocked user 1
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(1L)), any()))
+                .thenReturn(List.of(pair(1, 3), pair(5, 1)));
+
+        assertThat(blockList.blockedFor(1L)).containsExactly(3, 5);
+        assertThat(blockList.isBlocked(1L, 3L)).isTrue();
+        assertThat(blockList.isBlocked(1L, 5L)).isTrue();
+        assertThat(blockList.isBlocked(1L, 4L)).isFalse();
+        verify(friendRepository, times(1)).findPairsByUserIdInAndStatusIn(eq(List.of(1L)), any());
+    }
+
+    @Test
+    void visibleTo_DropsBlockedUsersAndKeepsOrder() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(1L)), any()))
+                .thenReturn(List.of(pair(1, 3)));
+
+        List<Long> visible = blockList.visibleTo(1L, List.of(4L, 3L, 2L), userId -> userId);
+
+        assertThat(visible).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void visibleTo_NoBlocks_ReturnsSameList() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(any(), any())).thenReturn(List.of());
+        List<Long> userIds = List.of(4L, 3L);
+
+        assertThat(blockList.visibleTo(1L, userIds, userId -> userId)).isSameAs(userIds);
+    }
+
+    @Test
+    void onBlockChanged_DropsBothUsers() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(any(), any())).thenReturn(List.of());
+        blockList.blockedFor(1L);
+        blockList.blockedFor(3L);
+
+        blockList.onBlockChanged(new UserBlockChangedEvent(1L, 3L));
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(1L)), any()))
+                .thenReturn(List.of(pair(1, 3)));
+
+        assertThat(blockList.size()).isZero();
+        assertThat(blockList.isBlocked(1L, 3L)).isTrue();
+    }
+
+    @Test
+    void blockedFor_BlockCommitsDuringLoad_DoesNotCacheStaleArray() {
+        // The load reads the rows from before the block, and the block commits before it returns
+        when(friendRepository.findPairsByUserIdInAndStatusIn(eq(List.of(1L)), any()))
+                .thenAnswer(invocation -> {
+                    blockList.onBlockChanged(new UserBlockChangedEvent(3L, 1L));
+                    return List.of();
+                })
+                .thenReturn(List.of(pair(3, 1)));
+
+        assertThat(blockList.blockedFor(1L)).isEmpty();
+
+        assertThat(blockList.size()).isZero();
+        assertThat(blockList.isBlocked(1L, 3L)).isTrue();
+    }
+
+    private static FriendPair pair(long senderId, long recipientId) {
+        return new FriendPair() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.common.JsonFragment;
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedFragmentCacheTest {
+
+    private FeedFragmentCache cache;
+    private long entrySize;
+
+    @BeforeEach
+    void setUp() {
+        entrySize = json("{\"id\":1}").length + JsonFragment.deflate(json("{\"id\":1}")).length;
+        cache = new FeedFragmentCache(3 * entrySize, 300, true);
+    }
+
+    @Test
+    void put_ThenGet_ReturnsSameBytes() {
+        cache.put(1L, json("{\"id\":1}"), cache.evictions(1L));
+
+        JsonFragment fragment = cache.get(1L);
+
+        assertThat(fragment).isNotNull();
+        assertThat(fragment.getValue()).isEqualTo("{\"id\":1}");
+        assertThat(cache.sizeInBytes()).isEqualTo(entrySize);
+    }
+
+    @Test
+    void put_OverCapacity_EvictsLeastRecentlyRead() {
+        cache.put(1L, json("{\"id\":1}"), cache.evictions(1L));
+        cache.put(2L, json("{\"id\":2}"), cache.evictions(2L));
+        cache.put(3L, json("{\"id\":3}"), cache.evictions(3L));
+        cache.get(1L);
+
+        cache.put(4L, json("{\"id\":4}"), cache.evictions(4L));
+
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(3L)).isNotNull();
+        assertThat(cache.get(4L)).isNotNull();
+        assertThat(cache.sizeInBytes()).isEqualTo(3 * entrySize);
+    }
+
+    @Test
+    void put_LargerThanCache_IsReturnedButNotCached() {
+        JsonFragment fragment = cache.put(1L, json("{\"content\":\"" + "ab".repeat(100) + "\"}"),
+                cache.evictions(1L));
+
+        assertThat(fragment.byteLength()).isGreaterThan((int) (3 * entrySize));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void onPostChanged_EvictsPost() {
+        cache.put(1L, json("{\"id\":1}"), cache.evictions(1L));
+
+        cache.onPostChanged(new PostChangedEvent(1L));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void put_AfterEvictionDuringLoad_IsReturnedButNotCached() {
+        long evictionsBefore = cache.evictions(1L);
+        cache.onPostChanged(new PostChangedEvent(1L));
+
+        JsonFragment fragment = cache.put(1L, json("{\"id\":1}"), evictionsBefore);
+
+        assertThat(fragment.getValue()).isEqualTo("{\"id\":1}");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.sizeInBytes()).isZero();
+    }
+
+    @Test
+    void put_AfterEvictionOfAnotherPost_IsCached() {
+        long evictionsBefore = cache.evictions(1L);
+        cache.evict(2L);
+
+        cache.put(1L, json("{\"id\":1}"), evictionsBefore);
+
+        assertThat(cache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void get_AfterTtl_ReturnsNull() {
+        FeedFragmentCache expiring = new FeedFragmentCache(3 * entrySize, 0, true);
+        expiring.put(1L, json("{\"id\":1}"), expiring.evictions(1L));
+
+        assertThat(expiring.get(1L)).isNull();
+    }
+
+    @Test
+    void put_NotPrecompressed_StoresJsonOnly() throws Exception {
+        FeedFragmentCache uncompressed = new FeedFragmentCache(3 * entrySize, 300, false);
+
+        uncompressed.put(1L, json("{\"id\":1}"), uncompressed.evictions(1L));
+
+        assertThat(uncompressed.sizeInBytes()).isEqualTo(json("{\"id\":1}").length);
+        assertThat(uncompressed.get(1L).getValue()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void fragments_AreSplicedIntoSerializedOutput() throws Exception {
+        cache.put(1L, json("{\"id\":1}"), cache.evictions(1L));
+        cache.put(2L, json("{\"id\":2}"), cache.evictions(2L));
+
+        String output = new ObjectMapper().writeValueAsString(
+                Map.of("data", List.of(cache.get(1L), cache.get(2L))));
+
+        assertThat(output).isEqualTo("{\"data\":[{\"id\":1},{\"id\":2}]}");
+    }
+
+    private byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
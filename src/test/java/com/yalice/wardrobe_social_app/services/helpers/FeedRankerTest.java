@@ -0,0 +1,70 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.InteractionEvent;
+import com.yalice.wardrobe_social_app.events.InteractionEvent.Interaction;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository.FeedCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class FeedRankerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private AffinityIndex affinityIndex;
+    private FeedRanker ranker;
+
+    @BeforeEach
+    void setUp() {
+        affinityIndex = new AffinityIndex(mock(LikeRepository.class), mock(CommentRepository.class), 10, 10, 3600, 14);
+        ranker = new FeedRanker(affinityIndex, 300, 1.0, 1.0, 24);
+    }
+
+    @Test
+    void score_HalvesEachRecencyHalfLife() {
+        assertThat(ranker.score(0, 0, 0, 24)).isEqualTo(ranker.score(0, 0, 0, 0) / 2);
+    }
+
+    @Test
+    void score_GrowsWithAffinityAndVelocity() {
+        double base = ranker.score(0, 0, 0, 1);
+
+        assertThat(ranker.score(2, 0, 0, 1)).isEqualTo(base * 3);
+        // Three likes and a comment in the first hour: 5 / (1 + 2) per hour
+        assertThat(ranker.score(0, 3, 1, 1)).isEqualTo(base * (1 + 5.0 / 3));
+    }
+
+    @Test
+    void rank_PutsAuthorsTheViewerInteractsWithFirst() {
+        affinityIndex.affinitiesOf(1L);
+        affinityIndex.onInteraction(new InteractionEvent(1L, 8L, Interaction.COMMENT));
+
+        List<Long> ranked = ranker.rank(1L, List.of(
+                candidate(10, 7, NOW.minusHours(1), 0, 0),
+                candidate(11, 8, NOW.minusHours(3), 0, 0),
+                candidate(12, 9, NOW.minusHours(4), 30, 10)), NOW);
+
+        assertThat(ranked).containsExactly(12L, 11L, 10L);
+    }
+
+    @Test
+    void rank_KeepsGivenOrderForEqualScores() {
+        List<Long> ranked = ranker.rank(1L, List.of(
+                candidate(10, 7, NOW, 0, 0),
+                candidate(11, 8, NOW, 0, 0)), NOW);
+
+        assertThat(ranked).containsExactly(10L, 11L);
+    }
+
+    private static FeedCandidate candidate(long id, long profileId, LocalDateTime createdAt, int likes,
+                                           int comments) {
+        return new FeedCandidate(id, profileId, createdAt, likes, comments);
+    }
+}
@@ -0,0 +1,136 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.PostCreatedEvent;
+import com.yalice.wardrobe_social_app.events.PostDeletedEvent;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository.RecentPostRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedRingsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private PostRepository postRepository;
+    private FeedRings rings;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        rings = new FeedRings(postRepository, true, 3, 2, 600);
+    }
+
+    @Test
+    void page_MergesAuthorsNewestFirst() {
+        // Author 1 posted at minutes 1, 4 and 6; author 2 at minutes 2, 3 and 5.
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), eq(4))).thenReturn(List.of(
+                row(16, 1, 6), row(14, 1, 4), row(11, 1, 1),
+                row(25, 2, 5), row(23, 2, 3), row(22, 2, 2)));
+
+        Optional<List<Long>> page = rings.page(List.of(1L, 2L), PageRequest.of(0, 4));
+
+        assertThat(page).contains(List.of(16L, 25L, 14L, 23L));
+    }
+
+    @Test
+    void page_FallsBackBelowTheOldestEntryOfAnIncompleteRing() {
+        // Author 1 has a fourth, older post that the ring does not hold.
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), eq(4))).thenReturn(List.of(
+                row(16, 1, 6), row(14, 1, 4), row(13, 1, 3), row(10, 1, 0),
+                row(25, 2, 5), row(22, 2, 2), row(21, 2, 1)));
+
+        assertThat(rings.page(List.of(1L, 2L), PageRequest.of(0, 3)))
+                .contains(List.of(16L, 25L, 14L));
+        // The fourth entry would be author 2's post at minute 2, which is older than
+        // author 1's oldest held post, so author 1's missing post could come first.
+        assertThat(rings.page(List.of(1L, 2L), PageRequest.of(1, 3))).isEmpty();
+    }
+
+    @Test
+    void page_ReturnsShortLastPageWhenAllRingsAreComplete() {
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), eq(4))).thenReturn(List.of(
+                row(11, 1, 1), row(22, 2, 2)));
+
+        assertThat(rings.page(List.of(1L, 2L, 3L), PageRequest.of(0, 5))).contains(List.of(22L, 11L));
+        assertThat(rings.page(List.of(1L, 2L, 3L), PageRequest.of(1, 5))).contains(List.of());
+    }
+
+    @Test
+    void page_LoadsEachAuthorOnce() {
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), anyInt())).thenReturn(List.of(row(11, 1, 1)));
+
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+
+        verify(postRepository, times(1)).findLatestByProfileIdIn(anyCollection(), anyInt());
+    }
+
+    @Test
+    void onPostCreated_InsertsIntoCachedRingInOrder() {
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), anyInt())).thenReturn(List.of(
+                row(14, 1, 4), row(11, 1, 1)));
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+
+        rings.onPostCreated(new PostCreatedEvent(16L, 1L, START.plusMinutes(6)));
+        // Committed after the newer post, but created before it
+        rings.onPostCreated(new PostCreatedEvent(15L, 1L, START.plusMinutes(5)));
+
+        // The ring holds three posts, so the oldest was dropped and the ring is incomplete
+        assertThat(rings.page(List.of(1L), PageRequest.of(0, 3))).contains(List.of(16L, 15L, 14L));
+        assertThat(rings.page(List.of(1L), PageRequest.of(0, 4))).isEmpty();
+    }
+
+    @Test
+    void onPostDeleted_RemovesPostFromCachedRing() {
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), anyInt())).thenReturn(List.of(
+                row(14, 1, 4), row(11, 1, 1)));
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+
+        rings.onPostDeleted(new PostDeletedEvent(14L, 1L));
+
+        assertThat(rings.page(List.of(1L), PageRequest.of(0, 5))).contains(List.of(11L));
+    }
+
+    @Test
+    void ringsOverCapacityDropLeastRecentlyRead() {
+        when(postRepository.findLatestByProfileIdIn(anyCollection(), anyInt())).thenReturn(List.of());
+
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+        rings.page(List.of(2L), PageRequest.of(0, 5));
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+        rings.page(List.of(3L), PageRequest.of(0, 5));
+
+        assertThat(rings.size()).isEqualTo(2);
+        rings.page(List.of(1L), PageRequest.of(0, 5));
+        verify(postRepository, times(1)).findLatestByProfileIdIn(eq(new ArrayList<>(List.of(1L))), anyInt());
+    }
+
+    @Test
+    void sortKey_RoundsToMicroseconds() {
+        LocalDateTime time = START.withNano(1_499);
+        assertThat(FeedRings.sortKey(time)).isEqualTo(FeedRings.sortKey(START) + 1);
+        assertThat(FeedRings.sortKey(time.withNano(1_500))).isEqualTo(FeedRings.sortKey(START) + 2);
+    }
+
+    private static RecentPostRow row(long id, long profileId, int minute) {
+        return new Row(id, profileId, START.plusMinutes(minute));
+    }
+
+    private record Row(Long getId, Long getProfileId, LocalDateTime getCreatedAt) implements RecentPostRow {
+    }
+}
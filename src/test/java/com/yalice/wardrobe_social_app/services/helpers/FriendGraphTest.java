@@ -0,0 +1,131 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.Friendship.FriendshipStatus;
+import com.yalice.wardrobe_social_app.events.FriendshipAcceptedEvent;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository.FriendPair;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph.Candidate;
+import com.yalice.wardrobe_social_app.services.helpers.FriendGraph.Ranking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FriendGraphTest {
+
+    private FriendRepository friendRepository;
+    private FriendGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        friendRepository = mock(FriendRepository.class);
+        graph = new FriendGraph(friendRepository, 2, 600);
+    }
+
+    @Test
+    void rankByMutualFriends_CountsSharedFriendsAndSkipsOwnFriends() {
+        // User 1 is friends with 2, 3 and 4.
+        long[] friends = {2, 3, 4};
+        List<long[]> friendLists = List.of(
+                new long[] {1, 3, 5, 6},
+                new long[] {1, 2, 5, 7},
+                new long[] {1, 5, 6});
+
+        Ranking ranking = FriendGraph.rankByMutualFriends(1, friends, friendLists, new long[0], 10);
+
+        assertThat(ranking.top()).containsExactly(
+                new Candidate(5, 3), new Candidate(6, 2), new Candidate(7, 1));
+        assertThat(ranking.candidates()).isEqualTo(3);
+    }
+
+    @Test
+    void rankByMutualFriends_SkipsExcludedAndKeepsBestWithinLimit() {
+        long[] friends = {2, 3};
+        List<long[]> friendLists = List.of(new long[] {1, 5, 6, 8}, new long[] {1, 6, 7, 8, 9}, new long[0]);
+
+        Ranking ranking = FriendGraph.rankByMutualFriends(1, friends, friendLists, new long[] {8}, 2);
+
+        assertThat(ranking.top()).containsExactly(new Candidate(6, 2), new Candidate(5, 1));
+        assertThat(ranking.candidates()).isEqualTo(4);
+    }
+
+    @Test
+    void friendsOf_LoadsMissingUsersInOneQueryAndCachesThem() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(anyCollection(), any()))
+                .thenReturn(List.of(pair(1, 3), pair(2, 1), pair(1, 3)));
+
+        Map<Long, long[]> friends = graph.friendsOf(Set.of(1L, 2L));
+        graph.friendsOf(Set.of(1L, 2L));
+
+        assertThat(friends.get(1L)).containsExactly(2, 3);
+        assertThat(friends.get(2L)).containsExactly(1);
+        verify(friendRepository, times(1)).findPairsByUserIdInAndStatusIn(anyCollection(),
+                eq(List.of(FriendshipStatus.ACCEPTED)));
+    }
+
+    @Test
+    void onFriendshipAccepted_AddsFriendToCachedArrays() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(anyCollection(), any()))
+                .thenReturn(List.of(pair(1, 5)));
+        graph.friendsOf(1L);
+
+        graph.onFriendshipAccepted(new FriendshipAcceptedEvent(3L, 1L));
+
+        assertThat(graph.friendsOf(1L)).containsExactly(3, 5);
+        assertThat(graph.size()).isEqualTo(1);
+    }
+
+    @Test
+    void friendsOf_FriendshipAcceptedDuringLoad_DoesNotCacheStaleArray() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(anyCollection(), any()))
+                .thenAnswer(invocation -> {
+                    graph.onFriendshipAccepted(new FriendshipAcceptedEvent(3L, 1L));
+                    return List.of(pair(1, 5));
+                })
+                .thenReturn(List.of(pair(1, 5), pair(3, 1)));
+
+        assertThat(graph.friendsOf(1L)).containsExactly(5);
+
+        assertThat(graph.size()).isZero();
+        assertThat(graph.friendsOf(1L)).containsExactly(3, 5);
+    }
+
+    @Test
+    void friendsOf_OverCapacity_EvictsLeastRecentlyRead() {
+        when(friendRepository.findPairsByUserIdInAndStatusIn(anyCollection(), any())).thenReturn(List.of());
+        graph.friendsOf(1L);
+        graph.friendsOf(2L);
+        graph.friendsOf(1L);
+        graph.friendsOf(3L);
+
+        graph.friendsOf(1L);
+
+        assertThat(graph.size()).isEqualTo(2);
+        verify(friendRepository, times(3)).findPairsByUserIdInAndStatusIn(anyCollection(), any());
+    }
+
+    private static FriendPair pair(long senderId, long recipientId) {
+        return new FriendPair() {
+            @Override
+            public Long getSenderId() {
+                return senderId;
+            }
+
+            @Override
+            public Long getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.dtos.item.ItemImportRowDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportParserTest {
+
+    private final ItemImportParser parser = new ItemImportParser(new ObjectMapper());
+
+    @Test
+    void forEachRow_Csv_HandlesQuotedCommasAndDoubledQuotes() {
+        List<ItemImportRowDto> rows = parse("items.csv", "text/csv",
+                "name,brand,category,description,image\n" +
+                "\"Coat, wool\",Acme,Outerwear,\"The \"\"good\"\" one\",coat.jpg\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Coat, wool", rows.get(0).getName());
+        assertEquals("Acme", rows.get(0).getBrand());
+        assertEquals("The \"good\" one", rows.get(0).getDescription());
+        assertEquals("coat.jpg", rows.get(0).getImage());
+    }
+
+    @Test
+    void forEachRow_Csv_StripsByteOrderMarkAndMatchesHeadersInAnyCaseAndOrder() {
+        List<ItemImportRowDto> rows = parse("items.csv", null,
+                "\uFEFFImage, Category ,NAME\n" +
+                "shirt.jpg,Tops,Shirt\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Shirt", rows.get(0).getName());
+        assertEquals("Tops", rows.get(0).getCategory());
+        assertEquals("shirt.jpg", rows.get(0).getImage());
+    }
+
+    @Test
+    void forEachRow_Csv_SkipsBlankLinesAndTreatsEmptyOrMissingColumnsAsNull() {
+        List<ItemImportRowDto> rows = parse("items.csv", null,
+                "name,brand,category,image\n" +
+                "\n" +
+                "Scarf,,Accessories\n");
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).getBrand());
+        assertNull(rows.get(0).getImage());
+        assertNull(rows.get(0).getColor());
+    }
+
+    @Test
+    void forEachRow_Json_ReadsArrayOfObjects() {
+        List<ItemImportRowDto> rows = parse("items", "application/json",
+                "[{\"name\":\"Boots\",\"category\":\"Shoes\",\"image\":\"boots.jpg\"}," +
+                "{\"name\":\"Hat\",\"category\":\"Accessories\",\"image\":\"hat.jpg\"}]");
+
+        assertEquals(List.of("Boots", "Hat"), rows.stream().map(ItemImportRowDto::getName).toList());
+        assertEquals("boots.jpg", rows.get(0).getImage());
+    }
+
+    @Test
+    void forEachRow_JsonNotAnArray_Throws() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> parse("items.json", null, "{\"name\":\"Boots\"}"));
+
+        assertEquals("JSON import file must contain an array of items", exception.getMessage());
+    }
+
+    @Test
+    void forEachRow_UnsupportedFormat_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> parse("items.xlsx", "application/octet-stream", "x"));
+    }
+
+    private List<ItemImportRowDto> parse(String filename, String contentType, String content) {
+        List<ItemImportRowDto> rows = new ArrayList<>();
+        parser.forEachRow(new MockMultipartFile("items", filename, contentType,
+                content.getBytes(StandardCharsets.UTF_8)), rows::add);
+        return rows;
+    }
+}
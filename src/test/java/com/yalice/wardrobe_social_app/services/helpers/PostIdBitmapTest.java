@@ -0,0 +1,103 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostIdBitmapTest {
+
+    @Test
+    void add_ReportsNewIdsAndContainsThem() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+
+        assertThat(bitmap.add(7)).isTrue();
+        assertThat(bitmap.add(7)).isFalse();
+        assertThat(bitmap.add(70_000)).isTrue();
+
+        assertThat(bitmap.contains(7)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(8)).isFalse();
+        assertThat(bitmap.contains(7 + 65_536)).isFalse();
+        assertThat(bitmap.size()).isEqualTo(2);
+    }
+
+    @Test
+    void add_DenseChunkSwitchesToBitmapAndKeepsIds() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        for (long id = 0; id < 3 * PostIdBitmap.ARRAY_MAX; id += 3) {
+            bitmap.add(id);
+        }
+        for (long id = 1; id < 3 * PostIdBitmap.ARRAY_MAX; id += 3) {
+            bitmap.add(id);
+        }
+
+        assertThat(bitmap.size()).isEqualTo(2 * PostIdBitmap.ARRAY_MAX);
+        assertThat(bitmap.contains(0)).isTrue();
+        assertThat(bitmap.contains(1)).isTrue();
+        assertThat(bitmap.contains(2)).isFalse();
+        assertThat(bitmap.add(1)).isFalse();
+        assertThat(bitmap.toBytes()).hasSize(4 + 4 + 8 + 4 + 8192);
+    }
+
+    @Test
+    void toBytes_RoundTripsArrayAndBitmapChunks() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        for (long id = 0; id <= PostIdBitmap.ARRAY_MAX; id++) {
+            bitmap.add(id);
+        }
+        bitmap.add(5_000_000_000L);
+        bitmap.add(200_000);
+
+        PostIdBitmap copy = PostIdBitmap.fromBytes(bitmap.toBytes());
+
+        assertThat(copy.size()).isEqualTo(bitmap.size());
+        assertThat(copy.contains(PostIdBitmap.ARRAY_MAX)).isTrue();
+        assertThat(copy.contains(5_000_000_000L)).isTrue();
+        assertThat(copy.contains(200_000)).isTrue();
+        assertThat(copy.contains(200_001)).isFalse();
+        assertThat(copy.toBytes()).isEqualTo(bitmap.toBytes());
+    }
+
+    @Test
+    void fromBytes_EmptyOrMissingIsEmptySet() {
+        assertThat(PostIdBitmap.fromBytes(null).size()).isZero();
+        assertThat(PostIdBitmap.fromBytes(new byte[0]).size()).isZero();
+    }
+
+    @Test
+    void addAll_MergesBothSets() {
+        PostIdBitmap left = new PostIdBitmap();
+        left.add(1);
+        left.add(100_000);
+        PostIdBitmap right = new PostIdBitmap();
+        right.add(2);
+        right.add(100_000);
+        right.add(300_000);
+
+        left.addAll(right);
+
+        assertThat(left.size()).isEqualTo(4);
+        assertThat(left.contains(2)).isTrue();
+        assertThat(left.contains(300_000)).isTrue();
+    }
+
+    @Test
+    void retainNewest_DropsChunksOfLowestIds() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        bitmap.add(1);
+        bitmap.add(70_000);
+        bitmap.add(140_000);
+
+        bitmap.retainNewest(2);
+
+        assertThat(bitmap.contains(1)).isFalse();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(140_000)).isTrue();
+    }
+
+    @Test
+    void add_RejectsNegativeIds() {
+        assertThatThrownBy(() -> new PostIdBitmap().add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.entities.SeenPosts;
+import com.yalice.wardrobe_social_app.repositories.SeenPostsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeenPostTrackerTest {
+
+    private SeenPostsRepository seenPostsRepository;
+    private SeenPostTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        seenPostsRepository = mock(SeenPostsRepository.class);
+        when(seenPostsRepository.findById(any())).thenReturn(Optional.empty());
+        when(seenPostsRepository.findForUpdate(any())).thenReturn(Optional.empty());
+        tracker = new SeenPostTracker(seenPostsRepository, mock(PlatformTransactionManager.class), 2, 32, 200);
+    }
+
+    @Test
+    void seen_ReturnsIndexesOfSeenPosts() {
+        tracker.markSeen(1L, List.of(10L, 30L));
+
+        assertThat(tracker.seen(1L, List.of(30L, 20L, 10L)).stream()).containsExactly(0, 2);
+        assertThat(tracker.seen(2L, List.of(30L)).isEmpty()).isTrue();
+        verify(seenPostsRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void seen_LoadsStoredSet() {
+        PostIdBitmap stored = new PostIdBitmap();
+        stored.add(20L);
+        when(seenPostsRepository.findById(1L)).thenReturn(Optional.of(new SeenPosts(1L, stored.toBytes())));
+
+        assertThat(tracker.seen(1L, List.of(10L, 20L)).stream()).containsExactly(1);
+    }
+
+    @Test
+    void flush_MergesChangedSetsWithStoredOnesOnce() {
+        PostIdBitmap stored = new PostIdBitmap();
+        stored.add(20L);
+        when(seenPostsRepository.findForUpdate(1L)).thenReturn(Optional.of(new SeenPosts(1L, stored.toBytes())));
+        tracker.markSeen(1L, List.of(10L));
+        tracker.seen(2L, List.of(10L));
+
+        tracker.flush();
+        tracker.flush();
+
+        ArgumentCaptor<SeenPosts> saved = ArgumentCaptor.forClass(SeenPosts.class);
+        verify(seenPostsRepository, times(1)).save(saved.capture());
+        PostIdBitmap merged = PostIdBitmap.fromBytes(saved.getValue().getPostIds());
+        assertThat(merged.contains(10L)).isTrue();
+        assertThat(merged.contains(20L)).isTrue();
+        // Posts saved by other instances are taken in
+        assertThat(tracker.seen(1L, List.of(20L)).get(0)).isTrue();
+        verify(seenPostsRepository, never()).findForUpdate(2L);
+    }
+
+    @Test
+    void flush_SavesSetsEvictedBeforeTheyWereSaved() {
+        tracker.markSeen(1L, List.of(10L));
+        tracker.markSeen(2L, List.of(10L));
+        tracker.markSeen(3L, List.of(10L));
+
+        assertThat(tracker.size()).isEqualTo(2);
+        tracker.flush();
+
+        verify(seenPostsRepository).findForUpdate(1L);
+        verify(seenPostsRepository).findForUpdate(2L);
+        verify(seenPostsRepository).findForUpdate(3L);
+    }
+
+    @Test
+    void flush_KeepsSetChangedWhenSaveFails() {
+        when(seenPostsRepository.save(any())).thenThrow(new IllegalStateException("down"));
+        tracker.markSeen(1L, List.of(10L));
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(seenPostsRepository, times(2)).save(any());
+    }
+
+    @Test
+    void forget_DropsUnsavedChanges() {
+        tracker.markSeen(1L, List.of(10L));
+
+        tracker.forget(1L);
+        tracker.flush();
+
+        assertThat(tracker.size()).isZero();
+        verify(seenPostsRepository, never()).save(any());
+    }
+
+    @Test
+    void forget_DropsSetsEvictedBeforeTheyWereSaved() {
+        tracker.markSeen(1L, List.of(10L));
+        tracker.markSeen(2L, List.of(10L));
+        tracker.markSeen(3L, List.of(10L));
+
+        tracker.forget(1L);
+        tracker.flush();
+
+        verify(seenPostsRepository, never()).findForUpdate(1L);
+        verify(seenPostsRepository, times(2)).save(any());
+    }
+}
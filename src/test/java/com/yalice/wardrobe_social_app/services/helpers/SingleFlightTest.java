@@ -0,0 +1,146 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import com.yalice.wardrobe_social_app.events.PostChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentIdenticalCalls_ShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(SingleFlight.POST, 1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "post-1";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<String> joiner = executor.submit(() -> singleFlight.execute(SingleFlight.POST, 1L, () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals("post-1", leader.get(5, TimeUnit.SECONDS));
+        assertSame(leader.get(), joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_DifferentKeys_LoadSeparately() {
+        assertEquals("a", singleFlight.execute(SingleFlight.POST, 1L, () -> "a"));
+        assertEquals("b", singleFlight.execute(SingleFlight.POST_COMMENTS, 1L, () -> "b"));
+        assertEquals("c", singleFlight.execute(SingleFlight.POST, 2L, () -> "c"));
+    }
+
+    @Test
+    void execute_CompletedLoad_IsNotReused() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(SingleFlight.PROFILE, 1L, loads::incrementAndGet);
+        singleFlight.execute(SingleFlight.PROFILE, 1L, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void execute_FailedLoad_PropagatesToJoiners() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute(SingleFlight.POST, 1L, () -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalArgumentException("Post not found");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<Object> joiner = executor.submit(() -> {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> singleFlight.execute(SingleFlight.POST, 1L, () -> "loaded"));
+            return e.getMessage();
+        });
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals("Post not found", joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(IllegalArgumentException.class,
+                assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause().getClass());
+    }
+
+    @Test
+    void onPostChanged_DetachesRunningLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = executor.submit(() -> singleFlight.execute(SingleFlight.POST, 1L, () -> {
+            loading.countDown();
+            await(release);
+            return "before";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        singleFlight.onPostChanged(new PostChangedEvent(1L));
+
+        assertEquals("after", singleFlight.execute(SingleFlight.POST, 1L, () -> "after"));
+        release.countDown();
+        assertEquals("before", stale.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void onPostChanged_DetachesEveryVariant() throws Exception {
+        CountDownLatch loading = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int size : new int[] {10, 20}) {
+            executor.submit(() -> singleFlight.execute(SingleFlight.POST_COMMENTS, 1L, size, () -> {
+                loading.countDown();
+                await(release);
+                return "page";
+            }));
+        }
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertEquals(2, singleFlight.inFlight());
+
+        singleFlight.onPostChanged(new PostChangedEvent(1L));
+
+        assertEquals(0, singleFlight.inFlight());
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
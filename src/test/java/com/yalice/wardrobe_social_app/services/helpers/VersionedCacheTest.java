@@ -0,0 +1,74 @@
+package com.yalice.wardrobe_social_app.services.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedCacheTest {
+
+    @Test
+    void put_KeyChangedWhileLoading_IsNotCached() {
+        VersionedCache<String> cache = new VersionedCache<>(10, 300);
+        long versionBefore = cache.version(1L);
+
+        cache.invalidate(1L);
+
+        assertThat(cache.put(1L, "stale", versionBefore)).isFalse();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.put(1L, "fresh", cache.version(1L))).isTrue();
+        assertThat(cache.get(1L)).isEqualTo("fresh");
+    }
+
+    @Test
+    void update_ChangesCachedValueAndStopsLoadsInFlight() {
+        VersionedCache<String> cache = new VersionedCache<>(10, 300);
+        cache.put(1L, "a", cache.version(1L));
+        long[] versionsBefore = cache.versions(List.of(1L, 2L));
+
+        cache.update(1L, value -> value + "b");
+        cache.update(2L, value -> value + "b");
+
+        assertThat(cache.get(1L)).isEqualTo("ab");
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.put(2L, "stale", versionsBefore[1])).isFalse();
+    }
+
+    @Test
+    void update_ReturningNull_DropsValue() {
+        VersionedCache<String> cache = new VersionedCache<>(10, 300);
+        cache.put(1L, "a", cache.version(1L));
+
+        cache.update(1L, value -> null);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_OverWeight_DropsLeastRecentlyRead() {
+        VersionedCache<String> cache = new VersionedCache<>(6, 300, String::length);
+        cache.put(1L, "aa", cache.version(1L));
+        cache.put(2L, "bb", cache.version(2L));
+        cache.put(3L, "cc", cache.version(3L));
+        cache.get(1L);
+
+        cache.put(4L, "dd", cache.version(4L));
+
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isEqualTo("aa");
+        assertThat(cache.weight()).isEqualTo(6);
+        cache.put(1L, "a", cache.version(1L));
+        assertThat(cache.weight()).isEqualTo(5);
+    }
+
+    @Test
+    void get_ExpiredValue_IsDropped() {
+        VersionedCache<String> cache = new VersionedCache<>(10, 0);
+        cache.put(1L, "a", cache.version(1L));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,219 @@
+package com.yalice.wardrobe_social_app.services.userServiceTests;
+
+import com.yalice.wardrobe_social_app.entities.AccountDeletion;
+import com.yalice.wardrobe_social_app.entities.ImageCleanupTask;
+import com.yalice.wardrobe_social_app.exceptions.ImageProcessingException;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.jobs.JobPartition;
+import com.yalice.wardrobe_social_app.repositories.AccountDeletionRepository;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.FollowRepository;
+import com.yalice.wardrobe_social_app.repositories.FriendRepository;
+import com.yalice.wardrobe_social_app.repositories.ImageCleanupTaskRepository;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.LikeRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.repositories.SeenPostsRepository;
+import com.yalice.wardrobe_social_app.repositories.UserRepository;
+import com.yalice.wardrobe_social_app.repositories.WardrobeRepository;
+import com.yalice.wardrobe_social_app.services.helpers.SeenPostTracker;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
+import com.yalice.wardrobe_social_app.services.user.AccountDeletionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountDeletionServiceImplTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MS = 60_000;
+    private static final Long USER_ID = 10L;
+    private static final Long PROFILE_ID = 20L;
+
+    @Mock private AccountDeletionRepository accountDeletionRepository;
+    @Mock private ImageCleanupTaskRepository imageCleanupTaskRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private ProfileRepository profileRepository;
+    @Mock private LikeRepository likeRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private OutfitRepository outfitRepository;
+    @Mock private ItemRepository itemRepository;
+    @Mock private WardrobeRepository wardrobeRepository;
+    @Mock private FriendRepository friendRepository;
+    @Mock private FollowRepository followRepository;
+    @Mock private SeenPostsRepository seenPostsRepository;
+    @Mock private SeenPostTracker seenPostTracker;
+    @Mock private ImageService imageService;
+
+    private AccountDeletionServiceImpl service;
+    private AccountDeletion deletion;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new AccountDeletionServiceImpl(accountDeletionRepository, imageCleanupTaskRepository,
+                userRepository, profileRepository, likeRepository, commentRepository, postRepository,
+                outfitRepository, itemRepository, wardrobeRepository, friendRepository, followRepository,
+                seenPostsRepository, seenPostTracker, imageService, mock(PlatformTransactionManager.class),
+                BATCH_SIZE, MAX_ATTEMPTS, BACKOFF_MS);
+        ReflectionTestUtils.setField(service, "validationService", new ValidationService());
+
+        deletion = AccountDeletion.builder().userId(USER_ID).profileId(PROFILE_ID).build();
+        deletion.setId(1L);
+        when(accountDeletionRepository.findPartitionByStatusIn(anyList(), eq(0), eq(1))).thenReturn(List.of(deletion));
+        when(accountDeletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+        when(accountDeletionRepository.save(any(AccountDeletion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void processPendingDeletions_RunsEveryStageInOrderAndDecrementsCounters() {
+        when(likeRepository.findIdsByProfileOrPostOwner(eq(PROFILE_ID), any()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(commentRepository.findIdsByProfileOrPostOwner(eq(PROFILE_ID), any())).thenReturn(List.of(4L));
+        when(followRepository.findIdsByProfileId(eq(PROFILE_ID), any())).thenReturn(List.of(5L));
+
+        service.processPendingDeletions(JobPartition.ALL);
+
+        InOrder order = inOrder(postRepository, likeRepository, commentRepository, profileRepository,
+                followRepository, seenPostsRepository, userRepository, seenPostTracker);
+        order.verify(postRepository).decrementLikeCountsForLikes(List.of(1L, 2L));
+        order.verify(likeRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        order.verify(postRepository).decrementLikeCountsForLikes(List.of(3L));
+        order.verify(likeRepository).deleteAllByIdInBatch(List.of(3L));
+        order.verify(postRepository).decrementCommentCountsForComments(List.of(4L));
+        order.verify(commentRepository).decrementReplyCountsForReplies(List.of(4L));
+        order.verify(commentRepository).deleteAllByIdInBatch(List.of(4L));
+        order.verify(profileRepository).decrementFollowerCountsForFollows(List.of(5L));
+        order.verify(profileRepository).decrementFollowingCountsForFollows(List.of(5L));
+        order.verify(followRepository).deleteAllByIdInBatch(List.of(5L));
+        order.verify(profileRepository).deleteAllByIdInBatch(List.of(PROFILE_ID));
+        order.verify(seenPostsRepository).deleteAllByIdInBatch(List.of(USER_ID));
+        order.verify(userRepository).deleteAllByIdInBatch(List.of(USER_ID));
+        order.verify(seenPostTracker).forget(USER_ID);
+
+        assertEquals(AccountDeletion.Status.COMPLETED, deletion.getStatus());
+        assertEquals(AccountDeletion.Stage.USER, deletion.getStage());
+        assertEquals(7, deletion.getDeletedRows());
+        assertNotNull(deletion.getCompletedAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processPendingDeletions_QueuesImagesOfDeletedPosts() {
+        when(postRepository.findIdsByProfileId(eq(PROFILE_ID), any())).thenReturn(List.of(7L));
+        when(postRepository.findFeatureImagesByIdIn(List.of(7L))).thenReturn(List.of("/uploads/post.jpg", ""));
+
+        service.processPendingDeletions(JobPartition.ALL);
+
+        ArgumentCaptor<List<ImageCleanupTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(imageCleanupTaskRepository).saveAll(tasks.capture());
+        assertEquals(1, tasks.getValue().size());
+        assertEquals("/uploads/post.jpg", tasks.getValue().get(0).getImageUrl());
+        verify(postRepository).deleteAllByIdInBatch(List.of(7L));
+    }
+
+    @Test
+    void processPendingDeletions_FailureRecordsErrorAndKeepsDeletionActive() {
+        when(likeRepository.findIdsByProfileOrPostOwner(eq(PROFILE_ID), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        service.processPendingDeletions(JobPartition.ALL);
+
+        assertEquals(1, deletion.getAttempts());
+        assertEquals("connection reset", deletion.getLastError());
+        assertEquals(AccountDeletion.Status.PENDING, deletion.getStatus());
+        verify(userRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(seenPostTracker, never()).forget(any());
+    }
+
+    @Test
+    void processPendingDeletions_LastAttemptFailing_MarksDeletionFailed() {
+        deletion.setAttempts(MAX_ATTEMPTS - 1);
+        when(likeRepository.findIdsByProfileOrPostOwner(eq(PROFILE_ID), any()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        service.processPendingDeletions(JobPartition.ALL);
+
+        assertEquals(MAX_ATTEMPTS, deletion.getAttempts());
+        assertEquals(AccountDeletion.Status.FAILED, deletion.getStatus());
+    }
+
+    @Test
+    void processImageCleanup_RemovesFileAndTask() {
+        ImageCleanupTask task = ImageCleanupTask.builder().imageUrl("/uploads/a.jpg").build();
+        when(imageCleanupTaskRepository.findDuePartition(eq(0), eq(1), any(), any())).thenReturn(List.of(task));
+
+        service.processImageCleanup(JobPartition.ALL);
+
+        verify(imageService).deleteImage("/uploads/a.jpg");
+        verify(imageCleanupTaskRepository).delete(task);
+    }
+
+    @Test
+    void processImageCleanup_FailedTasksWaitForBackoffInsteadOfRetryingInTheSameRun() {
+        ImageCleanupTask first = ImageCleanupTask.builder().imageUrl("/uploads/a.jpg").build();
+        ImageCleanupTask second = ImageCleanupTask.builder().imageUrl("/uploads/b.jpg").build();
+        // Honour the due filter, so a task comes back only while its next attempt is not in the future
+        when(imageCleanupTaskRepository.findDuePartition(eq(0), eq(1), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(2);
+            return List.of(first, second).stream()
+                    .filter(task -> !task.getNextAttemptAt().isAfter(now))
+                    .toList();
+        });
+        doThrow(new ImageProcessingException("storage unavailable")).when(imageService).deleteImage(anyString());
+        LocalDateTime before = LocalDateTime.now();
+
+        service.processImageCleanup(JobPartition.ALL);
+
+        verify(imageService, times(1)).deleteImage("/uploads/a.jpg");
+        verify(imageService, times(1)).deleteImage("/uploads/b.jpg");
+        assertEquals(1, first.getAttempts());
+        assertFalse(first.getNextAttemptAt().isBefore(before.plusNanos(BACKOFF_MS * 1_000_000)));
+        verify(imageCleanupTaskRepository).save(first);
+        verify(imageCleanupTaskRepository, never()).delete(any(ImageCleanupTask.class));
+    }
+
+    @Test
+    void processImageCleanup_BackoffDoublesWithEachFailure() {
+        ImageCleanupTask task = ImageCleanupTask.builder().imageUrl("/uploads/a.jpg").attempts(1).build();
+        when(imageCleanupTaskRepository.findDuePartition(eq(0), eq(1), any(), any())).thenReturn(List.of(task));
+        doThrow(new ImageProcessingException("storage unavailable")).when(imageService).deleteImage(anyString());
+        LocalDateTime before = LocalDateTime.now();
+
+        service.processImageCleanup(JobPartition.ALL);
+
+        assertEquals(2, task.getAttempts());
+        assertFalse(task.getNextAttemptAt().isBefore(before.plusNanos(2 * BACKOFF_MS * 1_000_000)));
+        assertTrue(task.getNextAttemptAt().isBefore(LocalDateTime.now().plusNanos(3 * BACKOFF_MS * 1_000_000)));
+    }
+
+    @Test
+    void processImageCleanup_LastAttemptFailing_DropsTask() {
+        ImageCleanupTask task = ImageCleanupTask.builder().imageUrl("/uploads/a.jpg").attempts(MAX_ATTEMPTS - 1).build();
+        when(imageCleanupTaskRepository.findDuePartition(eq(0), eq(1), any(), any())).thenReturn(List.of(task));
+        doThrow(new ImageProcessingException("storage unavailable")).when(imageService).deleteImage(anyString());
+
+        service.processImageCleanup(JobPartition.ALL);
+
+        verify(imageCleanupTaskRepository).delete(task);
+        verify(imageCleanupTaskRepository, never()).save(task);
+    }
+}
@@ -0,0 +1,219 @@
+package com.yalice.wardrobe_social_app.services.userServiceTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yalice.wardrobe_social_app.entities.Item;
+import com.yalice.wardrobe_social_app.entities.Profile;
+import com.yalice.wardrobe_social_app.entities.User;
+import com.yalice.wardrobe_social_app.entities.Wardrobe;
+import com.yalice.wardrobe_social_app.exceptions.ImageProcessingException;
+import com.yalice.wardrobe_social_app.interfaces.ImageService;
+import com.yalice.wardrobe_social_app.mappers.CommentMapper;
+import com.yalice.wardrobe_social_app.mappers.ItemMapper;
+import com.yalice.wardrobe_social_app.mappers.OutfitMapper;
+import com.yalice.wardrobe_social_app.mappers.PostMapper;
+import com.yalice.wardrobe_social_app.mappers.ProfileMapper;
+import com.yalice.wardrobe_social_app.repositories.CommentRepository;
+import com.yalice.wardrobe_social_app.repositories.ItemRepository;
+import com.yalice.wardrobe_social_app.repositories.OutfitRepository;
+import com.yalice.wardrobe_social_app.repositories.PostRepository;
+import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
+import com.yalice.wardrobe_social_app.services.user.AccountExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountExportServiceImplTest {
+
+    private static final Long USER_ID = 10L;
+    private static final Long PROFILE_ID = 20L;
+
+    @Mock private ProfileRepository profileRepository;
+    @Mock private ItemRepository itemRepository;
+    @Mock private OutfitRepository outfitRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private ImageService imageService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AccountExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new AccountExportServiceImpl(profileRepository, itemRepository, outfitRepository,
+                postRepository, commentRepository, imageService, new ProfileMapper(), new ItemMapper(),
+                new OutfitMapper(), new PostMapper(), new CommentMapper(), objectMapper,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(exportService, "validationService", new ValidationService());
+        ReflectionTestUtils.setField(exportService, "entityManager", mock(EntityManager.class));
+
+        User user = User.builder().username("alice").build();
+        user.setId(USER_ID);
+        Profile profile = Profile.builder().user(user).profileImageUrl("/uploads/profile/20/me.jpg").build();
+        profile.setId(PROFILE_ID);
+        Wardrobe wardrobe = Wardrobe.builder().profile(profile).build();
+        wardrobe.setId(5L);
+        Item item = Item.builder().name("Shirt").category("Tops").imageUrl("/uploads/item/1/shirt.jpg")
+                .wardrobe(wardrobe).profile(profile).build();
+        item.setId(1L);
+
+        when(profileRepository.findByUserId(USER_ID)).thenReturn(Optional.of(profile));
+        when(profileRepository.findById(PROFILE_ID)).thenReturn(Optional.of(profile));
+        when(itemRepository.streamByProfileId(PROFILE_ID)).thenReturn(Stream.of(item));
+        when(outfitRepository.streamByProfileId(PROFILE_ID)).thenReturn(Stream.empty());
+        when(postRepository.streamByProfileId(PROFILE_ID)).thenReturn(Stream.empty());
+        when(commentRepository.streamByProfileId(PROFILE_ID)).thenReturn(Stream.empty());
+        when(itemRepository.streamImageUrlsByProfileId(PROFILE_ID))
+                .thenReturn(Stream.of("/uploads/item/1/shirt.jpg"));
+        // The outfit reuses the item's image, which must be archived once
+        when(outfitRepository.streamImageUrlsByProfileId(PROFILE_ID))
+                .thenReturn(Stream.of("/uploads/item/1/shirt.jpg"));
+        when(postRepository.streamFeatureImagesByProfileId(PROFILE_ID))
+                .thenReturn(Stream.of("/uploads/post/3/look.jpg"));
+        when(imageService.copyImage(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(invocation.<String>getArgument(0)
+                    .getBytes(StandardCharsets.UTF_8));
+            return true;
+        });
+    }
+
+    @Test
+    void exportAccount_WritesDataImagesAndManifest() throws Exception {
+        Map<String, byte[]> archive = export();
+
+        assertEquals(List.of("profile.json", "items.json", "outfits.json", "posts.json", "comments.json",
+                "images/me.jpg", "images/shirt.jpg", "images/look.jpg", "manifest.json"),
+                List.copyOf(archive.keySet()));
+        assertEquals("alice", json(archive, "profile.json").get("username").asText());
+        JsonNode items = json(archive, "items.json");
+        assertEquals(1, items.size());
+        assertEquals("Shirt", items.get(0).get("name").asText());
+        assertEquals(0, json(archive, "posts.json").size());
+        assertEquals("/uploads/item/1/shirt.jpg", new String(archive.get("images/shirt.jpg"), StandardCharsets.UTF_8));
+        assertEquals(0, json(archive, "manifest.json").get("skippedImages").size());
+        verify(imageService, times(1)).copyImage(eq("/uploads/item/1/shirt.jpg"), any());
+    }
+
+    @Test
+    void exportAccount_UnreadableImage_IsSkippedAndListedInManifest() throws Exception {
+        when(imageService.copyImage(eq("/uploads/item/1/shirt.jpg"), any()))
+                .thenThrow(new ImageProcessingException("Failed to copy image."));
+        when(imageService.copyImage(eq("/uploads/post/3/look.jpg"), any())).thenReturn(false);
+
+        Map<String, byte[]> archive = export();
+
+        assertFalse(archive.containsKey("images/shirt.jpg"));
+        assertFalse(archive.containsKey("images/look.jpg"));
+        assertTrue(archive.containsKey("images/me.jpg"));
+        JsonNode skipped = json(archive, "manifest.json").get("skippedImages");
+        assertEquals(2, skipped.size());
+        assertEquals("/uploads/item/1/shirt.jpg", skipped.get(0).get("imageUrl").asText());
+        assertEquals("Failed to copy image.", skipped.get(0).get("reason").asText());
+        assertEquals("/uploads/post/3/look.jpg", skipped.get(1).get("imageUrl").asText());
+        assertEquals("Image file not found", skipped.get(1).get("reason").asText());
+    }
+
+    @Test
+    void exportAccount_EmptyImage_IsWrittenAsEmptyEntry() throws Exception {
+        when(imageService.copyImage(eq("/uploads/post/3/look.jpg"), any())).thenReturn(true);
+
+        Map<String, byte[]> archive = export();
+
+        assertArrayEquals(new byte[0], archive.get("images/look.jpg"));
+        assertEquals(0, json(archive, "manifest.json").get("skippedImages").size());
+    }
+
+    @Test
+    void exportAccount_ImageFailingPartWay_IsKeptAndListedInManifest() throws Exception {
+        when(imageService.copyImage(eq("/uploads/post/3/look.jpg"), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(new byte[]{1, 2, 3});
+            throw new ImageProcessingException("Failed to copy image.");
+        });
+
+        Map<String, byte[]> archive = export();
+
+        assertArrayEquals(new byte[]{1, 2, 3}, archive.get("images/look.jpg"));
+        JsonNode skipped = json(archive, "manifest.json").get("skippedImages");
+        assertEquals(1, skipped.size());
+        assertEquals("Image was cut short while copying: Failed to copy image.", skipped.get(0).get("reason").asText());
+    }
+
+    @Test
+    void exportAccount_ClientDisconnecting_AbortsExport() {
+        AtomicBoolean copying = new AtomicBoolean();
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (copying.get()) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+        when(imageService.copyImage(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            copying.set(true);
+            try {
+                // Larger than the deflater's buffer, so the bytes reach the client stream
+                byte[] image = new byte[64 * 1024];
+                new Random(1).nextBytes(image);
+                invocation.<OutputStream>getArgument(1).write(image);
+            } catch (IOException e) {
+                throw new ImageProcessingException("Failed to copy image.", e);
+            }
+            return true;
+        });
+
+        IOException exception = assertThrows(IOException.class,
+                () -> exportService.exportAccount(USER_ID).writeTo(disconnected));
+
+        assertEquals("Broken pipe", exception.getMessage());
+        verify(imageService, times(1)).copyImage(anyString(), any());
+    }
+
+    private Map<String, byte[]> export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAccount(USER_ID).writeTo(out);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertNull(entries.put(entry.getName(), zip.readAllBytes()), "Duplicate entry " + entry.getName());
+            }
+        }
+        return entries;
+    }
+
+    private JsonNode json(Map<String, byte[]> archive, String entryName) throws IOException {
+        return objectMapper.readTree(archive.get(entryName));
+    }
+}
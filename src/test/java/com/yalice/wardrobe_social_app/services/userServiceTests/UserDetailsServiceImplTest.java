@@ -1,17 +1,23 @@
 package com.yalice.wardrobe_social_app.services.userServiceTests;
 
+import com.yalice.wardrobe_social_app.configs.AppConfig;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.repositories.UserRepository;
+import com.yalice.wardrobe_social_app.services.helpers.ValidationService;
 import com.yalice.wardrobe_social_app.services.user.UserDetailsServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +29,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private AppConfig appConfig = adminConfig("admin");
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -30,6 +39,7 @@ class UserDetailsServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(userDetailsService, "validationService", new ValidationService());
         user = User.builder()
                 .username("testuser")
                 .password("password123") // Typically, this would be a hashed password
@@ -45,6 +55,7 @@ class UserDetailsServiceImplTest {
         assertNotNull(userDetails);
         assertEquals("testuser", userDetails.getUsername());
         assertEquals("password123", userDetails.getPassword());
+        assertTrue(userDetails.getAuthorities().isEmpty());
         verify(userRepository, times(1)).findByUsername("testuser");
     }
 
@@ -60,4 +71,21 @@ class UserDetailsServiceImplTest {
         assertEquals("User not found with username: testuser", exception.getMessage());
         verify(userRepository, times(1)).findByUsername("testuser");
     }
+
+    @Test
+    void loadUserByUsername_AdminUsername_GetsAdminRole() {
+        User admin = User.builder().username("admin").password("password123").build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("admin");
+
+        assertEquals(List.of("ROLE_ADMIN"),
+                userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    private static AppConfig adminConfig(String... usernames) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getAdmin().setUsernames(List.of(usernames));
+        return appConfig;
+    }
 }
@@ -7,6 +7,7 @@ import com.yalice.wardrobe_social_app.entities.Profile;
 import com.yalice.wardrobe_social_app.entities.User;
 import com.yalice.wardrobe_social_app.exceptions.ResourceNotFoundException;
 import com.yalice.wardrobe_social_app.exceptions.UsernameAlreadyExistsException;
+import com.yalice.wardrobe_social_app.interfaces.AccountDeletionService;
 import com.yalice.wardrobe_social_app.mappers.UserMapper;
 import com.yalice.wardrobe_social_app.repositories.ProfileRepository;
 import com.yalice.wardrobe_social_app.repositories.UserRepository;
@@ -38,6 +39,9 @@ class UserManagementServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private AccountDeletionService accountDeletionService;
+
     @InjectMocks
     private UserManagementServiceImpl userManagementService;
 
@@ -157,7 +161,8 @@ class UserManagementServiceImplTest {
         userManagementService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).deleteById(1L);
+        verify(accountDeletionService).requestDeletion(1L);
+        verify(userRepository, never()).deleteById(anyLong());
     }
 
     @Test